@@ -1,3 +1,6 @@
+-- Esquema inicial. As alterações posteriores (ex.: índices) são aplicadas pelo
+-- servidor na inicialização e registradas na tabela schema_versao.
+
 -- Criar banco de dados caso não exista
 CREATE DATABASE IF NOT EXISTS loja;
 USE loja;
@@ -34,5 +37,34 @@ CREATE TABLE IF NOT EXISTS registro (
     quantidade INT NOT NULL,
     movimentacao ENUM('NENHUM', 'ENTRADA', 'SAIDA') NOT NULL,
     status ENUM('ACIMA', 'ABAIXO', 'DENTRO', 'ADICIONADO', 'NOMEALTERADO', 'DELETADO', 'NENHUM') NOT NULL,
-    FOREIGN KEY (produto_id) REFERENCES produto(id)
+    FOREIGN KEY (produto_id) REFERENCES produto(id),
+    -- Usado pela paginação por chave de registros e do relatório
+    INDEX idx_registro_data_id (data, id)
 );
+
+-- Criar tabela relatorio: cópia de registro com o nome do produto, lida pelo relatório
+-- (migração 2; mantida pelos gatilhos abaixo e refeita por relatorio/reconstruir)
+CREATE TABLE IF NOT EXISTS relatorio (
+    id INT NOT NULL PRIMARY KEY, -- mesmo ID do registro
+    data TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    produto_id INT NOT NULL,
+    nome_produto VARCHAR(100) NOT NULL,
+    quantidade INT NOT NULL,
+    movimentacao ENUM('NENHUM', 'ENTRADA', 'SAIDA') NOT NULL,
+    status ENUM('ACIMA', 'ABAIXO', 'DENTRO', 'ADICIONADO', 'NOMEALTERADO', 'DELETADO', 'NENHUM') NOT NULL,
+    INDEX idx_relatorio_data_id (data, id),
+    INDEX idx_relatorio_produto_data (produto_id, data)
+);
+
+-- Copia cada registro inserido para o relatório
+DROP TRIGGER IF EXISTS relatorio_registro_inserido;
+CREATE TRIGGER relatorio_registro_inserido AFTER INSERT ON registro FOR EACH ROW
+INSERT INTO relatorio (id, data, produto_id, nome_produto, quantidade, movimentacao, status)
+SELECT NEW.id, NEW.data, NEW.produto_id, p.nome, NEW.quantidade, NEW.movimentacao, NEW.status
+FROM produto p WHERE p.id = NEW.produto_id;
+
+-- Atualiza o nome do produto no relatório quando ele é renomeado
+DROP TRIGGER IF EXISTS relatorio_produto_renomeado;
+CREATE TRIGGER relatorio_produto_renomeado AFTER UPDATE ON produto FOR EACH ROW
+UPDATE relatorio SET nome_produto = NEW.nome
+WHERE produto_id = NEW.id AND CAST(NEW.nome AS BINARY) <> CAST(OLD.nome AS BINARY);
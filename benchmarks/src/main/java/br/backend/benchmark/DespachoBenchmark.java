@@ -0,0 +1,100 @@
+package br.backend.benchmark;
+
+import br.backend.controlador.Rota;
+import br.backend.controlador.RoteadorRequisicoes;
+import br.backend.controlador.impl.CategoriaControladorImpl;
+import br.backend.controlador.impl.EstadoControladorImpl;
+import br.backend.controlador.impl.ProdutoControladorImpl;
+import br.backend.controlador.impl.RegistroControladorImpl;
+import br.backend.controlador.impl.RelatorioControladorImpl;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.estrategia.produto.AtualizarProdutoEstrategia;
+import br.backend.estrategia.produto.AumentarPrecoProdutoEstrategia;
+import br.backend.estrategia.produto.CriarProdutoEstrategia;
+import br.backend.estrategia.produto.DeletarProdutoEstrategia;
+import br.backend.estrategia.produto.DiminuirPrecoProdutoEstrategia;
+import br.backend.estrategia.produto.EncontrarProdutoEstrategia;
+import br.backend.estrategia.produto.ListarProdutoEstrategia;
+import br.backend.servico.ProdutoServico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o custo de localizar a estratégia de uma requisição.
+ *
+ * <ul>
+ *     <li><b>mapaPorRequisicao</b>: forma anterior, que convertia entidade e
+ *     ação para minúsculas e montava a cada requisição um {@code Map.of} com
+ *     novas instâncias de todas as estratégias do controlador</li>
+ *     <li><b>roteador</b>: busca na tabela do {@link RoteadorRequisicoes},
+ *     montada uma única vez</li>
+ * </ul>
+ *
+ * <p>Apenas o despacho é medido: os serviços são nulos e nenhuma estratégia é
+ * executada. Para medir também a alocação, execute com <code>-prof gc</code>;
+ * para exportar o resultado, use <code>-rf json -rff resultado.json</code>.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DespachoBenchmark {
+
+    @Param({"produto", "Produto"})
+    private String entidade;
+
+    @Param({"listar", "DIMINUIR"})
+    private String acao;
+
+    private ProdutoServico produtoServico;
+
+    private RoteadorRequisicoes roteador;
+
+    @Setup
+    public void preparar() {
+        roteador = new RoteadorRequisicoes();
+        roteador.registrar("categoria", new CategoriaControladorImpl(null));
+        roteador.registrar("produto", new ProdutoControladorImpl(produtoServico));
+        roteador.registrar("registro", new RegistroControladorImpl(null));
+        roteador.registrar("relatorio", new RelatorioControladorImpl(null));
+        roteador.registrar("estado", new EstadoControladorImpl());
+    }
+
+    @Benchmark
+    public AcaoEstrategia mapaPorRequisicao() {
+        String chave = entidade.toLowerCase();
+        if (!chave.equals("produto")) {
+            return null;
+        }
+        Map<String, AcaoEstrategia> estrategias = Map.of(
+                "criar", new CriarProdutoEstrategia(produtoServico),
+                "encontrar", new EncontrarProdutoEstrategia(produtoServico),
+                "atualizar", new AtualizarProdutoEstrategia(produtoServico),
+                "deletar", new DeletarProdutoEstrategia(produtoServico),
+                "listar", new ListarProdutoEstrategia(produtoServico),
+                "aumentar", new AumentarPrecoProdutoEstrategia(produtoServico),
+                "diminuir", new DiminuirPrecoProdutoEstrategia(produtoServico)
+        );
+        return estrategias.get(acao.toLowerCase());
+    }
+
+    @Benchmark
+    public AcaoEstrategia roteador() {
+        Rota rota = roteador.buscar(entidade, acao);
+        return rota == null ? null : rota.getEstrategia();
+    }
+}
@@ -0,0 +1,56 @@
+package br.backend.benchmark;
+
+import br.backend.benchmark.memoria.AplicacaoMemoria;
+import br.backend.controlador.Rota;
+import br.backend.controlador.RoteadorRequisicoes;
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a execução isolada de cada estratégia sobre os DAOs em memória, sem a
+ * leitura do JSON nem a escrita da resposta.
+ *
+ * <p>A requisição é lida uma única vez na preparação; o parâmetro
+ * <code>requisicao</code> usa as mesmas linhas de {@link ServidorBenchmark}.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EstrategiaBenchmark {
+
+    @Param({"produto-encontrar", "produto-criar", "produto-pagina", "categoria-listar",
+            "registro-criar", "relatorio-pagina"})
+    private String requisicao;
+
+    private Rota rota;
+
+    private Requisicao<?> req;
+
+    @Setup
+    public void preparar() {
+        RoteadorRequisicoes roteador = new AplicacaoMemoria(1000).getRoteador();
+        req = roteador.ler(ServidorBenchmark.LINHAS.get(requisicao));
+        rota = roteador.buscar(req.getEntidade(), req.getAcao());
+    }
+
+    @Benchmark
+    public Resposta<?> executar() {
+        return rota.responder(req);
+    }
+}
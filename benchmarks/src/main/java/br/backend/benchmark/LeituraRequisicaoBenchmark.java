@@ -0,0 +1,65 @@
+package br.backend.benchmark;
+
+import br.backend.controlador.RoteadorRequisicoes;
+import br.backend.controlador.impl.ProdutoControladorImpl;
+import br.backend.controlador.impl.RegistroControladorImpl;
+import br.backend.dto.Requisicao;
+import br.backend.modelo.Registro;
+import br.backend.util.JsonUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o custo de ler uma requisição <code>registro/criar</code> até obter
+ * o {@link Registro}.
+ *
+ * <ul>
+ *     <li><b>viaMapa</b>: forma anterior, que lia {@code dados} como mapa,
+ *     serializava-o de volta para JSON e o lia novamente como {@link Registro}</li>
+ *     <li><b>tipada</b>: {@link RoteadorRequisicoes#ler(String)}, que converte
+ *     {@code dados} diretamente para {@link Registro} em uma única leitura</li>
+ * </ul>
+ *
+ * <p>Execute com <code>-prof gc</code> para comparar a alocação por requisição.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeituraRequisicaoBenchmark {
+
+    private static final String JSON = "{\"id\":42,\"entidade\":\"registro\",\"acao\":\"criar\",\"dados\":"
+            + "{\"produtoId\":7,\"quantidade\":3,\"movimentacao\":\"ENTRADA\",\"status\":\"ADICIONADO\",\"data\":1700000000000}}";
+
+    private RoteadorRequisicoes roteador;
+
+    @Setup
+    public void preparar() {
+        roteador = new RoteadorRequisicoes();
+        roteador.registrar("produto", new ProdutoControladorImpl(null));
+        roteador.registrar("registro", new RegistroControladorImpl(null));
+    }
+
+    @Benchmark
+    public Registro viaMapa() {
+        Requisicao<?> req = JsonUtil.fromJson(JSON, Requisicao.class);
+        return JsonUtil.fromJson(JsonUtil.toJson(req.getDados()), Registro.class);
+    }
+
+    @Benchmark
+    public Registro tipada() {
+        return (Registro) roteador.ler(JSON).getDados();
+    }
+}
@@ -0,0 +1,89 @@
+package br.backend.benchmark;
+
+import br.backend.benchmark.memoria.DatabaseMemoria;
+import br.backend.dao.impl.ProdutoDAOImpl;
+import br.backend.dao.impl.RegistroDAOImpl;
+import br.backend.dao.impl.RelatorioDAOImpl;
+import br.backend.modelo.Produto;
+import br.backend.modelo.Registro;
+import br.backend.modelo.Relatorio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o mapeamento de linhas do {@link java.sql.ResultSet} para os modelos,
+ * pelos próprios DAOs JDBC, sobre um {@link DatabaseMemoria}.
+ *
+ * <p>Os valores incluem o custo dos proxies que simulam o driver, igual em
+ * todas as medições; servem para comparar versões do mapeamento entre si, não
+ * para estimar o tempo de uma consulta real.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoBenchmark {
+
+    @Param({"10", "1000"})
+    private int linhas;
+
+    private ProdutoDAOImpl produtoDAO;
+
+    private RegistroDAOImpl registroDAO;
+
+    private RelatorioDAOImpl relatorioDAO;
+
+    @Setup
+    public void preparar() {
+        List<Object[]> produtos = new ArrayList<>(linhas);
+        List<Object[]> registros = new ArrayList<>(linhas);
+        List<Object[]> relatorio = new ArrayList<>(linhas);
+        for (int i = 1; i <= linhas; i++) {
+            Timestamp data = new Timestamp(1_700_000_000_000L - i * 60_000L);
+            produtos.add(new Object[]{i, "Produto " + i, 1.5 * i, "1", 50, 1, 100, 1 + i % 10});
+            registros.add(new Object[]{i, data, i, 1 + i % 20, "ENTRADA", "ADICIONADO"});
+            relatorio.add(new Object[]{i, data, i, "Produto " + i, 1 + i % 20, "ENTRADA", "ADICIONADO"});
+        }
+
+        produtoDAO = new ProdutoDAOImpl(new DatabaseMemoria(new String[]{
+                "id", "nome", "preco_unitario", "unidade", "quantidade", "quantidade_minima", "quantidade_maxima", "categoria_id"},
+                produtos));
+        registroDAO = new RegistroDAOImpl(new DatabaseMemoria(new String[]{
+                "id", "data", "produto_id", "quantidade", "movimentacao", "status"},
+                registros));
+        relatorioDAO = new RelatorioDAOImpl(new DatabaseMemoria(new String[]{
+                "id", "data", "produtoId", "nomeProduto", "quantidade", "movimentacao", "status"},
+                relatorio));
+    }
+
+    @Benchmark
+    public List<Produto> produtos() {
+        return produtoDAO.resgatarTodosProdutos();
+    }
+
+    @Benchmark
+    public List<Registro> registros() {
+        return registroDAO.listarRegistros();
+    }
+
+    @Benchmark
+    public List<Relatorio> relatorio() {
+        return relatorioDAO.listarRelatorio();
+    }
+}
@@ -0,0 +1,77 @@
+package br.backend.benchmark;
+
+import br.backend.benchmark.memoria.DadosMemoria;
+import br.backend.dto.Resposta;
+import br.backend.modelo.Produto;
+import br.backend.util.JsonUtil;
+import br.backend.util.RespostaEmFluxo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede a serialização de uma {@link Resposta} com listas de produtos de
+ * tamanhos variados, nas três formas usadas pelo servidor:
+ *
+ * <ul>
+ *     <li><b>texto</b>: {@link JsonUtil#toJson(Object)}, montando uma {@link String}</li>
+ *     <li><b>gerador</b>: escrita direta na saída com {@link JsonUtil#criarGerador(OutputStream)}</li>
+ *     <li><b>fluxo</b>: {@link RespostaEmFluxo}, item a item</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacaoBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int itens;
+
+    private List<Produto> produtos;
+
+    private Resposta<List<Produto>> resposta;
+
+    private final OutputStream saida = OutputStream.nullOutputStream();
+
+    @Setup
+    public void preparar() {
+        produtos = DadosMemoria.produtos(itens);
+        resposta = new Resposta<>("sucesso", "Lista de produtos", produtos);
+    }
+
+    @Benchmark
+    public String texto() {
+        return JsonUtil.toJson(resposta);
+    }
+
+    @Benchmark
+    public void gerador() throws IOException {
+        try (JsonGenerator gerador = JsonUtil.criarGerador(saida)) {
+            gerador.writeObject(resposta);
+        }
+    }
+
+    @Benchmark
+    public void fluxo() throws IOException {
+        try (JsonGenerator gerador = JsonUtil.criarGerador(saida)) {
+            RespostaEmFluxo.<Produto>escrever(gerador, "Lista de produtos", produtos::forEach);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package br.backend.benchmark;
+
+import br.backend.benchmark.memoria.AplicacaoMemoria;
+import br.backend.config.Configuracao;
+import br.backend.servidor.Servidor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede {@link Servidor#processarRequisicao(String, OutputStream)} de ponta a
+ * ponta: leitura do JSON, despacho, execução da estratégia sobre os DAOs em
+ * memória e escrita da resposta, sem sockets.
+ *
+ * <p>As linhas de requisição são fixas e identificadas pelo parâmetro
+ * <code>requisicao</code>; a base em memória tem 1000 produtos, registros e
+ * linhas de relatório.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServidorBenchmark {
+
+    /** Linhas de requisição, como chegam do cliente. */
+    static final Map<String, String> LINHAS = Map.of(
+            "produto-encontrar", "{\"id\":1,\"entidade\":\"produto\",\"acao\":\"encontrar\",\"dados\":{\"id\":500}}",
+            "produto-criar", "{\"id\":2,\"entidade\":\"produto\",\"acao\":\"criar\",\"dados\":{\"nome\":\"Novo\",\"preco\":9.9,\"unidade\":\"1\",\"categoriaId\":1,\"quantidade\":10,\"quantidadeMinima\":1,\"quantidadeMaxima\":100}}",
+            "produto-pagina", "{\"id\":3,\"entidade\":\"produto\",\"acao\":\"listar\",\"dados\":{\"tamanhoPagina\":50}}",
+            "categoria-listar", "{\"id\":4,\"entidade\":\"categoria\",\"acao\":\"listar\"}",
+            "registro-criar", "{\"id\":5,\"entidade\":\"registro\",\"acao\":\"criar\",\"dados\":{\"produtoId\":7,\"quantidade\":3,\"movimentacao\":\"ENTRADA\",\"status\":\"ADICIONADO\",\"data\":1700000000000}}",
+            "relatorio-pagina", "{\"id\":6,\"entidade\":\"relatorio\",\"acao\":\"listar\",\"dados\":{\"tamanhoPagina\":50}}",
+            "relatorio-fluxo", "{\"id\":7,\"entidade\":\"relatorio\",\"acao\":\"listar\",\"dados\":{\"fluxo\":true}}");
+
+    @Param({"produto-encontrar", "produto-criar", "produto-pagina", "categoria-listar",
+            "registro-criar", "relatorio-pagina", "relatorio-fluxo"})
+    private String requisicao;
+
+    private Servidor servidor;
+
+    private String linha;
+
+    private final OutputStream saida = OutputStream.nullOutputStream();
+
+    @Setup
+    public void preparar() {
+        AplicacaoMemoria aplicacao = new AplicacaoMemoria(1000);
+        servidor = new Servidor(new Configuracao(new Properties()), aplicacao.getRoteador(), aplicacao.getEstadoControlador());
+        linha = LINHAS.get(requisicao);
+    }
+
+    @Benchmark
+    public void processar() throws IOException {
+        servidor.processarRequisicao(linha, saida);
+    }
+}
@@ -0,0 +1,49 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.controlador.RoteadorRequisicoes;
+import br.backend.controlador.impl.CategoriaControladorImpl;
+import br.backend.controlador.impl.EstadoControladorImpl;
+import br.backend.controlador.impl.MetricasControladorImpl;
+import br.backend.controlador.impl.ProdutoControladorImpl;
+import br.backend.controlador.impl.RegistroControladorImpl;
+import br.backend.controlador.impl.RelatorioControladorImpl;
+import br.backend.database.GerenciadorTransacao;
+import br.backend.servico.CategoriaServico;
+import br.backend.servico.ProdutoServico;
+import br.backend.servico.RegistroServico;
+import br.backend.servico.RelatorioServico;
+
+/**
+ * Monta serviços, controladores e o {@link RoteadorRequisicoes} da mesma forma
+ * que o {@code ContextoAplicacao}, mas sobre os DAOs em memória.
+ *
+ * <p>Lotes não são registrados, pois dependem de transações no banco.</p>
+ */
+public class AplicacaoMemoria {
+
+    private final RoteadorRequisicoes roteador = new RoteadorRequisicoes();
+    private final EstadoControladorImpl estadoControlador = new EstadoControladorImpl();
+
+    /**
+     * @param produtos quantidade de produtos, registros e linhas de relatório disponíveis
+     */
+    public AplicacaoMemoria(int produtos) {
+        CategoriaDAOMemoria categoriaDAO = new CategoriaDAOMemoria(DadosMemoria.categorias(10));
+        ProdutoDAOMemoria produtoDAO = new ProdutoDAOMemoria(DadosMemoria.produtos(produtos));
+        RegistroDAOMemoria registroDAO = new RegistroDAOMemoria(DadosMemoria.registros(produtos, produtos));
+        RelatorioDAOMemoria relatorioDAO = new RelatorioDAOMemoria(DadosMemoria.relatorio(produtos, produtos));
+
+        roteador.registrar("categoria", new CategoriaControladorImpl(new CategoriaServico(categoriaDAO)));
+        roteador.registrar("produto", new ProdutoControladorImpl(new ProdutoServico(produtoDAO, registroDAO, GerenciadorTransacao.SEM_TRANSACAO)));
+        roteador.registrar("registro", new RegistroControladorImpl(new RegistroServico(registroDAO)));
+        roteador.registrar("relatorio", new RelatorioControladorImpl(new RelatorioServico(relatorioDAO)));
+        roteador.registrar("estado", estadoControlador);
+        roteador.registrar("metricas", new MetricasControladorImpl(roteador.getMetricas()));
+    }
+
+    /** @return roteador com os controladores registrados */
+    public RoteadorRequisicoes getRoteador() { return roteador; }
+
+    /** @return controlador de estado registrado no roteador */
+    public EstadoControladorImpl getEstadoControlador() { return estadoControlador; }
+}
@@ -0,0 +1,55 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.dao.CategoriaDAO;
+import br.backend.modelo.Categoria;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link CategoriaDAO} em memória, com o mesmo comportamento de
+ * {@link ProdutoDAOMemoria}: inserções e exclusões não alteram os dados.
+ */
+public class CategoriaDAOMemoria implements CategoriaDAO {
+
+    private final ConcurrentSkipListMap<Integer, Categoria> categorias = new ConcurrentSkipListMap<>();
+    private final AtomicInteger proximoId = new AtomicInteger();
+
+    /**
+     * @param categorias categorias disponíveis para consulta
+     */
+    public CategoriaDAOMemoria(List<Categoria> categorias) {
+        for (Categoria c : categorias) {
+            this.categorias.put(c.getId(), c);
+            proximoId.accumulateAndGet(c.getId(), Math::max);
+        }
+    }
+
+    @Override
+    public void inserirCategoria(Categoria cat) {
+        cat.setId(proximoId.incrementAndGet());
+    }
+
+    @Override
+    public boolean atualizarCategoria(Integer id, Categoria cat) {
+        cat.setId(id);
+        return categorias.replace(id, cat) != null;
+    }
+
+    @Override
+    public boolean deletarPorId(Integer id) {
+        return categorias.containsKey(id);
+    }
+
+    @Override
+    public Categoria buscarPorId(Integer id) {
+        return categorias.get(id);
+    }
+
+    @Override
+    public List<Categoria> buscarTodasCategorias() {
+        return new ArrayList<>(categorias.values());
+    }
+}
@@ -0,0 +1,111 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.modelo.Categoria;
+import br.backend.modelo.Produto;
+import br.backend.modelo.Registro;
+import br.backend.modelo.Relatorio;
+import br.backend.modelo.enums.Embalagem;
+import br.backend.modelo.enums.Movimentacao;
+import br.backend.modelo.enums.Status;
+import br.backend.modelo.enums.Tamanho;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Gera dados sintéticos, sempre os mesmos para a mesma quantidade, para
+ * alimentar os DAOs em memória e as respostas medidas.
+ */
+public final class DadosMemoria {
+
+    /** Data do registro mais recente; os demais são espaçados de um minuto. */
+    private static final long DATA_BASE = 1_700_000_000_000L;
+
+    private DadosMemoria() {
+    }
+
+    /**
+     * @param quantidade quantidade de categorias
+     * @return categorias com IDs de 1 a {@code quantidade}
+     */
+    public static List<Categoria> categorias(int quantidade) {
+        List<Categoria> lista = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            lista.add(new Categoria(i, "Categoria " + i,
+                    Tamanho.values()[i % Tamanho.values().length],
+                    Embalagem.values()[i % Embalagem.values().length]));
+        }
+        return lista;
+    }
+
+    /**
+     * @param quantidade quantidade de produtos
+     * @return produtos com IDs de 1 a {@code quantidade}, distribuídos em 10 categorias
+     */
+    public static List<Produto> produtos(int quantidade) {
+        List<Produto> lista = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            lista.add(produto(i));
+        }
+        return lista;
+    }
+
+    /**
+     * @param id ID do produto
+     * @return produto sintético com o ID informado
+     */
+    public static Produto produto(int id) {
+        Produto p = new Produto();
+        p.setId(id);
+        p.setNome("Produto " + id);
+        p.setPreco(1.0 + (id % 500) / 4.0);
+        p.setUnidade(String.valueOf(1 + id % 3));
+        p.setCategoriaId(1 + id % 10);
+        p.setQuantidade(50);
+        p.setQuantidadeMinima(1);
+        p.setQuantidadeMaxima(100);
+        return p;
+    }
+
+    /**
+     * @param quantidade quantidade de registros
+     * @param produtos   quantidade de produtos referenciados
+     * @return registros com IDs de 1 a {@code quantidade}
+     */
+    public static List<Registro> registros(int quantidade, int produtos) {
+        List<Registro> lista = new ArrayList<>(quantidade);
+        for (int i = 1; i <= quantidade; i++) {
+            Registro r = new Registro();
+            r.setId(i);
+            r.setData(new Date(DATA_BASE - (long) (quantidade - i) * 60_000));
+            r.setProdutoId(1 + i % Math.max(1, produtos));
+            r.setQuantidade(1 + i % 20);
+            r.setMovimentacao(Movimentacao.values()[i % Movimentacao.values().length]);
+            r.setStatus(Status.values()[i % Status.values().length]);
+            lista.add(r);
+        }
+        return lista;
+    }
+
+    /**
+     * @param quantidade quantidade de linhas
+     * @param produtos   quantidade de produtos referenciados
+     * @return linhas do relatório com IDs de 1 a {@code quantidade}
+     */
+    public static List<Relatorio> relatorio(int quantidade, int produtos) {
+        List<Relatorio> lista = new ArrayList<>(quantidade);
+        for (Registro r : registros(quantidade, produtos)) {
+            Relatorio linha = new Relatorio();
+            linha.setId(r.getId());
+            linha.setData(r.getData());
+            linha.setProdutoId(r.getProdutoId());
+            linha.setNomeProduto("Produto " + r.getProdutoId());
+            linha.setQuantidade(r.getQuantidade());
+            linha.setMovimentacao(r.getMovimentacao().name());
+            linha.setStatus(r.getStatus().name());
+            lista.add(linha);
+        }
+        return lista;
+    }
+}
@@ -0,0 +1,104 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.config.Configuracao;
+import br.backend.database.Database;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * {@link Database} cujas conexões respondem toda consulta com as mesmas linhas
+ * em memória, para medir o mapeamento de {@link ResultSet} dos DAOs JDBC sem
+ * rede nem driver.
+ *
+ * <p>Conexão, comando e resultado são proxies dinâmicos que implementam apenas
+ * o necessário para as leituras: parâmetros são ignorados e os valores das
+ * colunas são devolvidos como foram informados.</p>
+ */
+public class DatabaseMemoria extends Database {
+
+    private final Map<String, Integer> colunas = new HashMap<>();
+    private final List<Object[]> linhas;
+
+    /**
+     * @param colunas nomes (rótulos) das colunas, na ordem dos valores das linhas
+     * @param linhas  valores de cada linha
+     */
+    public DatabaseMemoria(String[] colunas, List<Object[]> linhas) {
+        super(new Configuracao(new Properties()));
+        for (int i = 0; i < colunas.length; i++) {
+            this.colunas.put(colunas[i], i);
+        }
+        this.linhas = linhas;
+    }
+
+    @Override
+    public Connection getConnection() {
+        PreparedStatement comando = proxy(PreparedStatement.class, (metodo, args) -> switch (metodo) {
+            case "executeQuery" -> resultado();
+            case "executeUpdate" -> 1;
+            case "close", "setFetchSize" -> null;
+            default -> metodo.startsWith("set") ? null : naoSuportado(metodo);
+        });
+        return proxy(Connection.class, (metodo, args) -> switch (metodo) {
+            case "prepareStatement" -> comando;
+            case "close" -> null;
+            default -> naoSuportado(metodo);
+        });
+    }
+
+    private ResultSet resultado() {
+        int[] atual = {-1};
+        boolean[] nulo = {false};
+        return proxy(ResultSet.class, (metodo, args) -> {
+            switch (metodo) {
+                case "next":
+                    return ++atual[0] < linhas.size();
+                case "close":
+                    return null;
+                case "wasNull":
+                    return nulo[0];
+                default:
+                    if (!metodo.startsWith("get") || args == null || args.length != 1) {
+                        return naoSuportado(metodo);
+                    }
+                    int coluna = args[0] instanceof String rotulo ? colunas.get(rotulo) : (Integer) args[0] - 1;
+                    Object valor = linhas.get(atual[0])[coluna];
+                    nulo[0] = valor == null;
+                    if (valor == null) {
+                        return switch (metodo) {
+                            case "getInt" -> 0;
+                            case "getLong" -> 0L;
+                            case "getDouble" -> 0.0;
+                            default -> null;
+                        };
+                    }
+                    return valor;
+            }
+        });
+    }
+
+    private static Object naoSuportado(String metodo) throws SQLException {
+        throw new SQLException("Operação não suportada em memória: " + metodo);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, Tratador tratador) {
+        return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> tratador.tratar(metodo.getName(), args));
+    }
+
+    /**
+     * Trata a chamada de um método de proxy pelo nome.
+     */
+    private interface Tratador {
+        Object tratar(String metodo, Object[] args) throws SQLException;
+    }
+}
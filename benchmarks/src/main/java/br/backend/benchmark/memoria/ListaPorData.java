@@ -0,0 +1,85 @@
+package br.backend.benchmark.memoria;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Lista imutável ordenada por data e ID decrescentes, com a mesma paginação
+ * por cursor das consultas de registro e relatório.
+ *
+ * @param <T> tipo dos itens
+ */
+class ListaPorData<T> {
+
+    private final List<T> itens;
+    private final ToLongFunction<T> data;
+    private final ToIntFunction<T> id;
+
+    ListaPorData(List<T> itens, ToLongFunction<T> data, ToIntFunction<T> id) {
+        this.data = data;
+        this.id = id;
+        this.itens = new ArrayList<>(itens);
+        this.itens.sort(Comparator.comparingLong(data).thenComparingInt(id).reversed());
+    }
+
+    List<T> todos() {
+        return new ArrayList<>(itens);
+    }
+
+    void percorrer(Consumer<T> consumidor) {
+        itens.forEach(consumidor);
+    }
+
+    /**
+     * @return até {@code limite} itens posteriores ao cursor (data, id), na ordem da lista
+     */
+    List<T> pagina(Long aposData, Integer aposId, int limite) {
+        int inicio = posicao(aposData, aposId);
+        return new ArrayList<>(itens.subList(inicio, Math.min(itens.size(), inicio + limite)));
+    }
+
+    /**
+     * @return até {@code limite} itens posteriores ao cursor que atendem ao filtro;
+     *         {@code examinados[0]} recebe a quantidade de itens percorridos
+     */
+    List<T> filtrar(Long aposData, Integer aposId, Predicate<T> filtro, int limite, long[] examinados) {
+        List<T> encontrados = new ArrayList<>();
+        for (int i = posicao(aposData, aposId); i < itens.size() && encontrados.size() < limite; i++) {
+            examinados[0]++;
+            if (filtro.test(itens.get(i))) {
+                encontrados.add(itens.get(i));
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * @return índice do primeiro item posterior ao cursor (data, id)
+     */
+    private int posicao(Long aposData, Integer aposId) {
+        int inicio = 0;
+        if (aposData != null) {
+            // Primeiro item estritamente "menor" que o cursor
+            int baixo = 0;
+            int alto = itens.size();
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                T item = itens.get(meio);
+                long d = data.applyAsLong(item);
+                boolean antes = d > aposData || (d == aposData && id.applyAsInt(item) >= aposId);
+                if (antes) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            inicio = baixo;
+        }
+        return inicio;
+    }
+}
@@ -0,0 +1,115 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.dao.ProdutoDAO;
+import br.backend.modelo.Produto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * {@link ProdutoDAO} em memória, usado para medir serviços, estratégias e o
+ * servidor sem banco de dados.
+ *
+ * <p>As inserções recebem um ID, mas não são guardadas, para que o volume de
+ * dados não cresça durante a medição; atualizações substituem o produto
+ * existente. Ajustes de preço e exclusões não alteram os dados.</p>
+ */
+public class ProdutoDAOMemoria implements ProdutoDAO {
+
+    private final ConcurrentSkipListMap<Integer, Produto> produtos = new ConcurrentSkipListMap<>();
+    private final AtomicInteger proximoId = new AtomicInteger();
+
+    /**
+     * @param produtos produtos disponíveis para consulta
+     */
+    public ProdutoDAOMemoria(List<Produto> produtos) {
+        for (Produto p : produtos) {
+            this.produtos.put(p.getId(), p);
+            proximoId.accumulateAndGet(p.getId(), Math::max);
+        }
+    }
+
+    @Override
+    public void inserirProduto(Produto obj) {
+        obj.setId(proximoId.incrementAndGet());
+    }
+
+    @Override
+    public void inserirProdutos(List<Produto> produtos) {
+        produtos.forEach(this::inserirProduto);
+    }
+
+    @Override
+    public boolean atualizarProduto(Integer id, Produto novoProduto) {
+        if (!produtos.containsKey(id)) {
+            return false;
+        }
+        novoProduto.setId(id);
+        produtos.put(id, novoProduto);
+        return true;
+    }
+
+    @Override
+    public Produto buscarPorId(Integer id) {
+        return produtos.get(id);
+    }
+
+    @Override
+    public boolean deletarPorId(Integer id) {
+        return produtos.containsKey(id);
+    }
+
+    @Override
+    public List<Produto> resgatarTodosProdutos() {
+        return new ArrayList<>(produtos.values());
+    }
+
+    @Override
+    public List<Produto> listarPagina(Integer aposId, int limite) {
+        Map<Integer, Produto> seguintes = aposId == null ? produtos : produtos.tailMap(aposId, false);
+        List<Produto> pagina = new ArrayList<>(limite);
+        for (Produto p : seguintes.values()) {
+            if (pagina.size() == limite) {
+                break;
+            }
+            pagina.add(p);
+        }
+        return pagina;
+    }
+
+    @Override
+    public void percorrerProdutos(Consumer<Produto> consumidor) {
+        produtos.values().forEach(consumidor);
+    }
+
+    @Override
+    public int contarAtivos(Integer categoriaId) {
+        return (int) produtos.values().stream()
+                .filter(p -> categoriaId == null || categoriaId.equals(p.getCategoriaId()))
+                .count();
+    }
+
+    @Override
+    public Integer buscarFimLote(Integer aposId, int tamanho, Integer categoriaId) {
+        Integer fim = null;
+        int contados = 0;
+        for (Produto p : produtos.tailMap(aposId == null ? 0 : aposId, false).values()) {
+            if (categoriaId == null || categoriaId.equals(p.getCategoriaId())) {
+                fim = p.getId();
+                if (++contados == tamanho) {
+                    break;
+                }
+            }
+        }
+        return fim;
+    }
+
+    @Override
+    public int reajustarPrecos(double percentual, int aposId, int ateId, Integer categoriaId, List<Integer> produtoIds) {
+        return 0;
+    }
+}
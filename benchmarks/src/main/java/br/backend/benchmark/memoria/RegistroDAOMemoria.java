@@ -0,0 +1,51 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.dao.RegistroDAO;
+import br.backend.modelo.Registro;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * {@link RegistroDAO} em memória. As inserções recebem um ID, mas não são
+ * guardadas, para que o volume de dados não cresça durante a medição.
+ */
+public class RegistroDAOMemoria implements RegistroDAO {
+
+    private final ListaPorData<Registro> registros;
+    private final AtomicInteger proximoId;
+
+    /**
+     * @param registros registros disponíveis para consulta
+     */
+    public RegistroDAOMemoria(List<Registro> registros) {
+        this.registros = new ListaPorData<>(registros, r -> r.getData().getTime(), Registro::getId);
+        this.proximoId = new AtomicInteger(registros.stream().mapToInt(Registro::getId).max().orElse(0));
+    }
+
+    @Override
+    public void inserirRegistro(Registro registro) {
+        registro.setId(proximoId.incrementAndGet());
+    }
+
+    @Override
+    public void inserirRegistros(List<Registro> registros) {
+        registros.forEach(this::inserirRegistro);
+    }
+
+    @Override
+    public List<Registro> listarRegistros() {
+        return registros.todos();
+    }
+
+    @Override
+    public List<Registro> listarPagina(Long aposData, Integer aposId, int limite) {
+        return registros.pagina(aposData, aposId, limite);
+    }
+
+    @Override
+    public void percorrerRegistros(Consumer<Registro> consumidor) {
+        registros.percorrer(consumidor);
+    }
+}
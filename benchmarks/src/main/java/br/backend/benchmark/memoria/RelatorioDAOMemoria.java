@@ -0,0 +1,97 @@
+package br.backend.benchmark.memoria;
+
+import br.backend.dao.RelatorioDAO;
+import br.backend.dto.FiltroRelatorio;
+import br.backend.dto.ResultadoRelatorio;
+import br.backend.modelo.Relatorio;
+import br.backend.modelo.TotalRelatorio;
+import br.backend.modelo.enums.DimensaoRelatorio;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * {@link RelatorioDAO} em memória, com as linhas do relatório já montadas.
+ */
+public class RelatorioDAOMemoria implements RelatorioDAO {
+
+    private final ListaPorData<Relatorio> relatorio;
+
+    /**
+     * @param relatorio linhas disponíveis para consulta
+     */
+    public RelatorioDAOMemoria(List<Relatorio> relatorio) {
+        this.relatorio = new ListaPorData<>(relatorio, r -> r.getData().getTime(), Relatorio::getId);
+    }
+
+    @Override
+    public List<Relatorio> listarRelatorio() {
+        return relatorio.todos();
+    }
+
+    @Override
+    public List<Relatorio> listarPagina(Long aposData, Integer aposId, int limite) {
+        return relatorio.pagina(aposData, aposId, limite);
+    }
+
+    @Override
+    public ResultadoRelatorio listarFiltrado(FiltroRelatorio filtro, Long aposData, Integer aposId, int limite) {
+        long[] examinados = new long[1];
+        List<Relatorio> itens = relatorio.filtrar(aposData, aposId, r -> aceita(filtro, r), limite, examinados);
+        return new ResultadoRelatorio(itens, null, examinados[0]);
+    }
+
+    /**
+     * Entrega cada linha aceita pelo filtro como um total próprio; as linhas
+     * não têm categoria.
+     */
+    @Override
+    public void percorrerTotais(FiltroRelatorio filtro, Set<DimensaoRelatorio> dimensoes, Consumer<TotalRelatorio> consumidor) {
+        relatorio.percorrer(r -> {
+            if (!aceita(filtro, r)) {
+                return;
+            }
+            TotalRelatorio total = new TotalRelatorio();
+            if (dimensoes.contains(DimensaoRelatorio.PRODUTO)) {
+                total.setProdutoId(r.getProdutoId());
+                total.setNomeProduto(r.getNomeProduto());
+            }
+            if (dimensoes.contains(DimensaoRelatorio.DIA)) {
+                total.setIntervalo(r.getData().getTime() / 1000 / TotalRelatorio.SEGUNDOS_INTERVALO);
+            }
+            if (dimensoes.contains(DimensaoRelatorio.MOVIMENTACAO)) {
+                total.setMovimentacao(r.getMovimentacao());
+            }
+            total.setRegistros(1);
+            total.setQuantidade(r.getQuantidade());
+            consumidor.accept(total);
+        });
+    }
+
+    private static boolean aceita(FiltroRelatorio filtro, Relatorio r) {
+        return (filtro.getDataInicio() == null || !r.getData().before(filtro.getDataInicio()))
+                && (filtro.getDataFim() == null || r.getData().before(filtro.getDataFim()))
+                && (!filtro.temProdutos() || filtro.getProdutoIds().contains(r.getProdutoId()))
+                && (filtro.getMovimentacao() == null || filtro.getMovimentacao().name().equals(r.getMovimentacao()))
+                && (filtro.getStatus() == null || filtro.getStatus().name().equals(r.getStatus()));
+    }
+
+    @Override
+    public void percorrerRelatorio(Consumer<Relatorio> consumidor) {
+        relatorio.percorrer(consumidor);
+    }
+
+    @Override
+    public int buscarMaiorId() {
+        return relatorio.todos().stream().mapToInt(Relatorio::getId).max().orElse(0);
+    }
+
+    /**
+     * As linhas já estão montadas: apenas conta as da faixa.
+     */
+    @Override
+    public int reconstruirFaixa(int deId, int ateId) {
+        return (int) relatorio.todos().stream().filter(r -> r.getId() >= deId && r.getId() <= ateId).count();
+    }
+}
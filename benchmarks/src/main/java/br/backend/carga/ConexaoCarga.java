@@ -0,0 +1,190 @@
+package br.backend.carga;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Conexão do gerador de carga com o servidor.
+ *
+ * <p>No modo de taxa constante (<i>open loop</i>), uma thread envia as
+ * requisições nos instantes agendados, sem esperar pelas respostas, e outra
+ * lê as respostas e as associa à requisição pelo {@code id}. No modo de ciclo
+ * fechado, cada requisição só é enviada após a resposta da anterior.</p>
+ */
+class ConexaoCarga implements Closeable {
+
+    /** Requisições sem resposta permitidas por conexão no modo de taxa constante. */
+    private static final int CAPACIDADE = 1 << 16;
+
+    private static final JsonFactory FABRICA = new JsonFactory();
+
+    private final Socket socket;
+    private final OutputStream saida;
+    private final InputStream entrada;
+    private final int produtos;
+    private final ResultadoCarga resultado;
+    private final long inicioMedicao;
+
+    private final AtomicLongArray agendados = new AtomicLongArray(CAPACIDADE);
+    private final AtomicReferenceArray<OperacaoCarga> operacoes = new AtomicReferenceArray<>(CAPACIDADE);
+    private final Semaphore vagas = new Semaphore(CAPACIDADE);
+
+    private volatile boolean encerrando;
+
+    private byte[] linha = new byte[8 * 1024];
+    private long respostaId;
+    private boolean respostaSucesso;
+
+    /**
+     * @param host          endereço do servidor
+     * @param porta         porta do servidor
+     * @param produtos      quantidade de produtos existentes
+     * @param resultado     destino das medições
+     * @param inicioMedicao instante ({@link System#nanoTime()}) a partir do qual as respostas são medidas
+     * @throws IOException caso não seja possível conectar
+     */
+    ConexaoCarga(String host, int porta, int produtos, ResultadoCarga resultado, long inicioMedicao) throws IOException {
+        this.socket = new Socket(host, porta);
+        this.socket.setTcpNoDelay(true);
+        this.socket.setSoTimeout(60_000);
+        this.saida = new BufferedOutputStream(socket.getOutputStream(), 16 * 1024);
+        this.entrada = new BufferedInputStream(socket.getInputStream(), 64 * 1024);
+        this.produtos = produtos;
+        this.resultado = resultado;
+        this.inicioMedicao = inicioMedicao;
+    }
+
+    /**
+     * Envia requisições em intervalos fixos até o fim informado e aguarda
+     * todas as respostas.
+     *
+     * @param mix       operações a serem sorteadas
+     * @param primeiro  instante agendado da primeira requisição
+     * @param intervalo intervalo entre requisições desta conexão, em nanossegundos
+     * @param fim       instante a partir do qual nada mais é enviado
+     * @throws Exception caso ocorra erro de comunicação
+     */
+    void executarTaxaConstante(MixCarga mix, long primeiro, long intervalo, long fim) throws Exception {
+        Thread leitor = Thread.ofPlatform().daemon().name("carga-leitor").start(() -> {
+            try {
+                while (true) {
+                    lerResposta();
+                    long agora = System.nanoTime();
+                    int posicao = (int) (respostaId & (CAPACIDADE - 1));
+                    long agendado = agendados.get(posicao);
+                    if (agendado >= inicioMedicao) {
+                        resultado.registrar(operacoes.get(posicao), agora - agendado, respostaSucesso);
+                    }
+                    vagas.release();
+                }
+            } catch (IOException e) {
+                if (!encerrando) {
+                    System.err.println("Erro ao ler respostas: " + e.getMessage());
+                }
+            }
+        });
+
+        long id = 0;
+        for (long agendado = primeiro; agendado < fim; agendado += intervalo) {
+            long espera = agendado - System.nanoTime();
+            if (espera > 0) {
+                // Sem atraso acumulado, envia o que estiver no buffer antes de dormir
+                saida.flush();
+                LockSupport.parkNanos(espera);
+            }
+            vagas.acquire();
+            OperacaoCarga op = mix.sortear();
+            int posicao = (int) (id & (CAPACIDADE - 1));
+            agendados.set(posicao, agendado);
+            operacoes.set(posicao, op);
+            saida.write(op.linha(id++, produtos).getBytes(StandardCharsets.UTF_8));
+        }
+        saida.flush();
+
+        // Todas as vagas de volta indicam que todas as respostas chegaram
+        if (!vagas.tryAcquire(CAPACIDADE, 60, TimeUnit.SECONDS)) {
+            System.err.println("Respostas não recebidas: " + (CAPACIDADE - vagas.availablePermits()));
+        }
+        encerrando = true;
+        socket.close();
+        leitor.join();
+    }
+
+    /**
+     * Envia uma requisição por vez, aguardando a resposta antes da próxima,
+     * até o fim informado.
+     *
+     * @param mix operações a serem sorteadas
+     * @param fim instante a partir do qual nada mais é enviado
+     * @throws IOException caso ocorra erro de comunicação
+     */
+    void executarCicloFechado(MixCarga mix, long fim) throws IOException {
+        for (long id = 0; System.nanoTime() < fim; id++) {
+            OperacaoCarga op = mix.sortear();
+            long envio = System.nanoTime();
+            saida.write(op.linha(id, produtos).getBytes(StandardCharsets.UTF_8));
+            saida.flush();
+            lerResposta();
+            if (envio >= inicioMedicao) {
+                resultado.registrar(op, System.nanoTime() - envio, respostaSucesso);
+            }
+        }
+    }
+
+    /**
+     * Lê uma linha de resposta, extraindo o {@code id} e o status.
+     */
+    private void lerResposta() throws IOException {
+        int tamanho = 0;
+        for (int b = entrada.read(); b != '\n'; b = entrada.read()) {
+            if (b < 0) {
+                throw new EOFException("Conexão encerrada pelo servidor");
+            }
+            if (tamanho == linha.length) {
+                linha = Arrays.copyOf(linha, tamanho * 2);
+            }
+            linha[tamanho++] = (byte) b;
+        }
+
+        respostaId = -1;
+        respostaSucesso = false;
+        try (JsonParser p = FABRICA.createParser(linha, 0, tamanho)) {
+            p.nextToken();
+            String status = null;
+            while ((respostaId < 0 || status == null) && p.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = p.currentName();
+                p.nextToken();
+                if (campo.equals("id")) {
+                    respostaId = p.getValueAsLong(-1);
+                } else if (campo.equals("status")) {
+                    status = p.getText();
+                } else {
+                    p.skipChildren();
+                }
+            }
+            respostaSucesso = status != null && !status.equalsIgnoreCase("erro");
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
@@ -0,0 +1,177 @@
+package br.backend.carga;
+
+import br.backend.benchmark.memoria.AplicacaoMemoria;
+import br.backend.config.Configuracao;
+import br.backend.config.ContextoAplicacao;
+import br.backend.servidor.Servidor;
+import br.backend.util.JsonUtil;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gerador de carga que envia requisições ao servidor pela porta TCP, no mesmo
+ * protocolo de linhas JSON usado pelos clientes, e relata vazão e latências.
+ *
+ * <p>Os parâmetros são informados como <code>chave=valor</code>:</p>
+ * <ul>
+ *     <li><code>alvo</code>: <code>externo</code> (padrão) para um servidor já em execução;
+ *     <code>memoria</code> para iniciar um servidor neste processo sobre DAOs em memória;
+ *     <code>mysql</code> para iniciar um servidor neste processo com o banco do
+ *     <code>application.properties</code></li>
+ *     <li><code>host</code> (127.0.0.1) e <code>porta</code> (3001); com <code>alvo=mysql</code>
+ *     vale a porta configurada na aplicação</li>
+ *     <li><code>conexoes</code> (16): conexões simultâneas</li>
+ *     <li><code>taxa</code> (0): requisições por segundo somando todas as conexões, enviadas
+ *     em intervalos fixos (<i>open loop</i>); 0 usa ciclo fechado, com uma requisição por
+ *     conexão aguardando resposta</li>
+ *     <li><code>duracao</code> (30) e <code>aquecimento</code> (5), em segundos</li>
+ *     <li><code>mix</code> (<code>produto/encontrar=70,registro/criar=20,relatorio/listar=10</code>)</li>
+ *     <li><code>produtos</code> (1000): IDs de produto sorteados de 1 até este valor</li>
+ *     <li><code>resultado</code>: arquivo onde o resumo é gravado em JSON</li>
+ * </ul>
+ *
+ * <p>Com <code>alvo=memoria</code>, as propriedades <code>servidor.*</code>
+ * informadas configuram o servidor iniciado (ex.: <code>servidor.modo=nio</code>).</p>
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar br.backend.carga.GeradorCarga alvo=memoria conexoes=32 taxa=5000
+ * </pre>
+ */
+public class GeradorCarga {
+
+    private static final String MIX_PADRAO = "produto/encontrar=70,registro/criar=20,relatorio/listar=10";
+
+    public static void main(String[] args) throws Exception {
+        Properties propriedades = new Properties();
+        for (String arg : args) {
+            int separador = arg.indexOf('=');
+            if (separador <= 0) {
+                System.err.println("Parâmetro inválido: " + arg + " (use chave=valor)");
+                System.exit(2);
+            }
+            propriedades.setProperty(arg.substring(0, separador), arg.substring(separador + 1));
+        }
+        Configuracao configuracao = new Configuracao(propriedades);
+
+        String host = configuracao.getTexto("host", "127.0.0.1");
+        int porta = configuracao.getInteiro("porta", 3001);
+        int conexoes = Math.max(1, configuracao.getInteiro("conexoes", 16));
+        double taxa = Double.parseDouble(configuracao.getTexto("taxa", "0"));
+        int duracao = configuracao.getInteiro("duracao", 30);
+        int aquecimento = configuracao.getInteiro("aquecimento", 5);
+        int produtos = configuracao.getInteiro("produtos", 1000);
+        MixCarga mix = new MixCarga(configuracao.getTexto("mix", MIX_PADRAO));
+
+        switch (configuracao.getTexto("alvo", "externo").toLowerCase()) {
+            case "externo" -> { }
+            case "memoria" -> {
+                propriedades.setProperty("servidor.porta", String.valueOf(porta));
+                AplicacaoMemoria aplicacao = new AplicacaoMemoria(produtos);
+                iniciar(new Servidor(configuracao, aplicacao.getRoteador(), aplicacao.getEstadoControlador()));
+                host = "127.0.0.1";
+            }
+            case "mysql" -> {
+                ContextoAplicacao contexto = new ContextoAplicacao();
+                porta = contexto.getConfiguracao().getInteiro("servidor.porta", 3001);
+                iniciar(new Servidor(contexto.getConfiguracao(), contexto.getRoteador(), contexto.getEstadoControlador()));
+                host = "127.0.0.1";
+            }
+            default -> throw new IllegalArgumentException("Alvo desconhecido: " + configuracao.getTexto("alvo", null));
+        }
+        aguardarServidor(host, porta);
+
+        System.out.printf("Carga: %s:%d, %d conexões, %s, %ds (+%ds de aquecimento)%n", host, porta, conexoes,
+                taxa > 0 ? String.format("%.0f req/s", taxa) : "ciclo fechado", duracao, aquecimento);
+        System.out.println("Mix: " + mix);
+
+        ResultadoCarga resultado = new ResultadoCarga(mix.getOperacoes());
+        long inicio = System.nanoTime();
+        long inicioMedicao = inicio + aquecimento * 1_000_000_000L;
+        long fim = inicioMedicao + duracao * 1_000_000_000L;
+        long intervalo = taxa > 0 ? (long) (conexoes * 1e9 / taxa) : 0;
+
+        List<ConexaoCarga> abertas = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tarefas = new ArrayList<>();
+            for (int i = 0; i < conexoes; i++) {
+                ConexaoCarga conexao = new ConexaoCarga(host, porta, produtos, resultado, inicioMedicao);
+                abertas.add(conexao);
+                // Distribui o início das conexões ao longo do primeiro intervalo
+                long primeiro = inicio + intervalo * i / conexoes;
+                tarefas.add(executor.submit(() -> {
+                    if (intervalo > 0) {
+                        conexao.executarTaxaConstante(mix, primeiro, intervalo, fim);
+                    } else {
+                        conexao.executarCicloFechado(mix, fim);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> tarefa : tarefas) {
+                tarefa.get();
+            }
+        } finally {
+            for (ConexaoCarga conexao : abertas) {
+                conexao.close();
+            }
+        }
+
+        double segundos = (System.nanoTime() - inicioMedicao) / 1e9;
+        Map<String, ResultadoCarga.Resumo> resumo = resultado.resumir(segundos);
+        imprimir(resumo);
+
+        String arquivo = configuracao.getTexto("resultado", null);
+        if (arquivo != null) {
+            Files.writeString(Path.of(arquivo), JsonUtil.toJson(resumo), StandardCharsets.UTF_8);
+            System.out.println("Resultado gravado em " + arquivo);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Inicia o servidor em uma thread própria; {@link Servidor#iniciar()} só
+     * retorna quando o servidor é encerrado.
+     */
+    private static void iniciar(Servidor servidor) {
+        Thread.ofPlatform().daemon().name("servidor").start(servidor::iniciar);
+    }
+
+    /**
+     * Aguarda até 10 segundos pela abertura da porta do servidor.
+     */
+    private static void aguardarServidor(String host, int porta) throws InterruptedException {
+        for (int tentativa = 0; ; tentativa++) {
+            try (Socket ignored = new Socket(host, porta)) {
+                return;
+            } catch (IOException e) {
+                if (tentativa == 100) {
+                    throw new IllegalStateException("Servidor indisponível em " + host + ":" + porta, e);
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    /**
+     * Imprime o resumo em forma de tabela, com latências em milissegundos.
+     */
+    private static void imprimir(Map<String, ResultadoCarga.Resumo> resumo) {
+        System.out.printf("%n%-20s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                "operação", "req", "erros", "req/s", "média", "p50", "p90", "p99", "p99.9", "máx");
+        resumo.forEach((nome, r) -> System.out.printf("%-20s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                nome, r.getRequisicoes(), r.getErros(), r.getVazao(),
+                r.getLatencia().getMediaMs(), r.getLatencia().getP50Ms(), r.getLatencia().getP90Ms(),
+                r.getLatencia().getP99Ms(), r.getLatencia().getP999Ms(), r.getLatencia().getMaximoMs()));
+    }
+}
@@ -0,0 +1,83 @@
+package br.backend.carga;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Proporção de cada operação na carga, lida no formato
+ * <code>produto/encontrar=70,registro/criar=20,relatorio/listar=10</code>.
+ */
+class MixCarga {
+
+    private final OperacaoCarga[] operacoes;
+    private final int[] pesosAcumulados;
+    private final int pesoTotal;
+
+    /**
+     * @param texto operações e pesos separados por vírgula
+     * @throws IllegalArgumentException se o texto for inválido
+     */
+    MixCarga(String texto) {
+        Map<OperacaoCarga, Integer> pesos = new LinkedHashMap<>();
+        for (String parte : texto.split(",")) {
+            String[] chaveValor = parte.split("=");
+            if (chaveValor.length != 2) {
+                throw new IllegalArgumentException("Item do mix inválido: " + parte);
+            }
+            int peso = Integer.parseInt(chaveValor[1].trim());
+            if (peso > 0) {
+                pesos.merge(OperacaoCarga.de(chaveValor[0]), peso, Integer::sum);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("Mix sem operações: " + texto);
+        }
+
+        operacoes = pesos.keySet().toArray(new OperacaoCarga[0]);
+        pesosAcumulados = new int[operacoes.length];
+        int acumulado = 0;
+        for (int i = 0; i < operacoes.length; i++) {
+            acumulado += pesos.get(operacoes[i]);
+            pesosAcumulados[i] = acumulado;
+        }
+        pesoTotal = acumulado;
+    }
+
+    /**
+     * @return operação sorteada conforme os pesos
+     */
+    OperacaoCarga sortear() {
+        int valor = ThreadLocalRandom.current().nextInt(pesoTotal);
+        for (int i = 0; i < pesosAcumulados.length; i++) {
+            if (valor < pesosAcumulados[i]) {
+                return operacoes[i];
+            }
+        }
+        return operacoes[operacoes.length - 1];
+    }
+
+    /**
+     * @return operações do mix, na ordem informada
+     */
+    List<OperacaoCarga> getOperacoes() {
+        return new ArrayList<>(List.of(operacoes));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        int anterior = 0;
+        for (int i = 0; i < operacoes.length; i++) {
+            if (i > 0) {
+                texto.append(", ");
+            }
+            texto.append(operacoes[i].getNome()).append('=')
+                    .append(Math.round(100.0 * (pesosAcumulados[i] - anterior) / pesoTotal)).append('%');
+            anterior = pesosAcumulados[i];
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package br.backend.carga;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Operações que o gerador de carga sabe enviar, identificadas por
+ * <code>entidade/acao</code>.
+ *
+ * <p>Os IDs de produto são sorteados entre 1 e a quantidade de produtos
+ * informada, que deve corresponder aos dados do banco utilizado. As
+ * listagens pedem páginas de 50 itens.</p>
+ */
+enum OperacaoCarga {
+
+    PRODUTO_ENCONTRAR("produto/encontrar") {
+        @Override
+        String dados(int produtos) {
+            return "{\"id\":" + sortear(produtos) + "}";
+        }
+    },
+    PRODUTO_LISTAR("produto/listar") {
+        @Override
+        String dados(int produtos) {
+            return "{\"tamanhoPagina\":50}";
+        }
+    },
+    CATEGORIA_LISTAR("categoria/listar") {
+        @Override
+        String dados(int produtos) {
+            return "null";
+        }
+    },
+    REGISTRO_CRIAR("registro/criar") {
+        @Override
+        String dados(int produtos) {
+            return "{\"produtoId\":" + sortear(produtos) + ",\"quantidade\":1,\"movimentacao\":\"ENTRADA\","
+                    + "\"status\":\"ADICIONADO\",\"data\":" + System.currentTimeMillis() + "}";
+        }
+    },
+    REGISTRO_LISTAR("registro/listar") {
+        @Override
+        String dados(int produtos) {
+            return "{\"tamanhoPagina\":50}";
+        }
+    },
+    RELATORIO_LISTAR("relatorio/listar") {
+        @Override
+        String dados(int produtos) {
+            return "{\"tamanhoPagina\":50}";
+        }
+    };
+
+    private final String nome;
+    private final String entidade;
+    private final String acao;
+
+    OperacaoCarga(String nome) {
+        this.nome = nome;
+        this.entidade = nome.substring(0, nome.indexOf('/'));
+        this.acao = nome.substring(nome.indexOf('/') + 1);
+    }
+
+    /**
+     * @param produtos quantidade de produtos existentes
+     * @return conteúdo do campo {@code dados}, em JSON
+     */
+    abstract String dados(int produtos);
+
+    /**
+     * Monta a linha da requisição, terminada em <code>\n</code>.
+     *
+     * @param id       identificador de correlação
+     * @param produtos quantidade de produtos existentes
+     * @return linha pronta para envio
+     */
+    String linha(long id, int produtos) {
+        return "{\"id\":" + id + ",\"entidade\":\"" + entidade + "\",\"acao\":\"" + acao + "\",\"dados\":" + dados(produtos) + "}\n";
+    }
+
+    /** @return nome da operação, no formato <code>entidade/acao</code> */
+    String getNome() {
+        return nome;
+    }
+
+    /**
+     * @param nome nome no formato <code>entidade/acao</code>
+     * @return operação correspondente
+     * @throws IllegalArgumentException se a operação não for conhecida
+     */
+    static OperacaoCarga de(String nome) {
+        for (OperacaoCarga op : values()) {
+            if (op.nome.equalsIgnoreCase(nome.trim())) {
+                return op;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida: " + nome + ". Disponíveis: "
+                + List.of(values()).stream().map(OperacaoCarga::getNome).toList());
+    }
+
+    private static int sortear(int produtos) {
+        return 1 + ThreadLocalRandom.current().nextInt(Math.max(1, produtos));
+    }
+}
@@ -0,0 +1,95 @@
+package br.backend.carga;
+
+import br.backend.metricas.Histograma;
+import br.backend.metricas.RetratoHistograma;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latências e contagens coletadas durante a medição, por operação.
+ *
+ * <p>A latência é medida a partir do instante em que a requisição
+ * <b>deveria</b> ter sido enviada; no modo de taxa constante, o atraso
+ * acumulado quando o servidor não acompanha a carga entra na medição, em vez
+ * de ser escondido (<i>coordinated omission</i>).</p>
+ */
+class ResultadoCarga {
+
+    private final Map<OperacaoCarga, Histograma> latencias = new EnumMap<>(OperacaoCarga.class);
+    private final Map<OperacaoCarga, LongAdder> erros = new EnumMap<>(OperacaoCarga.class);
+    private final Histograma total = new Histograma();
+    private final LongAdder errosTotal = new LongAdder();
+
+    /**
+     * @param operacoes operações medidas
+     */
+    ResultadoCarga(List<OperacaoCarga> operacoes) {
+        for (OperacaoCarga op : operacoes) {
+            latencias.put(op, new Histograma());
+            erros.put(op, new LongAdder());
+        }
+    }
+
+    /**
+     * Registra a resposta de uma requisição.
+     *
+     * @param op        operação da requisição
+     * @param latencia  latência em nanossegundos
+     * @param sucesso   {@code false} se a resposta indicou erro
+     */
+    void registrar(OperacaoCarga op, long latencia, boolean sucesso) {
+        latencias.get(op).registrar(latencia);
+        total.registrar(latencia);
+        if (!sucesso) {
+            erros.get(op).increment();
+            errosTotal.increment();
+        }
+    }
+
+    /**
+     * Monta o resumo da medição, por operação e total.
+     *
+     * @param segundos duração da medição
+     * @return resumo indexado pelo nome da operação, com a linha <code>total</code> ao final
+     */
+    Map<String, Resumo> resumir(double segundos) {
+        Map<String, Resumo> resumo = new LinkedHashMap<>();
+        latencias.forEach((op, h) -> resumo.put(op.getNome(), new Resumo(h.retrato(), erros.get(op).sum(), segundos)));
+        resumo.put("total", new Resumo(total.retrato(), errosTotal.sum(), segundos));
+        return resumo;
+    }
+
+    /**
+     * Resultado de uma operação: vazão, erros e latências.
+     */
+    static class Resumo {
+
+        private final long requisicoes;
+        private final long erros;
+        private final double vazao;
+        private final RetratoHistograma latencia;
+
+        Resumo(RetratoHistograma latencia, long erros, double segundos) {
+            this.requisicoes = latencia.getContagem();
+            this.erros = erros;
+            this.vazao = segundos > 0 ? requisicoes / segundos : 0;
+            this.latencia = latencia;
+        }
+
+        /** @return respostas recebidas */
+        public long getRequisicoes() { return requisicoes; }
+
+        /** @return respostas com status de erro */
+        public long getErros() { return erros; }
+
+        /** @return respostas por segundo */
+        public double getVazao() { return vazao; }
+
+        /** @return distribuição das latências */
+        public RetratoHistograma getLatencia() { return latencia; }
+    }
+}
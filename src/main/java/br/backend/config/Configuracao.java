@@ -0,0 +1,146 @@
+package br.backend.config;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Classe responsável por carregar e fornecer as configurações da aplicação.
+ *
+ * <p>Os valores são lidos do arquivo <b>application.properties</b> presente
+ * no classpath. Qualquer chave pode ser sobrescrita na inicialização por meio
+ * de uma propriedade de sistema de mesmo nome (ex.: {@code -Dservidor.modo=nio}),
+ * o que permite alternar comportamentos sem recompilar a aplicação.</p>
+ *
+ * <p>Os métodos de leitura recebem sempre um valor padrão, utilizado quando a
+ * chave não está definida.</p>
+ */
+public class Configuracao {
+
+    private final Properties propriedades;
+
+    /**
+     * Construtor padrão que carrega o arquivo <code>application.properties</code>.
+     *
+     * @throws RuntimeException caso o arquivo não seja encontrado ou ocorra erro de leitura
+     */
+    public Configuracao() {
+        this(carregarArquivo());
+    }
+
+    /**
+     * Construtor que utiliza um conjunto de propriedades já carregado.
+     *
+     * @param propriedades propriedades de configuração
+     */
+    public Configuracao(Properties propriedades) {
+        this.propriedades = propriedades;
+    }
+
+    /**
+     * Carrega as propriedades do arquivo <code>application.properties</code> do classpath.
+     *
+     * @return propriedades carregadas
+     * @throws RuntimeException caso o arquivo não seja encontrado ou ocorra erro de leitura
+     */
+    private static Properties carregarArquivo() {
+        Properties props = new Properties();
+        try (InputStream inputStream = Configuracao.class.getClassLoader().getResourceAsStream("application.properties")) {
+            if (inputStream == null) {
+                throw new RuntimeException("application.properties não encontrado no classpath!");
+            }
+            props.load(inputStream);
+            return props;
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao carregar arquivo: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna o valor textual de uma chave.
+     *
+     * @param chave  nome da propriedade
+     * @param padrao valor retornado caso a chave não exista
+     * @return valor configurado ou o padrão
+     */
+    public String getTexto(String chave, String padrao) {
+        String valor = System.getProperty(chave, propriedades.getProperty(chave));
+        return valor == null || valor.isBlank() ? padrao : valor.trim();
+    }
+
+    /**
+     * Retorna o valor inteiro de uma chave.
+     *
+     * @param chave  nome da propriedade
+     * @param padrao valor retornado caso a chave não exista
+     * @return valor configurado ou o padrão
+     * @throws RuntimeException caso o valor não seja um número válido
+     */
+    public int getInteiro(String chave, int padrao) {
+        String valor = getTexto(chave, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Integer.parseInt(valor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Valor inválido para '" + chave + "': " + valor, e);
+        }
+    }
+
+    /**
+     * Retorna o valor inteiro longo de uma chave.
+     *
+     * @param chave  nome da propriedade
+     * @param padrao valor retornado caso a chave não exista
+     * @return valor configurado ou o padrão
+     * @throws RuntimeException caso o valor não seja um número válido
+     */
+    public long getLongo(String chave, long padrao) {
+        String valor = getTexto(chave, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Long.parseLong(valor);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Valor inválido para '" + chave + "': " + valor, e);
+        }
+    }
+
+    /**
+     * Retorna o valor booleano de uma chave.
+     *
+     * @param chave  nome da propriedade
+     * @param padrao valor retornado caso a chave não exista
+     * @return valor configurado ou o padrão
+     */
+    public boolean getBooleano(String chave, boolean padrao) {
+        String valor = getTexto(chave, null);
+        return valor == null ? padrao : Boolean.parseBoolean(valor);
+    }
+
+    /**
+     * Retorna o valor de uma chave convertido para uma constante de enum,
+     * sem diferenciar maiúsculas de minúsculas.
+     *
+     * @param chave  nome da propriedade
+     * @param tipo   classe do enum
+     * @param padrao valor retornado caso a chave não exista
+     * @param <E>    tipo do enum
+     * @return constante configurada ou o padrão
+     * @throws RuntimeException caso o valor não corresponda a nenhuma constante
+     */
+    public <E extends Enum<E>> E getEnum(String chave, Class<E> tipo, E padrao) {
+        String valor = getTexto(chave, null);
+        if (valor == null) {
+            return padrao;
+        }
+        try {
+            return Enum.valueOf(tipo, valor.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Valor inválido para '" + chave + "': " + valor, e);
+        }
+    }
+}
@@ -1,21 +1,51 @@
 package br.backend.config;
 
 import br.backend.controlador.impl.CategoriaControladorImpl;
+import br.backend.controlador.RoteadorRequisicoes;
+import br.backend.controlador.impl.EstadoControladorImpl;
+import br.backend.controlador.impl.LoteControladorImpl;
+import br.backend.controlador.impl.MetricasControladorImpl;
 import br.backend.controlador.impl.ProdutoControladorImpl;
 import br.backend.controlador.impl.RegistroControladorImpl;
 import br.backend.controlador.impl.RelatorioControladorImpl;
+import br.backend.dao.CategoriaDAO;
+import br.backend.dao.ProdutoDAO;
 import br.backend.dao.RegistroDAO;
-import br.backend.dao.RelatorioDAO;
+import br.backend.dao.assincrono.RegistroDAOAssincrono;
+import br.backend.dao.cache.CacheLocal;
+import br.backend.dao.cache.CategoriaDAOCache;
+import br.backend.dao.cache.ProdutoDAOCache;
 import br.backend.dao.impl.CategoriaDAOImpl;
 import br.backend.dao.impl.ProdutoDAOImpl;
 import br.backend.dao.impl.RegistroDAOImpl;
 import br.backend.dao.impl.RelatorioDAOImpl;
+import br.backend.dao.metricas.CategoriaDAOMedido;
+import br.backend.dao.metricas.ProdutoDAOMedido;
+import br.backend.dao.metricas.RegistroDAOMedido;
+import br.backend.dao.metricas.RelatorioDAOMedido;
+import br.backend.database.AgrupadorTransacoes;
 import br.backend.database.Database;
+import br.backend.database.MigradorEsquema;
+import br.backend.database.OrcamentoComandos;
+import br.backend.metricas.ExportadorMetricas;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.metricas.eventos.GravacaoContinua;
+import br.backend.modelo.Categoria;
+import br.backend.modelo.Produto;
 import br.backend.servico.CategoriaServico;
+import br.backend.servico.LoteServico;
+import br.backend.servico.ModoLote;
 import br.backend.servico.ProdutoServico;
+import br.backend.servico.ReajustePrecos;
 import br.backend.servico.RegistroServico;
 import br.backend.servico.RelatorioServico;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 /**
  * Classe responsável por montar e disponibilizar todas as dependências
  * necessárias para o funcionamento da aplicação.
@@ -30,11 +60,21 @@ import br.backend.servico.RelatorioServico;
  */
 public class ContextoAplicacao {
 
+    private final Configuracao configuracao;
     private final Database database;
     private final CategoriaControladorImpl categoriaControlador;
     private final ProdutoControladorImpl produtoControlador;
     private final RegistroControladorImpl registroControlador;
     private final RelatorioControladorImpl relatorioControlador;
+    private final EstadoControladorImpl estadoControlador;
+    private final LoteControladorImpl loteControlador;
+    private final MetricasControladorImpl metricasControlador;
+    private final RoteadorRequisicoes roteador;
+    private final RegistroMetricas metricas;
+    private final ExportadorMetricas exportadorMetricas;
+    private final GravacaoContinua gravacaoContinua;
+    private final RegistroDAOAssincrono registroAssincrono;
+    private final ReajustePrecos reajustePrecos;
 
     /**
      * Construtor padrão que realiza toda a composição dos objetos
@@ -42,37 +82,226 @@ public class ContextoAplicacao {
      *
      * <p>Sequência de montagem:</p>
      * <ol>
-     *     <li>Instancia o banco de dados ({@link Database})</li>
-     *     <li>Cria DAOs</li>
+     *     <li>Carrega as configurações ({@link Configuracao})</li>
+     *     <li>Instancia o banco de dados ({@link Database}), com os comandos SQL
+     *     medidos no {@link RegistroMetricas}</li>
+     *     <li>Cria o DAO e o Service de relatórios, usados pela carga da
+     *     tabela <code>relatorio</code> durante a migração</li>
+     *     <li>Aplica as migrações pendentes do esquema ({@link MigradorEsquema})</li>
+     *     <li>Cria DAOs, medidos no {@link RegistroMetricas}, envolvendo os de
+     *     produto e categoria em caches de leitura e, se configurado, o de
+     *     registros em uma fila de gravação em segundo plano</li>
      *     <li>Cria Services que dependem desses DAOs</li>
      *     <li>Cria os Controladores que utilizam os Services</li>
+     *     <li>Cria o controlador de lotes, que reutiliza os anteriores</li>
+     *     <li>Registra todos os controladores no {@link RoteadorRequisicoes}, com
+     *     o commit das gravações simultâneas agrupado, se configurado</li>
+     *     <li>Inicia a gravação periódica das métricas, se configurada</li>
+     *     <li>Inicia a gravação JFR contínua, se configurada</li>
      * </ol>
      *
      * <p>Esse fluxo garante que todas as dependências sejam satisfeitas
      * antes do servidor ser iniciado.</p>
      */
     public ContextoAplicacao() {
-        this.database = new Database();
+        this.configuracao = new Configuracao();
+        this.metricas = new RegistroMetricas();
+        this.database = new Database(configuracao, metricas);
+
+        // Relatório: lido da junção de registro e produto até que a migração carregue a tabela relatorio
+        RelatorioDAOImpl relatorioDAOImpl = new RelatorioDAOImpl(database);
+        RelatorioServico relatorioServico = new RelatorioServico(new RelatorioDAOMedido(relatorioDAOImpl, metricas),
+                database,
+                configuracao.getInteiro("relatorio.reconstrucao.paralelos", 4),
+                configuracao.getInteiro("relatorio.reconstrucao.tamanhoFaixa", 10_000));
+        this.relatorioControlador = new RelatorioControladorImpl(relatorioServico);
+        MigradorEsquema migrador = migrarEsquema(relatorioServico, relatorioDAOImpl);
+
+        // DAOs medidos, abaixo dos caches de leitura de produtos e categorias
+        CategoriaDAO categoriaDAO = new CategoriaDAOMedido(new CategoriaDAOImpl(database), metricas);
+        ProdutoDAO produtoDAO = new ProdutoDAOMedido(new ProdutoDAOImpl(database), metricas);
+        Supplier<Map<String, Object>> estatisticasCache = null;
+        if (configuracao.getBooleano("cache.ativo", true)) {
+            long ttlMs = configuracao.getLongo("cache.ttlMs", 60_000);
+            CacheLocal<Integer, Produto> cacheProdutos = new CacheLocal<>(
+                    configuracao.getInteiro("cache.produto.tamanhoMaximo", 10_000), ttlMs, ProdutoDAOCache::copiar);
+            CacheLocal<Integer, Categoria> cacheCategorias = new CacheLocal<>(
+                    configuracao.getInteiro("cache.categoria.tamanhoMaximo", 1_000), ttlMs, CategoriaDAOCache::copiar);
+            produtoDAO = new ProdutoDAOCache(produtoDAO, cacheProdutos, database);
+            categoriaDAO = new CategoriaDAOCache(categoriaDAO, cacheCategorias, cacheProdutos, database);
+
+            estatisticasCache = () -> {
+                Map<String, Object> secao = new LinkedHashMap<>();
+                secao.put("produto", cacheProdutos.getEstatisticas());
+                secao.put("categoria", cacheCategorias.getEstatisticas());
+                return secao;
+            };
+        }
 
         // Categoria
-        CategoriaDAOImpl categoriaDAO = new CategoriaDAOImpl(database);
         CategoriaServico categoriaServico = new CategoriaServico(categoriaDAO);
         this.categoriaControlador = new CategoriaControladorImpl(categoriaServico);
 
         // Produto + Registro
-        RegistroDAO registroDAO = new RegistroDAOImpl(database);
-        ProdutoDAOImpl produtoDAO = new ProdutoDAOImpl(database);
-        ProdutoServico produtoServico = new ProdutoServico(produtoDAO, registroDAO);
+        RegistroDAO registroDAO = new RegistroDAOMedido(new RegistroDAOImpl(database), metricas);
+        if (configuracao.getBooleano("registro.assincrono.ativo", false)) {
+            String diario = configuracao.getTexto("registro.assincrono.diario", null);
+            this.registroAssincrono = new RegistroDAOAssincrono(registroDAO, database,
+                    configuracao.getInteiro("registro.assincrono.capacidade", 100_000),
+                    configuracao.getInteiro("registro.assincrono.tamanhoLote", 500),
+                    configuracao.getLongo("registro.assincrono.intervaloMs", 200),
+                    diario == null ? null : Path.of(diario),
+                    configuracao.getBooleano("registro.assincrono.diario.sincronizar", false));
+            registroDAO = registroAssincrono;
+        } else {
+            this.registroAssincrono = null;
+        }
+        this.reajustePrecos = new ReajustePrecos(produtoDAO,
+                configuracao.getInteiro("reajuste.tamanhoLote", 500),
+                configuracao.getInteiro("reajuste.tamanhoLoteMaximo", 5_000),
+                configuracao.getLongo("reajuste.tempoMaximoLoteMs", 100),
+                configuracao.getInteiro("reajuste.produtosPorSegundo", 0),
+                configuracao.getInteiro("reajuste.historico", 20));
+        ProdutoServico produtoServico = new ProdutoServico(produtoDAO, registroDAO, database, reajustePrecos);
         this.produtoControlador = new ProdutoControladorImpl(produtoServico);
 
         // Registro
         RegistroServico registroServico = new RegistroServico(registroDAO);
         this.registroControlador = new RegistroControladorImpl(registroServico);
 
-        // Relatório
-        RelatorioDAO relatorioDAO = new RelatorioDAOImpl(database);
-        RelatorioServico relatorioServico = new RelatorioServico(relatorioDAO);
-        this.relatorioControlador = new RelatorioControladorImpl(relatorioServico);
+        // Group commit das gravações simultâneas, aplicado pelas rotas
+        AgrupadorTransacoes agrupador = !configuracao.getBooleano("grupoCommit.ativo", false) ? null
+                : new AgrupadorTransacoes(database,
+                        configuracao.getLongo("grupoCommit.janelaMs", 2),
+                        configuracao.getInteiro("grupoCommit.tamanhoMaximo", 64),
+                        configuracao.getInteiro("grupoCommit.paralelos", 1));
+
+        // Depuração: comandos SQL de cada requisição comparados com o orçamento da rota
+        OrcamentoComandos orcamento = configuracao.getBooleano("depuracao.orcamentoComandos", false)
+                ? new OrcamentoComandos() : null;
+
+        // Lote: despacha as requisições avulsas pelo mesmo roteador do servidor
+        this.roteador = new RoteadorRequisicoes(metricas, agrupador, orcamento);
+        LoteServico loteServico = new LoteServico(database, produtoServico, registroServico, roteador::responder,
+                ModoLote.de(configuracao.getTexto("lote.modoPadrao", null), ModoLote.FALHA_RAPIDA),
+                configuracao.getInteiro("lote.tamanhoMaximo", 10_000));
+        this.loteControlador = new LoteControladorImpl(loteServico);
+
+        // Estado (diagnóstico)
+        this.estadoControlador = new EstadoControladorImpl();
+        estadoControlador.registrarSecao("banco", database::getEstatisticas);
+        if (estatisticasCache != null) {
+            estadoControlador.registrarSecao("cache", estatisticasCache);
+        }
+        if (migrador != null) {
+            estadoControlador.registrarSecao("esquema", migrador::getSituacao);
+        }
+        if (agrupador != null) {
+            estadoControlador.registrarSecao("grupoCommit", agrupador::getEstatisticas);
+        }
+        if (registroAssincrono != null) {
+            estadoControlador.registrarSecao("registroAssincrono", registroAssincrono::getEstatisticas);
+        }
+        estadoControlador.registrarSecao("reajustes", reajustePrecos::listar);
+        if (orcamento != null) {
+            estadoControlador.registrarSecao("orcamentoComandos", orcamento::getEstatisticas);
+        }
+
+        roteador.registrar("categoria", categoriaControlador);
+        roteador.registrar("produto", produtoControlador);
+        roteador.registrar("registro", registroControlador);
+        roteador.registrar("relatorio", relatorioControlador);
+        roteador.registrar("lote", loteControlador);
+        roteador.registrar("estado", estadoControlador);
+
+        // Métricas
+        this.metricasControlador = new MetricasControladorImpl(metricas);
+        roteador.registrar("metricas", metricasControlador);
+        String arquivoMetricas = configuracao.getTexto("metricas.arquivo", null);
+        this.exportadorMetricas = arquivoMetricas == null ? null : new ExportadorMetricas(metricas,
+                Path.of(arquivoMetricas), configuracao.getLongo("metricas.intervaloSegundos", 60) * 1000);
+
+        // JFR: gravação contínua, salva em arquivo a cada requisição lenta
+        this.gravacaoContinua = !configuracao.getBooleano("jfr.gravacaoContinua", false) ? null : new GravacaoContinua(
+                Path.of(configuracao.getTexto("jfr.diretorio", "jfr")),
+                Duration.ofMillis(configuracao.getLongo("jfr.limiteRequisicaoMs", 1000)),
+                Duration.ofSeconds(configuracao.getLongo("jfr.idadeMaximaSegundos", 300)),
+                Duration.ofSeconds(configuracao.getLongo("jfr.intervaloMinimoSegundos", 60)));
+    }
+
+    /**
+     * Aplica as migrações pendentes do esquema ({@link MigradorEsquema}), se
+     * <code>db.migracoes.ativo</code>. Com <code>db.migracoes.segundoPlano</code>,
+     * a migração roda em uma thread própria e o servidor é iniciado sem
+     * esperá-la; caso contrário, uma falha interrompe a inicialização.
+     *
+     * <p>O relatório passa a ler a tabela <code>relatorio</code> só depois de
+     * aplicada a versão {@link MigradorEsquema#VERSAO_RELATORIO}, cuja carga
+     * é feita pelo {@link RelatorioServico#reconstruir()}. Com as migrações
+     * desativadas, a versão do banco é apenas consultada.</p>
+     *
+     * @param relatorioServico serviço que carrega a tabela <code>relatorio</code>
+     * @param relatorioDAO     DAO do relatório, avisado quando a tabela estiver pronta
+     * @return migrador utilizado, ou {@code null} se as migrações estão desativadas
+     */
+    private MigradorEsquema migrarEsquema(RelatorioServico relatorioServico, RelatorioDAOImpl relatorioDAO) {
+        MigradorEsquema migrador = new MigradorEsquema(database, MigradorEsquema.migracoes(relatorioServico::reconstruir),
+                configuracao.getInteiro("db.migracoes.esperaTravaSegundos", 5),
+                configuracao.getInteiro("db.migracoes.tentativas", 60));
+        Runnable liberarRelatorio = () -> relatorioDAO.usarMaterializado(
+                migrador.getVersaoAtual() >= MigradorEsquema.VERSAO_RELATORIO);
+
+        if (!configuracao.getBooleano("db.migracoes.ativo", true)) {
+            try {
+                migrador.consultarVersao();
+                liberarRelatorio.run();
+            } catch (RuntimeException e) {
+                System.err.println(e.getMessage());
+            }
+            return null;
+        }
+        if (configuracao.getBooleano("db.migracoes.segundoPlano", false)) {
+            Thread.ofPlatform().name("migracoes").daemon().start(() -> {
+                try {
+                    migrador.migrar();
+                } catch (RuntimeException e) {
+                    System.err.println(e.getMessage());
+                } finally {
+                    liberarRelatorio.run();
+                }
+            });
+        } else {
+            migrador.migrar();
+            liberarRelatorio.run();
+        }
+        return migrador;
+    }
+
+    /**
+     * Encerra a aplicação: grava as métricas pendentes, se houver gravação
+     * periódica, encerra a gravação JFR contínua, interrompe o reajuste de
+     * preços em curso, grava os registros ainda na fila, se houver, e fecha o
+     * pool de conexões.
+     */
+    public void fechar() {
+        if (exportadorMetricas != null) {
+            exportadorMetricas.close();
+        }
+        if (gravacaoContinua != null) {
+            gravacaoContinua.close();
+        }
+        reajustePrecos.close();
+        if (registroAssincrono != null) {
+            registroAssincrono.close();
+        }
+        database.fechar();
+    }
+
+    /**
+     * @return tabela de despacho das requisições para as estratégias dos controladores
+     */
+    public RoteadorRequisicoes getRoteador() {
+        return roteador;
     }
 
     /**
@@ -103,11 +332,46 @@ public class ContextoAplicacao {
         return relatorioControlador;
     }
 
+    /**
+     * @return controlador responsável pela execução de lotes de requisições
+     */
+    public LoteControladorImpl getLoteControlador() {
+        return loteControlador;
+    }
+
+    /**
+     * @return controlador que expõe as métricas das requisições e do banco
+     */
+    public MetricasControladorImpl getMetricasControlador() {
+        return metricasControlador;
+    }
+
+    /**
+     * @return registro das métricas das requisições e dos acessos ao banco
+     */
+    public RegistroMetricas getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * @return controlador que expõe o estado interno do servidor
+     */
+    public EstadoControladorImpl getEstadoControlador() {
+        return estadoControlador;
+    }
+
+    /**
+     * @return configurações carregadas na inicialização da aplicação
+     */
+    public Configuracao getConfiguracao() {
+        return configuracao;
+    }
+
     /**
      * Retorna a instância centralizada do banco de dados.
      *
      * <p>Este método é útil para permitir que o servidor (ou classe Main)
-     * feche explicitamente a conexão ao encerrar a aplicação.</p>
+     * feche explicitamente o pool de conexões ao encerrar a aplicação.</p>
      *
      * @return instância de {@link Database}
      */
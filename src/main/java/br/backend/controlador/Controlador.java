@@ -1,25 +1,80 @@
 package br.backend.controlador;
 
 import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.Map;
 
 
 /**
  * Interface base para todos os controladores da aplicação.
  *
- * <p>Define o contrato para o processamento de uma {@link Requisicao}, retornando
- * sempre um JSON que representa o resultado da operação executada pelo controlador
- * concreto.</p>
+ * <p>Define o contrato para o processamento de uma {@link Requisicao}, produzindo
+ * sempre uma {@link Resposta} que representa o resultado da operação executada
+ * pelo controlador concreto. A resposta pode ser escrita diretamente na saída do
+ * cliente ou obtida em formato JSON.</p>
  *
  * <p>Implementações dessa interface utilizam o padrão Strategy para despachar
  * dinamicamente a ação desejada com base nas informações contidas na requisição.</p>
  */
 public interface Controlador {
 
+    /**
+     * Processa uma requisição genérica e retorna o seu resultado.
+     *
+     * @param requisicao objeto contendo a ação a ser executada e os dados enviados pelo cliente
+     * @return resposta representando o sucesso ou erro da operação
+     */
+    Resposta<?> responder(Requisicao<?> requisicao);
+
     /**
      * Processa uma requisição genérica e retorna o resultado em formato JSON.
      *
      * @param requisicao objeto contendo a ação a ser executada e os dados enviados pelo cliente
      * @return uma string JSON representando a resposta (sucesso ou erro)
      */
-    public String processarRequisicao(Requisicao<?> requisicao);
+    default String processarRequisicao(Requisicao<?> requisicao) {
+        return JsonUtil.toJson(responder(requisicao));
+    }
+
+    /**
+     * Processa uma requisição escrevendo a resposta diretamente no gerador JSON,
+     * utilizado pelo servidor para responder ao cliente sem montar a resposta
+     * em uma {@link String}.
+     *
+     * @param requisicao objeto contendo a ação a ser executada e os dados enviados pelo cliente
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    default void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        gerador.writeObject(responder(requisicao));
+    }
+
+    /**
+     * Estratégias atendidas pelo controlador, usadas pelo
+     * {@link RoteadorRequisicoes} para despachar as requisições diretamente.
+     * Controladores que não utilizam estratégias retornam um mapa vazio e são
+     * chamados para todas as ações da sua entidade.
+     *
+     * @return estratégias indexadas pela ação em minúsculas
+     */
+    default Map<String, AcaoEstrategia> getEstrategias() {
+        return Map.of();
+    }
+
+    /**
+     * Indica se as requisições do controlador são atendidas sem passar pelo
+     * limitador de requisições simultâneas do servidor. Usado pelos
+     * controladores de diagnóstico, que não acessam o banco de dados e devem
+     * responder mesmo com o servidor saturado.
+     *
+     * @return {@code true} para dispensar o limitador
+     */
+    default boolean dispensaLimitador() {
+        return false;
+    }
 }
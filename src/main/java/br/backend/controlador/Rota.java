@@ -0,0 +1,254 @@
+package br.backend.controlador;
+
+import br.backend.database.AgrupadorTransacoes;
+import br.backend.database.OrcamentoComandos;
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.metricas.MetricaOperacao;
+import br.backend.metricas.eventos.EventoEstrategia;
+import br.backend.metricas.eventos.EventoJson;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Destino de um par (entidade, ação) registrado no {@link RoteadorRequisicoes}:
+ * a estratégia já instanciada que atende a ação e o controlador ao qual ela
+ * pertence.
+ *
+ * <p>Executa a estratégia com o mesmo tratamento de erros dos controladores,
+ * sem precisar procurá-la novamente a cada requisição. Cada entidade tem
+ * também uma rota sem estratégia, de ação <code>*</code>, que encaminha ao
+ * controlador as ações sem estratégia registrada.</p>
+ *
+ * <p>Toda execução é medida na {@link MetricaOperacao} da rota; respostas com
+ * status <code>erro</code> e exceções contam como erro. Com uma gravação JFR
+ * em andamento, a execução emite um {@link EventoEstrategia} e a escrita da
+ * resposta um {@link EventoJson}.</p>
+ *
+ * <p>Com um {@link AgrupadorTransacoes}, as estratégias que alteram dados
+ * ({@link AcaoEstrategia#alteraDados()}) são executadas no grupo de
+ * transações aberto, e a resposta só é produzida após o <code>commit</code>
+ * do grupo.</p>
+ *
+ * <p>Com um {@link OrcamentoComandos}, os comandos SQL de cada execução da
+ * estratégia são contados e comparados com o orçamento dela
+ * ({@link AcaoEstrategia#getOrcamentoComandos()}).</p>
+ */
+public class Rota {
+
+    private final String entidade;
+    private final String acao;
+    private final Controlador controlador;
+    private final AcaoEstrategia estrategia;
+    private final Class<?> tipoDados;
+    private final MetricaOperacao metrica;
+    private final AgrupadorTransacoes agrupador;
+    private final OrcamentoComandos orcamento;
+    private final int limiteComandos;
+    private final String rotulo;
+
+    /**
+     * @param entidade    nome da entidade, em minúsculas
+     * @param acao        nome da ação, em minúsculas, ou <code>*</code> na rota da entidade
+     * @param controlador controlador dono da estratégia
+     * @param estrategia  estratégia que atende a ação, ou {@code null} na rota da entidade
+     * @param metrica     métrica onde as execuções são medidas
+     */
+    public Rota(String entidade, String acao, Controlador controlador, AcaoEstrategia estrategia, MetricaOperacao metrica) {
+        this(entidade, acao, controlador, estrategia, metrica, null);
+    }
+
+    /**
+     * @param entidade    nome da entidade, em minúsculas
+     * @param acao        nome da ação, em minúsculas, ou <code>*</code> na rota da entidade
+     * @param controlador controlador dono da estratégia
+     * @param estrategia  estratégia que atende a ação, ou {@code null} na rota da entidade
+     * @param metrica     métrica onde as execuções são medidas
+     * @param agrupador   agrupador das gravações simultâneas, ou {@code null};
+     *                    usado apenas se a estratégia alterar dados
+     */
+    public Rota(String entidade, String acao, Controlador controlador, AcaoEstrategia estrategia, MetricaOperacao metrica,
+                AgrupadorTransacoes agrupador) {
+        this(entidade, acao, controlador, estrategia, metrica, agrupador, null);
+    }
+
+    /**
+     * @param entidade    nome da entidade, em minúsculas
+     * @param acao        nome da ação, em minúsculas, ou <code>*</code> na rota da entidade
+     * @param controlador controlador dono da estratégia
+     * @param estrategia  estratégia que atende a ação, ou {@code null} na rota da entidade
+     * @param metrica     métrica onde as execuções são medidas
+     * @param agrupador   agrupador das gravações simultâneas, ou {@code null};
+     *                    usado apenas se a estratégia alterar dados
+     * @param orcamento   verificação dos comandos SQL por requisição, ou {@code null};
+     *                    usada apenas se a estratégia tiver orçamento
+     */
+    public Rota(String entidade, String acao, Controlador controlador, AcaoEstrategia estrategia, MetricaOperacao metrica,
+                AgrupadorTransacoes agrupador, OrcamentoComandos orcamento) {
+        this.entidade = entidade;
+        this.acao = acao;
+        this.controlador = controlador;
+        this.estrategia = estrategia;
+        this.tipoDados = estrategia == null ? null : estrategia.getTipoDados();
+        this.metrica = metrica;
+        this.agrupador = estrategia != null && estrategia.alteraDados() ? agrupador : null;
+        this.limiteComandos = estrategia == null ? OrcamentoComandos.SEM_LIMITE : estrategia.getOrcamentoComandos();
+        this.orcamento = limiteComandos == OrcamentoComandos.SEM_LIMITE ? null : orcamento;
+        this.rotulo = entidade + "/" + acao;
+    }
+
+    /**
+     * Executa a estratégia. Exceções, e dados que não puderam ser convertidos
+     * para o tipo esperado, resultam em uma resposta de erro.
+     *
+     * @param requisicao requisição recebida
+     * @return resposta da estratégia ou de erro
+     */
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        long inicio = metrica.iniciar();
+        boolean sucesso = false;
+        try {
+            Resposta<?> resposta = executar(requisicao);
+            sucesso = sucedeu(resposta);
+            return resposta;
+        } finally {
+            metrica.finalizar(inicio, sucesso);
+        }
+    }
+
+    /**
+     * Executa a estratégia escrevendo a resposta no gerador, transmitindo-a em
+     * fluxo quando a estratégia assim indicar.
+     *
+     * @param requisicao requisição recebida
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @return {@code false} se a resposta escrita teve status <code>erro</code>
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    public boolean escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        long inicio = metrica.iniciar();
+        boolean sucesso = false;
+        try {
+            if (estrategia != null && requisicao.getErroDados() == null && estrategia.transmiteEmFluxo(requisicao)) {
+                transmitir(requisicao, gerador);
+                sucesso = true;
+            } else {
+                Resposta<?> resposta = executar(requisicao);
+                escreverResposta(resposta, gerador);
+                sucesso = sucedeu(resposta);
+            }
+            return sucesso;
+        } finally {
+            metrica.finalizar(inicio, sucesso);
+        }
+    }
+
+    private void transmitir(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        EventoEstrategia evento = new EventoEstrategia();
+        evento.begin();
+        boolean sucesso = false;
+        OrcamentoComandos.Contagem contagem = orcamento == null ? null : orcamento.iniciar();
+        try {
+            estrategia.escrever(requisicao, gerador);
+            sucesso = true;
+        } finally {
+            if (contagem != null) {
+                orcamento.concluir(contagem, rotulo, limiteComandos);
+            }
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(entidade, acao, estrategia.getClass(), true, sucesso);
+                evento.commit();
+            }
+        }
+    }
+
+    private Resposta<?> executar(Requisicao<?> requisicao) {
+        EventoEstrategia evento = new EventoEstrategia();
+        evento.begin();
+        Resposta<?> resposta = null;
+        try {
+            resposta = invocar(requisicao);
+            return resposta;
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(entidade, acao, estrategia != null ? estrategia.getClass() : controlador.getClass(),
+                        false, sucedeu(resposta));
+                evento.commit();
+            }
+        }
+    }
+
+    private static void escreverResposta(Resposta<?> resposta, JsonGenerator gerador) throws IOException {
+        EventoJson evento = new EventoJson();
+        evento.begin();
+        try {
+            gerador.writeObject(resposta);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(EventoJson.ESCREVER_RESPOSTA, resposta.getDados() == null ? Resposta.class : resposta.getDados().getClass(), -1);
+                evento.commit();
+            }
+        }
+    }
+
+    private Resposta<?> invocar(Requisicao<?> requisicao) {
+        if (estrategia == null) {
+            return controlador.responder(requisicao);
+        }
+        if (requisicao.getErroDados() != null) {
+            return new Resposta<>("erro", requisicao.getErroDados(), null);
+        }
+        try {
+            if (agrupador != null) {
+                return agrupador.executar(() -> responderEstrategia(requisicao), resposta -> !sucedeu(resposta));
+            }
+            return responderEstrategia(requisicao);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * Executa a estratégia, contando os comandos SQL na thread que a executa,
+     * que no group commit é a do grupo.
+     */
+    private Resposta<?> responderEstrategia(Requisicao<?> requisicao) {
+        if (orcamento == null) {
+            return estrategia.responder(requisicao);
+        }
+        OrcamentoComandos.Contagem contagem = orcamento.iniciar();
+        try {
+            return estrategia.responder(requisicao);
+        } finally {
+            orcamento.concluir(contagem, rotulo, limiteComandos);
+        }
+    }
+
+    private static boolean sucedeu(Resposta<?> resposta) {
+        return resposta != null && !"erro".equals(resposta.getStatus());
+    }
+
+    /** @return nome da entidade, em minúsculas */
+    public String getEntidade() { return entidade; }
+
+    /** @return nome da ação, em minúsculas, ou <code>*</code> na rota da entidade */
+    public String getAcao() { return acao; }
+
+    /** @return controlador dono da estratégia */
+    public Controlador getControlador() { return controlador; }
+
+    /** @return estratégia que atende a ação, ou {@code null} na rota da entidade */
+    public AcaoEstrategia getEstrategia() { return estrategia; }
+
+    /** @return tipo para o qual os dados da requisição são convertidos, ou {@code null} */
+    public Class<?> getTipoDados() { return tipoDados; }
+
+    /** @return métrica onde as execuções da rota são medidas */
+    public MetricaOperacao getMetrica() { return metrica; }
+}
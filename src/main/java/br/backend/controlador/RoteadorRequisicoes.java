@@ -0,0 +1,303 @@
+package br.backend.controlador;
+
+import br.backend.database.AgrupadorTransacoes;
+import br.backend.database.OrcamentoComandos;
+import br.backend.dto.Requisicao;
+import br.backend.dto.RequisicaoDeserializer;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.metricas.eventos.EventoJson;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Tabela central de despacho das requisições, montada uma única vez na
+ * inicialização da aplicação.
+ *
+ * <p>Cada controlador registrado tem suas estratégias ({@link Controlador#getEstrategias()})
+ * indexadas pelo par (entidade, ação), apontando para as instâncias já criadas.
+ * Cada entidade tem ainda uma rota de ação <code>*</code>, que encaminha ao
+ * controlador as ações sem estratégia; é por ela que controladores sem
+ * estratégias (ex.: <code>estado</code>) atendem todas as suas ações.</p>
+ *
+ * <p>A busca ignora maiúsculas e minúsculas sem criar novas strings: o hash é
+ * calculado caractere a caractere e as chaves são comparadas com
+ * {@link String#equalsIgnoreCase(String)}, de modo que o despacho não aloca
+ * memória. O registro reconstrói as tabelas e deve ser feito antes de o
+ * servidor começar a atender.</p>
+ *
+ * <p>Cada rota recebe, na montagem, a métrica do seu par (entidade, ação) no
+ * {@link RegistroMetricas}, de modo que as requisições são medidas sem
+ * nenhuma busca adicional. Com um {@link AgrupadorTransacoes}, as rotas das
+ * estratégias que alteram dados têm o <code>commit</code> agrupado com o das
+ * demais gravações simultâneas; com um {@link OrcamentoComandos}, os comandos
+ * SQL de cada requisição são comparados com o orçamento da estratégia.</p>
+ *
+ * <p>As requisições lidas por {@link #ler(String)} já têm o campo
+ * {@code dados} convertido para o tipo declarado pela estratégia da rota
+ * ({@link AcaoEstrategia#getTipoDados()}).</p>
+ */
+public class RoteadorRequisicoes {
+
+    /** Registro das métricas das rotas. */
+    private final RegistroMetricas metricas;
+
+    /** Agrupador das gravações simultâneas, ou {@code null} para não agrupar. */
+    private final AgrupadorTransacoes agrupador;
+
+    /** Verificação dos comandos SQL por requisição, ou {@code null} para não verificar. */
+    private final OrcamentoComandos orcamento;
+
+    /** Controladores registrados, indexados pela entidade em minúsculas. */
+    private final Map<String, Controlador> controladores = new LinkedHashMap<>();
+
+    /** Tabelas de busca; substituídas por inteiro a cada registro. */
+    private volatile Tabelas tabelas = Tabelas.VAZIAS;
+
+    /** Leitor de requisições que consulta as rotas para converter os dados. */
+    private final ObjectReader leitorRequisicoes = JsonUtil.leitor(Requisicao.class)
+            .withAttribute(RequisicaoDeserializer.TIPOS_DADOS, (BiFunction<String, String, Class<?>>) this::tipoDados);
+
+    /**
+     * Cria um roteador com um registro de métricas próprio.
+     */
+    public RoteadorRequisicoes() {
+        this(new RegistroMetricas());
+    }
+
+    /**
+     * @param metricas registro onde as requisições de cada rota são medidas
+     */
+    public RoteadorRequisicoes(RegistroMetricas metricas) {
+        this(metricas, null);
+    }
+
+    /**
+     * @param metricas  registro onde as requisições de cada rota são medidas
+     * @param agrupador agrupador onde as estratégias que alteram dados são
+     *                  executadas, ou {@code null} para não agrupar
+     */
+    public RoteadorRequisicoes(RegistroMetricas metricas, AgrupadorTransacoes agrupador) {
+        this(metricas, agrupador, null);
+    }
+
+    /**
+     * @param metricas  registro onde as requisições de cada rota são medidas
+     * @param agrupador agrupador onde as estratégias que alteram dados são
+     *                  executadas, ou {@code null} para não agrupar
+     * @param orcamento verificação dos comandos SQL de cada requisição, ou
+     *                  {@code null} para não verificar
+     */
+    public RoteadorRequisicoes(RegistroMetricas metricas, AgrupadorTransacoes agrupador, OrcamentoComandos orcamento) {
+        this.metricas = metricas;
+        this.agrupador = agrupador;
+        this.orcamento = orcamento;
+    }
+
+    /**
+     * Registra um controlador para a entidade informada, junto com todas as
+     * suas estratégias.
+     *
+     * @param entidade    nome da entidade
+     * @param controlador controlador que atende a entidade
+     */
+    public synchronized void registrar(String entidade, Controlador controlador) {
+        controladores.put(entidade.toLowerCase(), controlador);
+        tabelas = new Tabelas(controladores, metricas, agrupador, orcamento);
+    }
+
+    /**
+     * Busca a rota de uma ação de entidade.
+     *
+     * @param entidade nome da entidade, sem distinção de maiúsculas
+     * @param acao     nome da ação, sem distinção de maiúsculas
+     * @return rota da estratégia da ação; se não houver, a rota da entidade
+     *         (ação <code>*</code>); ou {@code null} se a entidade for desconhecida
+     */
+    public Rota buscar(String entidade, String acao) {
+        if (entidade == null) {
+            return null;
+        }
+        if (acao != null) {
+            Tabelas t = tabelas;
+            int mascara = t.rotas.length - 1;
+            for (int i = espalhar(hash(acao, hash(entidade, 1))) & mascara; ; i = (i + 1) & mascara) {
+                Rota rota = t.rotas[i];
+                if (rota == null) {
+                    break;
+                }
+                if (rota.getEntidade().equalsIgnoreCase(entidade) && rota.getAcao().equalsIgnoreCase(acao)) {
+                    return rota;
+                }
+            }
+        }
+        return buscarRotaEntidade(entidade);
+    }
+
+    /**
+     * Informa o tipo dos dados esperado por uma ação de entidade.
+     *
+     * @param entidade nome da entidade, sem distinção de maiúsculas
+     * @param acao     nome da ação, sem distinção de maiúsculas
+     * @return tipo dos dados ou {@code null} se a ação não tiver rota ou tipo definido
+     */
+    public Class<?> tipoDados(String entidade, String acao) {
+        Rota rota = buscar(entidade, acao);
+        return rota == null ? null : rota.getTipoDados();
+    }
+
+    /**
+     * Converte o JSON de uma requisição, com {@code dados} já no tipo esperado
+     * pela ação, em uma única leitura.
+     *
+     * @param json JSON contendo a requisição
+     * @return requisição convertida
+     * @throws RuntimeException se o JSON for inválido
+     */
+    public Requisicao<?> ler(String json) {
+        EventoJson evento = new EventoJson();
+        evento.begin();
+        try {
+            return leitorRequisicoes.readValue(json);
+        } catch (Exception e) {
+            throw new RuntimeException("Erro ao converter JSON para objeto", e);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(EventoJson.LER_REQUISICAO, Requisicao.class, json.length());
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Busca o controlador de uma entidade.
+     *
+     * @param entidade nome da entidade, sem distinção de maiúsculas
+     * @return controlador registrado ou {@code null} se a entidade for desconhecida
+     */
+    public Controlador buscarControlador(String entidade) {
+        Rota rota = entidade == null ? null : buscarRotaEntidade(entidade);
+        return rota == null ? null : rota.getControlador();
+    }
+
+    private Rota buscarRotaEntidade(String entidade) {
+        Tabelas t = tabelas;
+        int mascara = t.entidades.length - 1;
+        for (int i = espalhar(hash(entidade, 1)) & mascara; ; i = (i + 1) & mascara) {
+            Rota rota = t.entidades[i];
+            if (rota == null) {
+                return null;
+            }
+            if (rota.getEntidade().equalsIgnoreCase(entidade)) {
+                return rota;
+            }
+        }
+    }
+
+    /**
+     * Atende a requisição pela rota correspondente ou, se a ação não tiver
+     * estratégia registrada, pelo controlador da entidade.
+     *
+     * @param requisicao requisição recebida
+     * @return resposta produzida, ou de erro se a entidade for desconhecida
+     */
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        Rota rota = buscar(requisicao.getEntidade(), requisicao.getAcao());
+        if (rota == null) {
+            return new Resposta<>("erro", "Entidade '" + requisicao.getEntidade() + "' não reconhecida", null);
+        }
+        return rota.responder(requisicao);
+    }
+
+    /**
+     * @return registro onde as requisições de cada rota são medidas
+     */
+    public RegistroMetricas getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Hash de um texto ignorando maiúsculas e minúsculas, coerente com
+     * {@link String#equalsIgnoreCase(String)}.
+     */
+    private static int hash(String texto, int inicial) {
+        int h = inicial;
+        for (int i = 0; i < texto.length(); i++) {
+            h = 31 * h + minuscula(texto.charAt(i));
+        }
+        return h;
+    }
+
+    private static char minuscula(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int espalhar(int h) {
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return menor potência de dois com folga para a quantidade de chaves
+     */
+    private static int capacidade(int quantidade) {
+        int capacidade = 8;
+        while (capacidade < quantidade * 2) {
+            capacidade <<= 1;
+        }
+        return capacidade;
+    }
+
+    /**
+     * Tabelas de endereçamento aberto imutáveis, montadas a partir dos
+     * controladores registrados.
+     */
+    private static final class Tabelas {
+
+        static final Tabelas VAZIAS = new Tabelas(Map.of(), null, null, null);
+
+        final Rota[] rotas;
+        final Rota[] entidades;
+
+        Tabelas(Map<String, Controlador> registrados, RegistroMetricas metricas, AgrupadorTransacoes agrupador,
+                OrcamentoComandos orcamento) {
+            List<Rota> lista = new ArrayList<>();
+            for (Map.Entry<String, Controlador> registro : registrados.entrySet()) {
+                for (Map.Entry<String, AcaoEstrategia> estrategia : registro.getValue().getEstrategias().entrySet()) {
+                    String acao = estrategia.getKey().toLowerCase();
+                    lista.add(new Rota(registro.getKey(), acao, registro.getValue(), estrategia.getValue(),
+                            metricas.requisicao(registro.getKey(), acao), agrupador, orcamento));
+                }
+            }
+
+            rotas = new Rota[capacidade(lista.size())];
+            for (Rota rota : lista) {
+                int i = espalhar(hash(rota.getAcao(), hash(rota.getEntidade(), 1))) & (rotas.length - 1);
+                while (rotas[i] != null) {
+                    i = (i + 1) & (rotas.length - 1);
+                }
+                rotas[i] = rota;
+            }
+
+            entidades = new Rota[capacidade(registrados.size())];
+            for (Map.Entry<String, Controlador> registro : registrados.entrySet()) {
+                int i = espalhar(hash(registro.getKey(), 1)) & (entidades.length - 1);
+                while (entidades[i] != null) {
+                    i = (i + 1) & (entidades.length - 1);
+                }
+                entidades[i] = new Rota(registro.getKey(), "*", registro.getValue(), null,
+                        metricas.requisicao(registro.getKey(), "*"));
+            }
+        }
+    }
+}
@@ -6,7 +6,6 @@ import br.backend.estrategia.categoria.*;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.servico.CategoriaServico;
-import br.backend.util.JsonUtil;
 
 import java.util.Map;
 
@@ -26,6 +25,7 @@ import java.util.Map;
 public class CategoriaControladorImpl implements Controlador {
 
     private final CategoriaServico categoriaServico;
+    private final Map<String, AcaoEstrategia> estrategias;
 
     /**
      * Cria uma instância do controlador de categoria.
@@ -34,43 +34,47 @@ public class CategoriaControladorImpl implements Controlador {
      */
     public CategoriaControladorImpl(CategoriaServico categoriaServico) {
         this.categoriaServico = categoriaServico;
+
+        // Mapa de ações -> estratégias, montado uma única vez
+        this.estrategias = Map.of(
+                "criar", new CriarCategoriaEstrategia(categoriaServico),
+                "encontrar", new EncontrarCategoriaEstrategia(categoriaServico),
+                "atualizar", new AtualizarCategoriaEstrategia(categoriaServico),
+                "deletar", new DeletarCategoriaEstrategia(categoriaServico),
+                "listar", new ListarCategoriaEstrategia(categoriaServico)
+        );
     }
 
     /**
      * Processa uma requisição de categoria com base na ação informada.
      *
      * @param requisicao objeto contendo a ação e os dados da requisição
-     * @return JSON contendo o resultado da operação ou mensagem de erro
+     * @return resposta contendo o resultado da operação ou mensagem de erro
      */
     @Override
-    public String processarRequisicao(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         try {
             String acao = requisicao.getAcao().toLowerCase();
 
-            // Mapa de ações -> estratégias
-            Map<String, AcaoEstrategia> estrategias = Map.of(
-                    "criar", new CriarCategoriaEstrategia(categoriaServico),
-                    "encontrar", new EncontrarCategoriaEstrategia(categoriaServico),
-                    "atualizar", new AtualizarCategoriaEstrategia(categoriaServico),
-                    "deletar", new DeletarCategoriaEstrategia(categoriaServico),
-                    "listar", new ListarCategoriaEstrategia(categoriaServico)
-            );
-
             AcaoEstrategia estrategia = estrategias.get(acao);
 
             if (estrategia == null) {
-                return JsonUtil.toJson(
-                        new Resposta<>("erro", "Ação desconhecida: " + acao, null)
-                );
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
             }
 
-            return estrategia.executar(requisicao);
+            return estrategia.responder(requisicao);
 
         } catch (Exception e) {
             e.printStackTrace();
-            return JsonUtil.toJson(
-                    new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null)
-            );
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
         }
     }
+
+    /**
+     * @return estratégias do controlador, indexadas pela ação em minúsculas
+     */
+    @Override
+    public Map<String, AcaoEstrategia> getEstrategias() {
+        return estrategias;
+    }
 }
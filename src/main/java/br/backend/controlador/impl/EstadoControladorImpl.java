@@ -0,0 +1,82 @@
+package br.backend.controlador.impl;
+
+import br.backend.controlador.Controlador;
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Controlador responsável por expor o estado interno do servidor
+ * (execução, banco de dados, caches, etc.) através do próprio protocolo.
+ *
+ * <p>Cada componente registra uma <b>seção</b> identificada por nome e um
+ * fornecedor que produz um retrato atualizado a cada consulta. A ação
+ * <b>"consultar"</b> retorna todas as seções ou, se o campo {@code dados}
+ * contiver o nome de uma seção, apenas ela.</p>
+ *
+ * <p>Exemplo de requisição:</p>
+ * <pre>
+ * { "entidade": "estado", "acao": "consultar", "dados": "execucao" }
+ * </pre>
+ */
+public class EstadoControladorImpl implements Controlador {
+
+    private final Map<String, Supplier<?>> secoes = new LinkedHashMap<>();
+
+    /**
+     * Registra uma nova seção de estado.
+     *
+     * @param nome       nome da seção na resposta
+     * @param fornecedor função que produz o retrato atual da seção
+     */
+    public synchronized void registrarSecao(String nome, Supplier<?> fornecedor) {
+        secoes.put(nome, fornecedor);
+    }
+
+    /**
+     * O estado é consultado sem passar pelo limitador, para que o servidor
+     * possa ser inspecionado mesmo quando saturado.
+     */
+    @Override
+    public boolean dispensaLimitador() {
+        return true;
+    }
+
+    /**
+     * Processa uma requisição de consulta ao estado do servidor.
+     *
+     * @param requisicao objeto contendo a ação e, opcionalmente, o nome da seção
+     * @return resposta contendo as seções solicitadas ou mensagem de erro
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        try {
+            String acao = requisicao.getAcao().toLowerCase();
+            if (!acao.equals("consultar")) {
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
+            }
+
+            Map<String, Object> estado = new LinkedHashMap<>();
+            synchronized (this) {
+                for (Map.Entry<String, Supplier<?>> secao : secoes.entrySet()) {
+                    if (requisicao.getDados() == null || secao.getKey().equals(requisicao.getDados())) {
+                        estado.put(secao.getKey(), secao.getValue().get());
+                    }
+                }
+            }
+
+            if (estado.isEmpty()) {
+                return new Resposta<>("erro", "Seção desconhecida: " + requisicao.getDados(), null);
+            }
+
+            return new Resposta<>("sucesso", "Estado do servidor", estado);
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
+        }
+    }
+}
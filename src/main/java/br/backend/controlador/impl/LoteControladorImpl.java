@@ -0,0 +1,65 @@
+package br.backend.controlador.impl;
+
+import br.backend.controlador.Controlador;
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.estrategia.lote.ExecutarLoteEstrategia;
+import br.backend.servico.LoteServico;
+
+import java.util.Map;
+
+/**
+ * Controlador responsável por processar requisições da entidade <code>lote</code>,
+ * que agrupa várias requisições em uma única ida e volta ao servidor.
+ *
+ * <p>Suporta a ação <b>"executar"</b>, delegada à {@link ExecutarLoteEstrategia}.</p>
+ */
+public class LoteControladorImpl implements Controlador {
+
+    private final Map<String, AcaoEstrategia> estrategias;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param loteServico serviço responsável pela execução dos lotes
+     */
+    public LoteControladorImpl(LoteServico loteServico) {
+        this.estrategias = Map.of(
+                "executar", new ExecutarLoteEstrategia(loteServico)
+        );
+    }
+
+    /**
+     * Processa uma requisição de lote com base na ação informada.
+     *
+     * @param requisicao objeto contendo a ação e as requisições do lote
+     * @return resposta contendo o resultado do lote ou mensagem de erro
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        try {
+            String acao = requisicao.getAcao().toLowerCase();
+
+            AcaoEstrategia estrategia = estrategias.get(acao);
+
+            if (estrategia == null) {
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
+            }
+
+            return estrategia.responder(requisicao);
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * @return estratégias do controlador, indexadas pela ação em minúsculas
+     */
+    @Override
+    public Map<String, AcaoEstrategia> getEstrategias() {
+        return estrategias;
+    }
+}
@@ -0,0 +1,81 @@
+package br.backend.controlador.impl;
+
+import br.backend.controlador.Controlador;
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.metricas.RetratoMetricas;
+
+/**
+ * Controlador responsável por expor as métricas acumuladas desde o início do
+ * servidor através do próprio protocolo.
+ *
+ * <p>A ação <b>"consultar"</b> retorna, para cada operação já executada, a
+ * quantidade de execuções, de erros e em andamento e as latências (média,
+ * p50, p90, p99, p99.9 e máxima, em milissegundos). O campo {@code dados}
+ * pode restringir a resposta a uma das seções:</p>
+ * <ul>
+ *     <li><b>requisicoes</b>: por <code>entidade/acao</code></li>
+ *     <li><b>banco</b>: tempo nos DAOs, por <code>dao.metodo</code></li>
+ *     <li><b>sql</b>: tempo e linhas de cada comando SQL, pelo texto do comando</li>
+ * </ul>
+ *
+ * <p>Exemplo de requisição:</p>
+ * <pre>
+ * { "entidade": "metricas", "acao": "consultar", "dados": "banco" }
+ * </pre>
+ */
+public class MetricasControladorImpl implements Controlador {
+
+    private final RegistroMetricas metricas;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param metricas registro cujas métricas são expostas
+     */
+    public MetricasControladorImpl(RegistroMetricas metricas) {
+        this.metricas = metricas;
+    }
+
+    /**
+     * As métricas são consultadas sem passar pelo limitador, como o estado
+     * do servidor.
+     */
+    @Override
+    public boolean dispensaLimitador() {
+        return true;
+    }
+
+    /**
+     * Processa uma requisição de consulta às métricas.
+     *
+     * @param requisicao objeto contendo a ação e, opcionalmente, o nome da seção
+     * @return resposta contendo as métricas solicitadas ou mensagem de erro
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        try {
+            String acao = requisicao.getAcao().toLowerCase();
+            if (!acao.equals("consultar")) {
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
+            }
+
+            RetratoMetricas retrato = metricas.retrato();
+            Object secao = requisicao.getDados();
+            if (secao == null) {
+                return new Resposta<>("sucesso", "Métricas do servidor", retrato);
+            }
+            return switch (secao.toString()) {
+                case "requisicoes" -> new Resposta<>("sucesso", "Métricas das requisições", retrato.getRequisicoes());
+                case "banco" -> new Resposta<>("sucesso", "Métricas do banco de dados", retrato.getBanco());
+                case "sql" -> new Resposta<>("sucesso", "Métricas dos comandos SQL", retrato.getSql());
+                default -> new Resposta<>("erro", "Seção desconhecida: " + secao, null);
+            };
+
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
+        }
+    }
+}
@@ -6,21 +6,24 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.estrategia.produto.AtualizarProdutoEstrategia;
 import br.backend.estrategia.produto.AumentarPrecoProdutoEstrategia;
+import br.backend.estrategia.produto.ConsultarReajusteEstrategia;
 import br.backend.estrategia.produto.CriarProdutoEstrategia;
 import br.backend.estrategia.produto.DeletarProdutoEstrategia;
 import br.backend.estrategia.produto.DiminuirPrecoProdutoEstrategia;
 import br.backend.estrategia.produto.EncontrarProdutoEstrategia;
 import br.backend.estrategia.produto.ListarProdutoEstrategia;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.util.Map;
 
 /**
  * Controlador responsável por processar requisições relacionadas à entidade Produto.
  *
  * <p>Utiliza o padrão Strategy para delegar dinamicamente a execução das ações
- * (criar, encontrar, atualizar, deletar, listar, aumentar preço, diminuir preço)
+ * (criar, encontrar, atualizar, deletar, listar, aumentar preço, diminuir preço,
+ * consultar reajustes)
  * para classes específicas, promovendo organização e extensibilidade.</p>
  *
  * <p>A comunicação segue o padrão da aplicação:
@@ -31,6 +34,8 @@ public class ProdutoControladorImpl implements Controlador {
 
     private final ProdutoServico produtoServico;
     private final ObjectMapper objectMapper;
+    private final ListarProdutoEstrategia listarEstrategia;
+    private final Map<String, AcaoEstrategia> estrategias;
 
     /**
      * Construtor padrão.
@@ -40,6 +45,17 @@ public class ProdutoControladorImpl implements Controlador {
     public ProdutoControladorImpl(ProdutoServico produtoServico) {
         this.produtoServico = produtoServico;
         this.objectMapper = new ObjectMapper();
+        this.listarEstrategia = new ListarProdutoEstrategia(produtoServico);
+        this.estrategias = Map.of(
+                "criar", new CriarProdutoEstrategia(produtoServico),
+                "encontrar", new EncontrarProdutoEstrategia(produtoServico),
+                "atualizar", new AtualizarProdutoEstrategia(produtoServico),
+                "deletar", new DeletarProdutoEstrategia(produtoServico),
+                "listar", listarEstrategia,
+                "aumentar", new AumentarPrecoProdutoEstrategia(produtoServico),
+                "diminuir", new DiminuirPrecoProdutoEstrategia(produtoServico),
+                "reajustes", new ConsultarReajusteEstrategia(produtoServico)
+        );
     }
 
     /**
@@ -51,37 +67,50 @@ public class ProdutoControladorImpl implements Controlador {
      * também é gerada.</p>
      *
      * @param requisicao objeto contendo a ação desejada e os dados enviados pelo cliente
-     * @return um JSON representando o resultado da operação executada
+     * @return resposta representando o resultado da operação executada
      */
     @Override
-    public String processarRequisicao(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         try {
             String acao = requisicao.getAcao().toLowerCase();
 
-            Map<String, AcaoEstrategia> estrategias = Map.of(
-                    "criar", new CriarProdutoEstrategia(produtoServico),
-                    "encontrar", new EncontrarProdutoEstrategia(produtoServico),
-                    "atualizar", new AtualizarProdutoEstrategia(produtoServico),
-                    "deletar", new DeletarProdutoEstrategia(produtoServico),
-                    "listar", new ListarProdutoEstrategia(produtoServico),
-                    "aumentar", new AumentarPrecoProdutoEstrategia(produtoServico),
-                    "diminuir", new DiminuirPrecoProdutoEstrategia(produtoServico)
-            );
             AcaoEstrategia estrategia = estrategias.get(acao);
 
             if (estrategia == null) {
-                return JsonUtil.toJson(
-                        new Resposta<>("erro", "Ação desconhecida: " + acao, null)
-                );
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
             }
 
-            return estrategia.executar(requisicao);
+            return estrategia.responder(requisicao);
 
         } catch (Exception e) {
             e.printStackTrace();
-            return JsonUtil.toJson(
-                    new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null)
-            );
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
         }
     }
+
+    /**
+     * Escreve a resposta diretamente no gerador JSON, transmitindo em fluxo a
+     * ação <b>listar</b> quando solicitado; as demais ações seguem por
+     * {@link #responder(Requisicao)}.
+     *
+     * @param requisicao objeto contendo a ação desejada e os dados da operação
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    @Override
+    public void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        if ("listar".equalsIgnoreCase(requisicao.getAcao()) && listarEstrategia.transmiteEmFluxo(requisicao)) {
+            listarEstrategia.escrever(requisicao, gerador);
+        } else {
+            Controlador.super.escrever(requisicao, gerador);
+        }
+    }
+
+    /**
+     * @return estratégias do controlador, indexadas pela ação em minúsculas
+     */
+    @Override
+    public Map<String, AcaoEstrategia> getEstrategias() {
+        return estrategias;
+    }
 }
@@ -7,8 +7,9 @@ import br.backend.estrategia.AcaoEstrategia;
 import br.backend.estrategia.registro.CriarRegistroEstrategia;
 import br.backend.estrategia.registro.ListarRegistroEstrategia;
 import br.backend.servico.RegistroServico;
-import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 import java.util.Map;
 
 /**
@@ -26,6 +27,7 @@ public class RegistroControladorImpl implements Controlador {
     private final RegistroServico registroServico;
     private final CriarRegistroEstrategia criarEstrategia;
     private final ListarRegistroEstrategia listarEstrategia;
+    private final Map<String, AcaoEstrategia> estrategias;
 
     /**
      * Construtor padrão.
@@ -36,6 +38,10 @@ public class RegistroControladorImpl implements Controlador {
         this.registroServico = registroServico;
         this.criarEstrategia = new CriarRegistroEstrategia(registroServico);
         this.listarEstrategia = new ListarRegistroEstrategia(registroServico);
+        this.estrategias = Map.of(
+                "criar", criarEstrategia,
+                "listar", listarEstrategia
+        );
     }
 
     /**
@@ -52,33 +58,50 @@ public class RegistroControladorImpl implements Controlador {
      * a execução também gera uma resposta de erro.</p>
      *
      * @param requisicao objeto contendo a ação desejada e os dados da operação
-     * @return JSON representando o sucesso ou erro da operação executada
+     * @return resposta representando o sucesso ou erro da operação executada
      */
     @Override
-    public String processarRequisicao(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         try {
             String acao = requisicao.getAcao().toLowerCase();
 
-            Map<String, AcaoEstrategia> estrategias = Map.of(
-                    "criar", new CriarRegistroEstrategia(registroServico),
-                    "listar", new ListarRegistroEstrategia(registroServico)
-            );
-
             AcaoEstrategia estrategia = estrategias.get(acao);
 
             if (estrategia == null) {
-                return JsonUtil.toJson(
-                        new Resposta<>("erro", "Ação desconhecida: " + acao, null)
-                );
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
             }
 
-            return estrategia.executar(requisicao);
+            return estrategia.responder(requisicao);
 
         } catch (Exception e) {
             e.printStackTrace();
-            return JsonUtil.toJson(
-                    new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null)
-            );
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
+        }
+    }
+
+    /**
+     * Escreve a resposta diretamente no gerador JSON, transmitindo em fluxo a
+     * ação <b>listar</b> quando solicitado; as demais ações seguem por
+     * {@link #responder(Requisicao)}.
+     *
+     * @param requisicao objeto contendo a ação desejada e os dados da operação
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    @Override
+    public void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        if ("listar".equalsIgnoreCase(requisicao.getAcao()) && listarEstrategia.transmiteEmFluxo(requisicao)) {
+            listarEstrategia.escrever(requisicao, gerador);
+        } else {
+            Controlador.super.escrever(requisicao, gerador);
         }
     }
+
+    /**
+     * @return estratégias do controlador, indexadas pela ação em minúsculas
+     */
+    @Override
+    public Map<String, AcaoEstrategia> getEstrategias() {
+        return estrategias;
+    }
 }
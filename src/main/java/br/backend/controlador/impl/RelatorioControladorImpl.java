@@ -4,18 +4,24 @@ import br.backend.controlador.Controlador;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
+import br.backend.estrategia.relatorio.AgregarRelatorioEstrategia;
 import br.backend.estrategia.relatorio.ListarRelatorioEstrategia;
+import br.backend.estrategia.relatorio.ReconstruirRelatorioEstrategia;
 import br.backend.servico.RelatorioServico;
-import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.IOException;
 import java.util.Map;
 
 
 /**
  * Controlador responsável por processar requisições relacionadas aos relatórios do sistema.
  *
- * <p>Atualmente suporta apenas a ação de listagem, delegando sua execução
- * para a {@link ListarRelatorioEstrategia}. O uso do padrão Strategy permite
- * adicionar outras ações futuramente sem alterar a estrutura principal do controlador.</p>
+ * <p>Suporta a listagem, delegada à {@link ListarRelatorioEstrategia}, o
+ * cálculo de totais, delegado à {@link AgregarRelatorioEstrategia}, e a
+ * reconstrução do relatório materializado, delegada à
+ * {@link ReconstruirRelatorioEstrategia}. O uso do
+ * padrão Strategy permite adicionar outras ações sem alterar a estrutura
+ * principal do controlador.</p>
  *
  * <p>A comunicação segue o padrão da aplicação, recebendo um objeto {@link Requisicao}
  * e retornando uma {@link Resposta} serializada em JSON.</p>
@@ -24,6 +30,7 @@ public class RelatorioControladorImpl implements Controlador {
 
     private final RelatorioServico relatorioServico;
     private final ListarRelatorioEstrategia listarEstrategia;
+    private final Map<String, AcaoEstrategia> estrategias;
 
     /**
      * Construtor padrão.
@@ -33,14 +40,23 @@ public class RelatorioControladorImpl implements Controlador {
     public RelatorioControladorImpl(RelatorioServico relatorioServico) {
         this.relatorioServico = relatorioServico;
         this.listarEstrategia = new ListarRelatorioEstrategia(relatorioServico);
+        this.estrategias = Map.of(
+                "listar", listarEstrategia,
+                "agregar", new AgregarRelatorioEstrategia(relatorioServico),
+                "reconstruir", new ReconstruirRelatorioEstrategia(relatorioServico)
+        );
     }
 
     /**
      * Processa uma requisição referente a relatórios.
      *
-     * <p>Atualmente suporta apenas a ação:</p>
+     * <p>Suporta as ações:</p>
      * <ul>
-     *     <li><b>listar</b>: retorna os relatórios gerados.</li>
+     *     <li><b>listar</b>: retorna os relatórios gerados, opcionalmente
+     *     filtrados por período, produtos, movimentação e status;</li>
+     *     <li><b>agregar</b>: retorna os totais por produto, categoria, dia
+     *     e movimentação;</li>
+     *     <li><b>reconstruir</b>: refaz o relatório a partir dos registros.</li>
      * </ul>
      *
      * <p>Caso a ação recebida não corresponda a nenhuma estratégia conhecida,
@@ -48,32 +64,50 @@ public class RelatorioControladorImpl implements Controlador {
      * também resulta em uma resposta de erro.</p>
      *
      * @param requisicao objeto contendo a ação desejada e dados adicionais
-     * @return JSON representando o resultado (sucesso ou erro) da operação
+     * @return resposta representando o resultado (sucesso ou erro) da operação
      */
     @Override
-    public String processarRequisicao(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         try {
             String acao = requisicao.getAcao().toLowerCase();
 
-            Map<String, AcaoEstrategia> estrategias = Map.of(
-                    "listar", new ListarRelatorioEstrategia(relatorioServico)
-            );
-
             AcaoEstrategia estrategia = estrategias.get(acao);
 
             if (estrategia == null) {
-                return JsonUtil.toJson(
-                        new Resposta<>("erro", "Ação desconhecida: " + acao, null)
-                );
+                return new Resposta<>("erro", "Ação desconhecida: " + acao, null);
             }
 
-            return estrategia.executar(requisicao);
+            return estrategia.responder(requisicao);
 
         } catch (Exception e) {
             e.printStackTrace();
-            return JsonUtil.toJson(
-                    new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null)
-            );
+            return new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null);
         }
     }
+
+    /**
+     * Escreve a resposta diretamente no gerador JSON, transmitindo em fluxo a
+     * ação <b>listar</b> quando solicitado; as demais ações seguem por
+     * {@link #responder(Requisicao)}.
+     *
+     * @param requisicao objeto contendo a ação desejada e os dados da operação
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    @Override
+    public void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        if ("listar".equalsIgnoreCase(requisicao.getAcao()) && listarEstrategia.transmiteEmFluxo(requisicao)) {
+            listarEstrategia.escrever(requisicao, gerador);
+        } else {
+            Controlador.super.escrever(requisicao, gerador);
+        }
+    }
+
+    /**
+     * @return estratégias do controlador, indexadas pela ação em minúsculas
+     */
+    @Override
+    public Map<String, AcaoEstrategia> getEstrategias() {
+        return estrategias;
+    }
 }
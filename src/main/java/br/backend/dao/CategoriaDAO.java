@@ -25,12 +25,13 @@ public interface CategoriaDAO {
     void inserirCategoria(Categoria cat);
 
     /**
-     * Atualiza uma categoria existente com base no seu ID.
+     * Atualiza uma categoria ativa com base no seu ID, em um único comando.
      *
      * @param id  identificador da categoria a ser atualizada
      * @param cat objeto contendo os novos dados da categoria
+     * @return {@code true} se a categoria foi encontrada e atualizada
      */
-    void atualizarCategoria(Integer id, Categoria cat);
+    boolean atualizarCategoria(Integer id, Categoria cat);
 
     /**
      * Realiza a exclusão lógica (soft delete) de uma categoria.
@@ -38,8 +39,9 @@ public interface CategoriaDAO {
      * <p>A categoria não é removida fisicamente, mas marcada como inativa.</p>
      *
      * @param id identificador da categoria a ser desativada
+     * @return {@code true} se a categoria estava ativa e foi desativada por esta chamada
      */
-    void deletarPorId(Integer id);
+    boolean deletarPorId(Integer id);
 
 
     /**
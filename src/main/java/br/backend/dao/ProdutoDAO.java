@@ -2,13 +2,14 @@ package br.backend.dao;
 
 import br.backend.modelo.Produto;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interface responsável por definir as operações de acesso a dados
  * relacionadas à entidade {@link Produto}.
  *
  * <p>Inclui métodos de criação, atualização, busca, exclusão lógica (soft delete)
- * e manipulação de preços — funcionalidades essenciais para o controle de estoque.</p>
+ * e reajuste de preços em lotes — funcionalidades essenciais para o controle de estoque.</p>
  *
  * <p>As implementações devem garantir o correto tratamento das operações
  * utilizando o mecanismo de persistência adotado (ex.: JDBC, JPA, etc.).</p>
@@ -23,15 +24,22 @@ public interface ProdutoDAO {
     void inserirProduto(Produto obj);
 
     /**
-     * Atualiza os dados de um produto existente.
+     * Insere vários produtos de uma só vez, utilizando lote JDBC.
      *
-     * <p>Retorna o produto atualizado após a operação.</p>
+     * <p>Os IDs gerados são atribuídos aos objetos na mesma ordem da lista.</p>
+     *
+     * @param produtos produtos a serem persistidos
+     */
+    void inserirProdutos(List<Produto> produtos);
+
+    /**
+     * Atualiza os dados de um produto ativo em um único comando, sem relê-lo.
      *
      * @param id          identificador do produto a ser atualizado
      * @param novoProduto objeto contendo os novos valores
-     * @return o produto atualizado
+     * @return {@code true} se o produto foi encontrado e atualizado
      */
-    Produto atualizarProduto(Integer id, Produto novoProduto);
+    boolean atualizarProduto(Integer id, Produto novoProduto);
 
     /**
      * Busca um produto pelo seu ID.
@@ -47,8 +55,9 @@ public interface ProdutoDAO {
      * Realiza o soft delete de um produto, marcando-o como inativo.
      *
      * @param id identificador do produto a ser removido
+     * @return {@code true} se o produto estava ativo e foi desativado por esta chamada
      */
-    void deletarPorId(Integer id);
+    boolean deletarPorId(Integer id);
 
     /**
      * Retorna todos os produtos ativos no sistema.
@@ -58,16 +67,51 @@ public interface ProdutoDAO {
     List<Produto> resgatarTodosProdutos();
 
     /**
-     * Aumenta o valor unitário de todos os produtos ativos com base em um percentual.
+     * Retorna uma página de produtos ativos, ordenados por ID.
+     *
+     * @param aposId ID do último produto da página anterior, ou {@code null} para a primeira página
+     * @param limite quantidade máxima de produtos retornados
+     * @return produtos da página
+     */
+    List<Produto> listarPagina(Integer aposId, int limite);
+
+    /**
+     * Percorre todos os produtos ativos, ordenados por ID, entregando-os um a
+     * um ao consumidor à medida que são lidos, sem manter a lista em memória.
+     *
+     * @param consumidor função chamada para cada produto
+     */
+    void percorrerProdutos(Consumer<Produto> consumidor);
+
+    /**
+     * Conta os produtos ativos, opcionalmente apenas os de uma categoria.
+     *
+     * @param categoriaId categoria dos produtos, ou {@code null} para todos
+     * @return quantidade de produtos ativos
+     */
+    int contarAtivos(Integer categoriaId);
+
+    /**
+     * Retorna o ID que encerra o próximo lote de um reajuste: o do
+     * {@code tamanho}-ésimo produto ativo após {@code aposId}, em ordem de ID,
+     * ou o do último, se houver menos.
      *
-     * @param percentual percentual de aumento (ex.: 10.0 = 10%)
+     * @param aposId      ID do último produto do lote anterior, ou {@code null} para o primeiro lote
+     * @param tamanho     quantidade de produtos do lote
+     * @param categoriaId categoria dos produtos, ou {@code null} para todos
+     * @return ID do último produto do lote, ou {@code null} se não houver mais produtos
      */
-    void aumentarValorProduto(Double percentual);
+    Integer buscarFimLote(Integer aposId, int tamanho, Integer categoriaId);
 
     /**
-     * Reduz o valor unitário de todos os produtos ativos com base em um percentual.
+     * Reajusta o valor unitário dos produtos ativos de uma faixa de IDs.
      *
-     * @param percentual percentual de redução (ex.: 5.0 = 5%)
+     * @param percentual  percentual do reajuste, negativo para redução (ex.: -5.0 = -5%)
+     * @param aposId      os IDs reajustados são maiores que este
+     * @param ateId       os IDs reajustados são menores ou iguais a este
+     * @param categoriaId categoria dos produtos, ou {@code null} para todas
+     * @param produtoIds  IDs aceitos dentro da faixa, ou {@code null} para todos
+     * @return quantidade de produtos reajustados
      */
-    void diminuirValorProduto(Double percentual);
+    int reajustarPrecos(double percentual, int aposId, int ateId, Integer categoriaId, List<Integer> produtoIds);
 }
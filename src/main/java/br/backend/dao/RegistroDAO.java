@@ -2,6 +2,7 @@ package br.backend.dao;
 
 import br.backend.modelo.Registro;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -25,10 +26,37 @@ public interface RegistroDAO {
      */
     void inserirRegistro(Registro registro);
 
+    /**
+     * Insere vários registros de movimentação de uma só vez, utilizando lote JDBC.
+     *
+     * @param registros registros a serem persistidos
+     */
+    void inserirRegistros(List<Registro> registros);
+
     /**
      * Retorna todos os registros cadastrados, ordenados conforme a implementação.
      *
      * @return lista de registros de movimentação
      */
     List<Registro> listarRegistros();
+
+    /**
+     * Retorna uma página de registros, do mais recente para o mais antigo
+     * (data e ID decrescentes).
+     *
+     * @param aposData data, em milissegundos, do último registro da página anterior
+     *                 ou {@code null} para a primeira página
+     * @param aposId   ID do último registro da página anterior
+     * @param limite   quantidade máxima de registros retornados
+     * @return registros da página
+     */
+    List<Registro> listarPagina(Long aposData, Integer aposId, int limite);
+
+    /**
+     * Percorre todos os registros, do mais recente para o mais antigo,
+     * entregando-os um a um ao consumidor à medida que são lidos.
+     *
+     * @param consumidor função chamada para cada registro
+     */
+    void percorrerRegistros(Consumer<Registro> consumidor);
 }
\ No newline at end of file
@@ -1,7 +1,13 @@
 package br.backend.dao;
 
+import br.backend.dto.FiltroRelatorio;
+import br.backend.dto.ResultadoRelatorio;
 import br.backend.modelo.Relatorio;
+import br.backend.modelo.TotalRelatorio;
+import br.backend.modelo.enums.DimensaoRelatorio;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Interface responsável por definir as operações de acesso a dados
@@ -14,6 +20,10 @@ import java.util.List;
  * <p>As implementações dessa interface devem realizar consultas que
  * retornem dados consolidados e ordenados conforme regras de negócio
  * associadas à geração de relatórios.</p>
+ *
+ * <p>O relatório pode ser mantido já montado (materializado), uma linha por
+ * registro; nesse caso, {@link #reconstruirFaixa(int, int)} o refaz a partir
+ * dos registros, para recuperação.</p>
  */
 public interface RelatorioDAO {
 
@@ -27,4 +37,72 @@ public interface RelatorioDAO {
      * @return lista de objetos {@link Relatorio}
      */
     List<Relatorio> listarRelatorio();
+
+    /**
+     * Retorna uma página do relatório, do registro mais recente para o mais
+     * antigo (data e ID decrescentes).
+     *
+     * @param aposData data, em milissegundos, do último item da página anterior
+     *                 ou {@code null} para a primeira página
+     * @param aposId   ID do último item da página anterior
+     * @param limite   quantidade máxima de itens retornados
+     * @return itens da página
+     */
+    List<Relatorio> listarPagina(Long aposData, Integer aposId, int limite);
+
+    /**
+     * Retorna uma página do relatório contendo apenas os itens que atendem ao
+     * filtro, do registro mais recente para o mais antigo.
+     *
+     * @param filtro   datas, produtos, movimentação e status aceitos
+     * @param aposData data, em milissegundos, do último item da página anterior
+     *                 ou {@code null} para a primeira página
+     * @param aposId   ID do último item da página anterior
+     * @param limite   quantidade máxima de itens retornados
+     * @return itens da página, sem cursor, e as linhas examinadas pelo banco
+     */
+    ResultadoRelatorio listarFiltrado(FiltroRelatorio filtro, Long aposData, Integer aposId, int limite);
+
+    /**
+     * Percorre os totais (quantidade de registros e soma das quantidades) do
+     * relatório filtrado, agrupados pelas dimensões informadas.
+     *
+     * <p>No agrupamento por dia, cada total é entregue com o
+     * {@link TotalRelatorio#getIntervalo() intervalo} preenchido e o dia nulo,
+     * cabendo ao chamador somar os intervalos de cada dia no fuso desejado. Um
+     * mesmo grupo pode ser entregue mais de uma vez, e o chamador deve somar
+     * as ocorrências; a ordem de entrega não é definida.</p>
+     *
+     * @param filtro     datas, produtos, movimentação e status aceitos
+     * @param dimensoes  dimensões do agrupamento; vazio resulta em um único total
+     * @param consumidor função chamada para cada total
+     */
+    void percorrerTotais(FiltroRelatorio filtro, Set<DimensaoRelatorio> dimensoes, Consumer<TotalRelatorio> consumidor);
+
+    /**
+     * Percorre todo o relatório, entregando os itens um a um ao consumidor à
+     * medida que são lidos.
+     *
+     * @param consumidor função chamada para cada item
+     */
+    void percorrerRelatorio(Consumer<Relatorio> consumidor);
+
+    /**
+     * @return maior ID de registro presente nos registros ou no relatório, ou 0 se ambos estiverem vazios
+     */
+    int buscarMaiorId();
+
+    /**
+     * Refaz os itens do relatório cujos IDs estão entre {@code deId} e
+     * {@code ateId}, inclusive, a partir dos registros e dos nomes atuais dos
+     * produtos, removendo itens sem registro correspondente.
+     *
+     * <p>Deve ser chamado dentro de uma transação, para que as leituras
+     * concorrentes não vejam a faixa vazia.</p>
+     *
+     * @param deId  primeiro ID da faixa
+     * @param ateId último ID da faixa
+     * @return itens gravados na faixa
+     */
+    int reconstruirFaixa(int deId, int ateId);
 }
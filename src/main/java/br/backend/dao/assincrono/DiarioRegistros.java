@@ -0,0 +1,217 @@
+package br.backend.dao.assincrono;
+
+import br.backend.modelo.Registro;
+import br.backend.util.JsonUtil;
+import br.backend.util.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Diário local, somente de acréscimo, dos registros que aguardam gravação
+ * no banco pelo {@link RegistroDAOAssincrono}.
+ *
+ * <p>Cada registro enfileirado é acrescentado como uma linha JSON com um
+ * número de sequência; após cada lote gravado no banco é acrescentada uma
+ * marca com a última sequência gravada:</p>
+ * <pre>
+ * {"seq":41,"registro":{"data":...,"produtoId":7,...}}
+ * {"ate":41}
+ * </pre>
+ *
+ * <p>Quando a marca alcança o último registro acrescentado, nada mais está
+ * pendente e o arquivo é esvaziado. Na inicialização, os registros após a
+ * última marca são recuperados e permanecem no arquivo até serem gravados. Um registro gravado no banco pouco antes de
+ * uma queda, mas ainda sem marca, é recuperado de novo; a entrega é, portanto,
+ * ao menos uma vez.</p>
+ *
+ * <p>Sem <code>sincronizar</code>, as linhas ficam no cache do sistema
+ * operacional e sobrevivem à queda do processo, mas não à do sistema; com
+ * ela, cada acréscimo aguarda a gravação em disco.</p>
+ */
+class DiarioRegistros implements AutoCloseable {
+
+    private final Path arquivo;
+    private final boolean sincronizar;
+    private final FileChannel canal;
+
+    /** Serializa os acréscimos sem fixar threads virtuais, como faria um {@code synchronized}. */
+    private final ReentrantLock trava = new ReentrantLock();
+    private long ultimaSequencia;
+
+    /**
+     * Abre o diário, criando o arquivo se necessário.
+     *
+     * @param arquivo     arquivo do diário
+     * @param sincronizar se cada acréscimo deve ser forçado ao disco
+     * @throws RuntimeException caso o arquivo não possa ser aberto
+     */
+    DiarioRegistros(Path arquivo, boolean sincronizar) {
+        this.arquivo = arquivo;
+        this.sincronizar = sincronizar;
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao abrir diário de registros: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lê os registros que ficaram pendentes na última execução, mantendo-os
+     * no diário com suas sequências originais: só deixam o arquivo quando
+     * {@link #confirmar(long)} alcançar a sequência de cada um, de modo que
+     * uma nova queda antes da gravação no banco não os perde. Os novos
+     * acréscimos continuam a partir da maior sequência encontrada.
+     *
+     * @param aoRecuperar recebe cada registro sem marca de gravação e sua
+     *                    sequência, na ordem em que foram acrescentados
+     * @return quantidade de registros recuperados
+     * @throws RuntimeException caso o arquivo não possa ser lido
+     */
+    int recuperar(ObjLongConsumer<Registro> aoRecuperar) {
+        trava.lock();
+        try {
+            List<Long> sequencias = new ArrayList<>();
+            List<Registro> registros = new ArrayList<>();
+            long gravadoAte = -1;
+            for (String linha : Files.readAllLines(arquivo, StandardCharsets.UTF_8)) {
+                if (linha.isBlank()) {
+                    continue;
+                }
+                Map<?, ?> entrada;
+                try {
+                    entrada = JsonUtil.fromJson(linha, Map.class);
+                } catch (RuntimeException e) {
+                    // Linha incompleta, escrita durante uma queda
+                    continue;
+                }
+                if (entrada.containsKey("ate")) {
+                    gravadoAte = ((Number) entrada.get("ate")).longValue();
+                } else {
+                    sequencias.add(((Number) entrada.get("seq")).longValue());
+                    registros.add(Util.fromObject(entrada.get("registro"), Registro.class));
+                }
+            }
+
+            int recuperados = 0;
+            for (int i = 0; i < registros.size(); i++) {
+                long sequencia = sequencias.get(i);
+                ultimaSequencia = Math.max(ultimaSequencia, sequencia);
+                if (sequencia > gravadoAte) {
+                    aoRecuperar.accept(registros.get(i), sequencia);
+                    recuperados++;
+                }
+            }
+
+            if (recuperados == 0) {
+                canal.truncate(0);
+            } else if (terminaSemQuebra()) {
+                // Termina a linha incompleta para que o próximo acréscimo não se junte a ela
+                escrever("");
+            }
+            return recuperados;
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao recuperar diário de registros: " + e.getMessage(), e);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private boolean terminaSemQuebra() throws IOException {
+        long tamanho = canal.size();
+        if (tamanho == 0) {
+            return false;
+        }
+        ByteBuffer ultimo = ByteBuffer.allocate(1);
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            leitura.read(ultimo, tamanho - 1);
+        }
+        return ultimo.get(0) != '\n';
+    }
+
+    /**
+     * Acrescenta um registro ao diário.
+     *
+     * @param registro    registro a ser gravado no banco
+     * @param aposAnexar  recebe a sequência atribuída, ainda com o diário travado,
+     *                    para que a ordem da fila seja a mesma do diário
+     * @throws RuntimeException caso o acréscimo falhe
+     */
+    void anexar(Registro registro, LongConsumer aposAnexar) {
+        trava.lock();
+        try {
+            long sequencia = ultimaSequencia + 1;
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("seq", sequencia);
+            linha.put("registro", registro);
+            escrever(JsonUtil.toJson(linha));
+            ultimaSequencia = sequencia;
+            aposAnexar.accept(sequencia);
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao gravar diário de registros: " + e.getMessage(), e);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Marca como gravados no banco todos os registros até a sequência
+     * informada, esvaziando o diário se não restar nenhum pendente.
+     *
+     * @param sequencia última sequência gravada
+     */
+    void confirmar(long sequencia) {
+        trava.lock();
+        try {
+            if (sequencia >= ultimaSequencia) {
+                canal.truncate(0);
+            } else {
+                escrever("{\"ate\":" + sequencia + "}");
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao marcar registros gravados no diário " + arquivo + ": " + e.getMessage());
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private void escrever(String linha) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap((linha + "\n").getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        if (sincronizar) {
+            canal.force(false);
+        }
+    }
+
+    /**
+     * Fecha o arquivo. Registros ainda pendentes são recuperados na próxima
+     * inicialização.
+     */
+    @Override
+    public void close() {
+        try {
+            canal.close();
+        } catch (IOException e) {
+            System.err.println("Erro ao fechar diário de registros: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package br.backend.dao.assincrono;
+
+import br.backend.metricas.RetratoHistograma;
+
+/**
+ * Retrato instantâneo da fila de gravação do {@link RegistroDAOAssincrono},
+ * exposto pela entidade <code>estado</code>.
+ */
+public class EstatisticasRegistroAssincrono {
+
+    private final int capacidade;
+    private final int naFila;
+    private final double atrasoAtualMs;
+    private final long enfileirados;
+    private final long gravados;
+    private final long lotes;
+    private final long falhas;
+    private final long gravadosDiretamente;
+    private final RetratoHistograma atraso;
+
+    /**
+     * Construtor completo.
+     *
+     * @param capacidade          quantidade máxima de registros na fila
+     * @param naFila              registros aguardando gravação
+     * @param atrasoAtualMs       há quanto tempo o registro mais antigo da fila aguarda
+     * @param enfileirados        registros enfileirados desde a inicialização
+     * @param gravados            registros gravados no banco a partir da fila
+     * @param lotes               lotes gravados
+     * @param falhas              registros descartados por erro na gravação
+     * @param gravadosDiretamente registros gravados sem passar pela fila, por estar cheia
+     * @param atraso              tempo entre o enfileiramento e a gravação de cada lote
+     */
+    public EstatisticasRegistroAssincrono(int capacidade, int naFila, double atrasoAtualMs, long enfileirados,
+                                          long gravados, long lotes, long falhas, long gravadosDiretamente,
+                                          RetratoHistograma atraso) {
+        this.capacidade = capacidade;
+        this.naFila = naFila;
+        this.atrasoAtualMs = atrasoAtualMs;
+        this.enfileirados = enfileirados;
+        this.gravados = gravados;
+        this.lotes = lotes;
+        this.falhas = falhas;
+        this.gravadosDiretamente = gravadosDiretamente;
+        this.atraso = atraso;
+    }
+
+    /** @return quantidade máxima de registros na fila */
+    public int getCapacidade() { return capacidade; }
+
+    /** @return registros aguardando gravação */
+    public int getNaFila() { return naFila; }
+
+    /** @return há quanto tempo o registro mais antigo da fila aguarda, em milissegundos */
+    public double getAtrasoAtualMs() { return atrasoAtualMs; }
+
+    /** @return registros enfileirados desde a inicialização */
+    public long getEnfileirados() { return enfileirados; }
+
+    /** @return registros gravados no banco a partir da fila */
+    public long getGravados() { return gravados; }
+
+    /** @return lotes gravados */
+    public long getLotes() { return lotes; }
+
+    /** @return média de registros por lote */
+    public double getTamanhoMedioLote() { return lotes == 0 ? 0 : (double) gravados / lotes; }
+
+    /** @return registros descartados por erro na gravação */
+    public long getFalhas() { return falhas; }
+
+    /** @return registros gravados sem passar pela fila, por estar cheia */
+    public long getGravadosDiretamente() { return gravadosDiretamente; }
+
+    /** @return tempo entre o enfileiramento do registro mais antigo de cada lote e sua gravação */
+    public RetratoHistograma getAtraso() { return atraso; }
+}
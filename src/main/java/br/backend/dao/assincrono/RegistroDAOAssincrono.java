@@ -0,0 +1,328 @@
+package br.backend.dao.assincrono;
+
+import br.backend.dao.RegistroDAO;
+import br.backend.database.GerenciadorTransacao;
+import br.backend.metricas.Histograma;
+import br.backend.modelo.Registro;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link RegistroDAO} que grava os registros de
+ * {@link #inserirRegistro(Registro)} em segundo plano (<i>write-behind</i>).
+ *
+ * <p>O registro é colocado em uma fila limitada e sem travas, e a chamada
+ * retorna em seguida. Uma thread própria grava a fila no banco com
+ * {@link RegistroDAO#inserirRegistros(List)}, em lotes de até
+ * <code>tamanhoLote</code> registros, assim que esse tamanho é atingido ou a
+ * cada <code>intervaloMs</code>. Com a fila cheia, o registro é gravado
+ * diretamente, sem esperar.</p>
+ *
+ * <p>Dentro de uma transação, o registro só é enfileirado depois que ela é
+ * confirmada; se for desfeita, é descartado. Com um
+ * {@link DiarioRegistros diário} configurado, cada registro enfileirado é
+ * também acrescentado a um arquivo local, e os que ainda não tinham sido
+ * gravados quando o processo caiu são enfileirados de novo na inicialização.</p>
+ *
+ * <p>Consequências do modo assíncrono:</p>
+ * <ul>
+ *     <li>as listagens podem não conter os registros dos últimos
+ *         <code>intervaloMs</code>;</li>
+ *     <li>o ID do registro não é preenchido;</li>
+ *     <li>um lote recusado pelo banco é refeito registro a registro, e os
+ *         recusados individualmente (ex.: produto inexistente) são descartados
+ *         e relatados. Se todos falharem, o banco é considerado indisponível e
+ *         o lote é tentado de novo mais tarde.</li>
+ * </ul>
+ *
+ * <p>As inserções em lote ({@link #inserirRegistros(List)}) e as leituras são
+ * repassadas diretamente ao DAO decorado.</p>
+ */
+public class RegistroDAOAssincrono implements RegistroDAO, AutoCloseable {
+
+    /** Espera máxima entre novas tentativas com o banco indisponível. */
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final RegistroDAO delegado;
+    private final GerenciadorTransacao transacoes;
+    private final DiarioRegistros diario;
+    private final int capacidade;
+    private final int tamanhoLote;
+    private final long intervaloNanos;
+
+    private final ConcurrentLinkedQueue<Pendente> fila = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger naFila = new AtomicInteger();
+    private final Thread gravador;
+    private volatile boolean encerrando;
+
+    private final LongAdder enfileirados = new LongAdder();
+    private final LongAdder gravados = new LongAdder();
+    private final LongAdder lotes = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder gravadosDiretamente = new LongAdder();
+    private final Histograma atraso = new Histograma();
+
+    /**
+     * Construtor padrão. Recupera os registros pendentes do diário, se houver,
+     * e inicia a thread de gravação.
+     *
+     * @param delegado    DAO que grava no banco de dados
+     * @param transacoes  controle das transações, para enfileirar só após a confirmação e gravar cada lote atomicamente
+     * @param capacidade  quantidade máxima de registros na fila
+     * @param tamanhoLote quantidade máxima de registros por lote gravado
+     * @param intervaloMs intervalo máximo entre gravações
+     * @param diario      arquivo do diário, ou {@code null} para não usar diário
+     * @param sincronizar se cada acréscimo ao diário deve ser forçado ao disco
+     */
+    public RegistroDAOAssincrono(RegistroDAO delegado, GerenciadorTransacao transacoes, int capacidade,
+                                 int tamanhoLote, long intervaloMs, Path diario, boolean sincronizar) {
+        this.delegado = delegado;
+        this.transacoes = transacoes;
+        this.capacidade = capacidade;
+        this.tamanhoLote = tamanhoLote;
+        this.intervaloNanos = TimeUnit.MILLISECONDS.toNanos(intervaloMs);
+        this.diario = diario == null ? null : new DiarioRegistros(diario, sincronizar);
+
+        if (this.diario != null) {
+            // Os recuperados já estão no diário: vão direto para a fila, mesmo além da capacidade,
+            // sem gravação direta no banco durante a inicialização
+            long agora = System.nanoTime();
+            int recuperados = this.diario.recuperar((registro, sequencia) -> {
+                fila.offer(new Pendente(registro, sequencia, agora));
+                naFila.incrementAndGet();
+            });
+            if (recuperados > 0) {
+                enfileirados.add(recuperados);
+                System.out.println("Recuperados " + recuperados + " registros pendentes do diário " + diario);
+            }
+        }
+
+        this.gravador = Thread.ofPlatform().name("registro-gravador").daemon().start(this::gravarContinuamente);
+    }
+
+    @Override
+    public void inserirRegistro(Registro registro) {
+        if (registro.getData() == null || registro.getProdutoId() == null || registro.getQuantidade() == null
+                || registro.getMovimentacao() == null || registro.getStatus() == null) {
+            throw new RuntimeException("Erro ao inserir registro: data, produtoId, quantidade, movimentacao e status são obrigatórios");
+        }
+        transacoes.aposConfirmar(() -> enfileirar(registro));
+    }
+
+    /**
+     * Coloca o registro na fila ou, se ela estiver cheia ou encerrada, grava-o
+     * diretamente.
+     */
+    private void enfileirar(Registro registro) {
+        boolean cheia = naFila.incrementAndGet() > capacidade;
+        if (cheia || encerrando) {
+            naFila.decrementAndGet();
+            gravadosDiretamente.increment();
+            delegado.inserirRegistro(registro);
+            return;
+        }
+        long agora = System.nanoTime();
+        if (diario == null) {
+            fila.offer(new Pendente(registro, 0, agora));
+        } else {
+            diario.anexar(registro, sequencia -> fila.offer(new Pendente(registro, sequencia, agora)));
+        }
+        enfileirados.increment();
+        if (naFila.get() >= tamanhoLote && gravador != null) {
+            LockSupport.unpark(gravador);
+        }
+    }
+
+    /**
+     * Laço da thread de gravação: aguarda um lote completo ou o intervalo e
+     * grava o que estiver na fila, continuando sem esperar enquanto houver
+     * lotes completos. Ao encerrar, esvazia a fila antes de sair.
+     */
+    private void gravarContinuamente() {
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+        while (true) {
+            boolean ultimaPassagem = encerrando;
+            if (!ultimaPassagem && naFila.get() < tamanhoLote) {
+                LockSupport.parkNanos(this, intervaloNanos);
+            }
+
+            do {
+                retirar(lote);
+                long espera = intervaloNanos;
+                while (!lote.isEmpty() && !gravar(lote)) {
+                    if (encerrando) {
+                        System.err.println("Registros não gravados ao encerrar: " + (lote.size() + naFila.get())
+                                + (diario != null ? " (mantidos no diário)" : ""));
+                        return;
+                    }
+                    // Banco indisponível: novas tentativas cada vez mais espaçadas
+                    espera = Math.min(espera * 2, ESPERA_MAXIMA_NANOS);
+                    LockSupport.parkNanos(this, espera);
+                }
+            } while (naFila.get() >= tamanhoLote || (ultimaPassagem && !fila.isEmpty()));
+
+            if (ultimaPassagem) {
+                return;
+            }
+        }
+    }
+
+    private void retirar(List<Pendente> lote) {
+        lote.clear();
+        Pendente pendente;
+        while (lote.size() < tamanhoLote && (pendente = fila.poll()) != null) {
+            naFila.decrementAndGet();
+            lote.add(pendente);
+        }
+    }
+
+    /**
+     * Grava um lote no banco, em uma transação: se o driver enviar o lote em
+     * vários comandos e um deles falhar, nada do lote fica gravado antes da
+     * nova tentativa registro a registro, que de outro modo duplicaria os
+     * registros já confirmados.
+     *
+     * @return {@code false} se nenhum registro pôde ser gravado e o lote deve ser tentado de novo
+     */
+    private boolean gravar(List<Pendente> lote) {
+        List<Registro> registros = new ArrayList<>(lote.size());
+        for (Pendente pendente : lote) {
+            registros.add(pendente.registro);
+        }
+
+        int gravadosLote;
+        try {
+            transacoes.executar(() -> {
+                delegado.inserirRegistros(registros);
+                return null;
+            });
+            gravadosLote = registros.size();
+        } catch (RuntimeException e) {
+            gravadosLote = gravarIndividualmente(lote, e);
+            if (gravadosLote < 0) {
+                return false;
+            }
+        }
+
+        atraso.registrar(System.nanoTime() - lote.get(0).enfileiradoNanos);
+        gravados.add(gravadosLote);
+        lotes.increment();
+        if (diario != null) {
+            diario.confirmar(lote.get(lote.size() - 1).sequencia);
+        }
+        return true;
+    }
+
+    /**
+     * Refaz um lote recusado registro a registro, para descartar apenas os
+     * registros com problema.
+     *
+     * @return quantidade de registros gravados, ou -1 se todos falharam e
+     *         nenhum foi descartado
+     */
+    private int gravarIndividualmente(List<Pendente> lote, RuntimeException erroLote) {
+        int gravadosLote = 0;
+        List<Pendente> recusados = new ArrayList<>();
+        RuntimeException ultimoErro = erroLote;
+        for (Pendente pendente : lote) {
+            try {
+                delegado.inserirRegistro(pendente.registro);
+                gravadosLote++;
+            } catch (RuntimeException e) {
+                recusados.add(pendente);
+                ultimoErro = e;
+            }
+        }
+
+        if (gravadosLote == 0) {
+            System.err.println("Erro ao gravar " + lote.size() + " registros da fila, nova tentativa em breve: "
+                    + ultimoErro.getMessage());
+            return -1;
+        }
+        if (!recusados.isEmpty()) {
+            falhas.add(recusados.size());
+            System.err.println("Registros da fila descartados por erro (" + recusados.size() + "): "
+                    + ultimoErro.getMessage());
+        }
+        return gravadosLote;
+    }
+
+    @Override
+    public void inserirRegistros(List<Registro> registros) {
+        delegado.inserirRegistros(registros);
+    }
+
+    @Override
+    public List<Registro> listarRegistros() {
+        return delegado.listarRegistros();
+    }
+
+    @Override
+    public List<Registro> listarPagina(Long aposData, Integer aposId, int limite) {
+        return delegado.listarPagina(aposData, aposId, limite);
+    }
+
+    @Override
+    public void percorrerRegistros(Consumer<Registro> consumidor) {
+        delegado.percorrerRegistros(consumidor);
+    }
+
+    /**
+     * @return retrato atual da fila de gravação
+     */
+    public EstatisticasRegistroAssincrono getEstatisticas() {
+        Pendente maisAntigo = fila.peek();
+        return new EstatisticasRegistroAssincrono(
+                capacidade,
+                naFila.get(),
+                maisAntigo == null ? 0 : (System.nanoTime() - maisAntigo.enfileiradoNanos) / 1e6,
+                enfileirados.sum(),
+                gravados.sum(),
+                lotes.sum(),
+                falhas.sum(),
+                gravadosDiretamente.sum(),
+                atraso.retrato());
+    }
+
+    /**
+     * Grava os registros restantes na fila e encerra a thread de gravação.
+     * Novas inserções passam a ser gravadas diretamente.
+     */
+    @Override
+    public void close() {
+        encerrando = true;
+        LockSupport.unpark(gravador);
+        try {
+            gravador.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (diario != null) {
+            diario.close();
+        }
+    }
+
+    /**
+     * Registro na fila, com a sequência no diário e o instante em que foi enfileirado.
+     */
+    private static final class Pendente {
+
+        final Registro registro;
+        final long sequencia;
+        final long enfileiradoNanos;
+
+        Pendente(Registro registro, long sequencia, long enfileiradoNanos) {
+            this.registro = registro;
+            this.sequencia = sequencia;
+            this.enfileiradoNanos = enfileiradoNanos;
+        }
+    }
+}
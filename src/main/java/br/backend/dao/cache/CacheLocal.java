@@ -0,0 +1,162 @@
+package br.backend.dao.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache em memória de leitura direta (<i>read-through</i>), limitado por
+ * quantidade de entradas e por tempo de vida.
+ *
+ * <p>Quando cheio, remove a entrada usada há mais tempo (LRU). Cada entrada
+ * expira após o TTL configurado, limitando o tempo em que uma alteração feita
+ * fora da aplicação pode ficar invisível.</p>
+ *
+ * <p>Os valores são copiados ao entrar e ao sair do cache, pois os objetos
+ * de modelo são mutáveis e os chamadores podem alterá-los. Uma carga iniciada
+ * antes de uma invalidação não é armazenada, evitando que um valor antigo
+ * lido do banco volte ao cache depois de uma escrita concorrente.</p>
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor
+ */
+public class CacheLocal<K, V> {
+
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final UnaryOperator<V> copia;
+    private final Map<K, Entrada<V>> entradas;
+
+    /** Incrementada a cada invalidação, para descartar cargas concorrentes. */
+    private long geracao;
+
+    private long acertos;
+    private long falhas;
+    private long remocoes;
+    private long expiracoes;
+    private long invalidacoes;
+
+    /**
+     * Construtor do cache.
+     *
+     * @param tamanhoMaximo quantidade máxima de entradas
+     * @param ttlMs         tempo de vida de cada entrada, em milissegundos
+     * @param copia         função que cria uma cópia independente de um valor
+     */
+    public CacheLocal(int tamanhoMaximo, long ttlMs, UnaryOperator<V> copia) {
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+        this.copia = copia;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> maisAntiga) {
+                if (size() > CacheLocal.this.tamanhoMaximo) {
+                    remocoes++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Retorna o valor associado à chave, carregando-o caso não esteja em cache.
+     *
+     * <p>A carga é feita fora do bloqueio do cache. Resultados nulos não são
+     * armazenados.</p>
+     *
+     * @param chave      chave buscada
+     * @param carregador função que obtém o valor da fonte original
+     * @return cópia do valor ou {@code null} se não existir
+     */
+    public V obter(K chave, Function<K, V> carregador) {
+        long geracaoCarga;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (entrada.expiraEm - System.nanoTime() > 0) {
+                    acertos++;
+                    return copia.apply(entrada.valor);
+                }
+                entradas.remove(chave);
+                expiracoes++;
+            }
+            falhas++;
+            geracaoCarga = geracao;
+        }
+
+        V valor = carregador.apply(chave);
+        if (valor != null) {
+            V armazenado = copia.apply(valor);
+            synchronized (this) {
+                if (geracao == geracaoCarga) {
+                    entradas.put(chave, new Entrada<>(armazenado, System.nanoTime() + ttlNanos));
+                }
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Remove a entrada da chave informada.
+     *
+     * @param chave chave a ser invalidada
+     */
+    public synchronized void invalidar(K chave) {
+        geracao++;
+        if (entradas.remove(chave) != null) {
+            invalidacoes++;
+        }
+    }
+
+    /**
+     * Remove todas as entradas cujo valor satisfaça a condição.
+     *
+     * @param condicao condição avaliada sobre os valores em cache
+     */
+    public synchronized void invalidarSe(Predicate<V> condicao) {
+        geracao++;
+        Iterator<Entrada<V>> it = entradas.values().iterator();
+        while (it.hasNext()) {
+            if (condicao.test(it.next().valor)) {
+                it.remove();
+                invalidacoes++;
+            }
+        }
+    }
+
+    /**
+     * Remove todas as entradas.
+     */
+    public synchronized void invalidarTudo() {
+        geracao++;
+        invalidacoes += entradas.size();
+        entradas.clear();
+    }
+
+    /**
+     * @return retrato atual dos contadores do cache
+     */
+    public synchronized EstatisticasCache getEstatisticas() {
+        return new EstatisticasCache(entradas.size(), tamanhoMaximo, TimeUnit.NANOSECONDS.toMillis(ttlNanos),
+                acertos, falhas, remocoes, expiracoes, invalidacoes);
+    }
+
+    /**
+     * Valor armazenado e o instante em que expira.
+     */
+    private static final class Entrada<V> {
+
+        final V valor;
+        final long expiraEm;
+
+        Entrada(V valor, long expiraEm) {
+            this.valor = valor;
+            this.expiraEm = expiraEm;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package br.backend.dao.cache;
+
+import br.backend.dao.CategoriaDAO;
+import br.backend.database.Database;
+import br.backend.modelo.Categoria;
+import br.backend.modelo.Produto;
+
+import java.util.List;
+
+/**
+ * Decorador de {@link CategoriaDAO} que mantém em cache as buscas por ID.
+ *
+ * <p>A atualização invalida apenas a categoria alterada. A exclusão, que
+ * também desativa os produtos da categoria, remove ainda do cache de produtos
+ * todos os que pertencem a ela.</p>
+ *
+ * <p>Assim como em {@link ProdutoDAOCache}, o cache é ignorado dentro de
+ * transações e as invalidações são repetidas ao final delas.</p>
+ */
+public class CategoriaDAOCache implements CategoriaDAO {
+
+    private final CategoriaDAO delegado;
+    private final CacheLocal<Integer, Categoria> cache;
+    private final CacheLocal<Integer, Produto> cacheProdutos;
+    private final Database database;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param delegado      DAO que acessa o banco de dados
+     * @param cache         cache de categorias por ID
+     * @param cacheProdutos cache de produtos, invalidado na exclusão em cascata
+     * @param database      banco utilizado para identificar transações em andamento
+     */
+    public CategoriaDAOCache(CategoriaDAO delegado, CacheLocal<Integer, Categoria> cache,
+                             CacheLocal<Integer, Produto> cacheProdutos, Database database) {
+        this.delegado = delegado;
+        this.cache = cache;
+        this.cacheProdutos = cacheProdutos;
+        this.database = database;
+    }
+
+    /**
+     * Cria uma cópia independente da categoria, usada pelo cache.
+     *
+     * @param c categoria original
+     * @return cópia da categoria
+     */
+    public static Categoria copiar(Categoria c) {
+        return new Categoria(c.getId(), c.getNome(), c.getTamanho(), c.getEmbalagem());
+    }
+
+    @Override
+    public void inserirCategoria(Categoria cat) {
+        delegado.inserirCategoria(cat);
+    }
+
+    @Override
+    public boolean atualizarCategoria(Integer id, Categoria cat) {
+        try {
+            return delegado.atualizarCategoria(id, cat);
+        } finally {
+            aposEscrita(() -> cache.invalidar(id));
+        }
+    }
+
+    @Override
+    public boolean deletarPorId(Integer id) {
+        try {
+            return delegado.deletarPorId(id);
+        } finally {
+            aposEscrita(() -> {
+                cache.invalidar(id);
+                cacheProdutos.invalidarSe(p -> id.equals(p.getCategoriaId()));
+            });
+        }
+    }
+
+    @Override
+    public Categoria buscarPorId(Integer id) {
+        if (database.emTransacaoAtiva()) {
+            return delegado.buscarPorId(id);
+        }
+        return cache.obter(id, delegado::buscarPorId);
+    }
+
+    @Override
+    public List<Categoria> buscarTodasCategorias() {
+        return delegado.buscarTodasCategorias();
+    }
+
+    /**
+     * Aplica a invalidação imediatamente e, se houver transação ativa,
+     * novamente quando ela terminar.
+     */
+    private void aposEscrita(Runnable invalidacao) {
+        invalidacao.run();
+        if (database.emTransacaoAtiva()) {
+            database.aoFinalizarTransacao(invalidacao);
+        }
+    }
+}
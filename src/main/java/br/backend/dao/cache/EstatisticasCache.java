@@ -0,0 +1,68 @@
+package br.backend.dao.cache;
+
+/**
+ * Retrato instantâneo dos contadores de um {@link CacheLocal}, exposto pela
+ * entidade <code>estado</code>.
+ */
+public class EstatisticasCache {
+
+    private final int tamanho;
+    private final int tamanhoMaximo;
+    private final long ttlMs;
+    private final long acertos;
+    private final long falhas;
+    private final long remocoes;
+    private final long expiracoes;
+    private final long invalidacoes;
+
+    /**
+     * Construtor completo.
+     *
+     * @param tamanho       entradas atualmente em cache
+     * @param tamanhoMaximo quantidade máxima de entradas
+     * @param ttlMs         tempo de vida das entradas
+     * @param acertos       consultas atendidas pelo cache
+     * @param falhas        consultas que precisaram ir ao banco
+     * @param remocoes      entradas removidas por falta de espaço
+     * @param expiracoes    entradas descartadas por expiração
+     * @param invalidacoes  entradas removidas por escritas
+     */
+    public EstatisticasCache(int tamanho, int tamanhoMaximo, long ttlMs, long acertos, long falhas,
+                             long remocoes, long expiracoes, long invalidacoes) {
+        this.tamanho = tamanho;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlMs = ttlMs;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+        this.expiracoes = expiracoes;
+        this.invalidacoes = invalidacoes;
+    }
+
+    /** @return entradas atualmente em cache */
+    public int getTamanho() { return tamanho; }
+
+    /** @return quantidade máxima de entradas */
+    public int getTamanhoMaximo() { return tamanhoMaximo; }
+
+    /** @return tempo de vida das entradas, em milissegundos */
+    public long getTtlMs() { return ttlMs; }
+
+    /** @return consultas atendidas pelo cache */
+    public long getAcertos() { return acertos; }
+
+    /** @return consultas que precisaram ir ao banco */
+    public long getFalhas() { return falhas; }
+
+    /** @return fração das consultas atendidas pelo cache (0 a 1) */
+    public double getTaxaAcerto() { return acertos + falhas == 0 ? 0 : (double) acertos / (acertos + falhas); }
+
+    /** @return entradas removidas por falta de espaço */
+    public long getRemocoes() { return remocoes; }
+
+    /** @return entradas descartadas por expiração */
+    public long getExpiracoes() { return expiracoes; }
+
+    /** @return entradas removidas por escritas */
+    public long getInvalidacoes() { return invalidacoes; }
+}
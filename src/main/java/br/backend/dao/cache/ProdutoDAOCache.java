@@ -0,0 +1,132 @@
+package br.backend.dao.cache;
+
+import br.backend.dao.ProdutoDAO;
+import br.backend.database.Database;
+import br.backend.modelo.Produto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link ProdutoDAO} que mantém em cache as buscas por ID.
+ *
+ * <p>As escritas são delegadas ao DAO original e invalidam somente as
+ * entradas afetadas: a atualização e a exclusão removem o próprio produto,
+ * enquanto cada lote de um reajuste de preços remove os produtos da sua faixa
+ * de IDs, assim que o lote é gravado.</p>
+ *
+ * <p>Dentro de uma transação de {@link Database} o cache não é consultado nem
+ * preenchido, pois a transação pode enxergar dados ainda não confirmados; as
+ * invalidações são repetidas ao final da transação.</p>
+ */
+public class ProdutoDAOCache implements ProdutoDAO {
+
+    private final ProdutoDAO delegado;
+    private final CacheLocal<Integer, Produto> cache;
+    private final Database database;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param delegado DAO que acessa o banco de dados
+     * @param cache    cache de produtos por ID
+     * @param database banco utilizado para identificar transações em andamento
+     */
+    public ProdutoDAOCache(ProdutoDAO delegado, CacheLocal<Integer, Produto> cache, Database database) {
+        this.delegado = delegado;
+        this.cache = cache;
+        this.database = database;
+    }
+
+    /**
+     * Cria uma cópia independente do produto, usada pelo cache.
+     *
+     * @param p produto original
+     * @return cópia do produto
+     */
+    public static Produto copiar(Produto p) {
+        return new Produto(p.getId(), p.getNome(), p.getPreco(), p.getUnidade(), p.getCategoriaId(),
+                p.getQuantidade(), p.getQuantidadeMinima(), p.getQuantidadeMaxima());
+    }
+
+    @Override
+    public void inserirProduto(Produto obj) {
+        delegado.inserirProduto(obj);
+    }
+
+    @Override
+    public void inserirProdutos(List<Produto> produtos) {
+        delegado.inserirProdutos(produtos);
+    }
+
+    @Override
+    public boolean atualizarProduto(Integer id, Produto novoProduto) {
+        try {
+            return delegado.atualizarProduto(id, novoProduto);
+        } finally {
+            aposEscrita(() -> cache.invalidar(id));
+        }
+    }
+
+    @Override
+    public Produto buscarPorId(Integer id) {
+        if (database.emTransacaoAtiva()) {
+            return delegado.buscarPorId(id);
+        }
+        return cache.obter(id, delegado::buscarPorId);
+    }
+
+    @Override
+    public boolean deletarPorId(Integer id) {
+        try {
+            return delegado.deletarPorId(id);
+        } finally {
+            aposEscrita(() -> cache.invalidar(id));
+        }
+    }
+
+    @Override
+    public List<Produto> resgatarTodosProdutos() {
+        return delegado.resgatarTodosProdutos();
+    }
+
+    @Override
+    public List<Produto> listarPagina(Integer aposId, int limite) {
+        return delegado.listarPagina(aposId, limite);
+    }
+
+    @Override
+    public void percorrerProdutos(Consumer<Produto> consumidor) {
+        delegado.percorrerProdutos(consumidor);
+    }
+
+    @Override
+    public int contarAtivos(Integer categoriaId) {
+        return delegado.contarAtivos(categoriaId);
+    }
+
+    @Override
+    public Integer buscarFimLote(Integer aposId, int tamanho, Integer categoriaId) {
+        return delegado.buscarFimLote(aposId, tamanho, categoriaId);
+    }
+
+    @Override
+    public int reajustarPrecos(double percentual, int aposId, int ateId, Integer categoriaId, List<Integer> produtoIds) {
+        try {
+            return delegado.reajustarPrecos(percentual, aposId, ateId, categoriaId, produtoIds);
+        } finally {
+            aposEscrita(() -> cache.invalidarSe(p -> p.getId() > aposId && p.getId() <= ateId));
+        }
+    }
+
+    /**
+     * Aplica a invalidação imediatamente e, se houver transação ativa,
+     * novamente quando ela terminar.
+     */
+    private void aposEscrita(Runnable invalidacao) {
+        invalidacao.run();
+        if (database.emTransacaoAtiva()) {
+            database.aoFinalizarTransacao(invalidacao);
+        }
+    }
+}
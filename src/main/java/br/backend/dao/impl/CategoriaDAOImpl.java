@@ -6,6 +6,7 @@ import br.backend.modelo.Categoria;
 import br.backend.modelo.enums.Embalagem;
 import br.backend.modelo.enums.Tamanho;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -49,7 +50,7 @@ public class CategoriaDAOImpl implements CategoriaDAO {
     @Override
     public void inserirCategoria(Categoria cat) {
         String sql = "INSERT INTO categoria (nome, tamanho, embalagem) VALUES (?, ?, ?)";
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             st.setString(1, cat.getNome());
             st.setString(2, cat.getTamanho().name());
             st.setString(3, cat.getEmbalagem().name());
@@ -67,35 +68,27 @@ public class CategoriaDAOImpl implements CategoriaDAO {
     }
 
     /**
-     * Atualiza os dados de uma categoria existente.
+     * Atualiza os dados de uma categoria ativa.
      *
-     * <p>O método garante que a categoria existe antes de atualizar. Caso não seja
-     * encontrada, lança uma exceção informativa.</p>
+     * <p>A existência da categoria é verificada pela quantidade de linhas
+     * encontradas pelo próprio <code>UPDATE</code>, sem consulta prévia.</p>
      *
      * @param id            identificador da categoria a ser atualizada
      * @param novaCategoria dados atualizados da categoria
-     * @throws RuntimeException se a categoria não existir ou ocorrer erro SQL
+     * @return {@code true} se a categoria foi encontrada e atualizada
+     * @throws RuntimeException em caso de erro SQL
      */
     @Override
-    public void atualizarCategoria(Integer id, Categoria novaCategoria) {
-
-        Categoria categoriaExistente = buscarPorId(id);
-        if (categoriaExistente == null) {
-            throw new RuntimeException("Categoria com ID " + id + " não encontrada.");
-        }
-
-        categoriaExistente.setNome(novaCategoria.getNome());
-        categoriaExistente.setTamanho(novaCategoria.getTamanho());
-        categoriaExistente.setEmbalagem(novaCategoria.getEmbalagem());
-
+    public boolean atualizarCategoria(Integer id, Categoria novaCategoria) {
         String sql = "UPDATE categoria SET nome = ?, tamanho = ?, embalagem = ? WHERE id = ? AND ativo = true";
 
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
-            st.setString(1, categoriaExistente.getNome());
-            st.setString(2, categoriaExistente.getTamanho().name());
-            st.setString(3, categoriaExistente.getEmbalagem().name());
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setString(1, novaCategoria.getNome());
+            st.setString(2, novaCategoria.getTamanho().name());
+            st.setString(3, novaCategoria.getEmbalagem().name());
             st.setInt(4, id);
-            st.executeUpdate();
+            // O driver informa as linhas encontradas, mesmo que os valores não mudem
+            return st.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar categoria: " + e.getMessage());
         }
@@ -109,19 +102,19 @@ public class CategoriaDAOImpl implements CategoriaDAO {
      * pertencem a ela.</p>
      *
      * @param id ID da categoria a ser desativada
+     * @return {@code true} se a categoria estava ativa e foi desativada
      * @throws RuntimeException em caso de erro SQL
      */
     @Override
-    public void deletarPorId(Integer id) {
+    public boolean deletarPorId(Integer id) {
        String sql = "UPDATE categoria c " +
                  "LEFT JOIN produto p ON p.categoria_id = c.id " +
                  "SET c.ativo = false, p.ativo = false " +
                  "WHERE c.id = ? AND c.ativo = true";
 
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
-            int linhasAfetadas = st.executeUpdate();
-            System.out.println("Linhas afetadas: " + linhasAfetadas);
+            return st.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao deletar categoria e produtos: " + e.getMessage(), e);
         }
@@ -139,7 +132,7 @@ public class CategoriaDAOImpl implements CategoriaDAO {
     @Override
     public Categoria buscarPorId(Integer id) {
         String sql = "SELECT * FROM categoria WHERE id = ? AND ativo = true";
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
             try (ResultSet rs = st.executeQuery()) {
                 if (rs.next()) {
@@ -162,7 +155,7 @@ public class CategoriaDAOImpl implements CategoriaDAO {
     public List<Categoria> buscarTodasCategorias() {
         String sql = "SELECT * FROM categoria WHERE ativo = true";
         List<Categoria> lista = new ArrayList<>();
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql); ResultSet rs = st.executeQuery()) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql); ResultSet rs = st.executeQuery()) {
             while (rs.next()) {
                 lista.add(mapCategoria(rs));
             }
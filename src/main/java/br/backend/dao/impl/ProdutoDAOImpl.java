@@ -4,12 +4,14 @@ import br.backend.dao.ProdutoDAO;
 import br.backend.database.Database;
 import br.backend.modelo.Produto;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -19,9 +21,10 @@ import java.util.List;
  * {@link Produto}, incluindo inserção, atualização, busca, exclusão lógica
  * (soft delete) e ajustes de preço.</p>
  *
- * <p>Esta classe acessa o banco de dados utilizando a conexão fornecida por
- * {@link Database}. Todas as consultas tratam o campo <code>ativo</code>, evitando
- * o retorno de produtos marcados como inativos.</p>
+ * <p>Esta classe acessa o banco de dados utilizando conexões emprestadas do
+ * pool de {@link Database}, devolvidas ao final de cada operação. Todas as
+ * consultas tratam o campo <code>ativo</code>, evitando o retorno de
+ * produtos marcados como inativos.</p>
  */
 public class ProdutoDAOImpl implements ProdutoDAO {
 
@@ -51,7 +54,7 @@ public class ProdutoDAOImpl implements ProdutoDAO {
         String sql = "INSERT INTO produto (nome, preco_unitario, unidade, quantidade, quantidade_minima, quantidade_maxima, categoria_id) "
                 + "VALUES (?, ?, ?, ?, ?, ?, ?)";
 
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
             st.setString(1, obj.getNome());
             st.setDouble(2, obj.getPreco());
             st.setString(3, obj.getUnidade());
@@ -74,23 +77,68 @@ public class ProdutoDAOImpl implements ProdutoDAO {
     }
 
     /**
-     * Atualiza os dados de um produto existente, mantendo seu status como ativo.
+     * Insere vários produtos em um único lote JDBC.
      *
-     * <p>Se nenhum produto ativo for encontrado com o ID fornecido, uma exceção
-     * é lançada.</p>
+     * <p>Os comandos são enviados ao banco de uma só vez e os IDs gerados são
+     * atribuídos aos objetos na ordem da lista.</p>
+     *
+     * @param produtos produtos a serem inseridos
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public void inserirProdutos(List<Produto> produtos) {
+        if (produtos.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO produto (nome, preco_unitario, unidade, quantidade, quantidade_minima, quantidade_maxima, categoria_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (Produto obj : produtos) {
+                st.setString(1, obj.getNome());
+                st.setDouble(2, obj.getPreco());
+                st.setString(3, obj.getUnidade());
+                st.setInt(4, obj.getQuantidade());
+                st.setInt(5, obj.getQuantidadeMinima());
+                st.setInt(6, obj.getQuantidadeMaxima());
+                st.setInt(7, obj.getCategoriaId());
+                st.addBatch();
+            }
+            st.executeBatch();
+
+            try (ResultSet rs = st.getGeneratedKeys()) {
+                for (Produto obj : produtos) {
+                    if (!rs.next()) {
+                        break;
+                    }
+                    obj.setId(rs.getInt(1));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir produtos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Atualiza os dados de um produto ativo, mantendo seu status como ativo.
+     *
+     * <p>A existência do produto é verificada pela quantidade de linhas
+     * encontradas pelo próprio <code>UPDATE</code>, sem consulta prévia nem
+     * posterior.</p>
      *
      * @param id          ID do produto a ser atualizado
      * @param novoProduto objeto contendo os novos dados
-     * @return o produto atualizado, já recuperado do banco
-     * @throws RuntimeException caso o produto não exista ou ocorra erro SQL
+     * @return {@code true} se o produto foi encontrado e atualizado
+     * @throws RuntimeException caso ocorra erro SQL
      */
     @Override
-    public Produto atualizarProduto(Integer id, Produto novoProduto) {
+    public boolean atualizarProduto(Integer id, Produto novoProduto) {
         String sql = "UPDATE produto SET "
                 + "nome = ?, preco_unitario = ?, unidade = ?, quantidade = ?, quantidade_minima = ?, quantidade_maxima = ?, categoria_id = ?, ativo = true "
                 + "WHERE id = ? AND ativo = true";
 
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
             st.setString(1, novoProduto.getNome());
             st.setDouble(2, novoProduto.getPreco());
             st.setString(3, novoProduto.getUnidade());
@@ -100,13 +148,8 @@ public class ProdutoDAOImpl implements ProdutoDAO {
             st.setInt(7, novoProduto.getCategoriaId());
             st.setInt(8, id);
 
-            int linhasAfetadas = st.executeUpdate();
-            if (linhasAfetadas == 0) {
-                throw new RuntimeException("Produto com ID " + id + " não encontrado.");
-            }
-
-            return buscarPorId(id);
-
+            // O driver informa as linhas encontradas, mesmo que os valores não mudem
+            return st.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao atualizar produto: " + e.getMessage(), e);
         }
@@ -115,15 +158,19 @@ public class ProdutoDAOImpl implements ProdutoDAO {
     /**
      * Realiza o soft delete de um produto, marcando-o como inativo.
      *
+     * <p>Só altera produtos ainda ativos, de modo que, entre exclusões
+     * simultâneas do mesmo produto, apenas uma retorna {@code true}.</p>
+     *
      * @param id ID do produto a ser desativado
+     * @return {@code true} se o produto estava ativo e foi desativado
      * @throws RuntimeException caso ocorra erro SQL
      */
     @Override
-    public void deletarPorId(Integer id) {
-        String sql = "UPDATE produto SET ativo = false WHERE id = ?";
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
+    public boolean deletarPorId(Integer id) {
+        String sql = "UPDATE produto SET ativo = false WHERE id = ? AND ativo = true";
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
-            st.executeUpdate();
+            return st.executeUpdate() > 0;
         } catch (SQLException e) {
             throw new RuntimeException("Erro ao deletar produto: " + e.getMessage(), e);
         }
@@ -145,7 +192,7 @@ public class ProdutoDAOImpl implements ProdutoDAO {
                 + "FROM produto p "
                 + "JOIN categoria c ON p.categoria_id = c.id "
                 + "WHERE p.id = ? AND p.ativo = true";
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
             st.setInt(1, id);
             try (ResultSet rs = st.executeQuery()) {
                 if (rs.next()) {
@@ -168,7 +215,7 @@ public class ProdutoDAOImpl implements ProdutoDAO {
     public List<Produto> resgatarTodosProdutos() {
         String sql = "SELECT * FROM produto WHERE ativo = true";
         List<Produto> lista = new ArrayList<>();
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql); ResultSet rs = st.executeQuery()) {
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql); ResultSet rs = st.executeQuery()) {
             while (rs.next()) {
                 lista.add(mapProduto(rs));
             }
@@ -179,37 +226,137 @@ public class ProdutoDAOImpl implements ProdutoDAO {
     }
 
     /**
-     * Aumenta o valor unitário de todos os produtos ativos.
+     * Retorna uma página de produtos ativos utilizando paginação por chave
+     * (<i>keyset</i>) sobre o ID, que usa a chave primária em vez de
+     * percorrer as linhas anteriores como faria um <code>OFFSET</code>.
      *
-     * @param percentual percentual de aumento (ex.: 10.0 = 10%)
+     * @param aposId ID do último produto da página anterior, ou {@code null} para a primeira página
+     * @param limite quantidade máxima de produtos retornados
+     * @return produtos da página, ordenados por ID
      * @throws RuntimeException caso ocorra erro SQL
      */
     @Override
-    public void aumentarValorProduto(Double percentual) {
-        String sql = "UPDATE produto SET preco_unitario = preco_unitario * (1 + ?/100) WHERE ativo = true";
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
-            st.setDouble(1, percentual);
-            st.executeUpdate();
+    public List<Produto> listarPagina(Integer aposId, int limite) {
+        String sql = "SELECT * FROM produto WHERE ativo = true AND id > ? ORDER BY id LIMIT ?";
+        List<Produto> lista = new ArrayList<>(limite);
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
+            st.setInt(1, aposId == null ? 0 : aposId);
+            st.setInt(2, limite);
+            try (ResultSet rs = st.executeQuery()) {
+                while (rs.next()) {
+                    lista.add(mapProduto(rs));
+                }
+            }
         } catch (SQLException e) {
-            throw new RuntimeException("Erro ao aumentar valor dos produtos: " + e.getMessage(), e);
+            throw new RuntimeException("Erro ao buscar página de produtos: " + e.getMessage(), e);
         }
+        return lista;
     }
 
     /**
-     * Reduz o valor unitário de todos os produtos ativos.
+     * Percorre todos os produtos ativos lendo o resultado em fluxo.
      *
-     * @param percentual percentual de redução (ex.: 5.0 = 5%)
+     * @param consumidor função chamada para cada produto lido
      * @throws RuntimeException caso ocorra erro SQL
      */
     @Override
-    public void diminuirValorProduto(Double percentual) {
-        String sql = "UPDATE produto SET preco_unitario = preco_unitario * (1 - ?/100) WHERE ativo = true";
-        try (PreparedStatement st = database.getConnection().prepareStatement(sql)) {
-            st.setDouble(1, percentual);
-            st.executeUpdate();
+    public void percorrerProdutos(Consumer<Produto> consumidor) {
+        String sql = "SELECT * FROM produto WHERE ativo = true ORDER BY id";
+        try (Connection conn = database.getConnection(); PreparedStatement st = Database.prepararConsultaEmFluxo(conn, sql); ResultSet rs = st.executeQuery()) {
+            while (rs.next()) {
+                consumidor.accept(mapProduto(rs));
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao percorrer produtos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Conta os produtos ativos, usando o índice <code>(ativo, id)</code> ou,
+     * com categoria, <code>(categoria_id, ativo)</code>.
+     *
+     * @param categoriaId categoria dos produtos, ou {@code null} para todos
+     * @return quantidade de produtos ativos
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public int contarAtivos(Integer categoriaId) {
+        String sql = "SELECT COUNT(*) FROM produto WHERE ativo = true" + (categoriaId == null ? "" : " AND categoria_id = ?");
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
+            if (categoriaId != null) {
+                st.setInt(1, categoriaId);
+            }
+            try (ResultSet rs = st.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao contar produtos: " + e.getMessage(), e);
+        }
+    }
 
+    /**
+     * Retorna o ID que encerra o próximo lote de um reajuste, lendo apenas os
+     * IDs do lote no índice.
+     *
+     * @param aposId      ID do último produto do lote anterior, ou {@code null} para o primeiro lote
+     * @param tamanho     quantidade de produtos do lote
+     * @param categoriaId categoria dos produtos, ou {@code null} para todos
+     * @return ID do último produto do lote, ou {@code null} se não houver mais produtos
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public Integer buscarFimLote(Integer aposId, int tamanho, Integer categoriaId) {
+        String sql = "SELECT MAX(id) FROM (SELECT id FROM produto WHERE ativo = true AND id > ?"
+                + (categoriaId == null ? "" : " AND categoria_id = ?") + " ORDER BY id LIMIT ?) lote";
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
+            int i = 1;
+            st.setInt(i++, aposId == null ? 0 : aposId);
+            if (categoriaId != null) {
+                st.setInt(i++, categoriaId);
+            }
+            st.setInt(i, tamanho);
+            try (ResultSet rs = st.executeQuery()) {
+                return rs.next() ? rs.getObject(1, Integer.class) : null;
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar lote de produtos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reajusta o valor unitário dos produtos ativos de uma faixa de IDs em um
+     * único comando. Fora de transação, as travas das linhas duram apenas o
+     * comando, e não a tabela inteira.
+     *
+     * @param percentual  percentual do reajuste, negativo para redução (ex.: -5.0 = -5%)
+     * @param aposId      os IDs reajustados são maiores que este
+     * @param ateId       os IDs reajustados são menores ou iguais a este
+     * @param categoriaId categoria dos produtos, ou {@code null} para todas
+     * @param produtoIds  IDs aceitos dentro da faixa, ou {@code null} para todos
+     * @return quantidade de produtos reajustados
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public int reajustarPrecos(double percentual, int aposId, int ateId, Integer categoriaId, List<Integer> produtoIds) {
+        String sql = "UPDATE produto SET preco_unitario = preco_unitario * (1 + ?/100) WHERE ativo = true AND id > ? AND id <= ?"
+                + (categoriaId == null ? "" : " AND categoria_id = ?")
+                + (produtoIds == null ? "" : " AND id IN (" + "?, ".repeat(produtoIds.size() - 1) + "?)");
+        try (Connection conn = database.getConnection(); PreparedStatement st = conn.prepareStatement(sql)) {
+            int i = 1;
+            st.setDouble(i++, percentual);
+            st.setInt(i++, aposId);
+            st.setInt(i++, ateId);
+            if (categoriaId != null) {
+                st.setInt(i++, categoriaId);
+            }
+            if (produtoIds != null) {
+                for (Integer id : produtoIds) {
+                    st.setInt(i++, id);
+                }
+            }
+            return st.executeUpdate();
         } catch (SQLException e) {
-            throw new RuntimeException("Erro ao diminuir valor dos produtos: " + e.getMessage(), e);
+            throw new RuntimeException("Erro ao reajustar valor dos produtos: " + e.getMessage(), e);
         }
     }
 
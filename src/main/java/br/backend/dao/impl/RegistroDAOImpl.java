@@ -7,12 +7,14 @@ import br.backend.modelo.Registro;
 import br.backend.modelo.enums.Movimentacao;
 import br.backend.modelo.enums.Status;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Implementação de {@link RegistroDAO} utilizando JDBC puro.
@@ -20,7 +22,7 @@ import java.util.List;
  * <p>Responsável por persistir e recuperar registros de movimentação de produtos,
  * incluindo entradas e saídas, juntamente com o status de cada operação.</p>
  *
- * <p>As operações desta classe utilizam a conexão fornecida por {@link Database}
+ * <p>As operações desta classe utilizam conexões emprestadas do pool de {@link Database}
  * e mapeiam diretamente os dados da tabela <code>registro</code>.</p>
  */
 public class RegistroDAOImpl implements RegistroDAO {
@@ -50,7 +52,7 @@ public class RegistroDAOImpl implements RegistroDAO {
     public void inserirRegistro(Registro registro) {
         String sql = "INSERT INTO registro (data, produto_id, quantidade, movimentacao, status) VALUES (?, ?, ?, ?, ?)";
         
-        try (PreparedStatement statement = database.getConnection().prepareStatement(sql)) {
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql)) {
             statement.setTimestamp(1, new Timestamp(registro.getData().getTime()));
             statement.setInt(2, registro.getProdutoId());
             statement.setInt(3, registro.getQuantidade());
@@ -68,6 +70,38 @@ public class RegistroDAOImpl implements RegistroDAO {
         }
     }
 
+    /**
+     * Insere vários registros em um único lote JDBC.
+     *
+     * <p>Os comandos são enviados ao banco de uma só vez, evitando uma ida e
+     * volta por registro.</p>
+     *
+     * @param registros registros a serem inseridos
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public void inserirRegistros(List<Registro> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        String sql = "INSERT INTO registro (data, produto_id, quantidade, movimentacao, status) VALUES (?, ?, ?, ?, ?)";
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql)) {
+            for (Registro registro : registros) {
+                statement.setTimestamp(1, new Timestamp(registro.getData().getTime()));
+                statement.setInt(2, registro.getProdutoId());
+                statement.setInt(3, registro.getQuantidade());
+                statement.setString(4, registro.getMovimentacao().name());
+                statement.setString(5, registro.getStatus().name());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao inserir registros: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Retorna todos os registros de movimentações, ordenados do mais recente para o mais antigo.
      *
@@ -79,7 +113,7 @@ public class RegistroDAOImpl implements RegistroDAO {
         String sql = "SELECT * FROM registro ORDER BY data DESC";
         List<Registro> registros = new ArrayList<>();
 
-        try (PreparedStatement statement = database.getConnection().prepareStatement(sql);
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql);
              ResultSet resultSet = statement.executeQuery()) {
             
             while (resultSet.next()) {
@@ -93,6 +127,72 @@ public class RegistroDAOImpl implements RegistroDAO {
         return registros;
     }
 
+    /**
+     * Retorna uma página de registros utilizando paginação por chave
+     * (<i>keyset</i>) sobre <code>(data, id)</code>.
+     *
+     * <p>A consulta usa o índice <code>idx_registro_data_id</code>, de modo que
+     * o custo de cada página não depende de quantas páginas já foram lidas.</p>
+     *
+     * @param aposData data, em milissegundos, do último registro da página anterior
+     *                 ou {@code null} para a primeira página
+     * @param aposId   ID do último registro da página anterior
+     * @param limite   quantidade máxima de registros retornados
+     * @return registros da página, do mais recente para o mais antigo
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public List<Registro> listarPagina(Long aposData, Integer aposId, int limite) {
+        String sql = aposData == null
+                ? "SELECT * FROM registro ORDER BY data DESC, id DESC LIMIT ?"
+                : "SELECT * FROM registro WHERE data < ? OR (data = ? AND id < ?) ORDER BY data DESC, id DESC LIMIT ?";
+        List<Registro> registros = new ArrayList<>(limite);
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql)) {
+            int i = 1;
+            if (aposData != null) {
+                Timestamp data = new Timestamp(aposData);
+                statement.setTimestamp(i++, data);
+                statement.setTimestamp(i++, data);
+                statement.setInt(i++, aposId);
+            }
+            statement.setInt(i, limite);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    registros.add(mapRegistro(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar página de registros: " + e.getMessage(), e);
+        }
+
+        return registros;
+    }
+
+    /**
+     * Percorre todos os registros lendo o resultado em fluxo, do mais recente
+     * para o mais antigo.
+     *
+     * @param consumidor função chamada para cada registro lido
+     * @throws RuntimeException caso ocorra erro SQL
+     */
+    @Override
+    public void percorrerRegistros(Consumer<Registro> consumidor) {
+        String sql = "SELECT * FROM registro ORDER BY data DESC, id DESC";
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = Database.prepararConsultaEmFluxo(conn, sql);
+             ResultSet resultSet = statement.executeQuery()) {
+
+            while (resultSet.next()) {
+                consumidor.accept(mapRegistro(resultSet));
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao percorrer registros: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Converte uma linha do {@link ResultSet} em um objeto {@link Registro}.
      *
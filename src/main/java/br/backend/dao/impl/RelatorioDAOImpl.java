@@ -2,27 +2,106 @@ package br.backend.dao.impl;
 
 import br.backend.dao.RelatorioDAO;
 import br.backend.database.Database;
+import br.backend.dto.FiltroRelatorio;
+import br.backend.dto.ResultadoRelatorio;
 import br.backend.modelo.Relatorio;
+import br.backend.modelo.TotalRelatorio;
+import br.backend.modelo.enums.DimensaoRelatorio;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
 
 /**
  * Implementação de {@link RelatorioDAO} utilizando JDBC puro.
  *
  * <p>Esta classe recupera dados de movimentações combinadas com informações de produtos
- * para formar objetos {@link Relatorio}. Trata-se de uma consulta de agregação
- * entre as tabelas <code>registro</code> e <code>produto</code>, retornando
- * informações completas para exibição no relatório.</p>
+ * para formar objetos {@link Relatorio}. As consultas leem a tabela
+ * <code>relatorio</code>, uma cópia de <code>registro</code> que já traz o nome
+ * do produto, mantida pelos gatilhos da migração 2 a cada registro inserido e a
+ * cada produto renomeado. Assim, uma página do relatório é uma leitura de
+ * faixa de índice, sem junção.</p>
+ *
+ * <p>Enquanto a migração 2 não termina de carregar a tabela (ou com as
+ * migrações desativadas e o banco em versão anterior), as mesmas consultas
+ * são feitas sobre <code>registro</code> junto com <code>produto</code>, até
+ * que {@link #usarMaterializado(boolean)} seja chamado.</p>
  *
  * <p>A ordenação é feita pela data da movimentação, do registro mais recente para o mais antigo.</p>
  */
 public class RelatorioDAOImpl implements RelatorioDAO {
 
+    /**
+     * Colunas comuns às consultas do relatório, lidas na ordem do índice
+     * <code>(data, id)</code> de <code>relatorio</code>, sem ordenar a tabela inteira.
+     */
+    private static final String SELECT_RELATORIO = """
+            SELECT r.id,
+                   r.data,
+                   r.produto_id AS produtoId,
+                   r.nome_produto AS nomeProduto,
+                   r.quantidade,
+                   r.movimentacao,
+                   r.status
+            FROM relatorio r
+            """;
+
+    /**
+     * Colunas e junção equivalentes a {@link #SELECT_RELATORIO}, usadas antes
+     * de a tabela <code>relatorio</code> estar carregada. O <code>STRAIGHT_JOIN</code>
+     * faz a leitura partir de <code>registro</code>, na ordem do índice
+     * <code>(data, id)</code>, evitando ordenar a tabela inteira.
+     */
+    private static final String SELECT_REGISTRO_PRODUTO = """
+            SELECT r.id,
+                   r.data,
+                   r.produto_id AS produtoId,
+                   p.nome AS nomeProduto,
+                   r.quantidade,
+                   r.movimentacao,
+                   r.status
+            FROM registro r
+            STRAIGHT_JOIN produto p ON r.produto_id = p.id
+            """;
+
+    /**
+     * Cópia de uma faixa de registros para o relatório, com o nome atual do
+     * produto; registros de produtos inexistentes ficam de fora, como na
+     * junção original. Um item gravado pelo gatilho depois da remoção da
+     * faixa, por um registro confirmado durante a cópia, é sobrescrito.
+     */
+    private static final String COPIAR_FAIXA = """
+            INSERT INTO relatorio (id, data, produto_id, nome_produto, quantidade, movimentacao, status)
+            SELECT r.id, r.data, r.produto_id, p.nome, r.quantidade, r.movimentacao, r.status
+            FROM registro r
+            STRAIGHT_JOIN produto p ON p.id = r.produto_id
+            WHERE r.id BETWEEN ? AND ?
+            ON DUPLICATE KEY UPDATE data = VALUES(data), produto_id = VALUES(produto_id),
+                nome_produto = VALUES(nome_produto), quantidade = VALUES(quantidade),
+                movimentacao = VALUES(movimentacao), status = VALUES(status)
+            """;
+
+    /**
+     * Contadores de leitura de linhas da sessão, somados antes e depois da
+     * consulta filtrada para obter as linhas examinadas. A própria consulta
+     * aos contadores não os altera.
+     */
+    private static final String CONTADORES_LEITURA = """
+            SHOW SESSION STATUS WHERE Variable_name IN ('Handler_read_first', 'Handler_read_key',
+                'Handler_read_last', 'Handler_read_next', 'Handler_read_prev', 'Handler_read_rnd',
+                'Handler_read_rnd_next')
+            """;
+
     private final Database database;
+    private volatile boolean materializado;
 
     /**
      * Construtor padrão.
@@ -33,35 +112,42 @@ public class RelatorioDAOImpl implements RelatorioDAO {
         this.database = database;
     }
 
+    /**
+     * Define se as consultas leem a tabela <code>relatorio</code> ou a junção
+     * de <code>registro</code> com <code>produto</code>.
+     *
+     * @param materializado {@code true} quando a tabela existe e está carregada
+     */
+    public void usarMaterializado(boolean materializado) {
+        this.materializado = materializado;
+    }
+
+    /**
+     * @return início das consultas de itens do relatório, conforme a tabela esteja pronta
+     */
+    private String selectRelatorio() {
+        return materializado ? SELECT_RELATORIO : SELECT_REGISTRO_PRODUTO;
+    }
+
 
     /**
      * Retorna uma lista de objetos {@link Relatorio} contendo informações de
      * movimentação (entrada/saída), status e dados básicos do produto.
      *
-     * <p>Realiza um INNER JOIN entre as tabelas <code>registro</code> e
-     * <code>produto</code> para composição dos dados.</p>
+     * <p>Lê a tabela <code>relatorio</code>, que já contém o nome do produto,
+     * na ordem do índice <code>(data, id)</code> (ou <code>registro</code>
+     * junto com <code>produto</code>, antes de a tabela estar carregada).</p>
      *
      * @return lista de relatórios ordenada por data (descendente)
      * @throws RuntimeException caso algum erro SQL ocorra
      */
     @Override
     public List<Relatorio> listarRelatorio() {
-        String sql = """
-        SELECT r.id,
-               r.data,
-               p.id AS produtoId,
-               p.nome AS nomeProduto,
-               r.quantidade,
-               r.movimentacao,
-               r.status
-        FROM registro r
-        INNER JOIN produto p ON r.produto_id = p.id
-        ORDER BY r.data DESC
-    """;
+        String sql = selectRelatorio() + "ORDER BY r.data DESC, r.id DESC";
 
         List<Relatorio> relatorios = new ArrayList<>();
 
-        try (PreparedStatement statement = database.getConnection().prepareStatement(sql); ResultSet resultSet = statement.executeQuery()) {
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql); ResultSet resultSet = statement.executeQuery()) {
 
             while (resultSet.next()) {
                 relatorios.add(mapRelatorio(resultSet));
@@ -75,6 +161,381 @@ public class RelatorioDAOImpl implements RelatorioDAO {
     }
 
 
+    /**
+     * Retorna uma página do relatório utilizando paginação por chave
+     * (<i>keyset</i>) sobre <code>(r.data, r.id)</code>.
+     *
+     * @param aposData data, em milissegundos, do último item da página anterior
+     *                 ou {@code null} para a primeira página
+     * @param aposId   ID do último item da página anterior
+     * @param limite   quantidade máxima de itens retornados
+     * @return itens da página, do mais recente para o mais antigo
+     * @throws RuntimeException caso algum erro SQL ocorra
+     */
+    @Override
+    public List<Relatorio> listarPagina(Long aposData, Integer aposId, int limite) {
+        String sql = selectRelatorio()
+                + (aposData == null ? "" : "WHERE r.data < ? OR (r.data = ? AND r.id < ?) ")
+                + "ORDER BY r.data DESC, r.id DESC LIMIT ?";
+        List<Relatorio> relatorios = new ArrayList<>(limite);
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql)) {
+            int i = 1;
+            if (aposData != null) {
+                Timestamp data = new Timestamp(aposData);
+                statement.setTimestamp(i++, data);
+                statement.setTimestamp(i++, data);
+                statement.setInt(i++, aposId);
+            }
+            statement.setInt(i, limite);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    relatorios.add(mapRelatorio(resultSet));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar página do relatório: " + e.getMessage(), e);
+        }
+
+        return relatorios;
+    }
+
+    /**
+     * Retorna uma página do relatório filtrado, traduzindo cada filtro em uma
+     * condição sobre <code>relatorio</code>: o período usa o índice
+     * <code>(data, id)</code> e os produtos o índice
+     * <code>(produto_id, data)</code>, à escolha do otimizador.
+     *
+     * <p>A lista de produtos é completada até a próxima potência de dois,
+     * repetindo o último ID, para que poucas variações do comando passem pelo
+     * cache de comandos preparados.</p>
+     *
+     * @param filtro   datas, produtos, movimentação e status aceitos
+     * @param aposData data, em milissegundos, do último item da página anterior
+     *                 ou {@code null} para a primeira página
+     * @param aposId   ID do último item da página anterior
+     * @param limite   quantidade máxima de itens retornados
+     * @return itens da página e as linhas examinadas pelo banco
+     * @throws RuntimeException caso algum erro SQL ocorra
+     */
+    @Override
+    public ResultadoRelatorio listarFiltrado(FiltroRelatorio filtro, Long aposData, Integer aposId, int limite) {
+        List<Integer> produtos = filtro.temProdutos() ? completarProdutos(filtro.getProdutoIds()) : List.of();
+        List<String> condicoes = condicoes(filtro, produtos);
+        if (aposData != null) {
+            // Equivale a (data, id) < (?, ?), escrito com "data <= ?" para delimitar a faixa do índice
+            condicoes.add("r.data <= ? AND (r.data < ? OR r.id < ?)");
+        }
+        String sql = selectRelatorio()
+                + (condicoes.isEmpty() ? "" : "WHERE " + String.join(" AND ", condicoes) + " ")
+                + "ORDER BY r.data DESC, r.id DESC LIMIT ?";
+        List<Relatorio> relatorios = new ArrayList<>(Math.min(limite, FiltroRelatorio.LIMITE_PADRAO));
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql)) {
+            int i = preencherFiltro(statement, 1, filtro, produtos);
+            if (aposData != null) {
+                Timestamp data = new Timestamp(aposData);
+                statement.setTimestamp(i++, data);
+                statement.setTimestamp(i++, data);
+                statement.setInt(i++, aposId);
+            }
+            statement.setInt(i, limite);
+
+            long lidasAntes = contarLeituras(conn);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    relatorios.add(mapRelatorio(resultSet));
+                }
+            }
+            long examinadas = lidasAntes < 0 ? -1 : Math.max(0, contarLeituras(conn) - lidasAntes);
+            return new ResultadoRelatorio(relatorios, null, examinadas);
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar relatório filtrado: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Percorre os totais do relatório filtrado, agrupados pelo banco.
+     *
+     * <p>O agrupamento é feito primeiro sobre <code>relatorio</code> apenas,
+     * pelo ID do produto; produto e categoria são lidos depois, uma vez por
+     * grupo, e não uma vez por registro. O dia é entregue como intervalo de
+     * {@link TotalRelatorio#SEGUNDOS_INTERVALO} segundos, a ser convertido
+     * pelo chamador no fuso desejado.</p>
+     *
+     * @param filtro     datas, produtos, movimentação e status aceitos
+     * @param dimensoes  dimensões do agrupamento
+     * @param consumidor função chamada para cada total lido
+     * @throws RuntimeException caso algum erro SQL ocorra
+     */
+    @Override
+    public void percorrerTotais(FiltroRelatorio filtro, Set<DimensaoRelatorio> dimensoes, Consumer<TotalRelatorio> consumidor) {
+        boolean porProduto = dimensoes.contains(DimensaoRelatorio.PRODUTO);
+        boolean porCategoria = dimensoes.contains(DimensaoRelatorio.CATEGORIA);
+        boolean porDia = dimensoes.contains(DimensaoRelatorio.DIA);
+        boolean porMovimentacao = dimensoes.contains(DimensaoRelatorio.MOVIMENTACAO);
+
+        List<String> internas = new ArrayList<>();
+        if (porProduto || porCategoria) {
+            internas.add("r.produto_id");
+        }
+        if (porDia) {
+            internas.add("UNIX_TIMESTAMP(r.data) DIV " + TotalRelatorio.SEGUNDOS_INTERVALO + " AS intervalo");
+        }
+        if (porMovimentacao) {
+            internas.add("r.movimentacao");
+        }
+        List<Integer> produtos = filtro.temProdutos() ? completarProdutos(filtro.getProdutoIds()) : List.of();
+        List<String> condicoes = condicoes(filtro, produtos);
+        String sql = "SELECT " + colunas(internas)
+                + "COUNT(*) AS registros, SUM(r.quantidade) AS quantidade FROM "
+                + (materializado ? "relatorio" : "registro") + " r"
+                + (condicoes.isEmpty() ? "" : " WHERE " + String.join(" AND ", condicoes))
+                + agruparPor(internas);
+
+        if (porProduto || porCategoria) {
+            List<String> externas = new ArrayList<>();
+            if (porProduto) {
+                externas.add("p.id AS produtoId");
+                externas.add("p.nome AS nomeProduto");
+            }
+            if (porCategoria) {
+                externas.add("c.id AS categoriaId");
+                externas.add("c.nome AS nomeCategoria");
+            }
+            if (porDia) {
+                externas.add("t.intervalo");
+            }
+            if (porMovimentacao) {
+                externas.add("t.movimentacao");
+            }
+            sql = "SELECT " + colunas(externas)
+                    + "SUM(t.registros) AS registros, SUM(t.quantidade) AS quantidade FROM (" + sql + ") t"
+                    + " INNER JOIN produto p ON p.id = t.produto_id"
+                    + (porCategoria ? " LEFT JOIN categoria c ON c.id = p.categoria_id" : "")
+                    + agruparPor(externas);
+        }
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = Database.prepararConsultaEmFluxo(conn, sql)) {
+            preencherFiltro(statement, 1, filtro, produtos);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    TotalRelatorio total = new TotalRelatorio();
+                    if (porProduto) {
+                        total.setProdutoId(resultSet.getInt("produtoId"));
+                        total.setNomeProduto(resultSet.getString("nomeProduto"));
+                    }
+                    if (porCategoria) {
+                        total.setCategoriaId(resultSet.getObject("categoriaId", Integer.class));
+                        total.setNomeCategoria(resultSet.getString("nomeCategoria"));
+                    }
+                    if (porDia) {
+                        total.setIntervalo(resultSet.getLong("intervalo"));
+                    }
+                    if (porMovimentacao) {
+                        total.setMovimentacao(resultSet.getString("movimentacao"));
+                    }
+                    total.setRegistros(resultSet.getLong("registros"));
+                    total.setQuantidade(resultSet.getLong("quantidade"));
+                    consumidor.accept(total);
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao agregar registros para o relatório: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return colunas separadas por vírgula, seguidas de vírgula se houver alguma
+     */
+    private static String colunas(List<String> colunas) {
+        return colunas.isEmpty() ? "" : String.join(", ", colunas) + ", ";
+    }
+
+    /**
+     * @return cláusula <code>GROUP BY</code> pelas colunas, sem os apelidos, ou vazio
+     */
+    private static String agruparPor(List<String> colunas) {
+        if (colunas.isEmpty()) {
+            return "";
+        }
+        List<String> expressoes = new ArrayList<>();
+        for (String coluna : colunas) {
+            int apelido = coluna.indexOf(" AS ");
+            expressoes.add(apelido < 0 ? coluna : coluna.substring(0, apelido));
+        }
+        return " GROUP BY " + String.join(", ", expressoes);
+    }
+
+    /**
+     * Traduz os filtros em condições sobre <code>relatorio</code>, na ordem
+     * dos parâmetros preenchidos por {@link #preencherFiltro}.
+     */
+    private static List<String> condicoes(FiltroRelatorio filtro, List<Integer> produtos) {
+        List<String> condicoes = new ArrayList<>();
+        if (filtro.getDataInicio() != null) {
+            condicoes.add("r.data >= ?");
+        }
+        if (filtro.getDataFim() != null) {
+            condicoes.add("r.data < ?");
+        }
+        if (!produtos.isEmpty()) {
+            condicoes.add("r.produto_id IN (" + "?, ".repeat(produtos.size() - 1) + "?)");
+        }
+        if (filtro.getMovimentacao() != null) {
+            condicoes.add("r.movimentacao = ?");
+        }
+        if (filtro.getStatus() != null) {
+            condicoes.add("r.status = ?");
+        }
+        return condicoes;
+    }
+
+    /**
+     * Preenche os parâmetros das condições de {@link #condicoes}.
+     *
+     * @return índice do próximo parâmetro
+     */
+    private static int preencherFiltro(PreparedStatement statement, int i, FiltroRelatorio filtro,
+                                       List<Integer> produtos) throws SQLException {
+        if (filtro.getDataInicio() != null) {
+            statement.setTimestamp(i++, new Timestamp(filtro.getDataInicio().getTime()));
+        }
+        if (filtro.getDataFim() != null) {
+            statement.setTimestamp(i++, new Timestamp(filtro.getDataFim().getTime()));
+        }
+        for (Integer produtoId : produtos) {
+            statement.setInt(i++, produtoId);
+        }
+        if (filtro.getMovimentacao() != null) {
+            statement.setString(i++, filtro.getMovimentacao().name());
+        }
+        if (filtro.getStatus() != null) {
+            statement.setString(i++, filtro.getStatus().name());
+        }
+        return i;
+    }
+
+    /**
+     * Remove IDs nulos e repetidos e completa a lista até a próxima potência
+     * de dois repetindo o último ID.
+     */
+    private static List<Integer> completarProdutos(List<Integer> produtoIds) {
+        List<Integer> produtos = new ArrayList<>(new TreeSet<>(produtoIds.stream().filter(Objects::nonNull).toList()));
+        if (produtos.isEmpty()) {
+            // Apenas IDs nulos: nenhum registro pode atender
+            produtos.add(0);
+        }
+        int tamanho = Integer.highestOneBit(produtos.size() - 1) << 1;
+        Integer ultimo = produtos.get(produtos.size() - 1);
+        while (produtos.size() < tamanho) {
+            produtos.add(ultimo);
+        }
+        return produtos;
+    }
+
+    /**
+     * Soma os contadores de leitura de linhas da sessão da conexão.
+     *
+     * @return total de leituras, ou -1 se o banco não fornecer os contadores
+     */
+    private static long contarLeituras(Connection conn) {
+        try (PreparedStatement statement = conn.prepareStatement(CONTADORES_LEITURA);
+             ResultSet resultSet = statement.executeQuery()) {
+            long total = 0;
+            while (resultSet.next()) {
+                total += resultSet.getLong(2);
+            }
+            return total;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Percorre todo o relatório lendo o resultado em fluxo, do registro mais
+     * recente para o mais antigo.
+     *
+     * @param consumidor função chamada para cada item lido
+     * @throws RuntimeException caso algum erro SQL ocorra
+     */
+    @Override
+    public void percorrerRelatorio(Consumer<Relatorio> consumidor) {
+        String sql = selectRelatorio() + "ORDER BY r.data DESC, r.id DESC";
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = Database.prepararConsultaEmFluxo(conn, sql);
+             ResultSet resultSet = statement.executeQuery()) {
+
+            while (resultSet.next()) {
+                consumidor.accept(mapRelatorio(resultSet));
+            }
+
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao percorrer registros para o relatório: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Retorna o maior ID entre os registros e os itens do relatório, de modo
+     * que a reconstrução alcance também itens sem registro correspondente.
+     *
+     * @return maior ID, ou 0 se ambas as tabelas estiverem vazias
+     * @throws RuntimeException caso algum erro SQL ocorra
+     */
+    @Override
+    public int buscarMaiorId() {
+        String sql = "SELECT GREATEST(COALESCE((SELECT MAX(id) FROM registro), 0), COALESCE((SELECT MAX(id) FROM relatorio), 0))";
+
+        try (Connection conn = database.getConnection(); PreparedStatement statement = conn.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao buscar maior ID do relatório: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Apaga os itens da faixa e os copia de novo de <code>registro</code>,
+     * com o nome atual de cada produto.
+     *
+     * <p>Na transação do chamador, as leituras concorrentes continuam vendo a
+     * faixa anterior até a confirmação. A transação usa
+     * <code>READ COMMITTED</code>: a remoção trava só os itens existentes, sem
+     * as lacunas entre eles (nem a que fica acima do maior ID), e a cópia lê
+     * <code>registro</code> sem travá-lo. Assim, novos registros não esperam
+     * pela faixa; esperam apenas as gravações que alteram os mesmos itens,
+     * como a troca de nome de um produto com registros na faixa, até a
+     * confirmação. Por definir o isolamento da transação, deve ser o primeiro
+     * comando dela.</p>
+     *
+     * @param deId  primeiro ID da faixa
+     * @param ateId último ID da faixa
+     * @return itens gravados na faixa
+     * @throws RuntimeException caso algum erro SQL ocorra
+     */
+    @Override
+    public int reconstruirFaixa(int deId, int ateId) {
+        try (Connection conn = database.getConnection();
+             PreparedStatement isolamento = conn.prepareStatement("SET TRANSACTION ISOLATION LEVEL READ COMMITTED");
+             PreparedStatement apagar = conn.prepareStatement("DELETE FROM relatorio WHERE id BETWEEN ? AND ?");
+             PreparedStatement copiar = conn.prepareStatement(COPIAR_FAIXA)) {
+            // Vale só para a próxima transação, a desta faixa
+            isolamento.execute();
+
+            apagar.setInt(1, deId);
+            apagar.setInt(2, ateId);
+            apagar.executeUpdate();
+
+            copiar.setInt(1, deId);
+            copiar.setInt(2, ateId);
+            return copiar.executeUpdate();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao reconstruir relatório: " + e.getMessage(), e);
+        }
+    }
+
     private Relatorio mapRelatorio(ResultSet rs) throws SQLException {
         Relatorio relatorio = new Relatorio();
 
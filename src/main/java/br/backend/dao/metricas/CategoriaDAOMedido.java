@@ -0,0 +1,131 @@
+package br.backend.dao.metricas;
+
+import br.backend.dao.CategoriaDAO;
+import br.backend.metricas.MetricaOperacao;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.metricas.eventos.EventoBanco;
+import br.backend.modelo.Categoria;
+
+import java.util.List;
+
+/**
+ * Decorador de {@link CategoriaDAO} que mede o tempo de cada método no
+ * {@link RegistroMetricas}, sob os nomes <code>categoria.&lt;metodo&gt;</code>.
+ * Com uma gravação JFR em andamento, cada chamada emite também um
+ * {@link EventoBanco}, com a quantidade de linhas lidas ou gravadas quando
+ * conhecida.
+ *
+ * <p>Deve envolver o DAO que acessa o banco diretamente, abaixo do cache.</p>
+ */
+public class CategoriaDAOMedido implements CategoriaDAO {
+
+    private final CategoriaDAO delegado;
+    private final MetricaOperacao inserirCategoria;
+    private final MetricaOperacao atualizarCategoria;
+    private final MetricaOperacao deletarPorId;
+    private final MetricaOperacao buscarPorId;
+    private final MetricaOperacao buscarTodasCategorias;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param delegado DAO que acessa o banco de dados
+     * @param metricas registro onde os tempos são acumulados
+     */
+    public CategoriaDAOMedido(CategoriaDAO delegado, RegistroMetricas metricas) {
+        this.delegado = delegado;
+        this.inserirCategoria = metricas.banco("categoria", "inserirCategoria");
+        this.atualizarCategoria = metricas.banco("categoria", "atualizarCategoria");
+        this.deletarPorId = metricas.banco("categoria", "deletarPorId");
+        this.buscarPorId = metricas.banco("categoria", "buscarPorId");
+        this.buscarTodasCategorias = metricas.banco("categoria", "buscarTodasCategorias");
+    }
+
+    @Override
+    public void inserirCategoria(Categoria cat) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = inserirCategoria.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            delegado.inserirCategoria(cat);
+            linhas = 1;
+            sucesso = true;
+        } finally {
+            inserirCategoria.finalizar(inicio, sucesso);
+            evento.concluir("categoria", "inserirCategoria", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public boolean atualizarCategoria(Integer id, Categoria cat) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = atualizarCategoria.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            boolean atualizada = delegado.atualizarCategoria(id, cat);
+            linhas = atualizada ? 1 : 0;
+            sucesso = true;
+            return atualizada;
+        } finally {
+            atualizarCategoria.finalizar(inicio, sucesso);
+            evento.concluir("categoria", "atualizarCategoria", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public boolean deletarPorId(Integer id) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = deletarPorId.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            boolean deletada = delegado.deletarPorId(id);
+            sucesso = true;
+            return deletada;
+        } finally {
+            deletarPorId.finalizar(inicio, sucesso);
+            evento.concluir("categoria", "deletarPorId", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public Categoria buscarPorId(Integer id) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = buscarPorId.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            Categoria categoria = delegado.buscarPorId(id);
+            linhas = categoria == null ? 0 : 1;
+            sucesso = true;
+            return categoria;
+        } finally {
+            buscarPorId.finalizar(inicio, sucesso);
+            evento.concluir("categoria", "buscarPorId", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public List<Categoria> buscarTodasCategorias() {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = buscarTodasCategorias.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Categoria> categorias = delegado.buscarTodasCategorias();
+            linhas = categorias.size();
+            sucesso = true;
+            return categorias;
+        } finally {
+            buscarTodasCategorias.finalizar(inicio, sucesso);
+            evento.concluir("categoria", "buscarTodasCategorias", linhas, sucesso);
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package br.backend.dao.metricas;
+
+import br.backend.dao.ProdutoDAO;
+import br.backend.metricas.MetricaOperacao;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.metricas.eventos.EventoBanco;
+import br.backend.modelo.Produto;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link ProdutoDAO} que mede o tempo de cada método no
+ * {@link RegistroMetricas}, sob os nomes <code>produto.&lt;metodo&gt;</code>.
+ *
+ * <p>Deve envolver o DAO que acessa o banco diretamente, abaixo do cache,
+ * para que as buscas atendidas pelo cache não sejam contadas. Com uma gravação
+ * JFR em andamento, cada chamada emite também um {@link EventoBanco}, com a
+ * quantidade de linhas lidas ou gravadas quando conhecida. Nos métodos que
+ * percorrem os produtos, o tempo inclui o do consumidor.</p>
+ */
+public class ProdutoDAOMedido implements ProdutoDAO {
+
+    private final ProdutoDAO delegado;
+    private final MetricaOperacao inserirProduto;
+    private final MetricaOperacao inserirProdutos;
+    private final MetricaOperacao atualizarProduto;
+    private final MetricaOperacao buscarPorId;
+    private final MetricaOperacao deletarPorId;
+    private final MetricaOperacao resgatarTodosProdutos;
+    private final MetricaOperacao listarPagina;
+    private final MetricaOperacao percorrerProdutos;
+    private final MetricaOperacao contarAtivos;
+    private final MetricaOperacao buscarFimLote;
+    private final MetricaOperacao reajustarPrecos;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param delegado DAO que acessa o banco de dados
+     * @param metricas registro onde os tempos são acumulados
+     */
+    public ProdutoDAOMedido(ProdutoDAO delegado, RegistroMetricas metricas) {
+        this.delegado = delegado;
+        this.inserirProduto = metricas.banco("produto", "inserirProduto");
+        this.inserirProdutos = metricas.banco("produto", "inserirProdutos");
+        this.atualizarProduto = metricas.banco("produto", "atualizarProduto");
+        this.buscarPorId = metricas.banco("produto", "buscarPorId");
+        this.deletarPorId = metricas.banco("produto", "deletarPorId");
+        this.resgatarTodosProdutos = metricas.banco("produto", "resgatarTodosProdutos");
+        this.listarPagina = metricas.banco("produto", "listarPagina");
+        this.percorrerProdutos = metricas.banco("produto", "percorrerProdutos");
+        this.contarAtivos = metricas.banco("produto", "contarAtivos");
+        this.buscarFimLote = metricas.banco("produto", "buscarFimLote");
+        this.reajustarPrecos = metricas.banco("produto", "reajustarPrecos");
+    }
+
+    @Override
+    public void inserirProduto(Produto obj) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = inserirProduto.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            delegado.inserirProduto(obj);
+            linhas = 1;
+            sucesso = true;
+        } finally {
+            inserirProduto.finalizar(inicio, sucesso);
+            evento.concluir("produto", "inserirProduto", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public void inserirProdutos(List<Produto> produtos) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = inserirProdutos.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            delegado.inserirProdutos(produtos);
+            linhas = produtos.size();
+            sucesso = true;
+        } finally {
+            inserirProdutos.finalizar(inicio, sucesso);
+            evento.concluir("produto", "inserirProdutos", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public boolean atualizarProduto(Integer id, Produto novoProduto) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = atualizarProduto.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            boolean atualizado = delegado.atualizarProduto(id, novoProduto);
+            linhas = atualizado ? 1 : 0;
+            sucesso = true;
+            return atualizado;
+        } finally {
+            atualizarProduto.finalizar(inicio, sucesso);
+            evento.concluir("produto", "atualizarProduto", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public Produto buscarPorId(Integer id) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = buscarPorId.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            Produto produto = delegado.buscarPorId(id);
+            linhas = produto == null ? 0 : 1;
+            sucesso = true;
+            return produto;
+        } finally {
+            buscarPorId.finalizar(inicio, sucesso);
+            evento.concluir("produto", "buscarPorId", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public boolean deletarPorId(Integer id) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = deletarPorId.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            boolean deletado = delegado.deletarPorId(id);
+            linhas = deletado ? 1 : 0;
+            sucesso = true;
+            return deletado;
+        } finally {
+            deletarPorId.finalizar(inicio, sucesso);
+            evento.concluir("produto", "deletarPorId", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public List<Produto> resgatarTodosProdutos() {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = resgatarTodosProdutos.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Produto> produtos = delegado.resgatarTodosProdutos();
+            linhas = produtos.size();
+            sucesso = true;
+            return produtos;
+        } finally {
+            resgatarTodosProdutos.finalizar(inicio, sucesso);
+            evento.concluir("produto", "resgatarTodosProdutos", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public List<Produto> listarPagina(Integer aposId, int limite) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = listarPagina.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Produto> produtos = delegado.listarPagina(aposId, limite);
+            linhas = produtos.size();
+            sucesso = true;
+            return produtos;
+        } finally {
+            listarPagina.finalizar(inicio, sucesso);
+            evento.concluir("produto", "listarPagina", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public void percorrerProdutos(Consumer<Produto> consumidor) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = percorrerProdutos.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            if (evento.isEnabled()) {
+                int[] contador = new int[1];
+                delegado.percorrerProdutos(item -> {
+                    contador[0]++;
+                    consumidor.accept(item);
+                });
+                linhas = contador[0];
+            } else {
+                delegado.percorrerProdutos(consumidor);
+            }
+            sucesso = true;
+        } finally {
+            percorrerProdutos.finalizar(inicio, sucesso);
+            evento.concluir("produto", "percorrerProdutos", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public int contarAtivos(Integer categoriaId) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = contarAtivos.iniciar();
+        boolean sucesso = false;
+        try {
+            int quantidade = delegado.contarAtivos(categoriaId);
+            sucesso = true;
+            return quantidade;
+        } finally {
+            contarAtivos.finalizar(inicio, sucesso);
+            evento.concluir("produto", "contarAtivos", 1, sucesso);
+        }
+    }
+
+    @Override
+    public Integer buscarFimLote(Integer aposId, int tamanho, Integer categoriaId) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = buscarFimLote.iniciar();
+        boolean sucesso = false;
+        try {
+            Integer fim = delegado.buscarFimLote(aposId, tamanho, categoriaId);
+            sucesso = true;
+            return fim;
+        } finally {
+            buscarFimLote.finalizar(inicio, sucesso);
+            evento.concluir("produto", "buscarFimLote", 1, sucesso);
+        }
+    }
+
+    @Override
+    public int reajustarPrecos(double percentual, int aposId, int ateId, Integer categoriaId, List<Integer> produtoIds) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = reajustarPrecos.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            linhas = delegado.reajustarPrecos(percentual, aposId, ateId, categoriaId, produtoIds);
+            sucesso = true;
+            return linhas;
+        } finally {
+            reajustarPrecos.finalizar(inicio, sucesso);
+            evento.concluir("produto", "reajustarPrecos", linhas, sucesso);
+        }
+    }
+}
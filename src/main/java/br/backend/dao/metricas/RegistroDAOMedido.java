@@ -0,0 +1,139 @@
+package br.backend.dao.metricas;
+
+import br.backend.dao.RegistroDAO;
+import br.backend.metricas.MetricaOperacao;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.metricas.eventos.EventoBanco;
+import br.backend.modelo.Registro;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link RegistroDAO} que mede o tempo de cada método no
+ * {@link RegistroMetricas}, sob os nomes <code>registro.&lt;metodo&gt;</code>.
+ * Com uma gravação JFR em andamento, cada chamada emite também um
+ * {@link EventoBanco}, com a quantidade de linhas lidas ou gravadas quando
+ * conhecida.
+ *
+ * <p>Em {@link #percorrerRegistros(Consumer)} o tempo inclui o do consumidor.</p>
+ */
+public class RegistroDAOMedido implements RegistroDAO {
+
+    private final RegistroDAO delegado;
+    private final MetricaOperacao inserirRegistro;
+    private final MetricaOperacao inserirRegistros;
+    private final MetricaOperacao listarRegistros;
+    private final MetricaOperacao listarPagina;
+    private final MetricaOperacao percorrerRegistros;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param delegado DAO que acessa o banco de dados
+     * @param metricas registro onde os tempos são acumulados
+     */
+    public RegistroDAOMedido(RegistroDAO delegado, RegistroMetricas metricas) {
+        this.delegado = delegado;
+        this.inserirRegistro = metricas.banco("registro", "inserirRegistro");
+        this.inserirRegistros = metricas.banco("registro", "inserirRegistros");
+        this.listarRegistros = metricas.banco("registro", "listarRegistros");
+        this.listarPagina = metricas.banco("registro", "listarPagina");
+        this.percorrerRegistros = metricas.banco("registro", "percorrerRegistros");
+    }
+
+    @Override
+    public void inserirRegistro(Registro registro) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = inserirRegistro.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            delegado.inserirRegistro(registro);
+            linhas = 1;
+            sucesso = true;
+        } finally {
+            inserirRegistro.finalizar(inicio, sucesso);
+            evento.concluir("registro", "inserirRegistro", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public void inserirRegistros(List<Registro> registros) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = inserirRegistros.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            delegado.inserirRegistros(registros);
+            linhas = registros.size();
+            sucesso = true;
+        } finally {
+            inserirRegistros.finalizar(inicio, sucesso);
+            evento.concluir("registro", "inserirRegistros", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public List<Registro> listarRegistros() {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = listarRegistros.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Registro> registros = delegado.listarRegistros();
+            linhas = registros.size();
+            sucesso = true;
+            return registros;
+        } finally {
+            listarRegistros.finalizar(inicio, sucesso);
+            evento.concluir("registro", "listarRegistros", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public List<Registro> listarPagina(Long aposData, Integer aposId, int limite) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = listarPagina.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Registro> registros = delegado.listarPagina(aposData, aposId, limite);
+            linhas = registros.size();
+            sucesso = true;
+            return registros;
+        } finally {
+            listarPagina.finalizar(inicio, sucesso);
+            evento.concluir("registro", "listarPagina", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public void percorrerRegistros(Consumer<Registro> consumidor) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = percorrerRegistros.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            if (evento.isEnabled()) {
+                int[] contador = new int[1];
+                delegado.percorrerRegistros(item -> {
+                    contador[0]++;
+                    consumidor.accept(item);
+                });
+                linhas = contador[0];
+            } else {
+                delegado.percorrerRegistros(consumidor);
+            }
+            sucesso = true;
+        } finally {
+            percorrerRegistros.finalizar(inicio, sucesso);
+            evento.concluir("registro", "percorrerRegistros", linhas, sucesso);
+        }
+    }
+}
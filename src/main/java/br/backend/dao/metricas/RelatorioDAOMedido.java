@@ -0,0 +1,192 @@
+package br.backend.dao.metricas;
+
+import br.backend.dao.RelatorioDAO;
+import br.backend.dto.FiltroRelatorio;
+import br.backend.dto.ResultadoRelatorio;
+import br.backend.metricas.MetricaOperacao;
+import br.backend.metricas.RegistroMetricas;
+import br.backend.metricas.eventos.EventoBanco;
+import br.backend.modelo.Relatorio;
+import br.backend.modelo.TotalRelatorio;
+import br.backend.modelo.enums.DimensaoRelatorio;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Decorador de {@link RelatorioDAO} que mede o tempo de cada método no
+ * {@link RegistroMetricas}, sob os nomes <code>relatorio.&lt;metodo&gt;</code>.
+ * Com uma gravação JFR em andamento, cada chamada emite também um
+ * {@link EventoBanco}, com a quantidade de linhas lidas ou gravadas quando
+ * conhecida.
+ *
+ * <p>Em {@link #percorrerRelatorio(Consumer)} e
+ * {@link #percorrerTotais(FiltroRelatorio, Set, Consumer)} o tempo inclui o
+ * do consumidor.</p>
+ */
+public class RelatorioDAOMedido implements RelatorioDAO {
+
+    private final RelatorioDAO delegado;
+    private final MetricaOperacao listarRelatorio;
+    private final MetricaOperacao listarPagina;
+    private final MetricaOperacao listarFiltrado;
+    private final MetricaOperacao percorrerTotais;
+    private final MetricaOperacao percorrerRelatorio;
+    private final MetricaOperacao buscarMaiorId;
+    private final MetricaOperacao reconstruirFaixa;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param delegado DAO que acessa o banco de dados
+     * @param metricas registro onde os tempos são acumulados
+     */
+    public RelatorioDAOMedido(RelatorioDAO delegado, RegistroMetricas metricas) {
+        this.delegado = delegado;
+        this.listarRelatorio = metricas.banco("relatorio", "listarRelatorio");
+        this.listarPagina = metricas.banco("relatorio", "listarPagina");
+        this.listarFiltrado = metricas.banco("relatorio", "listarFiltrado");
+        this.percorrerTotais = metricas.banco("relatorio", "percorrerTotais");
+        this.percorrerRelatorio = metricas.banco("relatorio", "percorrerRelatorio");
+        this.buscarMaiorId = metricas.banco("relatorio", "buscarMaiorId");
+        this.reconstruirFaixa = metricas.banco("relatorio", "reconstruirFaixa");
+    }
+
+    @Override
+    public List<Relatorio> listarRelatorio() {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = listarRelatorio.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Relatorio> relatorio = delegado.listarRelatorio();
+            linhas = relatorio.size();
+            sucesso = true;
+            return relatorio;
+        } finally {
+            listarRelatorio.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "listarRelatorio", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public List<Relatorio> listarPagina(Long aposData, Integer aposId, int limite) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = listarPagina.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            List<Relatorio> relatorio = delegado.listarPagina(aposData, aposId, limite);
+            linhas = relatorio.size();
+            sucesso = true;
+            return relatorio;
+        } finally {
+            listarPagina.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "listarPagina", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public ResultadoRelatorio listarFiltrado(FiltroRelatorio filtro, Long aposData, Integer aposId, int limite) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = listarFiltrado.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            ResultadoRelatorio resultado = delegado.listarFiltrado(filtro, aposData, aposId, limite);
+            linhas = resultado.getLinhasRetornadas();
+            sucesso = true;
+            return resultado;
+        } finally {
+            listarFiltrado.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "listarFiltrado", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public void percorrerTotais(FiltroRelatorio filtro, Set<DimensaoRelatorio> dimensoes, Consumer<TotalRelatorio> consumidor) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = percorrerTotais.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            if (evento.isEnabled()) {
+                int[] contador = new int[1];
+                delegado.percorrerTotais(filtro, dimensoes, total -> {
+                    contador[0]++;
+                    consumidor.accept(total);
+                });
+                linhas = contador[0];
+            } else {
+                delegado.percorrerTotais(filtro, dimensoes, consumidor);
+            }
+            sucesso = true;
+        } finally {
+            percorrerTotais.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "percorrerTotais", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public void percorrerRelatorio(Consumer<Relatorio> consumidor) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = percorrerRelatorio.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            if (evento.isEnabled()) {
+                int[] contador = new int[1];
+                delegado.percorrerRelatorio(item -> {
+                    contador[0]++;
+                    consumidor.accept(item);
+                });
+                linhas = contador[0];
+            } else {
+                delegado.percorrerRelatorio(consumidor);
+            }
+            sucesso = true;
+        } finally {
+            percorrerRelatorio.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "percorrerRelatorio", linhas, sucesso);
+        }
+    }
+
+    @Override
+    public int buscarMaiorId() {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = buscarMaiorId.iniciar();
+        boolean sucesso = false;
+        try {
+            int id = delegado.buscarMaiorId();
+            sucesso = true;
+            return id;
+        } finally {
+            buscarMaiorId.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "buscarMaiorId", 1, sucesso);
+        }
+    }
+
+    @Override
+    public int reconstruirFaixa(int deId, int ateId) {
+        EventoBanco evento = new EventoBanco();
+        evento.begin();
+        long inicio = reconstruirFaixa.iniciar();
+        boolean sucesso = false;
+        int linhas = -1;
+        try {
+            linhas = delegado.reconstruirFaixa(deId, ateId);
+            sucesso = true;
+            return linhas;
+        } finally {
+            reconstruirFaixa.finalizar(inicio, sucesso);
+            evento.concluir("relatorio", "reconstruirFaixa", linhas, sucesso);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package br.backend.database;
+
+import br.backend.metricas.Histograma;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa gravações de clientes diferentes que chegam ao mesmo tempo em uma
+ * única transação, com um único <code>commit</code> (<i>group commit</i>).
+ *
+ * <p>A primeira thread a chegar abre um grupo e se torna sua líder; as que
+ * chegam em seguida entram no mesmo grupo e aguardam. A líder espera até
+ * <code>janela</code> desde a abertura, ou até o grupo ter
+ * <code>tamanhoMaximo</code> trabalhos, e então executa todos, em ordem de
+ * chegada, dentro de uma transação. Cada trabalho roda em um savepoint: se
+ * falhar, apenas as suas alterações são desfeitas. Cada thread só recebe o
+ * seu resultado depois que o <code>commit</code> do grupo é concluído.</p>
+ *
+ * <p>No máximo <code>paralelos</code> grupos são executados ao mesmo tempo,
+ * na ordem em que foram abertos. Enquanto um grupo é executado, o seguinte
+ * continua recebendo trabalhos, de modo que, sob carga, os grupos crescem
+ * mesmo com janela zero.</p>
+ *
+ * <p>Se a transação do grupo for perdida (ex.: o banco desfez tudo por um
+ * deadlock) ou o <code>commit</code> falhar, os trabalhos são refeitos um a
+ * um, cada um na sua própria transação. Trabalhos chamados dentro de uma
+ * transação já ativa na thread, como os de um lote, participam dela e não são
+ * agrupados.</p>
+ */
+public class AgrupadorTransacoes {
+
+    private final Database database;
+    private final long janelaNanos;
+    private final int tamanhoMaximo;
+    private final int paralelos;
+
+    /** Protege o grupo aberto e a fila de execução; não fixa threads virtuais. */
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition mudanca = trava.newCondition();
+    private Grupo aberto;
+    private long proximoNumero;
+    private long proximoExecutar;
+    private int emExecucao;
+
+    private final AtomicLongArray tamanhos;
+    private final LongAdder grupos = new LongAdder();
+    private final LongAdder trabalhos = new LongAdder();
+    private final LongAdder refeitos = new LongAdder();
+    private final AtomicLong maiorGrupo = new AtomicLong();
+    private final Histograma espera = new Histograma();
+
+    /**
+     * Construtor padrão.
+     *
+     * @param database      banco onde as transações dos grupos são executadas
+     * @param janelaMs      espera máxima, desde a abertura do grupo, por novos trabalhos
+     * @param tamanhoMaximo quantidade máxima de trabalhos por grupo
+     * @param paralelos     quantidade de grupos executados ao mesmo tempo
+     */
+    public AgrupadorTransacoes(Database database, long janelaMs, int tamanhoMaximo, int paralelos) {
+        this.database = database;
+        this.janelaNanos = TimeUnit.MILLISECONDS.toNanos(janelaMs);
+        this.tamanhoMaximo = Math.max(1, tamanhoMaximo);
+        this.paralelos = Math.max(1, paralelos);
+        this.tamanhos = new AtomicLongArray(this.tamanhoMaximo + 1);
+    }
+
+    /**
+     * Executa o trabalho no grupo aberto, aguardando o <code>commit</code> do grupo.
+     *
+     * @param trabalho operações a serem gravadas
+     * @param falhou   indica, pelo resultado, que as alterações do trabalho
+     *                 devem ser desfeitas (ex.: resposta com status <code>erro</code>)
+     * @param <T>      tipo do resultado
+     * @return resultado produzido pelo trabalho
+     * @throws RuntimeException caso o trabalho lance exceção ou a gravação falhe
+     */
+    public <T> T executar(Supplier<T> trabalho, Predicate<? super T> falhou) {
+        if (database.emTransacaoAtiva()) {
+            return trabalho.get();
+        }
+
+        Trabalho<T> item = new Trabalho<>(trabalho, falhou);
+        Grupo grupo = entrar(item);
+        if (grupo != null) {
+            try {
+                executarGrupo(grupo);
+            } finally {
+                trava.lock();
+                try {
+                    emExecucao--;
+                    mudanca.signalAll();
+                } finally {
+                    trava.unlock();
+                }
+            }
+        }
+        return item.aguardar();
+    }
+
+    /**
+     * Coloca o trabalho no grupo aberto, abrindo um se necessário. A thread
+     * que abre o grupo aguarda a sua vez e o fim da janela.
+     *
+     * @return grupo a ser executado pela thread atual, ou {@code null} se ela
+     *         apenas aguarda o resultado
+     */
+    private Grupo entrar(Trabalho<?> item) {
+        trava.lock();
+        try {
+            boolean lider = aberto == null;
+            if (lider) {
+                aberto = new Grupo(proximoNumero++, System.nanoTime());
+            }
+            Grupo grupo = aberto;
+            grupo.trabalhos.add(item);
+            if (grupo.trabalhos.size() >= tamanhoMaximo) {
+                aberto = null;
+                mudanca.signalAll();
+            }
+            if (!lider) {
+                return null;
+            }
+
+            long prazo = grupo.abertoEm + janelaNanos;
+            boolean interrompida = false;
+            while (true) {
+                boolean vez = grupo.numero == proximoExecutar && emExecucao < paralelos;
+                long restante = aberto == grupo ? prazo - System.nanoTime() : 0;
+                if (vez && restante <= 0) {
+                    break;
+                }
+                try {
+                    if (vez) {
+                        mudanca.awaitNanos(restante);
+                    } else {
+                        mudanca.await();
+                    }
+                } catch (InterruptedException e) {
+                    // Os demais trabalhos do grupo dependem desta thread: encerra apenas a janela
+                    interrompida = true;
+                    prazo = System.nanoTime();
+                }
+            }
+            if (interrompida) {
+                Thread.currentThread().interrupt();
+            }
+            if (aberto == grupo) {
+                aberto = null;
+            }
+            proximoExecutar++;
+            emExecucao++;
+            mudanca.signalAll();
+            return grupo;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Executa os trabalhos do grupo em uma transação e libera os resultados
+     * após o <code>commit</code>; se a transação do grupo falhar, refaz os
+     * trabalhos individualmente.
+     */
+    private void executarGrupo(Grupo grupo) {
+        List<Trabalho<?>> itens = grupo.trabalhos;
+        long inicio = System.nanoTime();
+        for (Trabalho<?> item : itens) {
+            espera.registrar(inicio - item.chegada);
+        }
+        registrarTamanho(itens.size());
+
+        try {
+            database.emTransacao(() -> {
+                for (Trabalho<?> item : itens) {
+                    item.executarEmSavepoint(database);
+                }
+                return null;
+            });
+        } catch (RuntimeException e) {
+            refeitos.increment();
+            for (Trabalho<?> item : itens) {
+                item.executarSozinho(database);
+            }
+            return;
+        } catch (Error e) {
+            for (Trabalho<?> item : itens) {
+                item.resultado.completeExceptionally(e);
+            }
+            throw e;
+        }
+        for (Trabalho<?> item : itens) {
+            item.liberar();
+        }
+    }
+
+    private void registrarTamanho(int tamanho) {
+        grupos.increment();
+        trabalhos.add(tamanho);
+        tamanhos.incrementAndGet(Math.min(tamanho, tamanhoMaximo));
+        long maior = maiorGrupo.get();
+        while (tamanho > maior && !maiorGrupo.compareAndSet(maior, tamanho)) {
+            maior = maiorGrupo.get();
+        }
+    }
+
+    /**
+     * @return retrato atual dos grupos executados
+     */
+    public EstatisticasAgrupador getEstatisticas() {
+        long[] distribuicao = new long[tamanhos.length()];
+        for (int i = 0; i < distribuicao.length; i++) {
+            distribuicao[i] = tamanhos.get(i);
+        }
+        return new EstatisticasAgrupador(TimeUnit.NANOSECONDS.toMillis(janelaNanos), tamanhoMaximo, paralelos,
+                grupos.sum(), trabalhos.sum(), maiorGrupo.get(), refeitos.sum(), distribuicao, espera.retrato());
+    }
+
+    /**
+     * Trabalhos reunidos para uma mesma transação.
+     */
+    private static final class Grupo {
+
+        final long numero;
+        final long abertoEm;
+        final List<Trabalho<?>> trabalhos = new ArrayList<>();
+
+        Grupo(long numero, long abertoEm) {
+            this.numero = numero;
+            this.abertoEm = abertoEm;
+        }
+    }
+
+    /**
+     * Trabalho de uma thread e o resultado que ela aguarda.
+     */
+    private static final class Trabalho<T> {
+
+        final Supplier<T> trabalho;
+        final Predicate<? super T> falhou;
+        final long chegada = System.nanoTime();
+        final CompletableFuture<T> resultado = new CompletableFuture<>();
+        T valor;
+        RuntimeException erro;
+
+        Trabalho(Supplier<T> trabalho, Predicate<? super T> falhou) {
+            this.trabalho = trabalho;
+            this.falhou = falhou;
+        }
+
+        /**
+         * Executa o trabalho em um savepoint da transação do grupo, guardando o
+         * resultado até o <code>commit</code>.
+         *
+         * @throws RuntimeException se o savepoint não pôde ser desfeito, o que
+         *                          indica que a transação do grupo foi perdida
+         */
+        void executarEmSavepoint(Database database) {
+            try {
+                valor = database.emSavepoint(this::executarOuDesfazer);
+                erro = null;
+            } catch (Desfazer d) {
+                if (d.getSuppressed().length > 0) {
+                    throw new RuntimeException("Erro ao desfazer savepoint do grupo", d.getSuppressed()[0]);
+                }
+                valor = d.<T>resultado();
+                erro = null;
+            } catch (RuntimeException e) {
+                if (e.getSuppressed().length > 0) {
+                    throw e;
+                }
+                valor = null;
+                erro = e;
+            }
+        }
+
+        /**
+         * Executa o trabalho em uma transação própria e libera o resultado.
+         */
+        void executarSozinho(Database database) {
+            try {
+                resultado.complete(database.emTransacao(this::executarOuDesfazer));
+            } catch (Desfazer d) {
+                resultado.complete(d.resultado());
+            } catch (RuntimeException e) {
+                resultado.completeExceptionally(e);
+            }
+        }
+
+        private T executarOuDesfazer() {
+            T r = trabalho.get();
+            if (falhou.test(r)) {
+                throw new Desfazer(r);
+            }
+            return r;
+        }
+
+        void liberar() {
+            if (erro != null) {
+                resultado.completeExceptionally(erro);
+            } else {
+                resultado.complete(valor);
+            }
+        }
+
+        T aguardar() {
+            try {
+                return resultado.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException r ? r : e;
+            }
+        }
+    }
+
+    /**
+     * Sinaliza um resultado de falha para que as alterações do trabalho sejam desfeitas.
+     */
+    private static final class Desfazer extends RuntimeException {
+
+        private final Object resultado;
+
+        Desfazer(Object resultado) {
+            // Com supressão, para que uma falha ao desfazer o savepoint seja anexada
+            super(null, null, true, false);
+            this.resultado = resultado;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T resultado() {
+            return (T) resultado;
+        }
+    }
+}
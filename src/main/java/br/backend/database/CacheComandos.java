@@ -0,0 +1,100 @@
+package br.backend.database;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Comandos preparados ociosos de uma conexão física do {@link PoolConexoes},
+ * identificados pelo texto SQL e pela opção de chaves geradas.
+ *
+ * <p>Um comando fica no cache apenas enquanto não está em uso: é retirado ao
+ * ser preparado novamente e devolvido quando o proxy entregue ao DAO é
+ * fechado. Acima da <code>capacidade</code>, o comando usado há mais tempo é
+ * fechado. Como a conexão física é emprestada a uma thread por vez, o cache
+ * não é sincronizado.</p>
+ */
+class CacheComandos {
+
+    private final int capacidade;
+    private final LinkedHashMap<Chave, PreparedStatement> ociosos;
+    private final LongAdder descartes;
+
+    /**
+     * @param capacidade quantidade máxima de comandos ociosos mantidos
+     * @param descartes  contador, compartilhado pelo pool, dos comandos fechados pelo cache
+     */
+    CacheComandos(int capacidade, LongAdder descartes) {
+        this.capacidade = capacidade;
+        this.descartes = descartes;
+        this.ociosos = new LinkedHashMap<>(Math.min(capacidade, 64) * 2, 0.75f, true);
+    }
+
+    /**
+     * Retira um comando ocioso.
+     *
+     * @param sql           texto SQL
+     * @param chavesGeradas opção de chaves geradas usada na preparação
+     * @return comando preparado, ou {@code null} se não houver no cache
+     */
+    PreparedStatement retirar(String sql, int chavesGeradas) {
+        return ociosos.remove(new Chave(sql, chavesGeradas));
+    }
+
+    /**
+     * Guarda um comando que deixou de ser usado, fechando o que for
+     * substituído ou o menos usado recentemente se a capacidade for excedida.
+     *
+     * @param sql           texto SQL
+     * @param chavesGeradas opção de chaves geradas usada na preparação
+     * @param comando       comando já sem parâmetros nem lote pendente
+     */
+    void devolver(String sql, int chavesGeradas, PreparedStatement comando) {
+        PreparedStatement substituido = ociosos.put(new Chave(sql, chavesGeradas), comando);
+        if (substituido != null) {
+            fechar(substituido);
+        }
+        if (ociosos.size() > capacidade) {
+            Iterator<Map.Entry<Chave, PreparedStatement>> maisAntigo = ociosos.entrySet().iterator();
+            PreparedStatement removido = maisAntigo.next().getValue();
+            maisAntigo.remove();
+            fechar(removido);
+        }
+    }
+
+    private void fechar(PreparedStatement comando) {
+        descartes.increment();
+        try {
+            comando.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Identificação de um comando no cache.
+     */
+    private static final class Chave {
+
+        final String sql;
+        final int chavesGeradas;
+
+        Chave(String sql, int chavesGeradas) {
+            this.sql = sql;
+            this.chavesGeradas = chavesGeradas;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave outra && chavesGeradas == outra.chavesGeradas && sql.equals(outra.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, chavesGeradas);
+        }
+    }
+}
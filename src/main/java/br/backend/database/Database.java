@@ -1,17 +1,23 @@
 package br.backend.database;
 
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.IOException;
-import java.io.InputStream;
+import br.backend.config.Configuracao;
+import br.backend.metricas.RegistroMetricas;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
 import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
 
 
 /**
- * Classe responsável por gerenciar a conexão com o banco de dados.
+ * Classe responsável por gerenciar as conexões com o banco de dados.
  *
  * <p>A configuração é carregada a partir do arquivo <b>application.properties</b>
  * presente no classpath, contendo as propriedades:</p>
@@ -22,70 +28,376 @@ import java.util.Properties;
  *     <li><code>db.password</code></li>
  * </ul>
  *
- * <p>A conexão é criada de forma <b>lazy</b>, ou seja, apenas quando
- * {@link #getConnection()} é chamado pela primeira vez.</p>
+ * <p>As conexões são mantidas em um pool ({@link PoolConexoes}), ajustável
+ * pelas propriedades <code>db.pool.*</code>. Cada chamada a
+ * {@link #getConnection()} empresta uma conexão exclusiva que deve ser
+ * fechada ao final da operação, o que a devolve ao pool. As conexões físicas
+ * são abertas de forma <b>lazy</b>, apenas quando necessárias.</p>
+ *
+ * <p>Operações que precisam ser atômicas podem ser executadas com
+ * {@link #emTransacao(Supplier)}: enquanto a transação estiver ativa, toda
+ * chamada a {@link #getConnection()} feita pela mesma thread recebe a conexão
+ * da transação, de modo que os DAOs participam dela sem alteração. Os
+ * serviços usam esse controle pela interface {@link GerenciadorTransacao}.</p>
  *
- * <p>Esta classe mantém uma única instância de {@link Connection} durante toda a
- * execução da aplicação.</p>
+ * <p>As conexões entregues são instrumentadas ({@link InstrumentacaoJdbc}):
+ * cada comando SQL executado é medido no {@link RegistroMetricas}, com as
+ * linhas lidas ou alteradas, e os que passam do limite configurado são
+ * gravados no log de consultas lentas.</p>
  */
-public class Database {
+public class Database implements GerenciadorTransacao {
+
+    private final PoolConexoes pool;
+
+    /** Instrumentação dos comandos SQL, ou {@code null} se desativada. */
+    private final InstrumentacaoJdbc instrumentacao;
 
-    private Connection conn = null;
+    /** Transação ativa na thread atual, se houver. */
+    private final ThreadLocal<Transacao> transacaoAtual = new ThreadLocal<>();
+
+    /**
+     * Construtor padrão que carrega as configurações do classpath.
+     */
+    public Database() {
+        this(new Configuracao());
+    }
 
     /**
-     * Carrega e retorna as propriedades de configuração do banco de dados.
+     * Construtor que utiliza as configurações informadas, com as métricas dos
+     * comandos SQL em um registro próprio.
      *
-     * <p>O arquivo <code>application.properties</code> deve estar localizado no classpath.
-     * Caso não seja encontrado, uma exceção é lançada.</p>
+     * @param configuracao configurações da aplicação
+     */
+    public Database(Configuracao configuracao) {
+        this(configuracao, new RegistroMetricas());
+    }
+
+    /**
+     * Construtor que utiliza as configurações informadas.
      *
-     * @return instância de {@link Properties} contendo as configurações de conexão
-     * @throws RuntimeException caso o arquivo não seja encontrado ou ocorra erro de leitura
+     * <p>Propriedades do pool (com seus valores padrão):</p>
+     * <ul>
+     *     <li><code>db.pool.minimo</code> (2) e <code>db.pool.maximo</code> (20)</li>
+     *     <li><code>db.pool.timeoutEmprestimoMs</code> (5000): espera máxima por uma conexão</li>
+     *     <li><code>db.pool.validarAoEmprestar</code> (true)</li>
+     *     <li><code>db.pool.janelaSemValidacaoMs</code> (500): dispensa a validação de conexões recém-devolvidas</li>
+     *     <li><code>db.pool.ociosidadeMaximaMs</code> (600000): fecha conexões ociosas acima do mínimo</li>
+     *     <li><code>db.pool.intervaloManutencaoMs</code> (30000)</li>
+     *     <li><code>db.pool.cacheComandos</code> (64): comandos preparados mantidos por conexão (0 desativa)</li>
+     * </ul>
+     *
+     * <p>Propriedades da instrumentação:</p>
+     * <ul>
+     *     <li><code>db.instrumentacao.ativa</code> (true): mede os comandos SQL</li>
+     *     <li><code>db.consultasLentas.arquivo</code> (vazio = sem log): log de consultas lentas</li>
+     *     <li><code>db.consultasLentas.limiteMs</code> (200): duração a partir da qual o comando é gravado</li>
+     *     <li><code>db.consultasLentas.tamanhoMaximoBytes</code> (10485760) e
+     *         <code>db.consultasLentas.arquivosAntigos</code> (5): rotação do log</li>
+     * </ul>
+     *
+     * @param configuracao configurações da aplicação
+     * @param metricas     registro onde os comandos SQL são medidos
      */
-    private Properties getProperties() {
-        InputStream inputStream = null;
-        Properties props = new Properties();
-        try {
-            inputStream = getClass().getClassLoader().getResourceAsStream("application.properties");
-            if (inputStream == null) {
-                throw new RuntimeException("application.properties não encontrado no classpath!");
-            }
-            props.load(inputStream);
-            return props;
-        } catch (IOException e) {
-            throw new RuntimeException("Erro ao carregar arquivo: " + e.getMessage(), e);
-        } finally {
-            if (inputStream != null) {
-                try {
-                    inputStream.close();
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
-            }
+    public Database(Configuracao configuracao, RegistroMetricas metricas) {
+        this.pool = new PoolConexoes(
+                configuracao.getTexto("db.datasource.url", null),
+                configuracao.getTexto("db.username", null),
+                configuracao.getTexto("db.password", null),
+                configuracao.getInteiro("db.pool.minimo", 2),
+                configuracao.getInteiro("db.pool.maximo", 20),
+                configuracao.getLongo("db.pool.timeoutEmprestimoMs", 5_000),
+                configuracao.getBooleano("db.pool.validarAoEmprestar", true),
+                configuracao.getLongo("db.pool.janelaSemValidacaoMs", 500),
+                configuracao.getLongo("db.pool.ociosidadeMaximaMs", 600_000),
+                configuracao.getLongo("db.pool.intervaloManutencaoMs", 30_000),
+                configuracao.getInteiro("db.pool.cacheComandos", 64));
+
+        if (configuracao.getBooleano("db.instrumentacao.ativa", true)) {
+            String arquivoLentas = configuracao.getTexto("db.consultasLentas.arquivo", null);
+            LogConsultasLentas log = arquivoLentas == null ? null : new LogConsultasLentas(Path.of(arquivoLentas),
+                    configuracao.getLongo("db.consultasLentas.tamanhoMaximoBytes", 10 * 1024 * 1024),
+                    configuracao.getInteiro("db.consultasLentas.arquivosAntigos", 5));
+            this.instrumentacao = new InstrumentacaoJdbc(metricas,
+                    configuracao.getLongo("db.consultasLentas.limiteMs", 200) * 1_000_000, log);
+        } else {
+            this.instrumentacao = null;
         }
     }
 
     /**
-     * Retorna a conexão com o banco de dados, criando-a caso ainda não exista.
+     * Empresta uma conexão do pool.
+     *
+     * <p>A conexão retornada é de uso exclusivo de quem a obteve e deve ser
+     * fechada (preferencialmente com try-with-resources) assim que a operação
+     * terminar; o fechamento a devolve ao pool sem encerrar a conexão física.</p>
      *
-     * <p>A conexão é única por instância da classe e permanece aberta até que
-     * a aplicação seja finalizada (não há método de fechamento nesta implementação).</p>
+     * <p>Dentro de {@link #emTransacao(Supplier)}, retorna a conexão da
+     * transação; nesse caso o fechamento não tem efeito.</p>
      *
      * @return conexão ativa com o banco de dados
-     * @throws RuntimeException caso ocorra algum erro ao estabelecer a conexão
+     * @throws RuntimeException caso não haja conexão disponível no tempo
+     *                          configurado ou ocorra erro ao conectar
      */
     public Connection getConnection() {
-        if(conn == null){
-            try{
-                Properties props = getProperties();
-                String url = props.getProperty("db.datasource.url");
-                String user = props.getProperty("db.username");
-                String password = props.getProperty("db.password");
-
-                conn = DriverManager.getConnection(url, user, password);
-            } catch (SQLException e) {
-                throw new RuntimeException(e);
+        Transacao transacao = transacaoAtual.get();
+        if (transacao != null) {
+            return semFechamento(transacao.conexao);
+        }
+        try {
+            return emprestar();
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Empresta uma conexão do pool, instrumentada se a instrumentação estiver ativa.
+     */
+    private Connection emprestar() throws SQLException {
+        Connection conexao = pool.emprestar();
+        return instrumentacao == null ? conexao : instrumentacao.envolver(conexao);
+    }
+
+    /**
+     * Prepara uma consulta somente leitura cujo resultado é transmitido pelo
+     * servidor linha a linha, em vez de ser carregado inteiro na memória.
+     *
+     * <p>O driver MySQL só faz a leitura em fluxo para consultas
+     * <code>TYPE_FORWARD_ONLY</code> e <code>CONCUR_READ_ONLY</code> com
+     * <code>fetchSize</code> igual a {@link Integer#MIN_VALUE}. Enquanto o
+     * resultado não for totalmente lido ou fechado, a conexão não pode ser
+     * usada para outras consultas.</p>
+     *
+     * @param conn conexão utilizada
+     * @param sql  consulta a ser preparada
+     * @return comando preparado para leitura em fluxo
+     * @throws SQLException caso ocorra erro ao preparar a consulta
+     */
+    public static PreparedStatement prepararConsultaEmFluxo(Connection conn, String sql) throws SQLException {
+        PreparedStatement st = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        st.setFetchSize(Integer.MIN_VALUE);
+        return st;
+    }
+
+    /**
+     * Executa o trabalho informado em uma única transação.
+     *
+     * <p>Uma conexão é emprestada com <code>autoCommit</code> desligado e
+     * associada à thread atual. Se o trabalho terminar normalmente a transação
+     * é confirmada; se lançar exceção, é desfeita e a exceção propagada. Caso
+     * já exista uma transação ativa na thread, o trabalho participa dela.</p>
+     *
+     * @param trabalho operações a serem executadas atomicamente
+     * @param <T>      tipo do resultado
+     * @return resultado produzido pelo trabalho
+     * @throws RuntimeException caso o trabalho falhe ou ocorra erro SQL
+     */
+    public <T> T emTransacao(Supplier<T> trabalho) {
+        if (transacaoAtual.get() != null) {
+            return trabalho.get();
+        }
+
+        T resultado;
+        Transacao transacao;
+        // O fechamento devolve a conexão ao pool, que restaura o autoCommit
+        try (Connection conn = emprestar()) {
+            conn.setAutoCommit(false);
+            transacao = new Transacao(conn);
+            transacaoAtual.set(transacao);
+            try {
+                resultado = trabalho.get();
+                conn.commit();
+            } catch (RuntimeException | Error e) {
+                desfazer(conn, null, e);
+                throw e;
+            } finally {
+                transacaoAtual.remove();
+                transacao.finalizar();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao executar transação: " + e.getMessage(), e);
+        }
+
+        // Já com a conexão devolvida, para que as ações possam usar o banco
+        transacao.confirmada();
+        return resultado;
+    }
+
+    /**
+     * Equivale a {@link #emTransacao(Supplier)}.
+     */
+    @Override
+    public <T> T executar(Supplier<T> trabalho) {
+        return emTransacao(trabalho);
+    }
+
+    @Override
+    public void aposConfirmar(Runnable acao) {
+        Transacao transacao = transacaoAtual.get();
+        if (transacao == null) {
+            acao.run();
+        } else {
+            transacao.aposConfirmar.add(acao);
+        }
+    }
+
+    @Override
+    public boolean ativa() {
+        return emTransacaoAtiva();
+    }
+
+    /**
+     * Agenda uma ação para quando a transação ativa na thread terminar, seja
+     * confirmada ou desfeita. Sem transação ativa, a ação é executada de imediato.
+     *
+     * <p>Útil para invalidar caches somente depois que as alterações se
+     * tornam visíveis às demais conexões.</p>
+     *
+     * @param acao ação a ser executada
+     */
+    public void aoFinalizarTransacao(Runnable acao) {
+        Transacao transacao = transacaoAtual.get();
+        if (transacao == null) {
+            acao.run();
+        } else {
+            transacao.aoFinalizar.add(acao);
+        }
+    }
+
+    /**
+     * @return {@code true} se a thread atual está executando uma transação
+     */
+    public boolean emTransacaoAtiva() {
+        return transacaoAtual.get() != null;
+    }
+
+    /**
+     * Executa o trabalho dentro de um savepoint da transação ativa.
+     *
+     * <p>Se o trabalho lançar exceção, apenas as alterações feitas por ele são
+     * desfeitas e a exceção é propagada; a transação continua válida.</p>
+     *
+     * @param trabalho operações a serem isoladas
+     * @param <T>      tipo do resultado
+     * @return resultado produzido pelo trabalho
+     * @throws IllegalStateException caso não haja transação ativa na thread
+     * @throws RuntimeException      caso o trabalho falhe ou ocorra erro SQL
+     */
+    public <T> T emSavepoint(Supplier<T> trabalho) {
+        Transacao transacao = transacaoAtual.get();
+        if (transacao == null) {
+            throw new IllegalStateException("Nenhuma transação ativa");
+        }
+        Connection conn = transacao.conexao;
+
+        Savepoint savepoint;
+        try {
+            savepoint = conn.setSavepoint();
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao criar savepoint: " + e.getMessage(), e);
+        }
+
+        T resultado;
+        try {
+            resultado = trabalho.get();
+        } catch (RuntimeException | Error e) {
+            desfazer(conn, savepoint, e);
+            throw e;
+        }
+
+        try {
+            conn.releaseSavepoint(savepoint);
+        } catch (SQLException e) {
+            throw new RuntimeException("Erro ao liberar savepoint: " + e.getMessage(), e);
+        }
+        return resultado;
+    }
+
+    /**
+     * Desfaz a transação (ou apenas até o savepoint), anexando eventuais falhas
+     * do rollback à exceção original para não ocultá-la.
+     */
+    private static void desfazer(Connection conn, Savepoint savepoint, Throwable causa) {
+        try {
+            if (savepoint == null) {
+                conn.rollback();
+            } else {
+                conn.rollback(savepoint);
+            }
+        } catch (SQLException e) {
+            causa.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Envolve a conexão da transação para que o fechamento feito pelos DAOs
+     * não a devolva ao pool antes do fim da transação.
+     */
+    private static Connection semFechamento(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    if (metodo.getName().equals("close") && metodo.getParameterCount() == 0) {
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexao, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    /**
+     * @return retrato atual da utilização do pool de conexões
+     */
+    public EstatisticasPool getEstatisticas() {
+        return pool.getEstatisticas();
+    }
+
+    /**
+     * Fecha as conexões do pool. Deve ser chamado ao encerrar a aplicação.
+     */
+    public void fechar() {
+        pool.encerrar();
+    }
+
+    /**
+     * Conexão e ações pendentes de uma transação em andamento.
+     */
+    private static final class Transacao {
+
+        final Connection conexao;
+        final List<Runnable> aoFinalizar = new ArrayList<>();
+        final List<Runnable> aposConfirmar = new ArrayList<>();
+
+        Transacao(Connection conexao) {
+            this.conexao = conexao;
+        }
+
+        /**
+         * Executa as ações agendadas; a falha de uma não impede as demais.
+         */
+        void finalizar() {
+            executar(aoFinalizar);
+        }
+
+        /**
+         * Executa as ações agendadas para depois da confirmação.
+         */
+        void confirmada() {
+            executar(aposConfirmar);
+        }
+
+        private static void executar(List<Runnable> acoes) {
+            for (Runnable acao : acoes) {
+                try {
+                    acao.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao finalizar transação: " + e.getMessage());
+                }
             }
         }
-        return conn;
     }
 }
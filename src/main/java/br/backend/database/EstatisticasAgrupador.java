@@ -0,0 +1,84 @@
+package br.backend.database;
+
+import br.backend.metricas.RetratoHistograma;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Retrato instantâneo dos grupos executados pelo {@link AgrupadorTransacoes},
+ * exposto pela entidade <code>estado</code>.
+ */
+public class EstatisticasAgrupador {
+
+    private final long janelaMs;
+    private final int tamanhoMaximo;
+    private final int paralelos;
+    private final long grupos;
+    private final long trabalhos;
+    private final long maiorGrupo;
+    private final long gruposRefeitos;
+    private final Map<Integer, Long> distribuicao;
+    private final RetratoHistograma espera;
+
+    /**
+     * Construtor completo.
+     *
+     * @param janelaMs       espera máxima por novos trabalhos em cada grupo
+     * @param tamanhoMaximo  quantidade máxima de trabalhos por grupo
+     * @param paralelos      quantidade de grupos executados ao mesmo tempo
+     * @param grupos         grupos executados, cada um com um <code>commit</code>
+     * @param trabalhos      trabalhos executados nos grupos
+     * @param maiorGrupo     maior quantidade de trabalhos em um grupo
+     * @param gruposRefeitos grupos cuja transação falhou e foram refeitos um a um
+     * @param contagens      quantidade de grupos por tamanho, indexada pelo tamanho
+     * @param espera         tempo entre a chegada de cada trabalho e o início do seu grupo
+     */
+    public EstatisticasAgrupador(long janelaMs, int tamanhoMaximo, int paralelos, long grupos, long trabalhos,
+                                 long maiorGrupo, long gruposRefeitos, long[] contagens, RetratoHistograma espera) {
+        this.janelaMs = janelaMs;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.paralelos = paralelos;
+        this.grupos = grupos;
+        this.trabalhos = trabalhos;
+        this.maiorGrupo = maiorGrupo;
+        this.gruposRefeitos = gruposRefeitos;
+        this.espera = espera;
+        this.distribuicao = new LinkedHashMap<>();
+        for (int tamanho = 1; tamanho < contagens.length; tamanho++) {
+            if (contagens[tamanho] > 0) {
+                distribuicao.put(tamanho, contagens[tamanho]);
+            }
+        }
+    }
+
+    /** @return espera máxima por novos trabalhos em cada grupo, em milissegundos */
+    public long getJanelaMs() { return janelaMs; }
+
+    /** @return quantidade máxima de trabalhos por grupo */
+    public int getTamanhoMaximo() { return tamanhoMaximo; }
+
+    /** @return quantidade de grupos executados ao mesmo tempo */
+    public int getParalelos() { return paralelos; }
+
+    /** @return grupos executados, cada um com um <code>commit</code> */
+    public long getGrupos() { return grupos; }
+
+    /** @return trabalhos executados nos grupos */
+    public long getTrabalhos() { return trabalhos; }
+
+    /** @return média de trabalhos por grupo */
+    public double getTamanhoMedio() { return grupos == 0 ? 0 : (double) trabalhos / grupos; }
+
+    /** @return maior quantidade de trabalhos em um grupo */
+    public long getMaiorGrupo() { return maiorGrupo; }
+
+    /** @return grupos cuja transação falhou e foram refeitos um a um */
+    public long getGruposRefeitos() { return gruposRefeitos; }
+
+    /** @return quantidade de grupos por tamanho, apenas dos tamanhos ocorridos */
+    public Map<Integer, Long> getDistribuicao() { return distribuicao; }
+
+    /** @return tempo entre a chegada de cada trabalho e o início do seu grupo */
+    public RetratoHistograma getEspera() { return espera; }
+}
@@ -0,0 +1,125 @@
+package br.backend.database;
+
+/**
+ * Retrato instantâneo da utilização do pool de conexões de {@link Database},
+ * exposto pela entidade <code>estado</code> para ajuste do dimensionamento
+ * em horários de pico.
+ */
+public class EstatisticasPool {
+
+    private final int minimo;
+    private final int maximo;
+    private final int total;
+    private final int emUso;
+    private final int ociosas;
+    private final int aguardando;
+    private final long emprestimos;
+    private final long timeouts;
+    private final long criadas;
+    private final long descartadas;
+    private final long falhasValidacao;
+    private final double esperaMediaMs;
+    private final double esperaMaximaMs;
+    private final long comandosPreparados;
+    private final long comandosReutilizados;
+    private final long comandosDescartados;
+
+    /**
+     * Construtor completo.
+     *
+     * @param minimo          quantidade mínima de conexões configurada
+     * @param maximo          quantidade máxima de conexões configurada
+     * @param total           conexões físicas abertas
+     * @param emUso           conexões emprestadas no momento
+     * @param ociosas         conexões livres no pool
+     * @param aguardando      threads aguardando uma conexão
+     * @param emprestimos     total de empréstimos realizados
+     * @param timeouts        empréstimos que falharam por tempo esgotado
+     * @param criadas         conexões físicas abertas desde a inicialização
+     * @param descartadas     conexões físicas fechadas desde a inicialização
+     * @param falhasValidacao conexões descartadas por falha na validação
+     * @param esperaMediaMs   tempo médio de espera por uma conexão
+     * @param esperaMaximaMs  maior tempo de espera registrado
+     * @param comandosPreparados   comandos preparados no banco por não estarem no cache
+     * @param comandosReutilizados comandos obtidos do cache de comandos preparados
+     * @param comandosDescartados  comandos fechados pelo cache por falta de espaço ou duplicidade
+     */
+    public EstatisticasPool(int minimo, int maximo, int total, int emUso, int ociosas, int aguardando,
+                            long emprestimos, long timeouts, long criadas, long descartadas, long falhasValidacao,
+                            double esperaMediaMs, double esperaMaximaMs,
+                            long comandosPreparados, long comandosReutilizados, long comandosDescartados) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.total = total;
+        this.emUso = emUso;
+        this.ociosas = ociosas;
+        this.aguardando = aguardando;
+        this.emprestimos = emprestimos;
+        this.timeouts = timeouts;
+        this.criadas = criadas;
+        this.descartadas = descartadas;
+        this.falhasValidacao = falhasValidacao;
+        this.esperaMediaMs = esperaMediaMs;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.comandosPreparados = comandosPreparados;
+        this.comandosReutilizados = comandosReutilizados;
+        this.comandosDescartados = comandosDescartados;
+    }
+
+    /** @return quantidade mínima de conexões configurada */
+    public int getMinimo() { return minimo; }
+
+    /** @return quantidade máxima de conexões configurada */
+    public int getMaximo() { return maximo; }
+
+    /** @return conexões físicas abertas */
+    public int getTotal() { return total; }
+
+    /** @return conexões emprestadas no momento */
+    public int getEmUso() { return emUso; }
+
+    /** @return conexões livres no pool */
+    public int getOciosas() { return ociosas; }
+
+    /** @return threads aguardando uma conexão */
+    public int getAguardando() { return aguardando; }
+
+    /** @return fração do máximo atualmente emprestada (0 a 1) */
+    public double getUtilizacao() { return maximo == 0 ? 0 : (double) emUso / maximo; }
+
+    /** @return total de empréstimos realizados */
+    public long getEmprestimos() { return emprestimos; }
+
+    /** @return empréstimos que falharam por tempo esgotado */
+    public long getTimeouts() { return timeouts; }
+
+    /** @return conexões físicas abertas desde a inicialização */
+    public long getCriadas() { return criadas; }
+
+    /** @return conexões físicas fechadas desde a inicialização */
+    public long getDescartadas() { return descartadas; }
+
+    /** @return conexões descartadas por falha na validação */
+    public long getFalhasValidacao() { return falhasValidacao; }
+
+    /** @return tempo médio de espera por uma conexão, em milissegundos */
+    public double getEsperaMediaMs() { return esperaMediaMs; }
+
+    /** @return maior tempo de espera registrado, em milissegundos */
+    public double getEsperaMaximaMs() { return esperaMaximaMs; }
+
+    /** @return comandos preparados no banco por não estarem no cache */
+    public long getComandosPreparados() { return comandosPreparados; }
+
+    /** @return comandos obtidos do cache de comandos preparados */
+    public long getComandosReutilizados() { return comandosReutilizados; }
+
+    /** @return comandos fechados pelo cache por falta de espaço ou duplicidade */
+    public long getComandosDescartados() { return comandosDescartados; }
+
+    /** @return fração das preparações atendidas pelo cache de comandos (0 a 1) */
+    public double getTaxaAcertoComandos() {
+        long total = comandosPreparados + comandosReutilizados;
+        return total == 0 ? 0 : (double) comandosReutilizados / total;
+    }
+}
@@ -0,0 +1,66 @@
+package br.backend.database;
+
+import java.util.function.Supplier;
+
+/**
+ * Controle de transações oferecido aos serviços e estratégias.
+ *
+ * <p>Uma chamada a {@link #executar(Supplier)} associa uma conexão à thread
+ * atual: todas as operações dos DAOs feitas durante o trabalho usam essa
+ * conexão e são confirmadas juntas, com um único <code>commit</code>, ou
+ * desfeitas juntas se o trabalho lançar exceção. Chamadas aninhadas
+ * participam da transação já existente.</p>
+ *
+ * <p>Implementado por {@link Database}. Para DAOs que não usam banco, como
+ * os de teste em memória, há {@link #SEM_TRANSACAO}.</p>
+ */
+public interface GerenciadorTransacao {
+
+    /**
+     * Gerenciador que apenas executa o trabalho, sem transação; as ações
+     * agendadas em {@link #aposConfirmar(Runnable)} rodam de imediato.
+     */
+    GerenciadorTransacao SEM_TRANSACAO = new GerenciadorTransacao() {
+        @Override
+        public <T> T executar(Supplier<T> trabalho) {
+            return trabalho.get();
+        }
+
+        @Override
+        public void aposConfirmar(Runnable acao) {
+            acao.run();
+        }
+
+        @Override
+        public boolean ativa() {
+            return false;
+        }
+    };
+
+    /**
+     * Executa o trabalho em uma única transação, confirmada ao final.
+     *
+     * @param trabalho operações a serem executadas atomicamente
+     * @param <T>      tipo do resultado
+     * @return resultado produzido pelo trabalho
+     * @throws RuntimeException caso o trabalho falhe ou ocorra erro SQL
+     */
+    <T> T executar(Supplier<T> trabalho);
+
+    /**
+     * Agenda uma ação para depois que a transação ativa for confirmada. Se
+     * ela for desfeita, a ação é descartada; sem transação ativa, a ação é
+     * executada de imediato.
+     *
+     * <p>Indicado para efeitos que não podem ser desfeitos, como avisar
+     * outros componentes de uma alteração.</p>
+     *
+     * @param acao ação a ser executada
+     */
+    void aposConfirmar(Runnable acao);
+
+    /**
+     * @return {@code true} se a thread atual está executando uma transação
+     */
+    boolean ativa();
+}
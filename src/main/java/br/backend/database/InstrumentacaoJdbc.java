@@ -0,0 +1,372 @@
+package br.backend.database;
+
+import br.backend.metricas.MetricaComando;
+import br.backend.metricas.RegistroMetricas;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Instrumentação das conexões entregues pelo {@link Database}.
+ *
+ * <p>Envolve cada conexão em um <i>proxy</i> cujos comandos
+ * ({@link Statement}, {@link PreparedStatement}) medem todas as execuções na
+ * {@link MetricaComando} do texto SQL, registrada no {@link RegistroMetricas}
+ * com os espaços normalizados. Cada execução conta:</p>
+ * <ul>
+ *     <li>em consultas, as linhas lidas do {@link ResultSet}, e o tempo vai da
+ *         execução até o fechamento do resultado (ou do comando), incluindo a
+ *         leitura em fluxo;</li>
+ *     <li>em atualizações e lotes, as linhas alteradas informadas pelo driver.</li>
+ * </ul>
+ *
+ * <p>Cada execução é contada também no {@link OrcamentoComandos} da
+ * requisição em andamento na thread, se houver.</p>
+ *
+ * <p>Execuções acima de <code>limiteLentaNanos</code> são gravadas no
+ * {@link LogConsultasLentas}, com os parâmetros redigidos: números, datas e
+ * booleanos aparecem como informados, textos apenas com o tamanho
+ * (<code>&lt;texto:12&gt;</code>). Os parâmetros só são guardados quando há
+ * log de consultas lentas.</p>
+ */
+class InstrumentacaoJdbc {
+
+    /** Acima desta quantidade de textos SQL distintos, os novos são medidos juntos. */
+    private static final int MAXIMO_COMANDOS = 1_000;
+
+    private final RegistroMetricas metricas;
+    private final long limiteLentaNanos;
+    private final LogConsultasLentas log;
+
+    /** Métrica de cada texto SQL, como escrito nos DAOs, para não normalizá-lo a cada execução. */
+    private final Map<String, MetricaComando> porSql = new ConcurrentHashMap<>();
+
+    /**
+     * @param metricas         registro onde as métricas dos comandos são criadas
+     * @param limiteLentaNanos duração a partir da qual a execução é registrada no log
+     * @param log              log de consultas lentas, ou {@code null} para não registrar
+     */
+    InstrumentacaoJdbc(RegistroMetricas metricas, long limiteLentaNanos, LogConsultasLentas log) {
+        this.metricas = metricas;
+        this.limiteLentaNanos = limiteLentaNanos;
+        this.log = log;
+    }
+
+    /**
+     * Envolve uma conexão para que seus comandos sejam medidos.
+     *
+     * @param conexao conexão emprestada do pool
+     * @return proxy da conexão
+     */
+    Connection envolver(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> {
+                    Object resultado = invocar(conexao, metodo, args);
+                    if (resultado instanceof Statement comando) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                        return envolver(comando, metodo.getReturnType(), sql);
+                    }
+                    return resultado;
+                });
+    }
+
+    private Object envolver(Statement comando, Class<?> tipo, String sql) {
+        return Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{tipo},
+                new ManipuladorComando(comando, sql));
+    }
+
+    /**
+     * @param sql texto SQL como escrito no DAO
+     * @return métrica do comando
+     */
+    private MetricaComando metrica(String sql) {
+        MetricaComando metrica = porSql.get(sql);
+        if (metrica == null) {
+            String nome = porSql.size() < MAXIMO_COMANDOS ? sql.strip().replaceAll("\\s+", " ") : "(outros)";
+            metrica = porSql.computeIfAbsent(sql, chave -> metricas.comando(nome));
+        }
+        return metrica;
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Versão do parâmetro que pode ser gravada no log.
+     */
+    private static Object redigir(Object valor) {
+        if (valor == null || valor instanceof Number || valor instanceof Boolean) {
+            return valor;
+        }
+        if (valor instanceof Temporal || valor instanceof java.util.Date) {
+            return valor.toString();
+        }
+        if (valor instanceof CharSequence texto) {
+            return "<texto:" + texto.length() + ">";
+        }
+        if (valor instanceof byte[] bytes) {
+            return "<bytes:" + bytes.length + ">";
+        }
+        return "<" + valor.getClass().getSimpleName() + ">";
+    }
+
+    /**
+     * @return soma das linhas alteradas pelos itens de um lote, ignorando os sem contagem
+     */
+    private static long somarLote(Object resultado) {
+        long soma = 0;
+        if (resultado instanceof int[] contagens) {
+            for (int contagem : contagens) {
+                soma += Math.max(contagem, 0);
+            }
+        } else if (resultado instanceof long[] contagens) {
+            for (long contagem : contagens) {
+                soma += Math.max(contagem, 0);
+            }
+        }
+        return soma;
+    }
+
+    /**
+     * Intercepta as chamadas a um comando, medindo suas execuções.
+     *
+     * <p>Um comando é usado por uma única thread por vez, como a conexão da
+     * qual veio; por isso o estado da execução em andamento não é sincronizado.</p>
+     */
+    private final class ManipuladorComando implements InvocationHandler {
+
+        private final Statement comando;
+        private final String sqlPreparado;
+
+        /** Parâmetros informados, por posição; {@code null} se não há log. */
+        private Object[] parametros;
+        private int itensLote;
+
+        /** Consulta cujo resultado ainda está sendo lido. */
+        private MetricaComando metricaPendente;
+        private String sqlPendente;
+        private long inicioPendente;
+        private long linhasPendentes;
+        private boolean falhaPendente;
+
+        ManipuladorComando(Statement comando, String sqlPreparado) {
+            this.comando = comando;
+            this.sqlPreparado = sqlPreparado;
+            if (log != null && sqlPreparado != null) {
+                this.parametros = new Object[8];
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nome = metodo.getName();
+            switch (nome) {
+                case "executeQuery" -> {
+                    return executarConsulta(metodo, args);
+                }
+                case "executeUpdate", "executeLargeUpdate" -> {
+                    String sql = sql(args);
+                    concluirPendente();
+                    MetricaComando metrica = metrica(sql);
+                    long inicio = metrica.iniciar();
+                    boolean sucesso = false;
+                    long linhas = -1;
+                    try {
+                        Object resultado = invocar(comando, metodo, args);
+                        linhas = ((Number) resultado).longValue();
+                        sucesso = true;
+                        return resultado;
+                    } finally {
+                        concluir(metrica, sql, inicio, sucesso, linhas);
+                    }
+                }
+                case "executeBatch", "executeLargeBatch" -> {
+                    String sql = sqlPreparado != null ? sqlPreparado : "(lote)";
+                    concluirPendente();
+                    MetricaComando metrica = metrica(sql);
+                    long inicio = metrica.iniciar();
+                    boolean sucesso = false;
+                    long linhas = -1;
+                    try {
+                        Object resultado = invocar(comando, metodo, args);
+                        linhas = somarLote(resultado);
+                        sucesso = true;
+                        return resultado;
+                    } finally {
+                        concluir(metrica, sql, inicio, sucesso, linhas);
+                        itensLote = 0;
+                    }
+                }
+                case "execute" -> {
+                    String sql = sql(args);
+                    concluirPendente();
+                    MetricaComando metrica = metrica(sql);
+                    long inicio = metrica.iniciar();
+                    boolean temResultado;
+                    try {
+                        temResultado = (Boolean) invocar(comando, metodo, args);
+                    } catch (Throwable e) {
+                        concluir(metrica, sql, inicio, false, -1);
+                        throw e;
+                    }
+                    if (temResultado) {
+                        pendente(metrica, sql, inicio);
+                    } else {
+                        concluir(metrica, sql, inicio, true, comando.getUpdateCount());
+                    }
+                    return temResultado;
+                }
+                case "getResultSet" -> {
+                    ResultSet resultado = (ResultSet) invocar(comando, metodo, args);
+                    return resultado == null || metricaPendente == null ? resultado : envolver(resultado);
+                }
+                case "addBatch" -> itensLote++;
+                case "clearParameters" -> {
+                    if (parametros != null) {
+                        Arrays.fill(parametros, null);
+                    }
+                }
+                case "close" -> concluirPendente();
+                default -> {
+                    if (parametros != null && nome.startsWith("set") && args != null && args.length >= 2
+                            && args[0] instanceof Integer indice && metodo.getDeclaringClass() != Statement.class) {
+                        guardarParametro(indice, nome.equals("setNull") ? null : args[1]);
+                    }
+                }
+            }
+            return invocar(comando, metodo, args);
+        }
+
+        private Object executarConsulta(Method metodo, Object[] args) throws Throwable {
+            String sql = sql(args);
+            concluirPendente();
+            MetricaComando metrica = metrica(sql);
+            long inicio = metrica.iniciar();
+            ResultSet resultado;
+            try {
+                resultado = (ResultSet) invocar(comando, metodo, args);
+            } catch (Throwable e) {
+                concluir(metrica, sql, inicio, false, -1);
+                throw e;
+            }
+            pendente(metrica, sql, inicio);
+            return envolver(resultado);
+        }
+
+        private ResultSet envolver(ResultSet resultado) {
+            return (ResultSet) Proxy.newProxyInstance(
+                    ResultSet.class.getClassLoader(),
+                    new Class<?>[]{ResultSet.class},
+                    (proxy, metodo, args) -> {
+                        switch (metodo.getName()) {
+                            case "next" -> {
+                                try {
+                                    boolean haLinha = (Boolean) invocar(resultado, metodo, args);
+                                    if (haLinha) {
+                                        linhasPendentes++;
+                                    }
+                                    return haLinha;
+                                } catch (Throwable e) {
+                                    falhaPendente = true;
+                                    throw e;
+                                }
+                            }
+                            case "close" -> {
+                                try {
+                                    return invocar(resultado, metodo, args);
+                                } finally {
+                                    concluirPendente();
+                                }
+                            }
+                            default -> {
+                                return invocar(resultado, metodo, args);
+                            }
+                        }
+                    });
+        }
+
+        private void pendente(MetricaComando metrica, String sql, long inicio) {
+            metricaPendente = metrica;
+            sqlPendente = sql;
+            inicioPendente = inicio;
+            linhasPendentes = 0;
+            falhaPendente = false;
+        }
+
+        /**
+         * Finaliza a consulta em andamento, se houver, quando seu resultado
+         * ou o comando são fechados, ou antes de uma nova execução.
+         */
+        private void concluirPendente() {
+            MetricaComando metrica = metricaPendente;
+            if (metrica != null) {
+                metricaPendente = null;
+                concluir(metrica, sqlPendente, inicioPendente, !falhaPendente, linhasPendentes);
+            }
+        }
+
+        private void concluir(MetricaComando metrica, String sql, long inicio, boolean sucesso, long linhas) {
+            OrcamentoComandos.contar();
+            long duracao = metrica.finalizar(inicio, sucesso, linhas);
+            if (log != null && duracao >= limiteLentaNanos) {
+                log.registrar(sql, duracao, linhas, sucesso, parametrosRedigidos());
+            }
+        }
+
+        private Object parametrosRedigidos() {
+            if (itensLote > 0) {
+                return "<lote:" + itensLote + ">";
+            }
+            if (parametros == null) {
+                return null;
+            }
+            int quantidade = parametros.length;
+            while (quantidade > 0 && parametros[quantidade - 1] == null) {
+                quantidade--;
+            }
+            List<Object> redigidos = new ArrayList<>(quantidade);
+            for (int i = 0; i < quantidade; i++) {
+                redigidos.add(redigir(parametros[i]));
+            }
+            return redigidos;
+        }
+
+        private void guardarParametro(int indice, Object valor) {
+            if (indice < 1) {
+                return;
+            }
+            if (indice > parametros.length) {
+                parametros = Arrays.copyOf(parametros, Math.max(indice, parametros.length * 2));
+            }
+            parametros[indice - 1] = valor;
+        }
+
+        private String sql(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof String texto) {
+                return texto;
+            }
+            return sqlPreparado != null ? sqlPreparado : "(desconhecido)";
+        }
+    }
+}
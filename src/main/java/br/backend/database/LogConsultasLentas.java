@@ -0,0 +1,117 @@
+package br.backend.database;
+
+import br.backend.util.JsonUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Arquivo onde são registrados os comandos SQL que passaram do tempo limite.
+ *
+ * <p>Cada comando lento é acrescentado como uma linha JSON:</p>
+ * <pre>
+ * {"instante":"...","duracaoMs":812.4,"linhas":2517,"sucesso":true,"sql":"SELECT ...","parametros":[1,"&lt;texto:12&gt;"]}
+ * </pre>
+ *
+ * <p>Quando o arquivo passa de <code>tamanhoMaximo</code> bytes, ele é
+ * renomeado para <code>arquivo.1</code> (e os anteriores para
+ * <code>arquivo.2</code>, <code>arquivo.3</code>...), mantendo no máximo
+ * <code>arquivosAntigos</code> arquivos além do atual. Falhas de gravação são
+ * apenas relatadas, sem afetar o comando executado.</p>
+ */
+class LogConsultasLentas {
+
+    private final Path arquivo;
+    private final long tamanhoMaximo;
+    private final int arquivosAntigos;
+
+    /** Serializa as gravações sem fixar threads virtuais, como faria um {@code synchronized}. */
+    private final ReentrantLock trava = new ReentrantLock();
+    private long tamanhoAtual;
+
+    /**
+     * @param arquivo         arquivo ao qual os comandos são acrescentados
+     * @param tamanhoMaximo   tamanho, em bytes, a partir do qual o arquivo é rotacionado
+     * @param arquivosAntigos quantidade de arquivos rotacionados mantidos
+     */
+    LogConsultasLentas(Path arquivo, long tamanhoMaximo, int arquivosAntigos) {
+        this.arquivo = arquivo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.arquivosAntigos = arquivosAntigos;
+        try {
+            Path diretorio = arquivo.toAbsolutePath().getParent();
+            if (diretorio != null) {
+                Files.createDirectories(diretorio);
+            }
+            this.tamanhoAtual = Files.exists(arquivo) ? Files.size(arquivo) : 0;
+        } catch (IOException e) {
+            throw new RuntimeException("Erro ao abrir log de consultas lentas: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Acrescenta um comando lento ao arquivo.
+     *
+     * @param sql          texto do comando
+     * @param duracaoNanos duração da execução
+     * @param linhas       linhas lidas ou alteradas, ou -1 se desconhecido
+     * @param sucesso      {@code false} se o comando falhou
+     * @param parametros   parâmetros já redigidos, ou {@code null}
+     */
+    void registrar(String sql, long duracaoNanos, long linhas, boolean sucesso, Object parametros) {
+        Map<String, Object> linha = new LinkedHashMap<>();
+        linha.put("instante", Instant.now().toString());
+        linha.put("duracaoMs", duracaoNanos / 1e6);
+        linha.put("linhas", linhas);
+        linha.put("sucesso", sucesso);
+        linha.put("sql", sql);
+        if (parametros != null) {
+            linha.put("parametros", parametros);
+        }
+        byte[] bytes = (JsonUtil.toJson(linha) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        trava.lock();
+        try {
+            if (tamanhoAtual > 0 && tamanhoAtual + bytes.length > tamanhoMaximo) {
+                rotacionar();
+            }
+            Files.write(arquivo, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            tamanhoAtual += bytes.length;
+        } catch (IOException e) {
+            System.err.println("Erro ao gravar consulta lenta em " + arquivo + ": " + e.getMessage());
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Desloca os arquivos antigos uma posição, descartando o mais antigo, e
+     * move o atual para <code>arquivo.1</code>.
+     */
+    private void rotacionar() throws IOException {
+        if (arquivosAntigos <= 0) {
+            Files.deleteIfExists(arquivo);
+        } else {
+            Files.deleteIfExists(antigo(arquivosAntigos));
+            for (int i = arquivosAntigos - 1; i >= 1; i--) {
+                if (Files.exists(antigo(i))) {
+                    Files.move(antigo(i), antigo(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(arquivo, antigo(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        tamanhoAtual = 0;
+    }
+
+    private Path antigo(int indice) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + indice);
+    }
+}
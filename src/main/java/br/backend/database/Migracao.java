@@ -0,0 +1,58 @@
+package br.backend.database;
+
+import java.util.List;
+
+/**
+ * Uma versão do esquema do banco de dados, aplicada pelo {@link MigradorEsquema}.
+ *
+ * <p>Os comandos são executados na ordem informada, fora de transação (DDL no
+ * MySQL confirma a transação implicitamente). Por isso devem poder ser
+ * repetidos caso a migração seja interrompida no meio: a criação de um índice
+ * que já existe, por exemplo, é ignorada pelo migrador.</p>
+ *
+ * <p>Uma migração pode ter também uma carga de dados, executada depois dos
+ * comandos e antes de a versão ser registrada. A carga usa suas próprias
+ * conexões e transações curtas, não a do migrador, e também deve poder ser
+ * repetida.</p>
+ */
+public class Migracao {
+
+    private final int versao;
+    private final String descricao;
+    private final List<String> comandos;
+    private final Runnable carga;
+
+    /**
+     * @param versao    número da versão, crescente e único
+     * @param descricao descrição gravada na tabela de versões
+     * @param comandos  comandos SQL da migração
+     */
+    public Migracao(int versao, String descricao, String... comandos) {
+        this(versao, descricao, null, comandos);
+    }
+
+    /**
+     * @param versao    número da versão, crescente e único
+     * @param descricao descrição gravada na tabela de versões
+     * @param carga     carga de dados executada depois dos comandos, ou {@code null}
+     * @param comandos  comandos SQL da migração
+     */
+    public Migracao(int versao, String descricao, Runnable carga, String... comandos) {
+        this.versao = versao;
+        this.descricao = descricao;
+        this.comandos = List.of(comandos);
+        this.carga = carga;
+    }
+
+    /** @return número da versão */
+    public int getVersao() { return versao; }
+
+    /** @return descrição gravada na tabela de versões */
+    public String getDescricao() { return descricao; }
+
+    /** @return comandos SQL da migração, na ordem de execução */
+    public List<String> getComandos() { return comandos; }
+
+    /** @return carga de dados executada depois dos comandos, ou {@code null} */
+    public Runnable getCarga() { return carga; }
+}
@@ -0,0 +1,312 @@
+package br.backend.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Aplica ao banco as {@link Migracao migrações} ainda não aplicadas, em ordem
+ * de versão, registrando cada uma na tabela <code>schema_versao</code>.
+ *
+ * <p>O <code>banco.sql</code> cria o esquema inicial; as alterações
+ * posteriores são feitas aqui, na inicialização da aplicação, de modo que
+ * bancos já existentes também as recebam. Uma trava nomeada do banco
+ * (<code>GET_LOCK</code>) impede que duas instâncias migrem ao mesmo tempo.</p>
+ *
+ * <p>Os índices são criados com <code>ALGORITHM=INPLACE, LOCK=NONE</code>:
+ * leituras e gravações continuam durante a construção. Ainda assim, o
+ * <code>ALTER TABLE</code> precisa da trava de metadados da tabela no início
+ * e no fim, e enquanto espera por ela as novas consultas à tabela ficam
+ * enfileiradas atrás dele. Para não travar o servidor atrás de uma transação
+ * longa, a espera é limitada a <code>esperaTravaSegundos</code> e o comando é
+ * tentado de novo mais tarde.</p>
+ *
+ * <p>A carga de dados de uma migração, se houver, é executada depois dos
+ * comandos, fora da conexão do migrador, e a versão só é registrada quando ela
+ * termina: uma versão aplicada indica também que os dados foram carregados.</p>
+ */
+public class MigradorEsquema {
+
+    /** Erro do MySQL ao criar um índice com nome já existente. */
+    private static final int ERRO_INDICE_EXISTENTE = 1061;
+
+    /** Erro do MySQL quando a espera por uma trava passa de <code>lock_wait_timeout</code>. */
+    private static final int ERRO_ESPERA_TRAVA = 1205;
+
+    /** Erro do MySQL ao consultar uma tabela inexistente. */
+    private static final int ERRO_TABELA_INEXISTENTE = 1146;
+
+    /** Versão a partir da qual a tabela <code>relatorio</code> existe e está carregada. */
+    public static final int VERSAO_RELATORIO = 2;
+
+    private static final String CRIAR_TABELA_VERSOES = """
+            CREATE TABLE IF NOT EXISTS schema_versao (
+                versao INT PRIMARY KEY,
+                descricao VARCHAR(200) NOT NULL,
+                aplicada_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                duracao_ms BIGINT NOT NULL
+            )""";
+
+    /**
+     * Migrações do esquema, em ordem de versão.
+     *
+     * @param cargaRelatorio cópia dos registros existentes para a tabela
+     *                       <code>relatorio</code>, em faixas de IDs confirmadas
+     *                       uma a uma, depois de criados a tabela e os gatilhos
+     * @return migrações conhecidas
+     */
+    public static List<Migracao> migracoes(Runnable cargaRelatorio) {
+        return List.of(
+                new Migracao(1, "Índices das consultas por data, produto, categoria e ativo",
+                        // Listagens de registros e do relatório, em ordem de data (já presente no banco.sql atual)
+                        "ALTER TABLE registro ADD INDEX idx_registro_data_id (data, id), ALGORITHM=INPLACE, LOCK=NONE",
+                        // Movimentações de um produto por período
+                        "ALTER TABLE registro ADD INDEX idx_registro_produto_data (produto_id, data), ALGORITHM=INPLACE, LOCK=NONE",
+                        // Catálogo de produtos ativos, paginado por ID
+                        "ALTER TABLE produto ADD INDEX idx_produto_ativo_id (ativo, id), ALGORITHM=INPLACE, LOCK=NONE",
+                        // Desativação em cascata dos produtos de uma categoria
+                        "ALTER TABLE produto ADD INDEX idx_produto_categoria_ativo (categoria_id, ativo), ALGORITHM=INPLACE, LOCK=NONE",
+                        "ALTER TABLE categoria ADD INDEX idx_categoria_ativo (ativo), ALGORITHM=INPLACE, LOCK=NONE"),
+                // Os gatilhos são criados antes da carga, para não perder registros inseridos durante a cópia
+                new Migracao(VERSAO_RELATORIO, "Relatório materializado, mantido por gatilhos em registro e produto",
+                        cargaRelatorio,
+                        // Uma linha por registro, já com o nome do produto; o DEFAULT explícito evita que,
+                        // sem explicit_defaults_for_timestamp, a data seja atualizada junto com o nome
+                        """
+                        CREATE TABLE IF NOT EXISTS relatorio (
+                            id INT NOT NULL PRIMARY KEY,
+                            data TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+                            produto_id INT NOT NULL,
+                            nome_produto VARCHAR(100) NOT NULL,
+                            quantidade INT NOT NULL,
+                            movimentacao ENUM('NENHUM', 'ENTRADA', 'SAIDA') NOT NULL,
+                            status ENUM('ACIMA', 'ABAIXO', 'DENTRO', 'ADICIONADO', 'NOMEALTERADO', 'DELETADO', 'NENHUM') NOT NULL,
+                            INDEX idx_relatorio_data_id (data, id),
+                            INDEX idx_relatorio_produto_data (produto_id, data)
+                        )""",
+                        // Gatilhos recriados para que a migração possa ser repetida
+                        "DROP TRIGGER IF EXISTS relatorio_registro_inserido",
+                        """
+                        CREATE TRIGGER relatorio_registro_inserido AFTER INSERT ON registro FOR EACH ROW
+                        INSERT INTO relatorio (id, data, produto_id, nome_produto, quantidade, movimentacao, status)
+                        SELECT NEW.id, NEW.data, NEW.produto_id, p.nome, NEW.quantidade, NEW.movimentacao, NEW.status
+                        FROM produto p WHERE p.id = NEW.produto_id""",
+                        // Só quando o nome muda, inclusive entre maiúsculas e minúsculas; reajustes de preço não tocam o relatório
+                        "DROP TRIGGER IF EXISTS relatorio_produto_renomeado",
+                        """
+                        CREATE TRIGGER relatorio_produto_renomeado AFTER UPDATE ON produto FOR EACH ROW
+                        UPDATE relatorio SET nome_produto = NEW.nome
+                        WHERE produto_id = NEW.id AND CAST(NEW.nome AS BINARY) <> CAST(OLD.nome AS BINARY)"""));
+    }
+
+    private final Database database;
+    private final List<Migracao> migracoes;
+    private final int esperaTravaSegundos;
+    private final int tentativas;
+
+    private volatile int versaoAtual;
+    private volatile Integer emAndamento;
+    private volatile int pendentes;
+    private volatile String erro;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param database            banco a ser migrado
+     * @param migracoes           migrações conhecidas, em qualquer ordem
+     * @param esperaTravaSegundos espera máxima de cada comando pela trava de metadados da tabela
+     * @param tentativas          tentativas de cada comando quando a espera pela trava se esgota
+     */
+    public MigradorEsquema(Database database, List<Migracao> migracoes, int esperaTravaSegundos, int tentativas) {
+        this.database = database;
+        List<Migracao> ordenadas = new ArrayList<>(migracoes);
+        ordenadas.sort(Comparator.comparingInt(Migracao::getVersao));
+        this.migracoes = ordenadas;
+        this.esperaTravaSegundos = Math.max(1, esperaTravaSegundos);
+        this.tentativas = Math.max(1, tentativas);
+        this.pendentes = ordenadas.size();
+    }
+
+    /**
+     * Aplica as migrações pendentes.
+     *
+     * @return versões aplicadas nesta execução
+     * @throws RuntimeException caso a trava não seja obtida ou uma migração falhe
+     */
+    public List<Integer> migrar() {
+        List<Integer> aplicadas = new ArrayList<>();
+        try (Connection conn = database.getConnection(); Statement st = conn.createStatement()) {
+            st.execute(CRIAR_TABELA_VERSOES);
+            travar(conn);
+            try {
+                Set<Integer> existentes = lerVersoes(conn);
+                atualizarSituacao(existentes);
+                st.execute("SET SESSION lock_wait_timeout = " + esperaTravaSegundos);
+                for (Migracao migracao : migracoes) {
+                    if (!existentes.contains(migracao.getVersao())) {
+                        aplicar(conn, st, migracao);
+                        existentes.add(migracao.getVersao());
+                        aplicadas.add(migracao.getVersao());
+                        atualizarSituacao(existentes);
+                    }
+                }
+            } finally {
+                st.execute("SET SESSION lock_wait_timeout = DEFAULT");
+                destravar(conn);
+            }
+            erro = null;
+            return aplicadas;
+        } catch (SQLException e) {
+            erro = e.getMessage();
+            throw new RuntimeException("Erro ao migrar esquema: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            erro = e.getMessage();
+            throw e;
+        } finally {
+            emAndamento = null;
+        }
+    }
+
+    /**
+     * Executa os comandos da migração e registra a versão.
+     */
+    private void aplicar(Connection conn, Statement st, Migracao migracao) throws SQLException {
+        emAndamento = migracao.getVersao();
+        long inicio = System.nanoTime();
+        for (String comando : migracao.getComandos()) {
+            executar(st, comando);
+        }
+        if (migracao.getCarga() != null) {
+            migracao.getCarga().run();
+        }
+        long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+
+        try (PreparedStatement insert = conn.prepareStatement(
+                "INSERT INTO schema_versao (versao, descricao, duracao_ms) VALUES (?, ?, ?)")) {
+            insert.setInt(1, migracao.getVersao());
+            insert.setString(2, migracao.getDescricao());
+            insert.setLong(3, duracaoMs);
+            insert.executeUpdate();
+        }
+        System.out.println("Migração " + migracao.getVersao() + " aplicada em " + duracaoMs + " ms: "
+                + migracao.getDescricao());
+    }
+
+    /**
+     * Executa um comando, ignorando índices já existentes e tentando de novo
+     * quando a espera pela trava de metadados se esgota.
+     */
+    private void executar(Statement st, String comando) throws SQLException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                st.execute(comando);
+                return;
+            } catch (SQLException e) {
+                if (e.getErrorCode() == ERRO_INDICE_EXISTENTE) {
+                    return;
+                }
+                if (e.getErrorCode() != ERRO_ESPERA_TRAVA || tentativa >= tentativas) {
+                    throw e;
+                }
+                System.err.println("Migração aguardando transações em andamento (tentativa " + tentativa
+                        + " de " + tentativas + "): " + comando);
+                try {
+                    Thread.sleep(esperaTravaSegundos * 1000L);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lê as versões já aplicadas, sem migrar, para quando as migrações estão
+     * desativadas. Sem a tabela de versões, considera nenhuma aplicada.
+     *
+     * @return versão atual
+     */
+    public int consultarVersao() {
+        try (Connection conn = database.getConnection()) {
+            atualizarSituacao(lerVersoes(conn));
+        } catch (SQLException e) {
+            if (e.getErrorCode() != ERRO_TABELA_INEXISTENTE) {
+                erro = e.getMessage();
+                throw new RuntimeException("Erro ao consultar versão do esquema: " + e.getMessage(), e);
+            }
+            atualizarSituacao(Set.of());
+        }
+        return versaoAtual;
+    }
+
+    /**
+     * @return maior versão aplicada; como as migrações são aplicadas em
+     *         ordem, todas as anteriores também estão aplicadas
+     */
+    public int getVersaoAtual() {
+        return versaoAtual;
+    }
+
+    private static Set<Integer> lerVersoes(Connection conn) throws SQLException {
+        Set<Integer> versoes = new TreeSet<>();
+        try (PreparedStatement st = conn.prepareStatement("SELECT versao FROM schema_versao");
+             ResultSet rs = st.executeQuery()) {
+            while (rs.next()) {
+                versoes.add(rs.getInt(1));
+            }
+        }
+        return versoes;
+    }
+
+    private void travar(Connection conn) throws SQLException {
+        try (PreparedStatement st = conn.prepareStatement("SELECT GET_LOCK(CONCAT(DATABASE(), '.migracoes'), 60)");
+             ResultSet rs = st.executeQuery()) {
+            if (!rs.next() || rs.getInt(1) != 1) {
+                throw new SQLException("Outra instância está migrando o esquema");
+            }
+        }
+    }
+
+    private static void destravar(Connection conn) throws SQLException {
+        try (PreparedStatement st = conn.prepareStatement("SELECT RELEASE_LOCK(CONCAT(DATABASE(), '.migracoes'))");
+             ResultSet rs = st.executeQuery()) {
+            rs.next();
+        }
+    }
+
+    private void atualizarSituacao(Set<Integer> existentes) {
+        int maior = 0;
+        int faltando = 0;
+        for (Migracao migracao : migracoes) {
+            if (existentes.contains(migracao.getVersao())) {
+                maior = Math.max(maior, migracao.getVersao());
+            } else {
+                faltando++;
+            }
+        }
+        versaoAtual = maior;
+        pendentes = faltando;
+    }
+
+    /**
+     * @return versão atual, migrações pendentes, a em andamento e o último erro,
+     *         para a entidade <code>estado</code>
+     */
+    public Map<String, Object> getSituacao() {
+        Map<String, Object> situacao = new LinkedHashMap<>();
+        situacao.put("versaoAtual", versaoAtual);
+        situacao.put("pendentes", pendentes);
+        situacao.put("emAndamento", emAndamento);
+        situacao.put("erro", erro);
+        return situacao;
+    }
+}
@@ -0,0 +1,142 @@
+package br.backend.database;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verificação, em modo de depuração, da quantidade de comandos SQL enviados
+ * ao banco por requisição.
+ *
+ * <p>Cada rota tem um orçamento de comandos. Entre {@link #iniciar()} e
+ * {@link #concluir(Contagem, String, int)}, toda execução medida pela
+ * {@link InstrumentacaoJdbc} na thread atual é contada; ao concluir, uma
+ * contagem acima do orçamento é relatada no erro padrão e acumulada por rota
+ * em {@link #getEstatisticas()}. Contagens aninhadas (ex.: as requisições de
+ * um lote) são somadas também à contagem externa.</p>
+ *
+ * <p>Só os comandos executados na thread da requisição são contados: os de
+ * tarefas em segundo plano, como a gravação assíncrona de registros, ficam de
+ * fora. Depende da instrumentação das conexões
+ * (<code>db.instrumentacao.ativa</code>).</p>
+ */
+public class OrcamentoComandos {
+
+    /** Orçamento das rotas cujos comandos não são verificados. */
+    public static final int SEM_LIMITE = -1;
+
+    /** Contagem em andamento na thread atual. */
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    private final LongAdder verificadas = new LongAdder();
+    private final LongAdder excedidas = new LongAdder();
+    private final Map<String, Excessos> porRota = new ConcurrentHashMap<>();
+
+    /**
+     * Conta uma execução de comando na contagem da thread atual, se houver.
+     */
+    static void contar() {
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.comandos++;
+        }
+    }
+
+    /**
+     * Inicia a contagem dos comandos da thread atual.
+     *
+     * @return contagem a ser passada a {@link #concluir(Contagem, String, int)}
+     */
+    public Contagem iniciar() {
+        Contagem contagem = new Contagem(ATUAL.get());
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    /**
+     * Encerra a contagem e a compara com o orçamento.
+     *
+     * @param contagem  contagem retornada por {@link #iniciar()}
+     * @param rota      rota da requisição, no formato <code>entidade/acao</code>
+     * @param orcamento quantidade máxima de comandos, ou {@link #SEM_LIMITE}
+     * @return quantidade de comandos executados
+     */
+    public int concluir(Contagem contagem, String rota, int orcamento) {
+        if (contagem.anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(contagem.anterior);
+            contagem.anterior.comandos += contagem.comandos;
+        }
+
+        verificadas.increment();
+        if (orcamento != SEM_LIMITE && contagem.comandos > orcamento) {
+            excedidas.increment();
+            porRota.computeIfAbsent(rota, r -> new Excessos(orcamento)).registrar(contagem.comandos);
+            System.err.println("Requisição " + rota + " executou " + contagem.comandos
+                    + " comandos SQL, acima do orçamento de " + orcamento);
+        }
+        return contagem.comandos;
+    }
+
+    /**
+     * @return requisições verificadas e excedidas, e os excessos de cada rota
+     */
+    public Map<String, Object> getEstatisticas() {
+        Map<String, Object> rotas = new TreeMap<>();
+        porRota.forEach((rota, excessos) -> {
+            Map<String, Object> secao = new LinkedHashMap<>();
+            secao.put("orcamento", excessos.orcamento);
+            secao.put("excedidas", excessos.quantidade.sum());
+            secao.put("maiorContagem", excessos.maior.get());
+            rotas.put(rota, secao);
+        });
+
+        Map<String, Object> estatisticas = new LinkedHashMap<>();
+        estatisticas.put("verificadas", verificadas.sum());
+        estatisticas.put("excedidas", excedidas.sum());
+        estatisticas.put("rotas", rotas);
+        return estatisticas;
+    }
+
+    /**
+     * Comandos executados por uma requisição. Usada apenas pela thread que a
+     * iniciou.
+     */
+    public static final class Contagem {
+
+        private final Contagem anterior;
+        private int comandos;
+
+        private Contagem(Contagem anterior) {
+            this.anterior = anterior;
+        }
+
+        /** @return comandos executados até agora */
+        public int getComandos() {
+            return comandos;
+        }
+    }
+
+    /**
+     * Excessos de orçamento de uma rota.
+     */
+    private static final class Excessos {
+
+        final int orcamento;
+        final LongAdder quantidade = new LongAdder();
+        final AtomicInteger maior = new AtomicInteger();
+
+        Excessos(int orcamento) {
+            this.orcamento = orcamento;
+        }
+
+        void registrar(int comandos) {
+            quantidade.increment();
+            maior.accumulateAndGet(comandos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,526 @@
+package br.backend.database;
+
+import br.backend.metricas.eventos.EventoEsperaConexao;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Pool de conexões JDBC utilizado internamente por {@link Database}.
+ *
+ * <p>Mantém entre <code>minimo</code> e <code>maximo</code> conexões físicas
+ * com o banco. Cada empréstimo devolve um <i>proxy</i> de {@link Connection}
+ * cujo {@code close()} retorna a conexão física ao pool em vez de fechá-la,
+ * permitindo que os DAOs utilizem o padrão try-with-resources normalmente.</p>
+ *
+ * <p>Recursos oferecidos:</p>
+ * <ul>
+ *     <li>espera limitada por uma conexão livre (<code>timeoutEmprestimoMs</code>);</li>
+ *     <li>validação no empréstimo, descartando conexões quebradas e
+ *         reconectando de forma transparente;</li>
+ *     <li>remoção periódica de conexões ociosas acima do mínimo;</li>
+ *     <li>descarte de conexões que apresentaram erro de comunicação (SQLState 08xxx);</li>
+ *     <li>cache, por conexão física, dos comandos preparados ({@link CacheComandos}),
+ *         reaproveitados entre empréstimos;</li>
+ *     <li>estatísticas de espera e utilização ({@link EstatisticasPool}).</li>
+ * </ul>
+ *
+ * <p>Com uma gravação JFR em andamento, cada empréstimo emite um
+ * {@link EventoEsperaConexao}.</p>
+ */
+class PoolConexoes {
+
+    private final String url;
+    private final String usuario;
+    private final String senha;
+    private final int minimo;
+    private final int maximo;
+    private final long timeoutEmprestimoMs;
+    private final boolean validarAoEmprestar;
+    private final long janelaSemValidacaoMs;
+    private final long ociosidadeMaximaMs;
+    private final int capacidadeCacheComandos;
+
+    /** Conexões livres; a mais recentemente devolvida é reutilizada primeiro. */
+    private final LinkedBlockingDeque<ConexaoFisica> ociosas = new LinkedBlockingDeque<>();
+
+    /** Limita a quantidade de conexões emprestadas simultaneamente. */
+    private final Semaphore vagas;
+
+    private final ScheduledExecutorService manutencao;
+
+    private final AtomicInteger total = new AtomicInteger();
+    private final AtomicInteger emUso = new AtomicInteger();
+    private final LongAdder emprestimos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder criadas = new LongAdder();
+    private final LongAdder descartadas = new LongAdder();
+    private final LongAdder falhasValidacao = new LongAdder();
+    private final LongAdder esperaTotalNanos = new LongAdder();
+    private final AtomicLong esperaMaximaNanos = new AtomicLong();
+    private final LongAdder comandosPreparados = new LongAdder();
+    private final LongAdder comandosReutilizados = new LongAdder();
+    private final LongAdder comandosDescartados = new LongAdder();
+
+    private volatile boolean inicializado;
+    private volatile boolean encerrado;
+
+    /**
+     * Construtor do pool.
+     *
+     * @param url                    URL JDBC do banco
+     * @param usuario                usuário do banco
+     * @param senha                  senha do banco
+     * @param minimo                 quantidade mínima de conexões mantidas abertas
+     * @param maximo                 quantidade máxima de conexões simultâneas
+     * @param timeoutEmprestimoMs    espera máxima por uma conexão livre
+     * @param validarAoEmprestar     se as conexões devem ser validadas antes do uso
+     * @param janelaSemValidacaoMs   intervalo após a devolução em que a validação é dispensada
+     * @param ociosidadeMaximaMs     tempo ocioso após o qual conexões acima do mínimo são fechadas
+     * @param intervaloManutencaoMs  intervalo entre execuções da manutenção do pool
+     * @param cacheComandos          comandos preparados mantidos por conexão (0 desativa o cache)
+     */
+    PoolConexoes(String url, String usuario, String senha, int minimo, int maximo, long timeoutEmprestimoMs,
+                 boolean validarAoEmprestar, long janelaSemValidacaoMs, long ociosidadeMaximaMs, long intervaloManutencaoMs,
+                 int cacheComandos) {
+        this.url = url;
+        this.usuario = usuario;
+        this.senha = senha;
+        this.minimo = Math.min(minimo, maximo);
+        this.maximo = maximo;
+        this.timeoutEmprestimoMs = timeoutEmprestimoMs;
+        this.validarAoEmprestar = validarAoEmprestar;
+        this.janelaSemValidacaoMs = janelaSemValidacaoMs;
+        this.ociosidadeMaximaMs = ociosidadeMaximaMs;
+        this.capacidadeCacheComandos = cacheComandos;
+        this.vagas = new Semaphore(maximo, true);
+
+        this.manutencao = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("pool-manutencao").daemon().factory());
+        this.manutencao.scheduleWithFixedDelay(this::manter, intervaloManutencaoMs, intervaloManutencaoMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Empresta uma conexão do pool, aguardando até <code>timeoutEmprestimoMs</code>.
+     *
+     * @return proxy da conexão, que deve ser fechado para devolução
+     * @throws SQLException caso o tempo de espera esgote ou não seja possível conectar
+     */
+    Connection emprestar() throws SQLException {
+        EventoEsperaConexao evento = new EventoEsperaConexao();
+        evento.begin();
+        boolean novaConexao = false;
+        boolean obtida = false;
+        try {
+            if (encerrado) {
+                throw new SQLException("Pool de conexões encerrado");
+            }
+
+            long inicio = System.nanoTime();
+            try {
+                if (!vagas.tryAcquire(timeoutEmprestimoMs, TimeUnit.MILLISECONDS)) {
+                    timeouts.increment();
+                    throw new SQLException("Tempo esgotado aguardando conexão do pool (" + timeoutEmprestimoMs + " ms)");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrompido aguardando conexão do pool", e);
+            }
+            registrarEspera(System.nanoTime() - inicio);
+
+            try {
+                ConexaoFisica fisica = obterOciosaValida();
+                if (fisica == null) {
+                    fisica = criar();
+                    novaConexao = true;
+                }
+                inicializado = true;
+                emUso.incrementAndGet();
+                emprestimos.increment();
+                Connection conexao = fisica.emprestar();
+                obtida = true;
+                return conexao;
+            } catch (SQLException | RuntimeException e) {
+                vagas.release();
+                throw e;
+            }
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(emUso.get(), novaConexao, obtida);
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Retira conexões ociosas até encontrar uma válida, descartando as quebradas.
+     *
+     * @return conexão válida ou {@code null} se não houver nenhuma ociosa
+     */
+    private ConexaoFisica obterOciosaValida() {
+        ConexaoFisica fisica;
+        while ((fisica = ociosas.pollFirst()) != null) {
+            if (valida(fisica)) {
+                return fisica;
+            }
+            falhasValidacao.increment();
+            descartar(fisica);
+        }
+        return null;
+    }
+
+    /**
+     * Verifica se uma conexão ociosa ainda pode ser utilizada.
+     *
+     * <p>Conexões devolvidas há menos de <code>janelaSemValidacaoMs</code>
+     * não são validadas novamente, evitando uma ida ao banco por empréstimo.</p>
+     */
+    private boolean valida(ConexaoFisica fisica) {
+        try {
+            if (!validarAoEmprestar || System.currentTimeMillis() - fisica.ultimoUso < janelaSemValidacaoMs) {
+                return !fisica.conexao.isClosed();
+            }
+            return fisica.conexao.isValid(5);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Abre uma nova conexão física com o banco.
+     *
+     * @return conexão recém-criada
+     * @throws SQLException caso não seja possível conectar
+     */
+    private ConexaoFisica criar() throws SQLException {
+        Connection conexao = DriverManager.getConnection(url, usuario, senha);
+        total.incrementAndGet();
+        criadas.increment();
+        return new ConexaoFisica(conexao);
+    }
+
+    /**
+     * Recebe de volta uma conexão emprestada.
+     *
+     * <p>Transações deixadas em aberto são desfeitas e o autocommit é
+     * restaurado. Conexões fechadas, com erro de comunicação ou excedentes
+     * ao máximo são descartadas.</p>
+     *
+     * @param fisica conexão física devolvida
+     */
+    private void devolver(ConexaoFisica fisica) {
+        emUso.decrementAndGet();
+        try {
+            if (fisica.quebrada || encerrado || fisica.conexao.isClosed() || total.get() > maximo) {
+                descartar(fisica);
+                return;
+            }
+            if (!fisica.conexao.getAutoCommit()) {
+                fisica.conexao.rollback();
+                fisica.conexao.setAutoCommit(true);
+            }
+            fisica.ultimoUso = System.currentTimeMillis();
+            ociosas.offerFirst(fisica);
+        } catch (SQLException e) {
+            descartar(fisica);
+        } finally {
+            vagas.release();
+        }
+    }
+
+    /**
+     * Fecha definitivamente uma conexão física.
+     *
+     * @param fisica conexão a ser fechada
+     */
+    private void descartar(ConexaoFisica fisica) {
+        total.decrementAndGet();
+        descartadas.increment();
+        try {
+            fisica.conexao.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Tarefa periódica: fecha conexões ociosas acima do mínimo e repõe
+     * conexões até o mínimo configurado.
+     */
+    private void manter() {
+        try {
+            long agora = System.currentTimeMillis();
+            for (ConexaoFisica fisica : ociosas) {
+                if (total.get() > minimo && agora - fisica.ultimoUso > ociosidadeMaximaMs && ociosas.remove(fisica)) {
+                    descartar(fisica);
+                }
+            }
+
+            // A reposição só começa após o primeiro empréstimo bem-sucedido,
+            // evitando tentativas de conexão enquanto o banco está indisponível
+            while (inicializado && !encerrado && total.get() < minimo) {
+                ConexaoFisica nova = criar();
+                nova.ultimoUso = System.currentTimeMillis();
+                ociosas.offerLast(nova);
+            }
+        } catch (Exception e) {
+            System.err.println("Erro na manutenção do pool de conexões: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Registra o tempo de espera de um empréstimo.
+     *
+     * @param nanos tempo de espera em nanossegundos
+     */
+    private void registrarEspera(long nanos) {
+        esperaTotalNanos.add(nanos);
+        esperaMaximaNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Fecha todas as conexões ociosas e impede novos empréstimos.
+     * Conexões emprestadas são fechadas ao serem devolvidas.
+     */
+    void encerrar() {
+        encerrado = true;
+        manutencao.shutdownNow();
+        ConexaoFisica fisica;
+        while ((fisica = ociosas.pollFirst()) != null) {
+            descartar(fisica);
+        }
+    }
+
+    /**
+     * @return retrato atual da utilização do pool
+     */
+    EstatisticasPool getEstatisticas() {
+        long quantidade = emprestimos.sum();
+        return new EstatisticasPool(
+                minimo,
+                maximo,
+                total.get(),
+                emUso.get(),
+                ociosas.size(),
+                vagas.getQueueLength(),
+                quantidade,
+                timeouts.sum(),
+                criadas.sum(),
+                descartadas.sum(),
+                falhasValidacao.sum(),
+                quantidade == 0 ? 0 : esperaTotalNanos.sum() / quantidade / 1_000_000.0,
+                esperaMaximaNanos.get() / 1_000_000.0,
+                comandosPreparados.sum(),
+                comandosReutilizados.sum(),
+                comandosDescartados.sum());
+    }
+
+    /**
+     * Conexão física mantida pelo pool.
+     */
+    private final class ConexaoFisica {
+
+        final Connection conexao;
+        final CacheComandos comandos;
+        volatile long ultimoUso;
+        volatile boolean quebrada;
+
+        ConexaoFisica(Connection conexao) {
+            this.conexao = conexao;
+            this.comandos = capacidadeCacheComandos > 0 ? new CacheComandos(capacidadeCacheComandos, comandosDescartados) : null;
+        }
+
+        /**
+         * Cria um novo proxy para este empréstimo. Um proxy já fechado não
+         * pode mais ser utilizado, mesmo que a conexão física volte a ser emprestada.
+         */
+        Connection emprestar() {
+            return (Connection) Proxy.newProxyInstance(
+                    Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    new ManipuladorEmprestimo(this));
+        }
+    }
+
+    /**
+     * Intercepta as chamadas ao proxy de uma conexão emprestada.
+     */
+    private final class ManipuladorEmprestimo implements InvocationHandler {
+
+        private final ConexaoFisica fisica;
+        private boolean devolvida;
+
+        ManipuladorEmprestimo(ConexaoFisica fisica) {
+            this.fisica = fisica;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close" -> {
+                    if (!devolvida) {
+                        devolvida = true;
+                        devolver(fisica);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return devolvida || fisica.conexao.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Conexão do pool [" + fisica.conexao + "]";
+                }
+                default -> {
+                }
+            }
+
+            if (devolvida) {
+                throw new SQLException("Conexão já devolvida ao pool");
+            }
+
+            if (fisica.comandos != null && metodo.getName().equals("prepareStatement") && reaproveitavel(args)) {
+                return prepararComCache(proxy, metodo, args);
+            }
+            return invocar(fisica, fisica.conexao, metodo, args);
+        }
+
+        /**
+         * Apenas as formas <code>prepareStatement(sql)</code> e
+         * <code>prepareStatement(sql, chavesGeradas)</code> usam o cache; as
+         * demais (como as consultas em fluxo) alteram opções do comando.
+         */
+        private static boolean reaproveitavel(Object[] args) {
+            return args.length == 1 || (args.length == 2 && args[1] instanceof Integer);
+        }
+
+        private Object prepararComCache(Object conexao, Method metodo, Object[] args) throws Throwable {
+            String sql = (String) args[0];
+            int chavesGeradas = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+            PreparedStatement comando = fisica.comandos.retirar(sql, chavesGeradas);
+            if (comando == null) {
+                comando = (PreparedStatement) invocar(fisica, fisica.conexao, metodo, args);
+                comandosPreparados.increment();
+            } else {
+                comandosReutilizados.increment();
+            }
+            return Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new ManipuladorComando(this, (Connection) conexao, comando, sql, chavesGeradas));
+        }
+    }
+
+    /**
+     * Intercepta as chamadas a um comando preparado obtido do cache: o
+     * {@code close()} o devolve ao cache da conexão física, limpo, em vez de
+     * fechá-lo. Se a conexão já foi devolvida ou apresentou erro, o comando é
+     * fechado de fato.
+     */
+    private final class ManipuladorComando implements InvocationHandler {
+
+        private final ManipuladorEmprestimo emprestimo;
+        private final Connection conexao;
+        private final PreparedStatement comando;
+        private final String sql;
+        private final int chavesGeradas;
+        private boolean fechado;
+
+        ManipuladorComando(ManipuladorEmprestimo emprestimo, Connection conexao, PreparedStatement comando,
+                           String sql, int chavesGeradas) {
+            this.emprestimo = emprestimo;
+            this.conexao = conexao;
+            this.comando = comando;
+            this.sql = sql;
+            this.chavesGeradas = chavesGeradas;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            switch (metodo.getName()) {
+                case "close" -> {
+                    if (!fechado) {
+                        fechado = true;
+                        devolverComando();
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return fechado || comando.isClosed();
+                }
+                case "getConnection" -> {
+                    return conexao;
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Comando do cache [" + comando + "]";
+                }
+                default -> {
+                }
+            }
+
+            if (fechado) {
+                throw new SQLException("Comando já fechado");
+            }
+            return invocar(emprestimo.fisica, comando, metodo, args);
+        }
+
+        private void devolverComando() throws SQLException {
+            ConexaoFisica fisica = emprestimo.fisica;
+            if (emprestimo.devolvida || fisica.quebrada || comando.isClosed()) {
+                comando.close();
+                return;
+            }
+            try {
+                comando.clearParameters();
+                comando.clearBatch();
+            } catch (SQLException e) {
+                comando.close();
+                return;
+            }
+            fisica.comandos.devolver(sql, chavesGeradas, comando);
+        }
+    }
+
+    /**
+     * Invoca o método no objeto do driver, marcando a conexão física como
+     * quebrada em caso de erro de comunicação (SQLState 08xxx): ela é
+     * descartada na devolução e recriada no próximo empréstimo.
+     */
+    private static Object invocar(ConexaoFisica fisica, Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof SQLException sql && sql.getSQLState() != null && sql.getSQLState().startsWith("08")) {
+                fisica.quebrada = true;
+            }
+            throw causa;
+        }
+    }
+}
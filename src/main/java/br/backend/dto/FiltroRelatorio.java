@@ -0,0 +1,171 @@
+package br.backend.dto;
+
+import br.backend.modelo.enums.Movimentacao;
+import br.backend.modelo.enums.Status;
+import br.backend.util.Util;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO com os filtros da ação <b>listar</b> do relatório, enviados no campo
+ * {@code dados} da {@link Requisicao} junto dos {@link ParametrosListagem}.
+ *
+ * <ul>
+ *     <li><b>dataInicio</b> – data mínima da movimentação, inclusiva;</li>
+ *     <li><b>dataFim</b> – data máxima da movimentação, exclusiva;</li>
+ *     <li><b>produtoIds</b> – IDs dos produtos movimentados;</li>
+ *     <li><b>movimentacao</b> – tipo da movimentação (ex.: ENTRADA);</li>
+ *     <li><b>status</b> – status da movimentação (ex.: ADICIONADO);</li>
+ *     <li><b>limite</b> – quantidade máxima de itens retornados.</li>
+ * </ul>
+ *
+ * <p>As datas aceitam milissegundos desde a época ou texto ISO-8601
+ * (ex.: <code>"2025-01-31T00:00:00Z"</code>). Os filtros são traduzidos em
+ * condições SQL sobre os índices da tabela <code>relatorio</code>, sem
+ * junção com <code>produto</code>; com qualquer um
+ * deles a resposta é uma {@link ResultadoRelatorio}, paginada pelo mesmo
+ * cursor das demais listagens.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FiltroRelatorio extends ParametrosListagem {
+
+    /** Limite usado quando nem {@code limite} nem {@code tamanhoPagina} são informados. */
+    public static final int LIMITE_PADRAO = 1000;
+
+    /** Maior limite aceito; valores acima são reduzidos a este. */
+    public static final int LIMITE_MAXIMO = 10000;
+
+    /** Maior quantidade de IDs aceita em {@code produtoIds}. */
+    public static final int MAXIMO_PRODUTOS = 1000;
+
+    /** Data mínima da movimentação, inclusiva. */
+    private Date dataInicio;
+
+    /** Data máxima da movimentação, exclusiva. */
+    private Date dataFim;
+
+    /** IDs dos produtos movimentados. */
+    private List<Integer> produtoIds;
+
+    /** Tipo da movimentação. */
+    private Movimentacao movimentacao;
+
+    /** Status da movimentação. */
+    private Status status;
+
+    /** Quantidade máxima de itens retornados. */
+    private Integer limite;
+
+    /**
+     * Construtor padrão, necessário para desserialização JSON.
+     */
+    public FiltroRelatorio() {
+    }
+
+    /**
+     * Extrai os filtros e parâmetros de listagem do campo {@code dados} da
+     * requisição. Dados ausentes ou que não sejam um objeto JSON resultam na
+     * listagem completa.
+     *
+     * @param dados conteúdo do campo {@code dados}
+     * @return filtros do relatório
+     * @throws IllegalArgumentException caso sejam informados IDs de produto demais
+     */
+    public static FiltroRelatorio de(Object dados) {
+        if (!(dados instanceof Map)) {
+            return new FiltroRelatorio();
+        }
+        FiltroRelatorio filtro = Util.fromObject(dados, FiltroRelatorio.class);
+        if (filtro.produtoIds != null && filtro.produtoIds.size() > MAXIMO_PRODUTOS) {
+            throw new IllegalArgumentException("produtoIds aceita no máximo " + MAXIMO_PRODUTOS + " IDs");
+        }
+        return filtro;
+    }
+
+    /**
+     * @return {@code true} se algum filtro ou o limite foi informado
+     */
+    public boolean filtrado() {
+        return dataInicio != null || dataFim != null || temProdutos() || movimentacao != null
+                || status != null || limite != null;
+    }
+
+    /**
+     * @return {@code true} se foi informado ao menos um ID de produto; lista vazia não filtra
+     */
+    public boolean temProdutos() {
+        return produtoIds != null && !produtoIds.isEmpty();
+    }
+
+    /**
+     * @return {@code limite}, ou o tamanho de página, ou {@link #LIMITE_PADRAO},
+     *         limitado entre 1 e {@link #LIMITE_MAXIMO}
+     */
+    public int limiteAplicado() {
+        int valor = limite != null ? limite : getTamanhoPagina() != null ? getTamanhoPagina() : LIMITE_PADRAO;
+        return Math.max(1, Math.min(valor, LIMITE_MAXIMO));
+    }
+
+    /** @return data mínima da movimentação, inclusiva */
+    public Date getDataInicio() {
+        return dataInicio;
+    }
+
+    /** @param dataInicio define a data mínima da movimentação */
+    public void setDataInicio(Date dataInicio) {
+        this.dataInicio = dataInicio;
+    }
+
+    /** @return data máxima da movimentação, exclusiva */
+    public Date getDataFim() {
+        return dataFim;
+    }
+
+    /** @param dataFim define a data máxima da movimentação */
+    public void setDataFim(Date dataFim) {
+        this.dataFim = dataFim;
+    }
+
+    /** @return IDs dos produtos movimentados */
+    public List<Integer> getProdutoIds() {
+        return produtoIds;
+    }
+
+    /** @param produtoIds define os IDs dos produtos movimentados */
+    public void setProdutoIds(List<Integer> produtoIds) {
+        this.produtoIds = produtoIds;
+    }
+
+    /** @return tipo da movimentação */
+    public Movimentacao getMovimentacao() {
+        return movimentacao;
+    }
+
+    /** @param movimentacao define o tipo da movimentação */
+    public void setMovimentacao(Movimentacao movimentacao) {
+        this.movimentacao = movimentacao;
+    }
+
+    /** @return status da movimentação */
+    public Status getStatus() {
+        return status;
+    }
+
+    /** @param status define o status da movimentação */
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /** @return quantidade máxima de itens retornados */
+    public Integer getLimite() {
+        return limite;
+    }
+
+    /** @param limite define a quantidade máxima de itens retornados */
+    public void setLimite(Integer limite) {
+        this.limite = limite;
+    }
+}
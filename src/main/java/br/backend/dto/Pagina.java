@@ -0,0 +1,44 @@
+package br.backend.dto;
+
+import java.util.List;
+
+/**
+ * DTO que representa uma página de uma listagem paginada por cursor.
+ *
+ * <p>O campo {@code proximoCursor} deve ser enviado na próxima requisição
+ * para obter a página seguinte; quando nulo, não há mais itens.</p>
+ *
+ * <pre>
+ * {
+ *   "itens": [ ... ],
+ *   "proximoCursor": "MTcwMDAwMDAwMDAwMDo0Mg"
+ * }
+ * </pre>
+ *
+ * @param <T> tipo dos itens listados
+ */
+public class Pagina<T> {
+
+    /** Itens da página, na ordem da listagem. */
+    private final List<T> itens;
+
+    /** Cursor opaco da próxima página, ou null na última página. */
+    private final String proximoCursor;
+
+    /**
+     * Construtor completo.
+     *
+     * @param itens         itens da página
+     * @param proximoCursor cursor da próxima página (pode ser nulo)
+     */
+    public Pagina(List<T> itens, String proximoCursor) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+    }
+
+    /** @return itens da página */
+    public List<T> getItens() { return itens; }
+
+    /** @return cursor da próxima página, ou null se esta for a última */
+    public String getProximoCursor() { return proximoCursor; }
+}
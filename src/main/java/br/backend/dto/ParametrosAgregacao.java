@@ -0,0 +1,104 @@
+package br.backend.dto;
+
+import br.backend.modelo.enums.DimensaoRelatorio;
+import br.backend.util.Util;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * DTO com os parâmetros da ação <b>agregar</b> do relatório, enviados no
+ * campo {@code dados} da {@link Requisicao} junto dos filtros de
+ * {@link FiltroRelatorio}.
+ *
+ * <ul>
+ *     <li><b>agrupar</b> – dimensões do agrupamento (PRODUTO, CATEGORIA, DIA,
+ *     MOVIMENTACAO); sem nenhuma, é retornado um único total;</li>
+ *     <li><b>fusoHorario</b> – fuso usado para separar os dias
+ *     (ex.: <code>America/Sao_Paulo</code>); o padrão é o do servidor.</li>
+ * </ul>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ParametrosAgregacao {
+
+    /** Dimensões do agrupamento. */
+    private List<DimensaoRelatorio> agrupar;
+
+    /** Fuso horário usado para separar os dias. */
+    private String fusoHorario;
+
+    /**
+     * Construtor padrão, necessário para desserialização JSON.
+     */
+    public ParametrosAgregacao() {
+    }
+
+    /**
+     * Extrai os parâmetros do campo {@code dados} da requisição. Dados ausentes
+     * ou que não sejam um objeto JSON resultam em um único total.
+     *
+     * @param dados conteúdo do campo {@code dados}
+     * @return parâmetros da agregação
+     */
+    public static ParametrosAgregacao de(Object dados) {
+        if (!(dados instanceof Map)) {
+            return new ParametrosAgregacao();
+        }
+        return Util.fromObject(dados, ParametrosAgregacao.class);
+    }
+
+    /**
+     * @return dimensões do agrupamento, sem repetições
+     */
+    public Set<DimensaoRelatorio> dimensoes() {
+        Set<DimensaoRelatorio> dimensoes = EnumSet.noneOf(DimensaoRelatorio.class);
+        if (agrupar != null) {
+            for (DimensaoRelatorio dimensao : agrupar) {
+                if (dimensao != null) {
+                    dimensoes.add(dimensao);
+                }
+            }
+        }
+        return dimensoes;
+    }
+
+    /**
+     * @return fuso horário informado, ou o do servidor
+     * @throws IllegalArgumentException caso o fuso horário seja inválido
+     */
+    public ZoneId fuso() {
+        if (fusoHorario == null) {
+            return ZoneId.systemDefault();
+        }
+        try {
+            return ZoneId.of(fusoHorario);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Fuso horário inválido: " + fusoHorario, e);
+        }
+    }
+
+    /** @return dimensões do agrupamento, na ordem informada */
+    public List<DimensaoRelatorio> getAgrupar() {
+        return agrupar;
+    }
+
+    /** @param agrupar define as dimensões do agrupamento */
+    public void setAgrupar(List<DimensaoRelatorio> agrupar) {
+        this.agrupar = agrupar;
+    }
+
+    /** @return fuso horário usado para separar os dias */
+    public String getFusoHorario() {
+        return fusoHorario;
+    }
+
+    /** @param fusoHorario define o fuso horário usado para separar os dias */
+    public void setFusoHorario(String fusoHorario) {
+        this.fusoHorario = fusoHorario;
+    }
+}
@@ -0,0 +1,103 @@
+package br.backend.dto;
+
+import br.backend.util.Util;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.Map;
+
+/**
+ * DTO com os parâmetros opcionais da ação <b>listar</b>, enviados no campo
+ * {@code dados} da {@link Requisicao}.
+ *
+ * <ul>
+ *     <li><b>tamanhoPagina</b> – ativa a paginação, retornando uma {@link Pagina};</li>
+ *     <li><b>cursor</b> – cursor recebido na página anterior;</li>
+ *     <li><b>fluxo</b> – transmite todos os itens à medida que são lidos do banco,
+ *     sem montar a lista em memória.</li>
+ * </ul>
+ *
+ * <p>Sem nenhum desses campos, a listagem completa é retornada como antes.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ParametrosListagem {
+
+    /** Tamanho de página usado quando apenas o cursor é informado. */
+    public static final int TAMANHO_PAGINA_PADRAO = 100;
+
+    /** Maior tamanho de página aceito; valores acima são reduzidos a este. */
+    public static final int TAMANHO_PAGINA_MAXIMO = 1000;
+
+    /** Quantidade de itens por página. */
+    private Integer tamanhoPagina;
+
+    /** Cursor opaco da página a ser retornada. */
+    private String cursor;
+
+    /** Indica a transmissão em fluxo de todos os itens. */
+    private boolean fluxo;
+
+    /**
+     * Construtor padrão, necessário para desserialização JSON.
+     */
+    public ParametrosListagem() {
+    }
+
+    /**
+     * Extrai os parâmetros do campo {@code dados} da requisição. Dados ausentes
+     * ou que não sejam um objeto JSON resultam na listagem completa.
+     *
+     * @param dados conteúdo do campo {@code dados}
+     * @return parâmetros da listagem
+     */
+    public static ParametrosListagem de(Object dados) {
+        if (!(dados instanceof Map)) {
+            return new ParametrosListagem();
+        }
+        return Util.fromObject(dados, ParametrosListagem.class);
+    }
+
+    /**
+     * @return {@code true} se foi solicitada uma página, pelo tamanho ou pelo cursor
+     */
+    public boolean paginado() {
+        return tamanhoPagina != null || cursor != null;
+    }
+
+    /**
+     * @return tamanho de página solicitado, limitado entre 1 e {@link #TAMANHO_PAGINA_MAXIMO}
+     */
+    public int tamanhoPaginaLimitado() {
+        int tamanho = tamanhoPagina == null ? TAMANHO_PAGINA_PADRAO : tamanhoPagina;
+        return Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+    }
+
+    /** @return quantidade de itens por página, ou null se não paginado */
+    public Integer getTamanhoPagina() {
+        return tamanhoPagina;
+    }
+
+    /** @param tamanhoPagina define a quantidade de itens por página */
+    public void setTamanhoPagina(Integer tamanhoPagina) {
+        this.tamanhoPagina = tamanhoPagina;
+    }
+
+    /** @return cursor da página solicitada */
+    public String getCursor() {
+        return cursor;
+    }
+
+    /** @param cursor define o cursor da página solicitada */
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    /** @return {@code true} se a listagem deve ser transmitida em fluxo */
+    public boolean isFluxo() {
+        return fluxo;
+    }
+
+    /** @param fluxo define se a listagem deve ser transmitida em fluxo */
+    public void setFluxo(boolean fluxo) {
+        this.fluxo = fluxo;
+    }
+}
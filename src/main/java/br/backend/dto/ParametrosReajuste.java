@@ -0,0 +1,105 @@
+package br.backend.dto;
+
+import br.backend.util.Util;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO com os parâmetros das ações <b>aumentar</b> e <b>diminuir</b> de
+ * produtos, enviados no campo {@code dados} da {@link Requisicao}.
+ *
+ * <p>O campo {@code dados} pode ser apenas o percentual, como antes, ou um
+ * objeto:</p>
+ *
+ * <ul>
+ *     <li><b>percentual</b> – percentual do reajuste (ex.: 10.0 = 10%);</li>
+ *     <li><b>categoriaId</b> – reajusta apenas os produtos da categoria;</li>
+ *     <li><b>produtoIds</b> – reajusta apenas os produtos listados;</li>
+ *     <li><b>aposId</b> – retoma um reajuste interrompido a partir do ID
+ *     seguinte ao informado.</li>
+ * </ul>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ParametrosReajuste {
+
+    /** Percentual do reajuste. */
+    private Double percentual;
+
+    /** Categoria dos produtos reajustados. */
+    private Integer categoriaId;
+
+    /** IDs dos produtos reajustados. */
+    private List<Integer> produtoIds;
+
+    /** ID após o qual o reajuste começa. */
+    private Integer aposId;
+
+    /**
+     * Construtor padrão, necessário para desserialização JSON.
+     */
+    public ParametrosReajuste() {
+    }
+
+    /**
+     * Extrai os parâmetros do campo {@code dados} da requisição.
+     *
+     * @param dados percentual ou objeto com os parâmetros
+     * @return parâmetros do reajuste
+     * @throws IllegalArgumentException caso o percentual não seja informado ou seja negativo
+     */
+    public static ParametrosReajuste de(Object dados) {
+        ParametrosReajuste parametros;
+        if (dados instanceof Map) {
+            parametros = Util.fromObject(dados, ParametrosReajuste.class);
+        } else {
+            parametros = new ParametrosReajuste();
+            parametros.setPercentual(Util.fromObject(dados, Double.class));
+        }
+        if (parametros.percentual == null || parametros.percentual < 0) {
+            throw new IllegalArgumentException("Percentual do reajuste deve ser informado e não pode ser negativo");
+        }
+        return parametros;
+    }
+
+    /** @return percentual do reajuste */
+    public Double getPercentual() {
+        return percentual;
+    }
+
+    /** @param percentual define o percentual do reajuste */
+    public void setPercentual(Double percentual) {
+        this.percentual = percentual;
+    }
+
+    /** @return categoria dos produtos reajustados, ou null para todas */
+    public Integer getCategoriaId() {
+        return categoriaId;
+    }
+
+    /** @param categoriaId define a categoria dos produtos reajustados */
+    public void setCategoriaId(Integer categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    /** @return IDs dos produtos reajustados, ou null para todos */
+    public List<Integer> getProdutoIds() {
+        return produtoIds;
+    }
+
+    /** @param produtoIds define os IDs dos produtos reajustados */
+    public void setProdutoIds(List<Integer> produtoIds) {
+        this.produtoIds = produtoIds;
+    }
+
+    /** @return ID após o qual o reajuste começa, ou null para começar do início */
+    public Integer getAposId() {
+        return aposId;
+    }
+
+    /** @param aposId define o ID após o qual o reajuste começa */
+    public void setAposId(Integer aposId) {
+        this.aposId = aposId;
+    }
+}
@@ -1,5 +1,8 @@
 package br.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 /**
  * DTO responsável por representar uma requisição enviada ao servidor.
  *
@@ -12,16 +15,29 @@ package br.backend.dto;
  *
  * <pre>
  * {
+ *   "id": 42,
  *   "acao": "criar",
  *   "entidade": "produto",
  *   "dados": { ... }
  * }
  * </pre>
  *
+ * <p>O campo {@code id} é opcional. Quando informado, é devolvido sem
+ * alteração na {@link Resposta} correspondente, permitindo ao cliente
+ * relacionar respostas e requisições quando várias estão em andamento na
+ * mesma conexão.</p>
+ *
+ * <p>A desserialização é feita pelo {@link RequisicaoDeserializer}, que pode
+ * converter {@code dados} diretamente para o tipo esperado pela ação.</p>
+ *
  * @param <T> tipo do objeto contido no campo {@code dados}
  */
+@JsonDeserialize(using = RequisicaoDeserializer.class)
 public class Requisicao<T> {
 
+    /** Identificador opcional (texto ou número) definido pelo cliente para correlacionar a resposta. */
+    private Object id;
+
     /** Ação a ser realizada (ex.: criar, atualizar, listar). */
     private String acao;
 
@@ -31,6 +47,9 @@ public class Requisicao<T> {
     /** Dados específicos da operação, cujo tipo varia conforme a entidade e a ação. */
     private T dados;
 
+    /** Motivo pelo qual {@code dados} não pôde ser convertido para o tipo esperado, se for o caso. */
+    private String erroDados;
+
     /**
      * Construtor padrão, necessário para serialização/deserialização JSON.
      */
@@ -50,6 +69,16 @@ public class Requisicao<T> {
         this.dados = dados;
     }
 
+    /** @return identificador de correlação informado pelo cliente, ou null */
+    public Object getId() {
+        return id;
+    }
+
+    /** @param id define o identificador de correlação da requisição */
+    public void setId(Object id) {
+        this.id = id;
+    }
+
     /** @return ação solicitada na requisição */
     public String getAcao() {
         return acao;
@@ -79,4 +108,15 @@ public class Requisicao<T> {
     public void setDados(T dados) {
         this.dados = dados;
     }
+
+    /** @return erro na conversão dos dados para o tipo esperado pela ação, ou null */
+    @JsonIgnore
+    public String getErroDados() {
+        return erroDados;
+    }
+
+    /** @param erroDados define o erro na conversão dos dados */
+    public void setErroDados(String erroDados) {
+        this.erroDados = erroDados;
+    }
 }
@@ -0,0 +1,108 @@
+package br.backend.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.util.function.BiFunction;
+
+/**
+ * Desserializador da {@link Requisicao} que converte o campo {@code dados}
+ * diretamente para o tipo esperado pela ação, em uma única leitura.
+ *
+ * <p>O tipo é obtido pela função registrada no atributo {@link #TIPOS_DADOS}
+ * do leitor, a partir da entidade e da ação da requisição. Quando
+ * <code>entidade</code> e <code>acao</code> aparecem antes de
+ * <code>dados</code> (o caso comum), os dados são convertidos enquanto são
+ * lidos, sem passar por mapas intermediários; caso contrário, são guardados
+ * como tokens e convertidos ao fim do objeto. Sem a função, ou sem um tipo
+ * definido para a ação, {@code dados} é lido como mapas e listas genéricos.</p>
+ *
+ * <p>Se os dados não puderem ser convertidos para o tipo esperado, a leitura
+ * continua e o erro é guardado em {@link Requisicao#getErroDados()}, para que
+ * o cliente receba uma resposta de erro com o {@code id} da requisição.</p>
+ */
+public class RequisicaoDeserializer extends StdDeserializer<Requisicao<?>> {
+
+    /**
+     * Atributo do leitor com a função que informa o tipo dos dados a partir
+     * da entidade e da ação, do tipo {@code BiFunction<String, String, Class<?>>}.
+     */
+    public static final String TIPOS_DADOS = "requisicao.tiposDados";
+
+    /**
+     * Construtor padrão, utilizado pelo Jackson.
+     */
+    public RequisicaoDeserializer() {
+        super(Requisicao.class);
+    }
+
+    @Override
+    public Requisicao<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (Requisicao<?>) ctxt.handleUnexpectedToken(Requisicao.class, p);
+        }
+
+        @SuppressWarnings("unchecked")
+        BiFunction<String, String, Class<?>> tipos = (BiFunction<String, String, Class<?>>) ctxt.getAttribute(TIPOS_DADOS);
+
+        Requisicao<Object> req = new Requisicao<>();
+        TokenBuffer dadosPendentes = null;
+        for (String campo = p.nextFieldName(); campo != null; campo = p.nextFieldName()) {
+            p.nextToken();
+            switch (campo) {
+                case "id" -> req.setId(lerValor(p, ctxt, Object.class));
+                case "entidade" -> req.setEntidade(lerValor(p, ctxt, String.class));
+                case "acao" -> req.setAcao(lerValor(p, ctxt, String.class));
+                case "dados" -> {
+                    if (tipos == null) {
+                        req.setDados(lerValor(p, ctxt, Object.class));
+                    } else if (req.getEntidade() != null && req.getAcao() != null) {
+                        lerDados(p, ctxt, req, tipos.apply(req.getEntidade(), req.getAcao()));
+                    } else {
+                        dadosPendentes = ctxt.bufferAsCopyOfValue(p);
+                    }
+                }
+                default -> ctxt.handleUnknownProperty(p, this, Requisicao.class, campo);
+            }
+        }
+
+        if (dadosPendentes != null) {
+            try (JsonParser dados = dadosPendentes.asParserOnFirstToken()) {
+                lerDados(dados, ctxt, req, tipos.apply(req.getEntidade(), req.getAcao()));
+            }
+        }
+        return req;
+    }
+
+    /**
+     * Converte os dados para o tipo informado. Em caso de falha na conversão,
+     * avança o leitor até o fim do valor e registra o erro na requisição.
+     */
+    private static void lerDados(JsonParser p, DeserializationContext ctxt, Requisicao<Object> req, Class<?> tipo) throws IOException {
+        if (tipo == null) {
+            req.setDados(lerValor(p, ctxt, Object.class));
+            return;
+        }
+
+        JsonStreamContext contexto = p.getParsingContext();
+        JsonStreamContext pai = p.isExpectedStartObjectToken() || p.isExpectedStartArrayToken() ? contexto.getParent() : contexto;
+        try {
+            req.setDados(lerValor(p, ctxt, tipo));
+        } catch (JsonMappingException e) {
+            while (p.getParsingContext() != pai && p.nextToken() != null) {
+                // descarta o restante do valor
+            }
+            req.setErroDados("Dados inválidos para " + req.getEntidade() + "/" + req.getAcao() + ": " + e.getOriginalMessage());
+        }
+    }
+
+    private static <T> T lerValor(JsonParser p, DeserializationContext ctxt, Class<T> tipo) throws IOException {
+        return p.currentToken() == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, tipo);
+    }
+}
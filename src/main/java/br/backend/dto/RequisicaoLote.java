@@ -0,0 +1,60 @@
+package br.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO que representa o conteúdo do campo {@code dados} de uma requisição
+ * da entidade <code>lote</code>.
+ *
+ * <p>Agrupa várias {@link Requisicao} para execução em uma única ida e volta
+ * ao servidor, dentro de uma mesma transação.</p>
+ *
+ * <pre>
+ * {
+ *   "entidade": "lote",
+ *   "acao": "executar",
+ *   "dados": {
+ *     "modo": "continuar",
+ *     "requisicoes": [
+ *       { "entidade": "produto", "acao": "criar", "dados": { ... } },
+ *       { "entidade": "produto", "acao": "criar", "dados": { ... } }
+ *     ]
+ *   }
+ * }
+ * </pre>
+ */
+public class RequisicaoLote {
+
+    /** Tratamento de falhas: "falhaRapida" ou "continuar"; nulo usa o padrão configurado. */
+    private String modo;
+
+    /** Requisições a serem executadas, na ordem informada. */
+    private List<Requisicao<Object>> requisicoes = new ArrayList<>();
+
+    /**
+     * Construtor padrão, necessário para desserialização JSON.
+     */
+    public RequisicaoLote() {
+    }
+
+    /** @return modo de tratamento de falhas solicitado */
+    public String getModo() {
+        return modo;
+    }
+
+    /** @param modo define o modo de tratamento de falhas */
+    public void setModo(String modo) {
+        this.modo = modo;
+    }
+
+    /** @return requisições do lote */
+    public List<Requisicao<Object>> getRequisicoes() {
+        return requisicoes;
+    }
+
+    /** @param requisicoes define as requisições do lote */
+    public void setRequisicoes(List<Requisicao<Object>> requisicoes) {
+        this.requisicoes = requisicoes;
+    }
+}
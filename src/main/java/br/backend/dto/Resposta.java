@@ -1,5 +1,8 @@
 package br.backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
 /**
  * DTO responsável por representar a resposta enviada pelo servidor
  * ao cliente após o processamento de uma requisição.
@@ -23,10 +26,18 @@ package br.backend.dto;
  * }
  * </pre>
  *
+ * <p>Quando a requisição traz um {@code id}, ele é repetido como primeiro
+ * campo da resposta; caso contrário o campo é omitido.</p>
+ *
  * @param <T> tipo do dado retornado pelo servidor
  */
+@JsonPropertyOrder({"id", "status", "mensagem", "dados"})
 public class Resposta<T> {
 
+    /** Identificador de correlação copiado da requisição, omitido quando ausente. */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Object id;
+
     /** Status da operação ("sucesso", "erro", etc.). */
     private String status;
 
@@ -49,6 +60,22 @@ public class Resposta<T> {
         this.dados = dados;
     }
 
+    /**
+     * Construtor da resposta correlacionada a uma requisição.
+     *
+     * @param id       identificador de correlação da requisição (pode ser nulo)
+     * @param status   estado da operação
+     * @param mensagem mensagem explicativa
+     * @param dados    dados retornados (podem ser nulos)
+     */
+    public Resposta(Object id, String status, String mensagem, T dados) {
+        this(status, mensagem, dados);
+        this.id = id;
+    }
+
+    /** @return identificador de correlação da requisição, ou null */
+    public Object getId() { return id; }
+
     /** @return status da operação */
     public String getStatus() { return status; }
 
@@ -0,0 +1,49 @@
+package br.backend.dto;
+
+import br.backend.modelo.Relatorio;
+
+import java.util.List;
+
+/**
+ * Página do relatório filtrado, com a quantidade de linhas que o banco leu
+ * para produzi-la.
+ *
+ * <pre>
+ * {
+ *   "itens": [ ... ],
+ *   "proximoCursor": null,
+ *   "linhasExaminadas": 412,
+ *   "linhasRetornadas": 200
+ * }
+ * </pre>
+ *
+ * <p>As linhas examinadas somam as leituras de índice e de tabela feitas pelo
+ * banco (contadores <code>Handler_read_*</code> da sessão) na tabela
+ * <code>relatorio</code>, que já traz o nome do produto e dispensa a junção.
+ * Antes de a tabela estar carregada, incluem também a busca do produto de
+ * cada registro. Quando são muito maiores que as retornadas, nenhum índice
+ * atende bem ao filtro usado.</p>
+ */
+public class ResultadoRelatorio extends Pagina<Relatorio> {
+
+    /** Linhas lidas pelo banco na consulta, ou -1 se desconhecido. */
+    private final long linhasExaminadas;
+
+    /**
+     * Construtor completo.
+     *
+     * @param itens            itens da página
+     * @param proximoCursor    cursor da próxima página (pode ser nulo)
+     * @param linhasExaminadas linhas lidas pelo banco na consulta, ou -1 se desconhecido
+     */
+    public ResultadoRelatorio(List<Relatorio> itens, String proximoCursor, long linhasExaminadas) {
+        super(itens, proximoCursor);
+        this.linhasExaminadas = linhasExaminadas;
+    }
+
+    /** @return linhas lidas pelo banco na consulta, ou -1 se desconhecido */
+    public long getLinhasExaminadas() { return linhasExaminadas; }
+
+    /** @return quantidade de itens retornados */
+    public int getLinhasRetornadas() { return getItens().size(); }
+}
@@ -1,7 +1,11 @@
 package br.backend.estrategia;
 
 import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
 
+import java.io.IOException;
 
 /**
  * Interface que representa uma estratégia de execução para uma ação específica.
@@ -11,7 +15,9 @@ import br.backend.dto.Requisicao;
  * promovendo baixo acoplamento e alta extensibilidade.</p>
  *
  * <p>As estratégias recebem uma {@link Requisicao} contendo os dados necessários
- * e devem retornar uma resposta em formato JSON.</p>
+ * e produzem uma {@link Resposta}, que pode ser escrita diretamente na saída do
+ * cliente por {@link #escrever(Requisicao, JsonGenerator)} ou obtida em formato
+ * JSON por {@link #executar(Requisicao)}.</p>
  */
 public interface AcaoEstrategia {
 
@@ -19,7 +25,79 @@ public interface AcaoEstrategia {
      * Executa a ação definida pela estratégia.
      *
      * @param requisicao objeto contendo a ação e os dados enviados pelo cliente
+     * @return resposta representando o resultado da operação
+     */
+    Resposta<?> responder(Requisicao<?> requisicao);
+
+    /**
+     * Tipo para o qual o campo {@code dados} da requisição é convertido já na
+     * leitura do JSON, evitando mapas intermediários.
+     *
+     * @return classe dos dados, ou {@code null} para mantê-los como mapas e listas genéricos
+     */
+    default Class<?> getTipoDados() {
+        return null;
+    }
+
+    /**
+     * Indica se a ação grava alterações pontuais no banco e pode, portanto,
+     * ter o seu <code>commit</code> agrupado com o de outras requisições
+     * simultâneas (ver {@link br.backend.database.AgrupadorTransacoes}).
+     *
+     * @return {@code true} para ações de gravação que podem ser agrupadas
+     */
+    default boolean alteraDados() {
+        return false;
+    }
+
+    /**
+     * Quantidade máxima de comandos SQL que uma execução da ação deve enviar
+     * ao banco, verificada em modo de depuração
+     * ({@link br.backend.database.OrcamentoComandos}). O padrão comporta uma
+     * leitura, ou uma gravação e o registro da sua movimentação.
+     *
+     * @return orçamento de comandos, ou {@link br.backend.database.OrcamentoComandos#SEM_LIMITE}
+     *         para não verificar
+     */
+    default int getOrcamentoComandos() {
+        return 2;
+    }
+
+    /**
+     * Executa a ação e retorna a resposta serializada.
+     *
+     * @param requisicao objeto contendo a ação e os dados enviados pelo cliente
      * @return uma string JSON representando o resultado da operação
      */
-    String executar(Requisicao<?> requisicao);
+    default String executar(Requisicao<?> requisicao) {
+        return JsonUtil.toJson(responder(requisicao));
+    }
+
+    /**
+     * Indica se a resposta desta requisição é transmitida em fluxo por
+     * {@link #escrever(Requisicao, JsonGenerator)}, em vez de montada por
+     * {@link #responder(Requisicao)}.
+     *
+     * @param requisicao objeto contendo a ação e os dados enviados pelo cliente
+     * @return {@code true} se a resposta é transmitida em fluxo
+     */
+    default boolean transmiteEmFluxo(Requisicao<?> requisicao) {
+        return false;
+    }
+
+    /**
+     * Executa a ação escrevendo a resposta diretamente no gerador JSON.
+     *
+     * <p>Por padrão serializa a {@link Resposta} de {@link #responder(Requisicao)}
+     * no gerador, sem montá-la em uma {@link String}; estratégias que produzem
+     * respostas grandes podem sobrescrevê-lo para transmitir os itens à medida
+     * que são lidos.</p>
+     *
+     * @param requisicao objeto contendo a ação e os dados enviados pelo cliente
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    default void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        gerador.writeObject(responder(requisicao));
+    }
 }
@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Categoria;
 import br.backend.servico.CategoriaServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 
 /**
@@ -40,12 +39,28 @@ public class AtualizarCategoriaEstrategia implements AcaoEstrategia {
      * a categoria correspondente ao ID informado.</p>
      *
      * @param requisicao requisição contendo os dados da categoria a ser atualizada
-     * @return JSON contendo uma {@link Resposta} de sucesso e a categoria atualizada
+     * @return resposta contendo uma {@link Resposta} de sucesso e a categoria atualizada
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         Categoria catAtualizacao = Util.fromObject(requisicao.getDados(), Categoria.class);
         Categoria catAtualizada = categoriaServico.atualizarCategoria(catAtualizacao.getId(), catAtualizacao);
-        return JsonUtil.toJson(new Resposta<>("sucesso", "Categoria atualizada", catAtualizada));
+        return new Resposta<>("sucesso", "Categoria atualizada", catAtualizada);
+    }
+
+    /**
+     * @return tipo do categoria enviada na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Categoria.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
     }
 }
@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Categoria;
 import br.backend.servico.CategoriaServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 
 /**
@@ -41,12 +40,28 @@ public class CriarCategoriaEstrategia implements AcaoEstrategia {
      * padronizada com o objeto criado.</p>
      *
      * @param requisicao requisição contendo os dados da categoria a ser criada
-     * @return JSON representando o sucesso da operação e a categoria criada
+     * @return resposta representando o sucesso da operação e a categoria criada
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         Categoria cat = Util.fromObject(requisicao.getDados(), Categoria.class);
         Categoria criada = categoriaServico.inserirCategoria(cat);
-        return JsonUtil.toJson(new Resposta<>("Sucesso", "Categoria criada", criada));
+        return new Resposta<>("Sucesso", "Categoria criada", criada);
+    }
+
+    /**
+     * @return tipo do categoria enviada na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Categoria.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
     }
 }
@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Categoria;
 import br.backend.servico.CategoriaServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 
 /**
@@ -42,19 +41,35 @@ public class DeletarCategoriaEstrategia implements AcaoEstrategia {
      * {@link Resposta} indicando sucesso ou erro.</p>
      *
      * @param requisicao requisição contendo o ID da categoria a ser deletada
-     * @return JSON representando o resultado da operação
+     * @return resposta representando o resultado da operação
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         Categoria cat = Util.fromObject(requisicao.getDados(), Categoria.class);
         Integer id = cat.getId();
 
         boolean excluido = categoriaServico.deletarCategoria(id);
 
         if (excluido) {
-            return JsonUtil.toJson(new Resposta<>("sucesso", "Categoria deletada", null));
+            return new Resposta<>("sucesso", "Categoria deletada", null);
         } else {
-            return JsonUtil.toJson(new Resposta<>("erro", "Categoria não encontrada", null));
+            return new Resposta<>("erro", "Categoria não encontrada", null);
         }
     }
+
+    /**
+     * @return tipo do categoria enviada na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Categoria.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
+    }
 }
@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Categoria;
 import br.backend.servico.CategoriaServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 /**
  * Estratégia responsável por localizar uma categoria pelo seu ID.
@@ -41,10 +40,10 @@ public class EncontrarCategoriaEstrategia implements AcaoEstrategia {
      * realiza a busca e retorna uma {@link Resposta} indicando sucesso ou erro.</p>
      *
      * @param requisicao requisição contendo o ID da categoria a ser buscada
-     * @return JSON representando o resultado da operação
+     * @return resposta representando o resultado da operação
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         // Converte os dados da requisição em Categoria para extrair o ID
         Categoria cat = Util.fromObject(requisicao.getDados(), Categoria.class);
         Integer id = cat.getId();
@@ -52,9 +51,17 @@ public class EncontrarCategoriaEstrategia implements AcaoEstrategia {
         Categoria encontrada = categoriaServico.buscarPorId(id);
 
         if (encontrada != null) {
-            return JsonUtil.toJson(new Resposta<>("sucesso", "Categoria encontrada", encontrada));
+            return new Resposta<>("sucesso", "Categoria encontrada", encontrada);
         } else {
-            return JsonUtil.toJson(new Resposta<>("erro", "Categoria não encontrada", null));
+            return new Resposta<>("erro", "Categoria não encontrada", null);
         }
     }
+
+    /**
+     * @return tipo do categoria enviada na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Categoria.class;
+    }
 }
@@ -4,7 +4,6 @@ import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.servico.CategoriaServico;
-import br.backend.util.JsonUtil;
 
 /**
  * Estratégia responsável por listar todas as categorias cadastradas no sistema.
@@ -38,12 +37,10 @@ public class ListarCategoriaEstrategia implements AcaoEstrategia {
      * do {@link CategoriaServico} e encapsulada em uma {@link Resposta}.</p>
      *
      * @param requisicao requisição recebida (não utilizada nesta estratégia)
-     * @return JSON contendo a lista completa de categorias
+     * @return resposta contendo a lista completa de categorias
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
-        return JsonUtil.toJson(
-                new Resposta<>("sucesso", "Lista de categorias", categoriaServico.listarCategorias())
-        );
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        return new Resposta<>("sucesso", "Lista de categorias", categoriaServico.listarCategorias());
     }
 }
@@ -0,0 +1,59 @@
+package br.backend.estrategia.lote;
+
+import br.backend.database.OrcamentoComandos;
+import br.backend.dto.Requisicao;
+import br.backend.dto.RequisicaoLote;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.servico.LoteServico;
+import br.backend.util.Util;
+
+
+/**
+ * Estratégia responsável por executar um lote de requisições.
+ *
+ * <p>É utilizada quando o controlador de lotes recebe a ação <b>"executar"</b>.
+ * Os dados da {@link Requisicao} são convertidos para {@link RequisicaoLote}
+ * e executados pelo {@link LoteServico} em uma única transação.</p>
+ */
+public class ExecutarLoteEstrategia implements AcaoEstrategia {
+
+    private final LoteServico loteServico;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param loteServico serviço responsável pela execução dos lotes
+     */
+    public ExecutarLoteEstrategia(LoteServico loteServico) {
+        this.loteServico = loteServico;
+    }
+
+    /**
+     * Executa o lote recebido.
+     *
+     * @param requisicao requisição contendo o modo e a lista de requisições do lote
+     * @return resposta com o resumo do lote e a resposta de cada requisição
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        RequisicaoLote lote = Util.fromObject(requisicao.getDados(), RequisicaoLote.class);
+        return loteServico.executar(lote);
+    }
+
+    /**
+     * @return tipo do lote enviado na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return RequisicaoLote.class;
+    }
+
+    /**
+     * @return sem limite: cada requisição do lote é verificada pela sua própria rota
+     */
+    @Override
+    public int getOrcamentoComandos() {
+        return OrcamentoComandos.SEM_LIMITE;
+    }
+}
@@ -3,7 +3,6 @@ package br.backend.estrategia.produto;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Produto;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 import br.backend.dto.Resposta;
 import br.backend.dto.Requisicao;
@@ -41,12 +40,28 @@ public class AtualizarProdutoEstrategia implements AcaoEstrategia{
      * ao serviço a responsabilidade de atualizar o produto no banco de dados.</p>
      *
      * @param requisicao requisição contendo os dados do produto a ser atualizado
-     * @return JSON contendo a resposta de sucesso e o produto atualizado
+     * @return resposta contendo a resposta de sucesso e o produto atualizado
      */
       @Override
-   public String executar(Requisicao<?> requisicao) {
+   public Resposta<?> responder(Requisicao<?> requisicao) {
         Produto produtoAtualizacao = Util.fromObject(requisicao.getDados(), Produto.class);
         Produto produtoAtualizado = produtoServico.atualizarProduto(produtoAtualizacao.getId(), produtoAtualizacao);
-        return JsonUtil.toJson(new Resposta<>("sucesso", "Produto atualizado", produtoAtualizado));
+        return new Resposta<>("sucesso", "Produto atualizado", produtoAtualizado);
     }
-}
\ No newline at end of file
+
+    /**
+     * @return tipo do produto enviado na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Produto.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
+    }
+}
@@ -1,24 +1,27 @@
 package br.backend.estrategia.produto;
 
+import br.backend.database.OrcamentoComandos;
+import br.backend.dto.ParametrosReajuste;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
+import br.backend.modelo.enums.SituacaoReajuste;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
-import br.backend.util.Util;
+import br.backend.servico.ProgressoReajuste;
 
 /**
- * Estratégia responsável por aumentar o preço de todos os produtos com base
+ * Estratégia responsável por aumentar o preço dos produtos ativos com base
  * em um percentual fornecido.
  *
  * <p>Faz parte da implementação do padrão <b>Strategy</b> e é acionada pelo
  * controlador quando a ação <b>"aumentar"</b> é solicitada.</p>
  *
- * <p>O percentual recebido na {@link Requisicao} é convertido para {@link Double}
- * e passado ao {@link ProdutoServico}, que executa o ajuste de preços.</p>
- *
- * <p>Retorna uma resposta padronizada em formato JSON, indicando o sucesso
- * da operação.</p>
+ * <p>Os dados da {@link Requisicao} trazem o percentual, sozinho ou em um
+ * objeto com o alcance do reajuste ({@link ParametrosReajuste}). O
+ * {@link ProdutoServico} grava o reajuste em lotes curtos, em segundo plano,
+ * e a resposta traz o andamento inicial ({@link ProgressoReajuste}), que pode
+ * ser acompanhado pela ação <b>"reajustes"</b>. Dentro de um lote
+ * transacional, o reajuste é concluído antes da resposta.</p>
  */
 public class AumentarPrecoProdutoEstrategia implements AcaoEstrategia {
 
@@ -34,19 +37,24 @@ public class AumentarPrecoProdutoEstrategia implements AcaoEstrategia {
     }
 
     /**
-     * Executa o aumento percentual de preço de todos os produtos.
-     *
-     * <p>O método extrai da requisição um valor {@link Double} que representa
-     * o percentual de aumento, delega a operação ao {@link ProdutoServico}
-     * e retorna uma resposta JSON informando o sucesso da ação.</p>
+     * Inicia o reajuste em segundo plano ou, dentro de uma transação, executa-o.
      *
-     * @param requisicao requisição contendo o percentual de aumento
-     * @return JSON com a resposta da operação
+     * @param requisicao requisição contendo o percentual e o alcance do reajuste
+     * @return resposta com o andamento do reajuste
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        ProgressoReajuste progresso = produtoServico.reajustarPrecos(ParametrosReajuste.de(requisicao.getDados()), true);
+        String mensagem = progresso.getSituacao() == SituacaoReajuste.CONCLUIDO ? "Preços aumentados com sucesso" : "Aumento de preços iniciado";
+        return new Resposta<>("sucesso", mensagem, progresso);
+    }
+
+    /**
+     * @return sem limite: dentro de uma transação, o reajuste grava todos os
+     *         lotes na própria requisição
      */
     @Override
-     public String executar(Requisicao<?> requisicao) {
-        Double percentual = Util.fromObject(requisicao.getDados(), Double.class);
-        produtoServico.aumentarValorProduto(percentual);
-        return JsonUtil.toJson(new Resposta<>("sucesso", "Preços aumentados com sucesso", null));
+    public int getOrcamentoComandos() {
+        return OrcamentoComandos.SEM_LIMITE;
     }
 }
@@ -0,0 +1,55 @@
+package br.backend.estrategia.produto;
+
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.servico.ProdutoServico;
+import br.backend.servico.ProgressoReajuste;
+import br.backend.util.Util;
+
+/**
+ * Estratégia responsável por consultar o andamento dos reajustes de preços
+ * iniciados pelas ações <b>"aumentar"</b> e <b>"diminuir"</b>.
+ *
+ * <p>Faz parte da implementação do padrão <b>Strategy</b> e é acionada quando
+ * o controlador recebe a ação <b>"reajustes"</b> para produtos.</p>
+ *
+ * <p>Com o ID de um reajuste no campo {@code dados}, retorna o
+ * {@link ProgressoReajuste} correspondente; sem dados, retorna os reajustes em
+ * curso e os últimos terminados.</p>
+ */
+public class ConsultarReajusteEstrategia implements AcaoEstrategia {
+
+    private final ProdutoServico produtoServico;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param produtoServico serviço responsável pelos reajustes de preços
+     */
+    public ConsultarReajusteEstrategia(ProdutoServico produtoServico) {
+        this.produtoServico = produtoServico;
+    }
+
+    /**
+     * Consulta um reajuste pelo ID ou lista os recentes.
+     *
+     * @param requisicao requisição contendo, opcionalmente, o ID do reajuste
+     * @return resposta com o andamento do reajuste ou a lista de reajustes
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        if (requisicao.getDados() == null) {
+            return new Resposta<>("sucesso", "Reajustes de preços", produtoServico.listarReajustes());
+        }
+
+        Long id = Util.fromObject(requisicao.getDados(), Long.class);
+        ProgressoReajuste progresso = produtoServico.consultarReajuste(id);
+
+        if (progresso != null) {
+            return new Resposta<>("sucesso", "Reajuste encontrado", progresso);
+        } else {
+            return new Resposta<>("erro", "Reajuste não encontrado", null);
+        }
+    }
+}
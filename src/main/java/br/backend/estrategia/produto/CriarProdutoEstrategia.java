@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Produto;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 
 
@@ -40,12 +39,28 @@ public class CriarProdutoEstrategia implements AcaoEstrategia {
      * produto recém-criado.</p>
      *
      * @param requisicao requisição contendo os dados do produto a ser criado
-     * @return JSON representando o sucesso da operação e o produto criado
+     * @return resposta representando o sucesso da operação e o produto criado
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         Produto pro = Util.fromObject(requisicao.getDados(), Produto.class);
         Produto criado = produtoServico.inserirProduto(pro);
-        return JsonUtil.toJson(new Resposta<>("Sucesso", "Produto criado", criado));
+        return new Resposta<>("Sucesso", "Produto criado", criado);
+    }
+
+    /**
+     * @return tipo do produto enviado na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Produto.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
     }
 }
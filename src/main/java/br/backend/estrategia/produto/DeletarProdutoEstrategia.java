@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Produto;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 
 /**
@@ -43,19 +42,44 @@ public class DeletarProdutoEstrategia implements AcaoEstrategia {
      * indicando sucesso ou erro.</p>
      *
      * @param requisicao requisição contendo o ID do produto a ser excluído
-     * @return JSON representando o resultado da operação
+     * @return resposta representando o resultado da operação
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         Produto pro = Util.fromObject(requisicao.getDados(), Produto.class);
         Integer id = pro.getId();
 
         boolean excluido = produtoServico.deletarProduto(id);
 
         if (excluido) {
-            return JsonUtil.toJson(new Resposta<>("sucesso", "Produto deletado", null));
+            return new Resposta<>("sucesso", "Produto deletado", null);
         } else {
-            return JsonUtil.toJson(new Resposta<>("erro", "Produto não encontrado", null));
+            return new Resposta<>("erro", "Produto não encontrado", null);
         }
     }
+
+    /**
+     * @return tipo do produto enviado na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Produto.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
+    }
+
+    /**
+     * @return 3: a busca da quantidade em estoque, quando não atendida pelo
+     *         cache, a exclusão e o registro da saída
+     */
+    @Override
+    public int getOrcamentoComandos() {
+        return 3;
+    }
 }
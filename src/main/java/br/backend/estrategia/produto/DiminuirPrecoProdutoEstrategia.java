@@ -4,25 +4,28 @@
  */
 package br.backend.estrategia.produto;
 
+import br.backend.database.OrcamentoComandos;
+import br.backend.dto.ParametrosReajuste;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
+import br.backend.modelo.enums.SituacaoReajuste;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
-import br.backend.util.Util;
+import br.backend.servico.ProgressoReajuste;
 
 /**
- * Estratégia responsável por reduzir o preço de todos os produtos com base
+ * Estratégia responsável por reduzir o preço dos produtos ativos com base
  * em um percentual informado.
  *
  * <p>Faz parte da implementação do padrão <b>Strategy</b> e é executada quando
  * o controlador recebe a ação <b>"diminuir"</b> para produtos.</p>
  *
- * <p>O percentual recebido na {@link Requisicao} é convertido para {@link Double}
- * e passado ao {@link ProdutoServico}, que aplica a diminuição do valor em todos
- * os produtos cadastrados.</p>
- *
- * <p>A resposta JSON indica o sucesso da operação.</p>
+ * <p>Os dados da {@link Requisicao} trazem o percentual, sozinho ou em um
+ * objeto com o alcance do reajuste ({@link ParametrosReajuste}). O
+ * {@link ProdutoServico} grava o reajuste em lotes curtos, em segundo plano,
+ * e a resposta traz o andamento inicial ({@link ProgressoReajuste}), que pode
+ * ser acompanhado pela ação <b>"reajustes"</b>. Dentro de um lote
+ * transacional, o reajuste é concluído antes da resposta.</p>
  */
 public class DiminuirPrecoProdutoEstrategia implements AcaoEstrategia {
 
@@ -38,19 +41,24 @@ public class DiminuirPrecoProdutoEstrategia implements AcaoEstrategia {
     }
 
     /**
-     * Executa a redução percentual do preço de todos os produtos.
-     *
-     * <p>Converte o valor recebido na requisição para {@link Double}, delega a
-     * operação ao {@link ProdutoServico} e retorna uma {@link Resposta} em JSON
-     * informando o sucesso da atualização.</p>
+     * Inicia o reajuste em segundo plano ou, dentro de uma transação, executa-o.
      *
-     * @param requisicao requisição contendo o percentual de diminuição de preço
-     * @return JSON com a resposta da operação
+     * @param requisicao requisição contendo o percentual e o alcance do reajuste
+     * @return resposta com o andamento do reajuste
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        ProgressoReajuste progresso = produtoServico.reajustarPrecos(ParametrosReajuste.de(requisicao.getDados()), false);
+        String mensagem = progresso.getSituacao() == SituacaoReajuste.CONCLUIDO ? "Preços diminuídos com sucesso" : "Redução de preços iniciada";
+        return new Resposta<>("sucesso", mensagem, progresso);
+    }
+
+    /**
+     * @return sem limite: dentro de uma transação, o reajuste grava todos os
+     *         lotes na própria requisição
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
-        Double percentual = Util.fromObject(requisicao.getDados(), Double.class);
-        produtoServico.diminuirValorProduto(percentual);
-        return JsonUtil.toJson(new Resposta<>("sucesso", "Produto atualizado", null));
+    public int getOrcamentoComandos() {
+        return OrcamentoComandos.SEM_LIMITE;
     }
 }
@@ -5,7 +5,6 @@ import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.modelo.Produto;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
 import br.backend.util.Util;
 
 /**
@@ -41,10 +40,10 @@ public class EncontrarProdutoEstrategia implements AcaoEstrategia {
      * a busca e retorna uma {@link Resposta} em JSON indicando sucesso ou erro.</p>
      *
      * @param requisicao requisição contendo o ID do produto a ser encontrado
-     * @return JSON representando o resultado da operação
+     * @return resposta representando o resultado da operação
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         // Converte os dados da requisição em Categoria para extrair o ID
         Produto pro = Util.fromObject(requisicao.getDados(), Produto.class);
         Integer id = pro.getId();
@@ -52,9 +51,17 @@ public class EncontrarProdutoEstrategia implements AcaoEstrategia {
         Produto encontrado = produtoServico.buscarPorId(id);
 
         if (encontrado != null) {
-            return JsonUtil.toJson(new Resposta<>("sucesso", "Produto encontrado", encontrado));
+            return new Resposta<>("sucesso", "Produto encontrado", encontrado);
         } else {
-            return JsonUtil.toJson(new Resposta<>("erro", "Produto não encontrado", null));
+            return new Resposta<>("erro", "Produto não encontrado", null);
         }
     }
+
+    /**
+     * @return tipo do produto enviado na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Produto.class;
+    }
 }
@@ -1,10 +1,14 @@
 package br.backend.estrategia.produto;
 
+import br.backend.dto.ParametrosListagem;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.servico.ProdutoServico;
-import br.backend.util.JsonUtil;
+import br.backend.util.RespostaEmFluxo;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
 
 /**
  * Estratégia responsável por listar todos os produtos cadastrados no sistema.
@@ -12,11 +16,9 @@ import br.backend.util.JsonUtil;
  * <p>Faz parte da implementação do padrão <b>Strategy</b> e é acionada quando
  * o controlador recebe a ação <b>"listar"</b> para produtos.</p>
  *
- * <p>Esta estratégia não utiliza dados da {@link Requisicao}, servindo apenas
- * como um disparo para recuperação de todos os produtos através do
- * {@link ProdutoServico}.</p>
- *
- * <p>O resultado é retornado em formato JSON contendo a lista completa de produtos.</p>
+ * <p>Sem dados na {@link Requisicao}, retorna a lista completa de produtos
+ * obtida através do {@link ProdutoServico}. Os {@link ParametrosListagem}
+ * permitem paginar por cursor ou transmitir todos os produtos em fluxo.</p>
  */
 public class ListarProdutoEstrategia implements AcaoEstrategia {
 
@@ -32,18 +34,56 @@ public class ListarProdutoEstrategia implements AcaoEstrategia {
     }
 
     /**
-     * Executa a operação de listagem de todos os produtos.
+     * Executa a operação de listagem dos produtos.
+     *
+     * <p>Se a requisição solicitar uma página, retorna uma {@link br.backend.dto.Pagina};
+     * caso contrário a lista completa é obtida por meio do {@link ProdutoServico}
+     * e encapsulada em uma {@link Resposta}, inclusive quando o fluxo é
+     * solicitado fora do servidor (ex.: dentro de um lote).</p>
+     *
+     * @param requisicao requisição recebida, com {@link ParametrosListagem} opcionais
+     * @return resposta contendo a lista ou a página de produtos
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        ParametrosListagem parametros = ParametrosListagem.de(requisicao.getDados());
+        if (parametros.paginado()) {
+            return new Resposta<>("sucesso", "Página de produtos",
+                    produtoServico.listarPagina(parametros.getCursor(), parametros.tamanhoPaginaLimitado()));
+        }
+        return new Resposta<>("sucesso", "Lista de produtos", produtoServico.listarProdutos());
+    }
+
+    /**
+     * Indica se a requisição solicitou a transmissão em fluxo. Parâmetros
+     * inválidos resultam em {@code false}, para que o erro seja informado por
+     * {@link #responder(Requisicao)}.
      *
-     * <p>A requisição não necessita de dados adicionais. A lista é obtida por meio
-     * do {@link ProdutoServico} e encapsulada em uma {@link Resposta}.</p>
+     * @param requisicao requisição recebida
+     * @return {@code true} se o fluxo foi solicitado
+     */
+    @Override
+    public boolean transmiteEmFluxo(Requisicao<?> requisicao) {
+        try {
+            return ParametrosListagem.de(requisicao.getDados()).isFluxo();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Transmite os produtos à medida que são lidos quando o fluxo é solicitado.
      *
-     * @param requisicao requisição recebida (não utilizada nesta estratégia)
-     * @return JSON contendo a lista de produtos
+     * @param requisicao requisição recebida, com {@link ParametrosListagem} opcionais
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
-        return JsonUtil.toJson(
-                new Resposta<>("sucesso", "Lista de produtos", produtoServico.listarProdutos())
-        );
+    public void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        if (!transmiteEmFluxo(requisicao)) {
+            AcaoEstrategia.super.escrever(requisicao, gerador);
+            return;
+        }
+        RespostaEmFluxo.escrever(gerador, "Lista de produtos", produtoServico::percorrerProdutos);
     }
 }
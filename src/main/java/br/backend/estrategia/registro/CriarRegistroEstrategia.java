@@ -5,7 +5,7 @@ import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.modelo.Registro;
 import br.backend.servico.RegistroServico;
-import br.backend.util.JsonUtil;
+import br.backend.util.Util;
 
 /**
  * Estratégia responsável por criar um novo registro no sistema.
@@ -13,9 +13,9 @@ import br.backend.util.JsonUtil;
  * <p>Faz parte da implementação do padrão <b>Strategy</b> e é acionada quando
  * o controlador recebe a ação <b>"criar"</b> para registros.</p>
  *
- * <p>Os dados recebidos na {@link Requisicao} são convertidos para JSON
- * e, em seguida, desserializados para um objeto {@link Registro}, que é então
- * persistido via {@link RegistroServico}.</p>
+ * <p>Os dados recebidos na {@link Requisicao} já chegam convertidos para
+ * {@link Registro} (ver {@link #getTipoDados()}) e são persistidos via
+ * {@link RegistroServico}.</p>
  *
  * <p>Em caso de sucesso, retorna uma resposta JSON com o registro criado.
  * Em caso de erro, retorna uma resposta padronizada contendo a mensagem
@@ -37,24 +37,38 @@ public class CriarRegistroEstrategia implements AcaoEstrategia {
     /**
      * Executa a criação de um novo registro.
      *
-     * <p>Converte os dados da requisição utilizando utilitários JSON, delega a
-     * persistência ao {@link RegistroServico} e encapsula o resultado em uma
+     * <p>Obtém o registro dos dados da requisição, delega a persistência ao {@link RegistroServico} e encapsula o resultado em uma
      * {@link Resposta}.</p>
      *
      * @param requisicao requisição contendo os dados do registro a ser criado
-     * @return JSON representando o sucesso ou erro da operação
+     * @return resposta representando o sucesso ou erro da operação
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
+    public Resposta<?> responder(Requisicao<?> requisicao) {
         try {
-            String dadosJson = JsonUtil.toJson(requisicao.getDados());
-            Registro registro = JsonUtil.fromJson(dadosJson, Registro.class);
+            Registro registro = Util.fromObject(requisicao.getDados(), Registro.class);
             
             registroServico.inserirRegistro(registro);
-            return JsonUtil.toJson(new Resposta<>("sucesso", "Registro criado com sucesso", registro));
+            return new Resposta<>("sucesso", "Registro criado com sucesso", registro);
         } catch (Exception e) {
             e.printStackTrace();
-            return JsonUtil.toJson(new Resposta<>("erro", "Erro ao criar registro: " + e.getMessage(), null));
+            return new Resposta<>("erro", "Erro ao criar registro: " + e.getMessage(), null);
         }
     }
+
+    /**
+     * @return tipo do registro enviado na requisição
+     */
+    @Override
+    public Class<?> getTipoDados() {
+        return Registro.class;
+    }
+
+    /**
+     * @return {@code true}: a gravação pode ter o commit agrupado
+     */
+    @Override
+    public boolean alteraDados() {
+        return true;
+    }
 }
\ No newline at end of file
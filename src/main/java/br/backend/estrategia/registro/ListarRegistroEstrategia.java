@@ -1,10 +1,14 @@
 package br.backend.estrategia.registro;
 
+import br.backend.dto.ParametrosListagem;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.servico.RegistroServico;
-import br.backend.util.JsonUtil;
+import br.backend.util.RespostaEmFluxo;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
 
 /**
  * Estratégia responsável por listar todos os registros cadastrados no sistema.
@@ -12,12 +16,10 @@ import br.backend.util.JsonUtil;
  * <p>Integra o padrão <b>Strategy</b> utilizado pelos controladores, sendo
  * acionada quando a ação <b>"listar"</b> é solicitada para registros.</p>
  *
- * <p>Esta estratégia não depende de dados adicionais contidos na
- * {@link Requisicao}, servindo apenas para recuperar todos os registros
- * existentes por meio do {@link RegistroServico}.</p>
- *
- * <p>O resultado é retornado como um JSON contendo uma lista de registros e uma
- * mensagem de sucesso.</p>
+ * <p>Sem dados na {@link Requisicao}, recupera todos os registros existentes
+ * por meio do {@link RegistroServico}. Os {@link ParametrosListagem} permitem
+ * paginar por cursor ou transmitir todos os registros em fluxo, sem carregar
+ * a tabela inteira na memória.</p>
  */
 public class ListarRegistroEstrategia implements AcaoEstrategia {
 
@@ -35,18 +37,55 @@ public class ListarRegistroEstrategia implements AcaoEstrategia {
 
 
     /**
-     * Executa a listagem de todos os registros.
+     * Executa a listagem dos registros.
+     *
+     * <p>Se a requisição solicitar uma página, retorna uma {@link br.backend.dto.Pagina};
+     * caso contrário delega a recuperação de todos os registros ao
+     * {@link RegistroServico} e encapsula o resultado em uma {@link Resposta}.</p>
+     *
+     * @param requisicao requisição recebida, com {@link ParametrosListagem} opcionais
+     * @return resposta contendo a lista ou a página de registros
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        ParametrosListagem parametros = ParametrosListagem.de(requisicao.getDados());
+        if (parametros.paginado()) {
+            return new Resposta<>("sucesso", "Página de registros",
+                    registroServico.listarPagina(parametros.getCursor(), parametros.tamanhoPaginaLimitado()));
+        }
+        return new Resposta<>("sucesso", "Lista de registros", registroServico.listarRegistros());
+    }
+
+    /**
+     * Indica se a requisição solicitou a transmissão em fluxo. Parâmetros
+     * inválidos resultam em {@code false}, para que o erro seja informado por
+     * {@link #responder(Requisicao)}.
      *
-     * <p>Não utiliza dados da requisição. Apenas delega a recuperação dos registros
-     * ao {@link RegistroServico} e encapsula o resultado em uma {@link Resposta}.</p>
+     * @param requisicao requisição recebida
+     * @return {@code true} se o fluxo foi solicitado
+     */
+    @Override
+    public boolean transmiteEmFluxo(Requisicao<?> requisicao) {
+        try {
+            return ParametrosListagem.de(requisicao.getDados()).isFluxo();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Transmite os registros à medida que são lidos quando o fluxo é solicitado.
      *
-     * @param requisicao requisição recebida (não utilizada nesta operação)
-     * @return JSON contendo a lista de registros
+     * @param requisicao requisição recebida, com {@link ParametrosListagem} opcionais
+     * @param gerador    gerador JSON ligado à saída do cliente
+     * @throws IOException caso ocorra erro ao escrever a resposta
      */
     @Override
-    public String executar(Requisicao<?> requisicao) {
-        return JsonUtil.toJson(
-                new Resposta<>("sucesso", "Lista de registros", registroServico.listarRegistros())
-        );
+    public void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        if (!transmiteEmFluxo(requisicao)) {
+            AcaoEstrategia.super.escrever(requisicao, gerador);
+            return;
+        }
+        RespostaEmFluxo.escrever(gerador, "Lista de registros", registroServico::percorrerRegistros);
     }
 }
@@ -0,0 +1,48 @@
+package br.backend.estrategia.relatorio;
+
+import br.backend.dto.FiltroRelatorio;
+import br.backend.dto.ParametrosAgregacao;
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.servico.RelatorioServico;
+
+/**
+ * Estratégia responsável por calcular os totais do relatório.
+ *
+ * <p>Faz parte da implementação do padrão <b>Strategy</b> e é acionada quando
+ * o controlador recebe a ação <b>"agregar"</b> para relatórios.</p>
+ *
+ * <p>Os dados da {@link Requisicao} trazem as dimensões do agrupamento
+ * ({@link ParametrosAgregacao}) e os mesmos filtros da listagem
+ * ({@link FiltroRelatorio}); o limite e o cursor são ignorados. A resposta
+ * contém um total por grupo, com a quantidade de registros e a soma das
+ * quantidades movimentadas.</p>
+ */
+public class AgregarRelatorioEstrategia implements AcaoEstrategia {
+
+    private final RelatorioServico relatorioServico;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param relatorioServico serviço responsável pelas operações de relatório
+     */
+    public AgregarRelatorioEstrategia(RelatorioServico relatorioServico) {
+        this.relatorioServico = relatorioServico;
+    }
+
+    /**
+     * Calcula os totais conforme o agrupamento e os filtros da requisição.
+     *
+     * @param requisicao requisição contendo o agrupamento e os filtros
+     * @return resposta com a lista de totais
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        FiltroRelatorio filtro = FiltroRelatorio.de(requisicao.getDados());
+        ParametrosAgregacao agregacao = ParametrosAgregacao.de(requisicao.getDados());
+        return new Resposta<>("sucesso", "Totais do relatório",
+                relatorioServico.agregar(filtro, agregacao.dimensoes(), agregacao.fuso()));
+    }
+}
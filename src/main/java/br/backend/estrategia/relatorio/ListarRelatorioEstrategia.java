@@ -1,10 +1,14 @@
 package br.backend.estrategia.relatorio;
 
+import br.backend.dto.FiltroRelatorio;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
 import br.backend.estrategia.AcaoEstrategia;
 import br.backend.servico.RelatorioServico;
-import br.backend.util.JsonUtil;
+import br.backend.util.RespostaEmFluxo;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
 
 public class ListarRelatorioEstrategia implements AcaoEstrategia {
 
@@ -15,9 +19,44 @@ public class ListarRelatorioEstrategia implements AcaoEstrategia {
     }
 
     @Override
-    public String executar(Requisicao<?> requisicao) {
-        return JsonUtil.toJson(
-                new Resposta<>("sucesso", "Lista de relatórios", relatorioServico.listarRelatorio())
-        );
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        FiltroRelatorio parametros = FiltroRelatorio.de(requisicao.getDados());
+        if (parametros.filtrado()) {
+            return new Resposta<>("sucesso", "Relatório filtrado", relatorioServico.listarFiltrado(parametros));
+        }
+        if (parametros.paginado()) {
+            return new Resposta<>("sucesso", "Página de relatórios",
+                    relatorioServico.listarPagina(parametros.getCursor(), parametros.tamanhoPaginaLimitado()));
+        }
+        return new Resposta<>("sucesso", "Lista de relatórios", relatorioServico.listarRelatorio());
+    }
+
+    @Override
+    public boolean transmiteEmFluxo(Requisicao<?> requisicao) {
+        try {
+            // A listagem filtrada é sempre paginada, para informar as linhas examinadas
+            FiltroRelatorio parametros = FiltroRelatorio.de(requisicao.getDados());
+            return parametros.isFluxo() && !parametros.filtrado();
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public void escrever(Requisicao<?> requisicao, JsonGenerator gerador) throws IOException {
+        if (!transmiteEmFluxo(requisicao)) {
+            AcaoEstrategia.super.escrever(requisicao, gerador);
+            return;
+        }
+        RespostaEmFluxo.escrever(gerador, "Lista de relatórios", relatorioServico::percorrerRelatorio);
+    }
+
+    /**
+     * @return 3: com filtros, a consulta e a leitura dos contadores da sessão
+     *         antes e depois dela
+     */
+    @Override
+    public int getOrcamentoComandos() {
+        return 3;
     }
 }
@@ -0,0 +1,40 @@
+package br.backend.estrategia.relatorio;
+
+import br.backend.dto.Requisicao;
+import br.backend.dto.Resposta;
+import br.backend.estrategia.AcaoEstrategia;
+import br.backend.servico.RelatorioServico;
+
+/**
+ * Estratégia responsável por reconstruir o relatório materializado a partir
+ * dos registros.
+ *
+ * <p>Faz parte da implementação do padrão <b>Strategy</b> e é acionada quando
+ * o controlador recebe a ação <b>"reconstruir"</b> para relatórios. Serve para
+ * recuperação, por exemplo depois de alterações feitas diretamente na tabela
+ * <code>registro</code>; no uso normal, o relatório é mantido a cada gravação.</p>
+ */
+public class ReconstruirRelatorioEstrategia implements AcaoEstrategia {
+
+    private final RelatorioServico relatorioServico;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param relatorioServico serviço responsável pelas operações de relatório
+     */
+    public ReconstruirRelatorioEstrategia(RelatorioServico relatorioServico) {
+        this.relatorioServico = relatorioServico;
+    }
+
+    /**
+     * Reconstrói o relatório e retorna o resumo da reconstrução.
+     *
+     * @param requisicao requisição da ação, sem dados
+     * @return resposta com as faixas, os itens gravados e a duração
+     */
+    @Override
+    public Resposta<?> responder(Requisicao<?> requisicao) {
+        return new Resposta<>("sucesso", "Relatório reconstruído", relatorioServico.reconstruir());
+    }
+}
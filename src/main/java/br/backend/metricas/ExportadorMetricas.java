@@ -0,0 +1,84 @@
+package br.backend.metricas;
+
+import br.backend.util.JsonUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grava periodicamente as métricas do {@link RegistroMetricas} em um arquivo.
+ *
+ * <p>A cada intervalo é acrescentada ao arquivo uma linha JSON com o instante
+ * da gravação e as métricas apenas daquele intervalo (contagens, erros e
+ * percentis das execuções finalizadas desde a linha anterior):</p>
+ * <pre>
+ * {"instante":"...","intervaloMs":60000,"requisicoes":{"produto/encontrar":{...}},"banco":{...},"sql":{...}}
+ * </pre>
+ *
+ * <p>A gravação ocorre em uma thread própria e falhas são apenas relatadas,
+ * sem interromper as gravações seguintes.</p>
+ */
+public class ExportadorMetricas implements AutoCloseable {
+
+    private final RegistroMetricas metricas;
+    private final Path arquivo;
+    private final long intervaloMs;
+    private final ScheduledExecutorService agendador;
+    private RetratoMetricas anterior;
+
+    /**
+     * Inicia as gravações periódicas.
+     *
+     * @param metricas    registro cujas métricas são gravadas
+     * @param arquivo     arquivo ao qual as linhas são acrescentadas
+     * @param intervaloMs intervalo entre gravações
+     */
+    public ExportadorMetricas(RegistroMetricas metricas, Path arquivo, long intervaloMs) {
+        this.metricas = metricas;
+        this.arquivo = arquivo;
+        this.intervaloMs = intervaloMs;
+        this.anterior = metricas.retrato();
+        this.agendador = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("metricas-exportacao").daemon().factory());
+        this.agendador.scheduleAtFixedRate(this::exportar, intervaloMs, intervaloMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Acrescenta ao arquivo as métricas do intervalo desde a última gravação.
+     */
+    synchronized void exportar() {
+        try {
+            RetratoMetricas atual = metricas.retrato();
+            RetratoMetricas intervalo = atual.desde(anterior);
+            anterior = atual;
+
+            Map<String, Object> linha = new LinkedHashMap<>();
+            linha.put("instante", Instant.now().toString());
+            linha.put("intervaloMs", intervaloMs);
+            linha.put("requisicoes", intervalo.getRequisicoes());
+            linha.put("banco", intervalo.getBanco());
+            linha.put("sql", intervalo.getSql());
+            Files.writeString(arquivo, JsonUtil.toJson(linha) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (Exception e) {
+            System.err.println("Erro ao gravar métricas em " + arquivo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encerra as gravações periódicas, gravando o intervalo em andamento.
+     */
+    @Override
+    public void close() {
+        agendador.shutdownNow();
+        exportar();
+    }
+}
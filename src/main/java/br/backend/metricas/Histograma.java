@@ -0,0 +1,81 @@
+package br.backend.metricas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências sem trava, no estilo do HdrHistogram.
+ *
+ * <p>Os valores, em nanossegundos, são distribuídos em faixas log-lineares:
+ * cada potência de dois é dividida em {@value #SUBFAIXAS} faixas de mesma
+ * largura, o que mantém o erro relativo abaixo de 1% em toda a escala. Valores
+ * acima de 2<sup>40</sup> ns (cerca de 18 minutos) caem na última faixa.</p>
+ *
+ * <p>{@link #registrar(long)} apenas incrementa contadores atômicos e não
+ * aloca memória, podendo ser chamado por várias threads no caminho das
+ * requisições. A leitura é feita por {@link #retrato()}, que copia as
+ * contagens sem bloquear os registros em andamento.</p>
+ */
+public class Histograma {
+
+    /** Bits de precisão de cada potência de dois. */
+    private static final int PRECISAO = 7;
+
+    /** Quantidade de faixas em cada potência de dois. */
+    static final int SUBFAIXAS = 1 << PRECISAO;
+
+    /** Maior valor distinguível; valores maiores são contados na última faixa. */
+    private static final long VALOR_MAXIMO = (1L << 40) - 1;
+
+    /** Quantidade total de faixas. */
+    static final int FAIXAS = indice(VALOR_MAXIMO) + 1;
+
+    private final AtomicLongArray contagens = new AtomicLongArray(FAIXAS);
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra um valor.
+     *
+     * @param nanos valor em nanossegundos; negativos são tratados como zero
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        contagens.incrementAndGet(indice(Math.min(valor, VALOR_MAXIMO)));
+        soma.add(valor);
+        long atual = maximo.get();
+        while (valor > atual && !maximo.compareAndSet(atual, valor)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * @return cópia das contagens atuais, com percentis calculados
+     */
+    public RetratoHistograma retrato() {
+        long[] copia = new long[FAIXAS];
+        for (int i = 0; i < FAIXAS; i++) {
+            copia[i] = contagens.get(i);
+        }
+        return new RetratoHistograma(copia, soma.sum(), maximo.get());
+    }
+
+    /**
+     * Faixa do valor: linear abaixo de 2 × {@value #SUBFAIXAS} e, acima disso,
+     * {@value #SUBFAIXAS} faixas por potência de dois.
+     */
+    static int indice(long valor) {
+        int expoente = Math.max(0, 63 - Long.numberOfLeadingZeros(valor) - PRECISAO);
+        return (expoente << PRECISAO) + (int) (valor >>> expoente);
+    }
+
+    /**
+     * @return maior valor contado na faixa informada
+     */
+    static long limiteSuperior(int indice) {
+        int expoente = Math.max(0, (indice >> PRECISAO) - 1);
+        long inicio = (long) (indice - (expoente << PRECISAO)) << expoente;
+        return inicio + (1L << expoente) - 1;
+    }
+}
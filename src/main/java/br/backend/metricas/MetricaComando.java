@@ -0,0 +1,37 @@
+package br.backend.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricaOperacao} de um comando SQL, que acumula também as linhas
+ * lidas ou alteradas pelas execuções.
+ */
+public class MetricaComando extends MetricaOperacao {
+
+    private final LongAdder linhas = new LongAdder();
+
+    /**
+     * Marca o fim de uma execução do comando.
+     *
+     * @param inicio  valor retornado por {@link #iniciar()}
+     * @param sucesso {@code false} para contar a execução como erro
+     * @param linhas  linhas lidas ou alteradas, ou -1 se desconhecido
+     * @return duração da execução em nanossegundos
+     */
+    public long finalizar(long inicio, boolean sucesso, long linhas) {
+        long duracao = System.nanoTime() - inicio;
+        registrar(duracao, sucesso);
+        if (linhas > 0) {
+            this.linhas.add(linhas);
+        }
+        return duracao;
+    }
+
+    /**
+     * @return cópia dos contadores atuais
+     */
+    @Override
+    public RetratoComando retrato() {
+        return new RetratoComando(super.retrato(), linhas.sum());
+    }
+}
@@ -0,0 +1,70 @@
+package br.backend.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de uma operação: execuções em andamento, erros e o
+ * {@link Histograma} de latências.
+ *
+ * <p>Usada em volta de cada execução:</p>
+ * <pre>
+ * long inicio = metrica.iniciar();
+ * boolean sucesso = false;
+ * try {
+ *     ...
+ *     sucesso = true;
+ * } finally {
+ *     metrica.finalizar(inicio, sucesso);
+ * }
+ * </pre>
+ *
+ * <p>Os dois métodos apenas atualizam contadores atômicos e não alocam
+ * memória.</p>
+ */
+public class MetricaOperacao {
+
+    private final Histograma latencia = new Histograma();
+    private final LongAdder erros = new LongAdder();
+    private final LongAdder emAndamento = new LongAdder();
+
+    /**
+     * Marca o início de uma execução.
+     *
+     * @return instante de início, a ser informado em {@link #finalizar(long, boolean)}
+     */
+    public long iniciar() {
+        emAndamento.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marca o fim de uma execução, registrando sua latência.
+     *
+     * @param inicio  valor retornado por {@link #iniciar()}
+     * @param sucesso {@code false} para contar a execução como erro
+     */
+    public void finalizar(long inicio, boolean sucesso) {
+        registrar(System.nanoTime() - inicio, sucesso);
+    }
+
+    /**
+     * Registra uma execução já finalizada.
+     *
+     * @param duracaoNanos duração da execução
+     * @param sucesso      {@code false} para contar a execução como erro
+     */
+    protected void registrar(long duracaoNanos, boolean sucesso) {
+        latencia.registrar(duracaoNanos);
+        emAndamento.decrement();
+        if (!sucesso) {
+            erros.increment();
+        }
+    }
+
+    /**
+     * @return cópia dos contadores atuais
+     */
+    public RetratoOperacao retrato() {
+        return new RetratoOperacao(latencia.retrato(), erros.sum(), emAndamento.sum());
+    }
+}
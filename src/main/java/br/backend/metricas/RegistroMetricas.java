@@ -0,0 +1,72 @@
+package br.backend.metricas;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro central das métricas da aplicação.
+ *
+ * <p>Mantém uma {@link MetricaOperacao} para cada par (entidade, ação)
+ * atendido pelo servidor e para cada método de DAO que acessa o banco de
+ * dados, além de uma {@link MetricaComando} para cada comando SQL executado
+ * nas conexões do {@code Database}. As métricas são obtidas uma única vez, na montagem das rotas e dos
+ * DAOs, e guardadas por quem as registra; assim o caminho das requisições
+ * não faz buscas nem aloca memória.</p>
+ */
+public class RegistroMetricas {
+
+    private final Map<String, MetricaOperacao> requisicoes = new ConcurrentHashMap<>();
+    private final Map<String, MetricaOperacao> banco = new ConcurrentHashMap<>();
+    private final Map<String, MetricaComando> comandos = new ConcurrentHashMap<>();
+
+    /**
+     * Obtém, criando se necessário, a métrica das requisições de uma ação.
+     *
+     * @param entidade nome da entidade
+     * @param acao     nome da ação
+     * @return métrica identificada por <code>entidade/acao</code>
+     */
+    public MetricaOperacao requisicao(String entidade, String acao) {
+        return requisicoes.computeIfAbsent(entidade + "/" + acao, chave -> new MetricaOperacao());
+    }
+
+    /**
+     * Obtém, criando se necessário, a métrica de um método de DAO.
+     *
+     * @param dao    nome do DAO
+     * @param metodo nome do método
+     * @return métrica identificada por <code>dao.metodo</code>
+     */
+    public MetricaOperacao banco(String dao, String metodo) {
+        return banco.computeIfAbsent(dao + "." + metodo, chave -> new MetricaOperacao());
+    }
+
+    /**
+     * Obtém, criando se necessário, a métrica de um comando SQL.
+     *
+     * @param sql texto do comando, com os espaços normalizados
+     * @return métrica identificada pelo próprio texto do comando
+     */
+    public MetricaComando comando(String sql) {
+        return comandos.computeIfAbsent(sql, chave -> new MetricaComando());
+    }
+
+    /**
+     * @return retrato de todas as métricas que já tiveram alguma execução
+     */
+    public RetratoMetricas retrato() {
+        return new RetratoMetricas(retratar(requisicoes), retratar(banco), retratar(comandos));
+    }
+
+    private static Map<String, RetratoOperacao> retratar(Map<String, ? extends MetricaOperacao> metricas) {
+        Map<String, RetratoOperacao> retratos = new TreeMap<>();
+        metricas.forEach((nome, metrica) -> {
+            RetratoOperacao retrato = metrica.retrato();
+            if (retrato.getContagem() > 0 || retrato.getEmAndamento() > 0) {
+                retratos.put(nome, retrato);
+            }
+        });
+        return retratos;
+    }
+}
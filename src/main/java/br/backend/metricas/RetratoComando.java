@@ -0,0 +1,32 @@
+package br.backend.metricas;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Retrato de uma {@link MetricaComando} em um instante.
+ */
+@JsonPropertyOrder({"contagem", "erros", "emAndamento", "linhas", "latencia"})
+public class RetratoComando extends RetratoOperacao {
+
+    private final long linhas;
+
+    RetratoComando(RetratoOperacao operacao, long linhas) {
+        super(operacao.getLatencia(), operacao.getErros(), operacao.getEmAndamento());
+        this.linhas = linhas;
+    }
+
+    /**
+     * Diferença entre este retrato e um anterior do mesmo comando.
+     *
+     * @param anterior retrato obtido antes deste
+     * @return retrato apenas do intervalo
+     */
+    @Override
+    public RetratoComando desde(RetratoOperacao anterior) {
+        long linhasAnteriores = anterior instanceof RetratoComando comando ? comando.linhas : 0;
+        return new RetratoComando(super.desde(anterior), linhas - linhasAnteriores);
+    }
+
+    /** @return linhas lidas ou alteradas pelas execuções finalizadas */
+    public long getLinhas() { return linhas; }
+}
@@ -0,0 +1,90 @@
+package br.backend.metricas;
+
+/**
+ * Retrato de um {@link Histograma} em um instante, com contagem, média e
+ * percentis em milissegundos.
+ *
+ * <p>Os percentis correspondem ao maior valor da faixa em que caem, como no
+ * HdrHistogram; o erro relativo é inferior a 1%.</p>
+ */
+public class RetratoHistograma {
+
+    private final long[] contagens;
+    private final long contagem;
+    private final long soma;
+    private final long maximo;
+
+    /**
+     * @param contagens contagem de cada faixa do histograma
+     * @param soma      soma dos valores registrados, em nanossegundos
+     * @param maximo    maior valor registrado, em nanossegundos
+     */
+    RetratoHistograma(long[] contagens, long soma, long maximo) {
+        this.contagens = contagens;
+        this.soma = soma;
+        this.maximo = maximo;
+        long total = 0;
+        for (long c : contagens) {
+            total += c;
+        }
+        this.contagem = total;
+    }
+
+    /**
+     * Diferença entre este retrato e um anterior do mesmo histograma, com os
+     * valores registrados no intervalo. O máximo continua sendo o acumulado.
+     *
+     * @param anterior retrato obtido antes deste
+     * @return retrato apenas do intervalo
+     */
+    public RetratoHistograma desde(RetratoHistograma anterior) {
+        long[] diferenca = new long[contagens.length];
+        for (int i = 0; i < contagens.length; i++) {
+            diferenca[i] = contagens[i] - anterior.contagens[i];
+        }
+        return new RetratoHistograma(diferenca, soma - anterior.soma, maximo);
+    }
+
+    /**
+     * @param percentil percentil desejado, de 0 a 100
+     * @return valor do percentil em nanossegundos, ou 0 se não houver registros
+     */
+    public long percentilNanos(double percentil) {
+        if (contagem == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(percentil / 100.0 * contagem));
+        long acumulado = 0;
+        for (int i = 0; i < contagens.length; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= alvo) {
+                return Math.min(Histograma.limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    /** @return quantidade de valores registrados */
+    public long getContagem() { return contagem; }
+
+    /** @return soma dos valores registrados em milissegundos */
+    public double getTotalMs() { return soma / 1e6; }
+
+    /** @return média em milissegundos */
+    public double getMediaMs() { return contagem == 0 ? 0 : soma / 1e6 / contagem; }
+
+    /** @return mediana em milissegundos */
+    public double getP50Ms() { return percentilNanos(50) / 1e6; }
+
+    /** @return percentil 90 em milissegundos */
+    public double getP90Ms() { return percentilNanos(90) / 1e6; }
+
+    /** @return percentil 99 em milissegundos */
+    public double getP99Ms() { return percentilNanos(99) / 1e6; }
+
+    /** @return percentil 99,9 em milissegundos */
+    public double getP999Ms() { return percentilNanos(99.9) / 1e6; }
+
+    /** @return maior valor registrado em milissegundos */
+    public double getMaximoMs() { return maximo / 1e6; }
+}
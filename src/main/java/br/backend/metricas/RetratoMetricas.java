@@ -0,0 +1,55 @@
+package br.backend.metricas;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Retrato do {@link RegistroMetricas} em um instante, com as operações
+ * ordenadas pelo nome.
+ */
+public class RetratoMetricas {
+
+    private final Map<String, RetratoOperacao> requisicoes;
+    private final Map<String, RetratoOperacao> banco;
+    private final Map<String, RetratoOperacao> sql;
+
+    RetratoMetricas(Map<String, RetratoOperacao> requisicoes, Map<String, RetratoOperacao> banco,
+                    Map<String, RetratoOperacao> sql) {
+        this.requisicoes = requisicoes;
+        this.banco = banco;
+        this.sql = sql;
+    }
+
+    /**
+     * Diferença entre este retrato e um anterior, mantendo apenas as
+     * operações executadas no intervalo.
+     *
+     * @param anterior retrato obtido antes deste
+     * @return retrato apenas do intervalo
+     */
+    public RetratoMetricas desde(RetratoMetricas anterior) {
+        return new RetratoMetricas(diferenca(requisicoes, anterior.requisicoes), diferenca(banco, anterior.banco),
+                diferenca(sql, anterior.sql));
+    }
+
+    private static Map<String, RetratoOperacao> diferenca(Map<String, RetratoOperacao> atuais, Map<String, RetratoOperacao> anteriores) {
+        Map<String, RetratoOperacao> diferenca = new TreeMap<>();
+        atuais.forEach((nome, atual) -> {
+            RetratoOperacao anterior = anteriores.get(nome);
+            RetratoOperacao intervalo = anterior == null ? atual : atual.desde(anterior);
+            if (intervalo.getContagem() > 0 || intervalo.getEmAndamento() > 0) {
+                diferenca.put(nome, intervalo);
+            }
+        });
+        return diferenca;
+    }
+
+    /** @return métricas das requisições, por <code>entidade/acao</code> */
+    public Map<String, RetratoOperacao> getRequisicoes() { return requisicoes; }
+
+    /** @return métricas dos acessos ao banco, por <code>dao.metodo</code> */
+    public Map<String, RetratoOperacao> getBanco() { return banco; }
+
+    /** @return métricas dos comandos SQL, pelo texto do comando */
+    public Map<String, RetratoOperacao> getSql() { return sql; }
+}
@@ -0,0 +1,43 @@
+package br.backend.metricas;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Retrato de uma {@link MetricaOperacao} em um instante.
+ */
+@JsonPropertyOrder({"contagem", "erros", "emAndamento", "latencia"})
+public class RetratoOperacao {
+
+    private final RetratoHistograma latencia;
+    private final long erros;
+    private final long emAndamento;
+
+    RetratoOperacao(RetratoHistograma latencia, long erros, long emAndamento) {
+        this.latencia = latencia;
+        this.erros = erros;
+        this.emAndamento = emAndamento;
+    }
+
+    /**
+     * Diferença entre este retrato e um anterior da mesma operação. A
+     * quantidade em andamento é a atual.
+     *
+     * @param anterior retrato obtido antes deste
+     * @return retrato apenas do intervalo
+     */
+    public RetratoOperacao desde(RetratoOperacao anterior) {
+        return new RetratoOperacao(latencia.desde(anterior.latencia), erros - anterior.erros, emAndamento);
+    }
+
+    /** @return quantidade de execuções finalizadas */
+    public long getContagem() { return latencia.getContagem(); }
+
+    /** @return quantidade de execuções finalizadas com erro */
+    public long getErros() { return erros; }
+
+    /** @return quantidade de execuções em andamento */
+    public long getEmAndamento() { return emAndamento; }
+
+    /** @return latências das execuções finalizadas */
+    public RetratoHistograma getLatencia() { return latencia; }
+}
@@ -0,0 +1,64 @@
+package br.backend.metricas.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma chamada a um método de DAO que acessa o banco de dados.
+ */
+@Name("br.backend.Banco")
+@Label("Acesso ao banco")
+@Category({"Sistema de Cadastro", "Banco de dados"})
+@Description("Chamada a um método de DAO JDBC")
+@StackTrace(false)
+public class EventoBanco extends Event {
+
+    @Label("DAO")
+    private String dao;
+
+    @Label("Método")
+    private String metodo;
+
+    @Label("Linhas")
+    @Description("Linhas lidas ou gravadas; -1 quando o método não informa")
+    private int linhas;
+
+    @Label("Sucesso")
+    private boolean sucesso;
+
+    /**
+     * Preenche os campos do evento.
+     *
+     * @param dao     nome do DAO
+     * @param metodo  nome do método
+     * @param linhas  linhas lidas ou gravadas, ou -1 se desconhecido
+     * @param sucesso {@code false} se o método lançou exceção
+     */
+    public void preencher(String dao, String metodo, int linhas, boolean sucesso) {
+        this.dao = dao;
+        this.metodo = metodo;
+        this.linhas = linhas;
+        this.sucesso = sucesso;
+    }
+
+    /**
+     * Encerra o evento iniciado com {@link #begin()} e o grava, se a gravação
+     * em andamento o aceitar.
+     *
+     * @param dao     nome do DAO
+     * @param metodo  nome do método
+     * @param linhas  linhas lidas ou gravadas, ou -1 se desconhecido
+     * @param sucesso {@code false} se o método lançou exceção
+     */
+    public void concluir(String dao, String metodo, int linhas, boolean sucesso) {
+        end();
+        if (shouldCommit()) {
+            preencher(dao, metodo, linhas, sucesso);
+            commit();
+        }
+    }
+}
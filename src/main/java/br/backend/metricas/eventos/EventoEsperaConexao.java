@@ -0,0 +1,45 @@
+package br.backend.metricas.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR do empréstimo de uma conexão do pool, incluindo a espera por uma
+ * vaga e a validação ou abertura da conexão.
+ */
+@Name("br.backend.EsperaConexao")
+@Label("Espera por conexão")
+@Category({"Sistema de Cadastro", "Banco de dados"})
+@Description("Empréstimo de uma conexão do pool")
+@StackTrace(false)
+public class EventoEsperaConexao extends Event {
+
+    @Label("Conexões em uso")
+    @Description("Conexões emprestadas após o empréstimo")
+    private int emUso;
+
+    @Label("Nova conexão")
+    @Description("Verdadeiro se uma conexão física precisou ser aberta")
+    private boolean novaConexao;
+
+    @Label("Obtida")
+    @Description("Falso se o tempo de espera esgotou ou a conexão falhou")
+    private boolean obtida;
+
+    /**
+     * Preenche os campos do evento.
+     *
+     * @param emUso       conexões emprestadas após o empréstimo
+     * @param novaConexao se uma conexão física foi aberta
+     * @param obtida      {@code false} se o empréstimo falhou
+     */
+    public void preencher(int emUso, boolean novaConexao, boolean obtida) {
+        this.emUso = emUso;
+        this.novaConexao = novaConexao;
+        this.obtida = obtida;
+    }
+}
@@ -0,0 +1,54 @@
+package br.backend.metricas.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR da execução da estratégia de uma ação (ou do controlador, nas
+ * ações sem estratégia). Nas respostas transmitidas em fluxo, inclui a
+ * escrita da resposta.
+ */
+@Name("br.backend.Estrategia")
+@Label("Estratégia")
+@Category({"Sistema de Cadastro", "Servidor"})
+@Description("Execução da estratégia que atende uma ação")
+@StackTrace(false)
+public class EventoEstrategia extends Event {
+
+    @Label("Entidade")
+    private String entidade;
+
+    @Label("Ação")
+    private String acao;
+
+    @Label("Classe")
+    private Class<?> classe;
+
+    @Label("Em fluxo")
+    @Description("Verdadeiro se a resposta foi transmitida em fluxo durante a execução")
+    private boolean fluxo;
+
+    @Label("Sucesso")
+    private boolean sucesso;
+
+    /**
+     * Preenche os campos do evento.
+     *
+     * @param entidade entidade da rota
+     * @param acao     ação da rota
+     * @param classe   classe da estratégia ou do controlador executado
+     * @param fluxo    se a resposta foi transmitida em fluxo
+     * @param sucesso  {@code false} se a execução resultou em erro
+     */
+    public void preencher(String entidade, String acao, Class<?> classe, boolean fluxo, boolean sucesso) {
+        this.entidade = entidade;
+        this.acao = acao;
+        this.classe = classe;
+        this.fluxo = fluxo;
+        this.sucesso = sucesso;
+    }
+}
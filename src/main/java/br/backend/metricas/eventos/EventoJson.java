@@ -0,0 +1,54 @@
+package br.backend.metricas.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma conversão entre JSON e objetos.
+ */
+@Name("br.backend.Json")
+@Label("Conversão JSON")
+@Category({"Sistema de Cadastro", "JSON"})
+@Description("Leitura ou escrita de JSON")
+@StackTrace(false)
+public class EventoJson extends Event {
+
+    /** Leitura de uma requisição recebida pelo servidor. */
+    public static final String LER_REQUISICAO = "lerRequisicao";
+
+    /** Escrita de uma resposta na saída do cliente. */
+    public static final String ESCREVER_RESPOSTA = "escreverResposta";
+
+    /** Conversão de objeto para texto JSON. */
+    public static final String TO_JSON = "toJson";
+
+    /** Conversão de texto JSON para objeto. */
+    public static final String FROM_JSON = "fromJson";
+
+    @Label("Operação")
+    private String operacao;
+
+    @Label("Tipo")
+    private Class<?> tipo;
+
+    @Label("Tamanho")
+    @Description("Caracteres do texto JSON; -1 quando escrito diretamente na saída")
+    private long tamanho;
+
+    /**
+     * Preenche os campos do evento.
+     *
+     * @param operacao operação realizada
+     * @param tipo     tipo do objeto lido ou escrito
+     * @param tamanho  caracteres do texto JSON, ou -1 se desconhecido
+     */
+    public void preencher(String operacao, Class<?> tipo, long tamanho) {
+        this.operacao = operacao;
+        this.tipo = tipo;
+        this.tamanho = tamanho;
+    }
+}
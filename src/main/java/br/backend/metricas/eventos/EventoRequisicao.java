@@ -0,0 +1,50 @@
+package br.backend.metricas.eventos;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma requisição atendida pelo servidor, da leitura do JSON à
+ * escrita da resposta.
+ *
+ * <p>As etapas aparecem como eventos aninhados na mesma thread:
+ * {@link EventoJson} (leitura e escrita), {@link EventoEstrategia},
+ * {@link EventoBanco} e {@link EventoEsperaConexao}.</p>
+ */
+@Name(EventoRequisicao.NOME)
+@Label("Requisição")
+@Category({"Sistema de Cadastro", "Servidor"})
+@Description("Requisição recebida pelo servidor, da leitura à escrita da resposta")
+@StackTrace(false)
+public class EventoRequisicao extends Event {
+
+    /** Nome do evento nas gravações. */
+    public static final String NOME = "br.backend.Requisicao";
+
+    @Label("Entidade")
+    private String entidade;
+
+    @Label("Ação")
+    private String acao;
+
+    @Label("Sucesso")
+    @Description("Falso se a resposta teve status erro")
+    private boolean sucesso;
+
+    /**
+     * Preenche os campos do evento.
+     *
+     * @param entidade entidade da requisição
+     * @param acao     ação da requisição
+     * @param sucesso  {@code false} se a resposta teve status erro
+     */
+    public void preencher(String entidade, String acao, boolean sucesso) {
+        this.entidade = entidade;
+        this.acao = acao;
+        this.sucesso = sucesso;
+    }
+}
@@ -0,0 +1,117 @@
+package br.backend.metricas.eventos;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Gravação JFR contínua, descarregada em arquivo quando uma requisição
+ * demora mais que o limite configurado.
+ *
+ * <p>Mantém uma gravação com a configuração <code>default</code> do JDK e os
+ * eventos da aplicação, guardando apenas os últimos <code>idadeMaxima</code>.
+ * Um {@link RecordingStream} acompanha os {@link EventoRequisicao}; ao
+ * encontrar um acima do limite, grava o conteúdo da gravação em
+ * <code>diretorio/requisicao-lenta-&lt;instante&gt;.jfr</code>, que pode ser
+ * aberto no JDK Mission Control. Para não gerar um arquivo por requisição
+ * durante um pico, novos arquivos só são gravados após
+ * <code>intervaloMinimo</code>.</p>
+ *
+ * <p>O acompanhamento ocorre em uma thread própria, fora do caminho das
+ * requisições; o arquivo é gravado cerca de um segundo após a requisição
+ * lenta, e inclui os eventos anteriores e posteriores a ela.</p>
+ */
+public class GravacaoContinua implements AutoCloseable {
+
+    private static final DateTimeFormatter FORMATO_ARQUIVO = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /** Eventos da aplicação incluídos na gravação. */
+    private static final List<Class<? extends Event>> EVENTOS = List.of(
+            EventoRequisicao.class, EventoEstrategia.class, EventoBanco.class, EventoJson.class, EventoEsperaConexao.class);
+
+    private final Path diretorio;
+    private final Duration limite;
+    private final long intervaloMinimoNanos;
+    private final Recording gravacao;
+    private final RecordingStream acompanhamento;
+    private long ultimoArquivo;
+    private boolean gravouArquivo;
+
+    /**
+     * Inicia a gravação e o acompanhamento das requisições.
+     *
+     * @param diretorio       diretório onde os arquivos são gravados
+     * @param limite          duração a partir da qual uma requisição é considerada lenta
+     * @param idadeMaxima     quanto tempo de eventos é mantido na gravação
+     * @param intervaloMinimo intervalo mínimo entre dois arquivos
+     * @throws RuntimeException caso a gravação não possa ser iniciada
+     */
+    public GravacaoContinua(Path diretorio, Duration limite, Duration idadeMaxima, Duration intervaloMinimo) {
+        this.diretorio = diretorio;
+        this.limite = limite;
+        this.intervaloMinimoNanos = intervaloMinimo.toNanos();
+        try {
+            Files.createDirectories(diretorio);
+            gravacao = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new RuntimeException("Erro ao iniciar gravação JFR: " + e.getMessage(), e);
+        }
+        gravacao.setName("sistema-cadastro");
+        gravacao.setToDisk(true);
+        gravacao.setMaxAge(idadeMaxima);
+        for (Class<? extends Event> evento : EVENTOS) {
+            gravacao.enable(evento).withoutStackTrace();
+        }
+        gravacao.start();
+
+        acompanhamento = new RecordingStream();
+        acompanhamento.enable(EventoRequisicao.NOME).withThreshold(limite);
+        acompanhamento.onEvent(EventoRequisicao.NOME, this::verificar);
+        acompanhamento.startAsync();
+    }
+
+    /**
+     * Grava um arquivo se a requisição passou do limite e o intervalo mínimo
+     * desde o último arquivo já se esgotou.
+     */
+    private void verificar(RecordedEvent evento) {
+        if (evento.getDuration().compareTo(limite) < 0) {
+            return;
+        }
+        long agora = System.nanoTime();
+        if (gravouArquivo && agora - ultimoArquivo < intervaloMinimoNanos) {
+            return;
+        }
+        gravouArquivo = true;
+        ultimoArquivo = agora;
+
+        Path arquivo = diretorio.resolve("requisicao-lenta-" + LocalDateTime.now().format(FORMATO_ARQUIVO) + ".jfr");
+        try {
+            gravacao.dump(arquivo);
+            System.out.println("Requisição lenta (" + evento.getString("entidade") + "/" + evento.getString("acao") + ", "
+                    + evento.getDuration().toMillis() + " ms): gravação JFR salva em " + arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar gravação JFR em " + arquivo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Encerra o acompanhamento e a gravação, sem gravar arquivo.
+     */
+    @Override
+    public void close() {
+        acompanhamento.close();
+        gravacao.close();
+    }
+}
@@ -0,0 +1,166 @@
+package br.backend.modelo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Representa um total do relatório de movimentações: a quantidade de
+ * registros e a soma das quantidades movimentadas de um grupo.
+ *
+ * <p>Somente os campos das dimensões usadas no agrupamento são preenchidos;
+ * os demais ficam nulos e são omitidos do JSON:</p>
+ *
+ * <pre>
+ * { "produtoId": 42, "nomeProduto": "Feijão", "dia": "2025-01-31",
+ *   "movimentacao": "ENTRADA", "registros": 12, "quantidade": 340 }
+ * </pre>
+ *
+ * <p>Assim como {@link Relatorio}, é utilizado exclusivamente para leitura.</p>
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TotalRelatorio {
+
+    /**
+     * Duração, em segundos, dos intervalos em que o banco agrupa as
+     * movimentações antes da separação por dia. Todos os fusos horários em uso
+     * têm deslocamento múltiplo de 15 minutos, de modo que cada intervalo
+     * pertence a um único dia em qualquer fuso.
+     */
+    public static final int SEGUNDOS_INTERVALO = 900;
+
+    /** ID do produto, no agrupamento por produto. */
+    private Integer produtoId;
+
+    /** Nome do produto, no agrupamento por produto. */
+    private String nomeProduto;
+
+    /** ID da categoria do produto, no agrupamento por categoria. */
+    private Integer categoriaId;
+
+    /** Nome da categoria do produto, no agrupamento por categoria. */
+    private String nomeCategoria;
+
+    /** Dia da movimentação (ISO-8601, ex.: 2025-01-31), no agrupamento por dia. */
+    private String dia;
+
+    /** Tipo da movimentação, no agrupamento por movimentação. */
+    private String movimentacao;
+
+    /** Número do intervalo de {@link #SEGUNDOS_INTERVALO} desde a época, antes da separação por dia. */
+    private Long intervalo;
+
+    /** Quantidade de registros do grupo. */
+    private long registros;
+
+    /** Soma das quantidades movimentadas no grupo. */
+    private long quantidade;
+
+    /**
+     * Construtor padrão necessário para serialização e frameworks.
+     */
+    public TotalRelatorio() {
+    }
+
+    /**
+     * Acrescenta a este total os registros e a quantidade de outro do mesmo grupo.
+     *
+     * @param outro total a ser somado
+     * @return este total
+     */
+    public TotalRelatorio somar(TotalRelatorio outro) {
+        registros += outro.registros;
+        quantidade += outro.quantidade;
+        return this;
+    }
+
+    /** @return ID do produto, ou null se não agrupado por produto */
+    public Integer getProdutoId() {
+        return produtoId;
+    }
+
+    /** @param produtoId define o ID do produto */
+    public void setProdutoId(Integer produtoId) {
+        this.produtoId = produtoId;
+    }
+
+    /** @return nome do produto, ou null se não agrupado por produto */
+    public String getNomeProduto() {
+        return nomeProduto;
+    }
+
+    /** @param nomeProduto define o nome do produto */
+    public void setNomeProduto(String nomeProduto) {
+        this.nomeProduto = nomeProduto;
+    }
+
+    /** @return ID da categoria, ou null se não agrupado por categoria ou sem categoria */
+    public Integer getCategoriaId() {
+        return categoriaId;
+    }
+
+    /** @param categoriaId define o ID da categoria */
+    public void setCategoriaId(Integer categoriaId) {
+        this.categoriaId = categoriaId;
+    }
+
+    /** @return nome da categoria, ou null se não agrupado por categoria ou sem categoria */
+    public String getNomeCategoria() {
+        return nomeCategoria;
+    }
+
+    /** @param nomeCategoria define o nome da categoria */
+    public void setNomeCategoria(String nomeCategoria) {
+        this.nomeCategoria = nomeCategoria;
+    }
+
+    /** @return dia da movimentação, ou null se não agrupado por dia */
+    public String getDia() {
+        return dia;
+    }
+
+    /** @param dia define o dia da movimentação */
+    public void setDia(String dia) {
+        this.dia = dia;
+    }
+
+    /** @return tipo da movimentação, ou null se não agrupado por movimentação */
+    public String getMovimentacao() {
+        return movimentacao;
+    }
+
+    /** @param movimentacao define o tipo da movimentação */
+    public void setMovimentacao(String movimentacao) {
+        this.movimentacao = movimentacao;
+    }
+
+    /** @return número do intervalo desde a época, ou null após a separação por dia */
+    @JsonIgnore
+    public Long getIntervalo() {
+        return intervalo;
+    }
+
+    /** @param intervalo define o número do intervalo desde a época */
+    public void setIntervalo(Long intervalo) {
+        this.intervalo = intervalo;
+    }
+
+    /** @return quantidade de registros do grupo */
+    public long getRegistros() {
+        return registros;
+    }
+
+    /** @param registros define a quantidade de registros do grupo */
+    public void setRegistros(long registros) {
+        this.registros = registros;
+    }
+
+    /** @return soma das quantidades movimentadas no grupo */
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    /** @param quantidade define a soma das quantidades movimentadas */
+    public void setQuantidade(long quantidade) {
+        this.quantidade = quantidade;
+    }
+}
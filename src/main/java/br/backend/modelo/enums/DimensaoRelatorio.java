@@ -0,0 +1,27 @@
+package br.backend.modelo.enums;
+
+/**
+ * Enum que representa os critérios de agrupamento dos totais do relatório.
+ *
+ * <p>Cada dimensão escolhida passa a fazer parte da chave de cada
+ * {@link br.backend.modelo.TotalRelatorio}; as não escolhidas são somadas.</p>
+ */
+public enum DimensaoRelatorio {
+
+    /** Agrupa pelo produto movimentado. */
+    PRODUTO,
+
+    /** Agrupa pela categoria do produto movimentado. */
+    CATEGORIA,
+
+    /**
+     * Agrupa pelo dia da movimentação.
+     *
+     * <p>O dia depende do fuso horário informado na requisição, ou do fuso do
+     * servidor quando omitido.</p>
+     */
+    DIA,
+
+    /** Agrupa pelo tipo da movimentação (ex.: ENTRADA, SAIDA). */
+    MOVIMENTACAO
+}
@@ -0,0 +1,28 @@
+package br.backend.modelo.enums;
+
+/**
+ * Enum que representa as etapas de um reajuste de preços executado em lotes.
+ */
+public enum SituacaoReajuste {
+
+    /** Aguardando o término dos reajustes iniciados antes. */
+    AGUARDANDO,
+
+    /** Em execução; parte dos lotes já pode ter sido gravada. */
+    EXECUTANDO,
+
+    /** Todos os lotes foram gravados. */
+    CONCLUIDO,
+
+    /**
+     * Interrompido por um erro; os lotes anteriores permanecem gravados e o
+     * reajuste pode ser retomado a partir do último ID.
+     */
+    FALHOU,
+
+    /**
+     * Interrompido pelo encerramento do servidor; os lotes anteriores
+     * permanecem gravados e o reajuste pode ser retomado a partir do último ID.
+     */
+    INTERROMPIDO
+}
@@ -11,13 +11,12 @@ public class Principal {
 
         System.out.println("Iniciando api");
         ContextoAplicacao contexto = new ContextoAplicacao();
+        Runtime.getRuntime().addShutdownHook(new Thread(contexto::fechar));
 
         Servidor servidor = new Servidor(
-                3001,
-                contexto.getCategoriaControlador(),
-                contexto.getProdutoControlador(),
-                contexto.getRegistroControlador(),
-                contexto.getRelatorioControlador());
+                contexto.getConfiguracao(),
+                contexto.getRoteador(),
+                contexto.getEstadoControlador());
         servidor.iniciar();
     }
 }
@@ -1,7 +1,6 @@
 package br.backend.servico;
 
 import br.backend.dao.CategoriaDAO;
-import br.backend.dao.impl.CategoriaDAOImpl;
 import br.backend.modelo.Categoria;
 
 import java.util.List;
@@ -27,7 +26,7 @@ public class CategoriaServico {
      *
      * @param categoriaDAO implementação de acesso a dados para categorias
      */
-    public CategoriaServico(CategoriaDAOImpl categoriaDAO) {
+    public CategoriaServico(CategoriaDAO categoriaDAO) {
         this.categoriaDAO = categoriaDAO;
     }
 
@@ -47,13 +46,20 @@ public class CategoriaServico {
     /**
      * Atualiza os dados de uma categoria existente.
      *
+     * <p>Um único <code>UPDATE</code> grava os dados e indica se a categoria
+     * existe; a categoria retornada é a própria informada, com o ID.</p>
+     *
      * @param id            ID da categoria a ser atualizada
      * @param novaCategoria objeto contendo os novos dados
-     * @return a categoria atualizada, conforme registrada no banco
+     * @return a categoria atualizada
+     * @throws RuntimeException caso a categoria não exista
      */
     public Categoria atualizarCategoria(Integer id, Categoria novaCategoria) {
-        categoriaDAO.atualizarCategoria(id, novaCategoria); // atualiza
-        return categoriaDAO.buscarPorId(id); // retorna o objeto atualizado
+        if (!categoriaDAO.atualizarCategoria(id, novaCategoria)) {
+            throw new RuntimeException("Categoria com ID " + id + " não encontrada.");
+        }
+        novaCategoria.setId(id);
+        return novaCategoria;
     }
 
     /**
@@ -78,18 +84,14 @@ public class CategoriaServico {
     /**
      * Remove logicamente (soft delete) uma categoria, caso ela exista.
      *
-     * <p>Se a categoria não for encontrada, o método retorna {@code false}.
-     * Caso contrário, executa o soft delete e retorna {@code true}.</p>
+     * <p>O soft delete só altera categorias ainda ativas, e o resultado do
+     * próprio <code>UPDATE</code> indica se a categoria existia, sem consulta
+     * prévia.</p>
      *
      * @param id identificador da categoria a ser deletada
      * @return {@code true} se a categoria foi deletada; {@code false} se não existir
      */
     public boolean deletarCategoria(Integer id) {
-        Categoria existente = categoriaDAO.buscarPorId(id);
-        if (existente == null) {
-            return false;
-        }
-        categoriaDAO.deletarPorId(id);
-        return true;
+        return categoriaDAO.deletarPorId(id);
     }
 }
@@ -0,0 +1,287 @@
+package br.backend.servico;
+
+import br.backend.database.Database;
+import br.backend.dto.Requisicao;
+import br.backend.dto.RequisicaoLote;
+import br.backend.dto.Resposta;
+import br.backend.modelo.Produto;
+import br.backend.modelo.Registro;
+import br.backend.util.Util;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Serviço responsável por executar um lote de requisições em uma única
+ * transação.
+ *
+ * <p>Sequências consecutivas de requisições que admitem gravação em lote
+ * (<code>produto/criar</code> e <code>registro/criar</code>) são agrupadas e
+ * persistidas com lotes JDBC; as demais são encaminhadas individualmente ao
+ * controlador da entidade por meio do despachante informado.</p>
+ *
+ * <p>Uma requisição é considerada com falha quando sua resposta tem status
+ * <code>erro</code>. Conforme o {@link ModoLote}, a falha interrompe e desfaz
+ * todo o lote ou desfaz apenas aquela requisição, com o uso de savepoints.
+ * Se um grupo gravado em lote falhar, suas requisições são refeitas uma a uma
+ * para identificar exatamente quais falharam.</p>
+ */
+public class LoteServico {
+
+    private static final ObjectMapper mapper = new ObjectMapper();
+
+    private final Database database;
+    private final ProdutoServico produtoServico;
+    private final RegistroServico registroServico;
+    private final Function<Requisicao<?>, Resposta<?>> despachante;
+    private final ModoLote modoPadrao;
+    private final int tamanhoMaximo;
+
+    /**
+     * Construtor padrão.
+     *
+     * @param database        banco utilizado para controlar a transação do lote
+     * @param produtoServico  serviço usado na criação de produtos em lote
+     * @param registroServico serviço usado na criação de registros em lote
+     * @param despachante     função que executa uma requisição avulsa no controlador da entidade
+     * @param modoPadrao      modo utilizado quando o lote não informa um
+     * @param tamanhoMaximo   quantidade máxima de requisições aceitas em um lote
+     */
+    public LoteServico(Database database, ProdutoServico produtoServico, RegistroServico registroServico,
+                       Function<Requisicao<?>, Resposta<?>> despachante, ModoLote modoPadrao, int tamanhoMaximo) {
+        this.database = database;
+        this.produtoServico = produtoServico;
+        this.registroServico = registroServico;
+        this.despachante = despachante;
+        this.modoPadrao = modoPadrao;
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /**
+     * Executa todas as requisições do lote.
+     *
+     * <p>O campo {@code dados} da resposta contém uma resposta para cada
+     * requisição, na mesma ordem. No modo {@link ModoLote#FALHA_RAPIDA}, se
+     * alguma falhar, as anteriores são marcadas como <code>desfeito</code> e
+     * as seguintes como <code>ignorado</code>.</p>
+     *
+     * @param lote requisições e modo de execução
+     * @return resposta com o resumo da execução e as respostas individuais
+     */
+    public Resposta<List<JsonNode>> executar(RequisicaoLote lote) {
+        ModoLote modo = ModoLote.de(lote.getModo(), modoPadrao);
+        List<Requisicao<Object>> itens = lote.getRequisicoes() == null ? List.of() : lote.getRequisicoes();
+        if (itens.size() > tamanhoMaximo) {
+            return new Resposta<>("erro", "Lote excede o limite de " + tamanhoMaximo + " requisições", null);
+        }
+
+        JsonNode[] respostas = new JsonNode[itens.size()];
+        try {
+            database.emTransacao(() -> {
+                executarItens(itens, respostas, modo);
+                return null;
+            });
+        } catch (FalhaLote falha) {
+            return respostaInterrompida(itens, respostas, falha.indice);
+        }
+
+        long erros = Arrays.stream(respostas).filter(LoteServico::falhou).count();
+        return new Resposta<>("sucesso",
+                "Lote executado: " + (respostas.length - erros) + " sucesso(s), " + erros + " erro(s)",
+                Arrays.asList(respostas));
+    }
+
+    /**
+     * Percorre as requisições agrupando as sequências que admitem gravação em lote.
+     */
+    private void executarItens(List<Requisicao<Object>> itens, JsonNode[] respostas, ModoLote modo) {
+        int inicio = 0;
+        while (inicio < itens.size()) {
+            String chave = chaveGrupo(itens.get(inicio));
+            int fim = inicio + 1;
+            if (chave != null) {
+                while (fim < itens.size() && chave.equals(chaveGrupo(itens.get(fim)))) {
+                    fim++;
+                }
+            }
+
+            if (fim - inicio > 1 && executarGrupo(chave, itens, inicio, fim, respostas)) {
+                inicio = fim;
+                continue;
+            }
+            for (int i = inicio; i < fim; i++) {
+                executarItem(itens.get(i), i, respostas, modo);
+            }
+            inicio = fim;
+        }
+    }
+
+    /**
+     * Identifica as requisições que podem ser gravadas em lote JDBC.
+     *
+     * @return chave do grupo ou {@code null} se a requisição deve ser executada avulsa
+     */
+    private static String chaveGrupo(Requisicao<?> req) {
+        if (req.getEntidade() == null || req.getAcao() == null || !req.getAcao().equalsIgnoreCase("criar")) {
+            return null;
+        }
+        String entidade = req.getEntidade().toLowerCase();
+        return entidade.equals("produto") || entidade.equals("registro") ? entidade : null;
+    }
+
+    /**
+     * Grava um grupo de criações com lote JDBC dentro de um savepoint.
+     *
+     * @return {@code false} se o grupo falhou e foi desfeito, indicando que as
+     *         requisições devem ser refeitas individualmente
+     */
+    private boolean executarGrupo(String chave, List<Requisicao<Object>> itens, int inicio, int fim, JsonNode[] respostas) {
+        List<Requisicao<Object>> grupo = itens.subList(inicio, fim);
+        try {
+            List<Resposta<?>> resultado = database.emSavepoint(() -> switch (chave) {
+                case "produto" -> criarProdutos(grupo);
+                case "registro" -> criarRegistros(grupo);
+                default -> throw new IllegalStateException("Grupo desconhecido: " + chave);
+            });
+            for (int i = 0; i < resultado.size(); i++) {
+                respostas[inicio + i] = mapper.valueToTree(resultado.get(i));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cria os produtos do grupo com um único lote de inserções.
+     */
+    private List<Resposta<?>> criarProdutos(List<Requisicao<Object>> grupo) {
+        List<Produto> produtos = new ArrayList<>(grupo.size());
+        for (Requisicao<Object> req : grupo) {
+            produtos.add(Util.fromObject(req.getDados(), Produto.class));
+        }
+        produtoServico.inserirProdutos(produtos);
+
+        List<Resposta<?>> respostas = new ArrayList<>(grupo.size());
+        for (int i = 0; i < grupo.size(); i++) {
+            respostas.add(new Resposta<>(grupo.get(i).getId(), "Sucesso", "Produto criado", produtos.get(i)));
+        }
+        return respostas;
+    }
+
+    /**
+     * Cria os registros do grupo com um único lote de inserções.
+     */
+    private List<Resposta<?>> criarRegistros(List<Requisicao<Object>> grupo) {
+        List<Registro> registros = new ArrayList<>(grupo.size());
+        for (Requisicao<Object> req : grupo) {
+            registros.add(Util.fromObject(req.getDados(), Registro.class));
+        }
+        registroServico.inserirRegistros(registros);
+
+        List<Resposta<?>> respostas = new ArrayList<>(grupo.size());
+        for (int i = 0; i < grupo.size(); i++) {
+            respostas.add(new Resposta<>(grupo.get(i).getId(), "sucesso", "Registro criado com sucesso", registros.get(i)));
+        }
+        return respostas;
+    }
+
+    /**
+     * Executa uma requisição avulsa pelo despachante, dentro de um savepoint.
+     *
+     * @throws FalhaLote no modo {@link ModoLote#FALHA_RAPIDA}, caso a requisição falhe
+     */
+    private void executarItem(Requisicao<Object> req, int indice, JsonNode[] respostas, ModoLote modo) {
+        try {
+            respostas[indice] = database.emSavepoint(() -> {
+                JsonNode resposta = despachar(req);
+                if (falhou(resposta)) {
+                    // Desfaz o que a requisição tenha gravado antes de falhar
+                    throw new FalhaItem(resposta);
+                }
+                return resposta;
+            });
+        } catch (FalhaItem falha) {
+            respostas[indice] = falha.resposta;
+            if (modo == ModoLote.FALHA_RAPIDA) {
+                throw new FalhaLote(indice);
+            }
+        }
+    }
+
+    /**
+     * Encaminha a requisição ao controlador e inclui o seu {@code id} na resposta.
+     */
+    private JsonNode despachar(Requisicao<Object> req) {
+        JsonNode resposta;
+        if (req.getEntidade() != null && req.getEntidade().equalsIgnoreCase("lote")) {
+            resposta = mapper.valueToTree(new Resposta<>("erro", "Lotes aninhados não são permitidos", null));
+        } else {
+            try {
+                resposta = mapper.valueToTree(despachante.apply(req));
+            } catch (RuntimeException e) {
+                resposta = mapper.valueToTree(new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null));
+            }
+        }
+
+        if (req.getId() == null || !resposta.isObject()) {
+            return resposta;
+        }
+        ObjectNode comId = mapper.createObjectNode();
+        comId.putPOJO("id", req.getId());
+        comId.setAll((ObjectNode) resposta);
+        return comId;
+    }
+
+    /**
+     * Monta a resposta de um lote interrompido no modo {@link ModoLote#FALHA_RAPIDA}.
+     */
+    private static Resposta<List<JsonNode>> respostaInterrompida(List<Requisicao<Object>> itens, JsonNode[] respostas, int indiceFalha) {
+        for (int i = 0; i < respostas.length; i++) {
+            if (i < indiceFalha) {
+                respostas[i] = mapper.valueToTree(new Resposta<>(itens.get(i).getId(), "desfeito", "Operação desfeita pela falha do lote", null));
+            } else if (i > indiceFalha) {
+                respostas[i] = mapper.valueToTree(new Resposta<>(itens.get(i).getId(), "ignorado", "Operação não executada", null));
+            }
+        }
+        return new Resposta<>("erro",
+                "Lote interrompido na requisição " + indiceFalha + "; nenhuma alteração foi aplicada",
+                Arrays.asList(respostas));
+    }
+
+    /**
+     * @return {@code true} se a resposta indica erro
+     */
+    private static boolean falhou(JsonNode resposta) {
+        return resposta != null && resposta.path("status").asText().equalsIgnoreCase("erro");
+    }
+
+    /**
+     * Sinaliza a falha de uma requisição para que seu savepoint seja desfeito.
+     */
+    private static final class FalhaItem extends RuntimeException {
+        private final JsonNode resposta;
+
+        FalhaItem(JsonNode resposta) {
+            super(null, null, false, false);
+            this.resposta = resposta;
+        }
+    }
+
+    /**
+     * Interrompe o lote, fazendo com que a transação inteira seja desfeita.
+     */
+    private static final class FalhaLote extends RuntimeException {
+        private final int indice;
+
+        FalhaLote(int indice) {
+            super(null, null, false, false);
+            this.indice = indice;
+        }
+    }
+}
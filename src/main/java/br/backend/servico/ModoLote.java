@@ -0,0 +1,35 @@
+package br.backend.servico;
+
+/**
+ * Define como o {@link LoteServico} reage à falha de uma das requisições do lote.
+ */
+public enum ModoLote {
+
+    /** Interrompe na primeira falha e desfaz todas as alterações do lote. */
+    FALHA_RAPIDA,
+
+    /** Desfaz apenas a requisição que falhou e segue com as demais. */
+    CONTINUAR;
+
+    /**
+     * Converte o nome informado pelo cliente, ignorando maiúsculas, hífens e
+     * sublinhados (ex.: "falhaRapida", "falha_rapida", "CONTINUAR").
+     *
+     * @param nome   nome do modo
+     * @param padrao modo retornado quando o nome é nulo ou vazio
+     * @return modo correspondente
+     * @throws IllegalArgumentException caso o nome não corresponda a nenhum modo
+     */
+    public static ModoLote de(String nome, ModoLote padrao) {
+        if (nome == null || nome.isBlank()) {
+            return padrao;
+        }
+        String normalizado = nome.replace("_", "").replace("-", "");
+        for (ModoLote modo : values()) {
+            if (modo.name().replace("_", "").equalsIgnoreCase(normalizado)) {
+                return modo;
+            }
+        }
+        throw new IllegalArgumentException("Modo de lote inválido: " + nome);
+    }
+}
@@ -2,17 +2,25 @@ package br.backend.servico;
 
 import br.backend.dao.ProdutoDAO;
 import br.backend.dao.RegistroDAO;
+import br.backend.database.GerenciadorTransacao;
+import br.backend.dto.Pagina;
+import br.backend.dto.ParametrosReajuste;
 import br.backend.modelo.Produto;
 import br.backend.modelo.Registro;
 import br.backend.modelo.enums.Movimentacao;
 import br.backend.modelo.enums.Status;
+import br.backend.util.CursorUtil;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Serviço responsável pelas regras de negócio relacionadas à entidade {@link Produto},
- * incluindo criação, atualização, remoção e manipulação de preços.
+ * incluindo criação, atualização, remoção e reajuste de preços.
  *
  * <p>Além das operações básicas com produtos, este serviço registra automaticamente
  * movimentações no estoque utilizando {@link RegistroServico}, garantindo histórico
@@ -26,11 +34,17 @@ import java.util.List;
  * </ul>
  *
  * <p>Em conjunto, o {@link Status} é usado para caracterizar o tipo de alteração.</p>
+ *
+ * <p>Cada alteração de produto e o registro da sua movimentação são gravados
+ * em uma única transação ({@link GerenciadorTransacao}): ou ambos são
+ * confirmados, com um só <code>commit</code>, ou nenhum.</p>
  */
 public class ProdutoServico {
 
     private final ProdutoDAO produtoDAO;
     private final RegistroServico registroService;
+    private final GerenciadorTransacao transacoes;
+    private final ReajustePrecos reajustePrecos;
 
     /**
      * Construtor padrão.
@@ -40,10 +54,26 @@ public class ProdutoServico {
      *
      * @param produtoDAO DAO responsável pelas operações de persistência de produtos
      * @param registroDAO DAO usado para persistir registros de movimentações
+     * @param transacoes controle das transações que agrupam produto e registro
+     */
+    public ProdutoServico(ProdutoDAO produtoDAO, RegistroDAO registroDAO, GerenciadorTransacao transacoes) {
+        this(produtoDAO, registroDAO, transacoes, new ReajustePrecos(produtoDAO, 500, 5_000, 100, 0, 20));
+    }
+
+    /**
+     * Construtor com o executor dos reajustes de preços configurado.
+     *
+     * @param produtoDAO DAO responsável pelas operações de persistência de produtos
+     * @param registroDAO DAO usado para persistir registros de movimentações
+     * @param transacoes controle das transações que agrupam produto e registro
+     * @param reajustePrecos executor dos reajustes de preços em lotes
      */
-    public ProdutoServico(ProdutoDAO produtoDAO, RegistroDAO registroDAO) {
+    public ProdutoServico(ProdutoDAO produtoDAO, RegistroDAO registroDAO, GerenciadorTransacao transacoes,
+                          ReajustePrecos reajustePrecos) {
         this.produtoDAO = produtoDAO;
         this.registroService = new RegistroServico(registroDAO);
+        this.transacoes = transacoes;
+        this.reajustePrecos = reajustePrecos;
     }
 
     /**
@@ -53,20 +83,53 @@ public class ProdutoServico {
      * @return o produto inserido, com ID preenchido
      */
     public Produto inserirProduto(Produto produto) {
-        // Insere o produto no banco
-        produtoDAO.inserirProduto(produto);
+        return transacoes.executar(() -> {
+            // Insere o produto no banco
+            produtoDAO.inserirProduto(produto);
 
-        // Cria o registro de movimentação
-        Registro r = new Registro();
-        r.setData(new Date());
-        r.setProdutoId(produto.getId());
-        r.setMovimentacao(Movimentacao.ENTRADA);
-        r.setQuantidade(produto.getQuantidade());
-        r.setStatus(Status.ADICIONADO);
+            // Cria o registro de movimentação
+            Registro r = new Registro();
+            r.setData(new Date());
+            r.setProdutoId(produto.getId());
+            r.setMovimentacao(Movimentacao.ENTRADA);
+            r.setQuantidade(produto.getQuantidade());
+            r.setStatus(Status.ADICIONADO);
 
-        registroService.inserirRegistro(r);
+            registroService.inserirRegistro(r);
 
-        return produto;
+            return produto;
+        });
+    }
+
+    /**
+     * Insere vários produtos de uma só vez, registrando a movimentação de
+     * ENTRADA de cada um.
+     *
+     * <p>Produtos e registros são gravados em lotes JDBC, com um único envio
+     * ao banco para cada tabela.</p>
+     *
+     * @param produtos produtos a serem inseridos
+     * @return os produtos inseridos, com IDs preenchidos
+     */
+    public List<Produto> inserirProdutos(List<Produto> produtos) {
+        return transacoes.executar(() -> {
+            produtoDAO.inserirProdutos(produtos);
+
+            List<Registro> registros = new ArrayList<>(produtos.size());
+            Date agora = new Date();
+            for (Produto produto : produtos) {
+                Registro r = new Registro();
+                r.setData(agora);
+                r.setProdutoId(produto.getId());
+                r.setMovimentacao(Movimentacao.ENTRADA);
+                r.setQuantidade(produto.getQuantidade());
+                r.setStatus(Status.ADICIONADO);
+                registros.add(r);
+            }
+            registroService.inserirRegistros(registros);
+
+            return produtos;
+        });
     }
 
     /**
@@ -75,29 +138,42 @@ public class ProdutoServico {
      * <p>A movimentação registrada usa {@link Movimentacao#NENHUM}, já que não há
      * entrada ou saída de estoque, apenas modificação de dados.</p>
      *
+     * <p>São apenas dois comandos: o <code>UPDATE</code>, cujo resultado indica
+     * se o produto existe, e a inserção do registro. O produto não é relido,
+     * pois o estado final é o que acabou de ser gravado, com o preço
+     * arredondado a duas casas como na coluna <code>preco_unitario</code>.</p>
+     *
      * @param id ID do produto a ser atualizado
      * @param novoProduto dados atualizados do produto
      * @return o produto atualizado
+     * @throws RuntimeException caso o produto não exista
      */
     public Produto atualizarProduto(Integer id, Produto novoProduto) {
-        // Atualiza o produto no banco
-        produtoDAO.atualizarProduto(id, novoProduto);
+        return transacoes.executar(() -> {
+            // Atualiza o produto no banco
+            if (!produtoDAO.atualizarProduto(id, novoProduto)) {
+                throw new RuntimeException("Produto com ID " + id + " não encontrado.");
+            }
+            novoProduto.setId(id);
+            if (novoProduto.getPreco() != null) {
+                // preco_unitario é DECIMAL(10,2): devolve o preço como o banco o arredondou
+                novoProduto.setPreco(BigDecimal.valueOf(novoProduto.getPreco())
+                        .setScale(2, RoundingMode.HALF_UP).doubleValue());
+            }
 
-        // Busca o produto atualizado (para registrar o estado final)
-        Produto produtoAtualizado = produtoDAO.buscarPorId(id);
+            // Cria um novo registro de movimentação
+            Registro r = new Registro();
+            r.setData(new Date());
+            r.setProdutoId(id);
+            r.setMovimentacao(Movimentacao.NENHUM); // se o enum Movimentacao tiver ALTERACAO, senão use NENHUM
+            r.setQuantidade(novoProduto.getQuantidade());
+            r.setStatus(Status.NOMEALTERADO); // agora usamos um valor existente no enum
 
-        // Cria um novo registro de movimentação
-        Registro r = new Registro();
-        r.setData(new Date());
-        r.setProdutoId(id);
-        r.setMovimentacao(Movimentacao.NENHUM); // se o enum Movimentacao tiver ALTERACAO, senão use NENHUM
-        r.setQuantidade(produtoAtualizado.getQuantidade());
-        r.setStatus(Status.NOMEALTERADO); // agora usamos um valor existente no enum
+            // Insere o registro via serviço
+            registroService.inserirRegistro(r);
 
-        // Insere o registro via serviço
-        registroService.inserirRegistro(r);
-
-        return produtoAtualizado;
+            return novoProduto;
+        });
     }
 
 
@@ -110,11 +186,43 @@ public class ProdutoServico {
         return produtoDAO.resgatarTodosProdutos();
     }
 
+    /**
+     * Lista uma página de produtos ativos, ordenados por ID.
+     *
+     * @param cursor  cursor retornado pela página anterior, ou {@code null} para a primeira
+     * @param tamanho quantidade máxima de produtos da página
+     * @return produtos da página e o cursor da próxima, se houver
+     * @throws IllegalArgumentException caso o cursor seja inválido
+     */
+    public Pagina<Produto> listarPagina(String cursor, int tamanho) {
+        Integer aposId = cursor == null ? null : (int) CursorUtil.decodificar(cursor, 1)[0];
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<Produto> produtos = produtoDAO.listarPagina(aposId, tamanho + 1);
+        if (produtos.size() <= tamanho) {
+            return new Pagina<>(produtos, null);
+        }
+        produtos = produtos.subList(0, tamanho);
+        return new Pagina<>(produtos, CursorUtil.codificar(produtos.get(tamanho - 1).getId()));
+    }
+
+    /**
+     * Percorre todos os produtos ativos sem carregá-los na memória de uma vez.
+     *
+     * @param consumidor função chamada para cada produto
+     */
+    public void percorrerProdutos(Consumer<Produto> consumidor) {
+        produtoDAO.percorrerProdutos(consumidor);
+    }
+
     /**
      * Deleta (soft delete) um produto e registra a movimentação correspondente.
      *
      * <p>A movimentação registrada usa {@link Movimentacao#SAIDA} e o status
-     * {@link Status#DELETADO}.</p>
+     * {@link Status#DELETADO}. A quantidade vem da busca inicial, normalmente
+     * atendida pelo cache; a exclusão só altera o produto se ele ainda estiver
+     * ativo, de modo que, entre exclusões simultâneas, apenas uma registra a
+     * saída.</p>
      *
      * @param id ID do produto a ser removido
      * @return {@code true} se o produto foi removido; {@code false} se não existir
@@ -125,18 +233,23 @@ public class ProdutoServico {
             return false;
         }
 
-        produtoDAO.deletarPorId(id);
+        // A busca acima usa o cache de produtos; apenas as gravações ficam na transação
+        return transacoes.executar(() -> {
+            if (!produtoDAO.deletarPorId(id)) {
+                return false;
+            }
 
-        Registro r = new Registro();
-        r.setData(new Date());
-        r.setProdutoId(existente.getId());
-        r.setMovimentacao(Movimentacao.SAIDA);
-        r.setQuantidade(existente.getQuantidade());
-        r.setStatus(Status.DELETADO);
+            Registro r = new Registro();
+            r.setData(new Date());
+            r.setProdutoId(existente.getId());
+            r.setMovimentacao(Movimentacao.SAIDA);
+            r.setQuantidade(existente.getQuantidade());
+            r.setStatus(Status.DELETADO);
 
-        registroService.inserirRegistro(r);
+            registroService.inserirRegistro(r);
 
-        return true;
+            return true;
+        });
     }
 
     /**
@@ -151,21 +264,38 @@ public class ProdutoServico {
 
 
     /**
-     * Aumenta o valor de todos os produtos ativos com base em um percentual.
+     * Reajusta os preços dos produtos ativos em lotes, conforme
+     * {@link ReajustePrecos}.
+     *
+     * <p>Fora de uma transação, o reajuste é executado em segundo plano e o
+     * andamento inicial é retornado. Dentro de uma (ex.: em um lote
+     * transacional), é executado na própria transação, que só confirma os
+     * preços junto das demais operações.</p>
      *
-     * @param percentual percentual de aumento (ex.: 10.0 = 10%)
+     * @param parametros percentual e alcance do reajuste
+     * @param aumento    {@code true} para aumentar os preços, {@code false} para reduzir
+     * @return andamento do reajuste
      */
-     public void aumentarValorProduto(Double percentual) {
-        produtoDAO.aumentarValorProduto(percentual);
+    public ProgressoReajuste reajustarPrecos(ParametrosReajuste parametros, boolean aumento) {
+        if (transacoes.ativa()) {
+            return reajustePrecos.executar(parametros, aumento);
+        }
+        return reajustePrecos.iniciar(parametros, aumento);
     }
 
     /**
-     * Reduz o valor de todos os produtos ativos com base em um percentual.
-     *
-     * @param percentual percentual de redução (ex.: 5.0 = 5%)
+     * @param id identificador do reajuste
+     * @return andamento do reajuste, ou {@code null} se desconhecido
+     */
+    public ProgressoReajuste consultarReajuste(long id) {
+        return reajustePrecos.consultar(id);
+    }
+
+    /**
+     * @return andamento dos reajustes em curso e dos últimos terminados
      */
-    public void diminuirValorProduto(Double percentual) {
-        produtoDAO.diminuirValorProduto(percentual);
+    public List<ProgressoReajuste> listarReajustes() {
+        return reajustePrecos.listar();
     }
 }
     
\ No newline at end of file
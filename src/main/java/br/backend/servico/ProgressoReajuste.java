@@ -0,0 +1,117 @@
+package br.backend.servico;
+
+import br.backend.metricas.RetratoHistograma;
+import br.backend.modelo.enums.SituacaoReajuste;
+
+import java.util.Date;
+
+/**
+ * Retrato instantâneo do andamento de um reajuste de preços executado pelo
+ * {@link ReajustePrecos}, retornado pelas ações <b>aumentar</b>,
+ * <b>diminuir</b> e <b>reajustes</b> de produtos.
+ */
+public class ProgressoReajuste {
+
+    private final long id;
+    private final double percentual;
+    private final Integer categoriaId;
+    private final Integer quantidadeProdutoIds;
+    private final SituacaoReajuste situacao;
+    private final int total;
+    private final long reajustados;
+    private final long lotes;
+    private final Integer ultimoId;
+    private final int tamanhoLote;
+    private final RetratoHistograma duracaoLote;
+    private final Date iniciadoEm;
+    private final Date concluidoEm;
+    private final String erro;
+
+    /**
+     * Construtor completo.
+     *
+     * @param id                   identificador do reajuste
+     * @param percentual           percentual do reajuste, negativo para redução
+     * @param categoriaId          categoria dos produtos reajustados, ou null para todas
+     * @param quantidadeProdutoIds quantidade de IDs informados, ou null se não limitado a uma lista
+     * @param situacao             etapa atual do reajuste
+     * @param total                produtos a reajustar, contados no início
+     * @param reajustados          produtos reajustados até agora
+     * @param lotes                lotes gravados até agora
+     * @param ultimoId             último ID do último lote gravado
+     * @param tamanhoLote          tamanho atual dos lotes
+     * @param duracaoLote          duração de cada lote, que limita o tempo das travas nas linhas
+     * @param iniciadoEm           início da execução, ou null se aguardando
+     * @param concluidoEm          fim da execução, ou null se não terminado
+     * @param erro                 mensagem do erro que interrompeu o reajuste
+     */
+    public ProgressoReajuste(long id, double percentual, Integer categoriaId, Integer quantidadeProdutoIds,
+                             SituacaoReajuste situacao, int total, long reajustados, long lotes, Integer ultimoId,
+                             int tamanhoLote, RetratoHistograma duracaoLote, Date iniciadoEm, Date concluidoEm,
+                             String erro) {
+        this.id = id;
+        this.percentual = percentual;
+        this.categoriaId = categoriaId;
+        this.quantidadeProdutoIds = quantidadeProdutoIds;
+        this.situacao = situacao;
+        this.total = total;
+        this.reajustados = reajustados;
+        this.lotes = lotes;
+        this.ultimoId = ultimoId;
+        this.tamanhoLote = tamanhoLote;
+        this.duracaoLote = duracaoLote;
+        this.iniciadoEm = iniciadoEm;
+        this.concluidoEm = concluidoEm;
+        this.erro = erro;
+    }
+
+    /** @return identificador do reajuste */
+    public long getId() { return id; }
+
+    /** @return percentual do reajuste, negativo para redução */
+    public double getPercentual() { return percentual; }
+
+    /** @return categoria dos produtos reajustados, ou null para todas */
+    public Integer getCategoriaId() { return categoriaId; }
+
+    /** @return quantidade de IDs informados, ou null se não limitado a uma lista */
+    public Integer getQuantidadeProdutoIds() { return quantidadeProdutoIds; }
+
+    /** @return etapa atual do reajuste */
+    public SituacaoReajuste getSituacao() { return situacao; }
+
+    /** @return produtos a reajustar, contados no início */
+    public int getTotal() { return total; }
+
+    /** @return produtos reajustados até agora */
+    public long getReajustados() { return reajustados; }
+
+    /** @return percentual concluído, de 0 a 100 */
+    public double getPercentualConcluido() {
+        if (situacao == SituacaoReajuste.CONCLUIDO) {
+            return 100;
+        }
+        return total == 0 ? 0 : Math.min(100, 100.0 * reajustados / total);
+    }
+
+    /** @return lotes gravados até agora */
+    public long getLotes() { return lotes; }
+
+    /** @return último ID do último lote gravado, a partir do qual o reajuste pode ser retomado */
+    public Integer getUltimoId() { return ultimoId; }
+
+    /** @return tamanho atual dos lotes */
+    public int getTamanhoLote() { return tamanhoLote; }
+
+    /** @return duração de cada lote, que limita o tempo das travas nas linhas */
+    public RetratoHistograma getDuracaoLote() { return duracaoLote; }
+
+    /** @return início da execução, ou null se aguardando */
+    public Date getIniciadoEm() { return iniciadoEm; }
+
+    /** @return fim da execução, ou null se não terminado */
+    public Date getConcluidoEm() { return concluidoEm; }
+
+    /** @return mensagem do erro que interrompeu o reajuste, ou null */
+    public String getErro() { return erro; }
+}
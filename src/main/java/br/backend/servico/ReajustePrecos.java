@@ -0,0 +1,339 @@
+package br.backend.servico;
+
+import br.backend.dao.ProdutoDAO;
+import br.backend.dto.ParametrosReajuste;
+import br.backend.metricas.Histograma;
+import br.backend.modelo.enums.SituacaoReajuste;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Executa os reajustes de preços dos produtos em lotes de IDs, cada um
+ * gravado em um comando próprio e curto.
+ *
+ * <p>Um único <code>UPDATE</code> sobre todos os produtos ativos trava todas
+ * as linhas até o fim, bloqueando as demais gravações de produtos. Aqui os
+ * produtos são percorridos em ordem de ID, e cada lote
+ * (<code>aposId &lt; id &lt;= ateId</code>) é reajustado e confirmado
+ * isoladamente, de modo que as travas duram só o lote. O tamanho dos lotes se
+ * adapta: é reduzido à metade quando um lote passa de
+ * <code>tempoMaximoLoteMs</code> e dobrado, até <code>tamanhoLoteMaximo</code>,
+ * quando fica abaixo de um quarto desse tempo. Com
+ * <code>produtosPorSegundo</code>, o ritmo é limitado entre os lotes.</p>
+ *
+ * <p>{@link #iniciar(ParametrosReajuste, boolean)} enfileira o reajuste em uma
+ * thread própria, executando um por vez, e retorna imediatamente; o andamento
+ * é consultado por {@link #consultar(long)}. Um lote com erro é tentado de
+ * novo até {@value #TENTATIVAS} vezes; persistindo o erro, o reajuste termina
+ * como {@link SituacaoReajuste#FALHOU}, informando o último ID gravado, a
+ * partir do qual pode ser retomado com <code>aposId</code>.</p>
+ *
+ * <p>Os últimos <code>historico</code> reajustes terminados são mantidos para
+ * consulta.</p>
+ */
+public class ReajustePrecos implements AutoCloseable {
+
+    /** Tentativas de gravação de cada lote, nos reajustes em segundo plano. */
+    private static final int TENTATIVAS = 3;
+
+    /** Espera antes de tentar de novo um lote, multiplicada pela tentativa. */
+    private static final long ESPERA_TENTATIVA_MS = 200;
+
+    private final ProdutoDAO produtoDAO;
+    private final int tamanhoLote;
+    private final int tamanhoLoteMaximo;
+    private final long tempoMaximoLoteNanos;
+    private final int produtosPorSegundo;
+    private final int historico;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("reajuste-precos").daemon().factory());
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Map<Long, Tarefa> tarefas = new LinkedHashMap<>();
+
+    /**
+     * Construtor padrão. A thread de execução só é criada no primeiro reajuste.
+     *
+     * @param produtoDAO         DAO que grava os lotes
+     * @param tamanhoLote        quantidade de produtos do primeiro lote
+     * @param tamanhoLoteMaximo  quantidade máxima de produtos por lote
+     * @param tempoMaximoLoteMs  duração desejada de cada lote, que limita o tempo das travas
+     * @param produtosPorSegundo ritmo máximo do reajuste, ou 0 para não limitar
+     * @param historico          quantidade de reajustes terminados mantidos para consulta
+     */
+    public ReajustePrecos(ProdutoDAO produtoDAO, int tamanhoLote, int tamanhoLoteMaximo, long tempoMaximoLoteMs,
+                          int produtosPorSegundo, int historico) {
+        this.produtoDAO = produtoDAO;
+        this.tamanhoLoteMaximo = Math.max(1, tamanhoLoteMaximo);
+        this.tamanhoLote = Math.min(Math.max(1, tamanhoLote), this.tamanhoLoteMaximo);
+        this.tempoMaximoLoteNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, tempoMaximoLoteMs));
+        this.produtosPorSegundo = Math.max(0, produtosPorSegundo);
+        this.historico = Math.max(1, historico);
+    }
+
+    /**
+     * Enfileira um reajuste para execução em segundo plano.
+     *
+     * @param parametros percentual e alcance do reajuste
+     * @param aumento    {@code true} para aumentar os preços, {@code false} para reduzir
+     * @return andamento inicial do reajuste
+     */
+    public ProgressoReajuste iniciar(ParametrosReajuste parametros, boolean aumento) {
+        Tarefa tarefa = registrar(parametros, aumento);
+        executor.execute(() -> executar(tarefa, true));
+        return tarefa.progresso();
+    }
+
+    /**
+     * Executa um reajuste na thread atual, sem novas tentativas nem limite de
+     * ritmo. Usado dentro de transações, em que um erro deve desfazer a
+     * transação inteira.
+     *
+     * @param parametros percentual e alcance do reajuste
+     * @param aumento    {@code true} para aumentar os preços, {@code false} para reduzir
+     * @return andamento final do reajuste
+     * @throws RuntimeException caso a gravação de um lote falhe
+     */
+    public ProgressoReajuste executar(ParametrosReajuste parametros, boolean aumento) {
+        Tarefa tarefa = registrar(parametros, aumento);
+        executar(tarefa, false);
+        if (tarefa.falha != null) {
+            throw tarefa.falha;
+        }
+        return tarefa.progresso();
+    }
+
+    /**
+     * @param id identificador do reajuste
+     * @return andamento do reajuste, ou {@code null} se desconhecido
+     */
+    public ProgressoReajuste consultar(long id) {
+        trava.lock();
+        try {
+            Tarefa tarefa = tarefas.get(id);
+            return tarefa == null ? null : tarefa.progresso();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * @return andamento dos reajustes em curso e dos últimos terminados, do mais recente ao mais antigo
+     */
+    public List<ProgressoReajuste> listar() {
+        List<ProgressoReajuste> lista = new ArrayList<>();
+        trava.lock();
+        try {
+            for (Tarefa tarefa : tarefas.values()) {
+                lista.add(0, tarefa.progresso());
+            }
+        } finally {
+            trava.unlock();
+        }
+        return lista;
+    }
+
+    /**
+     * Interrompe o reajuste em curso, se houver, entre dois lotes, e descarta
+     * os que aguardam.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                System.err.println("Reajuste de preços não terminou ao encerrar");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Tarefa registrar(ParametrosReajuste parametros, boolean aumento) {
+        Tarefa tarefa = new Tarefa(sequencia.incrementAndGet(), parametros, aumento, tamanhoLote);
+        trava.lock();
+        try {
+            tarefas.put(tarefa.id, tarefa);
+            // Descarta os terminados mais antigos além do histórico
+            int terminados = 0;
+            for (Tarefa t : tarefas.values()) {
+                if (t.terminada()) {
+                    terminados++;
+                }
+            }
+            Iterator<Tarefa> it = tarefas.values().iterator();
+            while (terminados > historico && it.hasNext()) {
+                if (it.next().terminada()) {
+                    it.remove();
+                    terminados--;
+                }
+            }
+        } finally {
+            trava.unlock();
+        }
+        return tarefa;
+    }
+
+    /**
+     * Percorre os produtos em lotes até o fim, uma interrupção ou um erro.
+     */
+    private void executar(Tarefa tarefa, boolean segundoPlano) {
+        try {
+            tarefa.total = tarefa.produtoIds != null ? tarefa.produtoIds.size() : produtoDAO.contarAtivos(tarefa.categoriaId);
+            tarefa.iniciadoEm = new Date();
+            tarefa.situacao = SituacaoReajuste.EXECUTANDO;
+
+            long inicio = System.nanoTime();
+            int posicao = 0;
+            while (true) {
+                if (Thread.currentThread().isInterrupted()) {
+                    tarefa.terminar(SituacaoReajuste.INTERROMPIDO, null);
+                    return;
+                }
+
+                List<Integer> ids = null;
+                Integer fim;
+                if (tarefa.produtoIds != null) {
+                    if (posicao == tarefa.produtoIds.size()) {
+                        break;
+                    }
+                    ids = tarefa.produtoIds.subList(posicao, Math.min(posicao + tarefa.tamanhoLote, tarefa.produtoIds.size()));
+                    fim = ids.get(ids.size() - 1);
+                } else {
+                    fim = produtoDAO.buscarFimLote(tarefa.ultimoId, tarefa.tamanhoLote, tarefa.categoriaId);
+                    if (fim == null) {
+                        break;
+                    }
+                }
+
+                long inicioLote = System.nanoTime();
+                int reajustados = gravar(tarefa, fim, ids, segundoPlano);
+                long duracao = System.nanoTime() - inicioLote;
+
+                tarefa.duracaoLote.registrar(duracao);
+                tarefa.reajustados += reajustados;
+                tarefa.lotes++;
+                tarefa.ultimoId = fim;
+                posicao += ids == null ? 0 : ids.size();
+                ajustarTamanho(tarefa, duracao);
+
+                if (segundoPlano && produtosPorSegundo > 0) {
+                    long previsto = TimeUnit.SECONDS.toNanos(tarefa.reajustados) / produtosPorSegundo;
+                    TimeUnit.NANOSECONDS.sleep(previsto - (System.nanoTime() - inicio));
+                }
+            }
+            tarefa.terminar(SituacaoReajuste.CONCLUIDO, null);
+        } catch (InterruptedException e) {
+            tarefa.terminar(SituacaoReajuste.INTERROMPIDO, null);
+        } catch (RuntimeException e) {
+            tarefa.falha = e;
+            tarefa.terminar(SituacaoReajuste.FALHOU, e.getMessage());
+            if (segundoPlano) {
+                System.err.println("Reajuste de preços " + tarefa.id + " interrompido após o ID " + tarefa.ultimoId
+                        + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grava um lote, tentando de novo em segundo plano. Cada tentativa é um
+     * único comando, desfeito por inteiro em caso de erro.
+     */
+    private int gravar(Tarefa tarefa, int fim, List<Integer> ids, boolean segundoPlano) throws InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return produtoDAO.reajustarPrecos(tarefa.percentual, tarefa.ultimoId, fim, tarefa.categoriaId, ids);
+            } catch (RuntimeException e) {
+                if (!segundoPlano || tentativa == TENTATIVAS) {
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(ESPERA_TENTATIVA_MS * tentativa);
+            }
+        }
+    }
+
+    /**
+     * Reduz o lote à metade se passou do tempo máximo, ou dobra-o se ficou
+     * bem abaixo dele.
+     */
+    private void ajustarTamanho(Tarefa tarefa, long duracao) {
+        if (duracao > tempoMaximoLoteNanos) {
+            tarefa.tamanhoLote = Math.max(1, tarefa.tamanhoLote / 2);
+        } else if (duracao < tempoMaximoLoteNanos / 4) {
+            tarefa.tamanhoLote = Math.min(tamanhoLoteMaximo, tarefa.tamanhoLote * 2);
+        }
+    }
+
+    /**
+     * Estado de um reajuste. Alterado apenas pela thread que o executa e lido
+     * pelas consultas.
+     */
+    private static final class Tarefa {
+
+        final long id;
+        final double percentual;
+        final Integer categoriaId;
+        final List<Integer> produtoIds;
+        final Histograma duracaoLote = new Histograma();
+
+        volatile SituacaoReajuste situacao = SituacaoReajuste.AGUARDANDO;
+        volatile int total;
+        volatile long reajustados;
+        volatile long lotes;
+        volatile int ultimoId;
+        volatile int tamanhoLote;
+        volatile Date iniciadoEm;
+        volatile Date concluidoEm;
+        volatile String erro;
+        RuntimeException falha;
+
+        Tarefa(long id, ParametrosReajuste parametros, boolean aumento, int tamanhoLote) {
+            this.id = id;
+            this.percentual = aumento ? parametros.getPercentual() : -parametros.getPercentual();
+            this.categoriaId = parametros.getCategoriaId();
+            this.ultimoId = parametros.getAposId() == null ? 0 : parametros.getAposId();
+            this.tamanhoLote = tamanhoLote;
+
+            if (parametros.getProdutoIds() == null) {
+                this.produtoIds = null;
+            } else {
+                // Ordenados e sem repetições, para que cada lote seja uma faixa de IDs
+                TreeSet<Integer> ids = new TreeSet<>();
+                for (Integer produtoId : parametros.getProdutoIds()) {
+                    if (produtoId != null && produtoId > ultimoId) {
+                        ids.add(produtoId);
+                    }
+                }
+                this.produtoIds = new ArrayList<>(ids);
+            }
+        }
+
+        boolean terminada() {
+            return situacao != SituacaoReajuste.AGUARDANDO && situacao != SituacaoReajuste.EXECUTANDO;
+        }
+
+        void terminar(SituacaoReajuste situacao, String erro) {
+            this.erro = erro;
+            this.concluidoEm = new Date();
+            this.situacao = situacao;
+        }
+
+        ProgressoReajuste progresso() {
+            return new ProgressoReajuste(id, percentual, categoriaId, produtoIds == null ? null : produtoIds.size(),
+                    situacao, total, reajustados, lotes, ultimoId == 0 ? null : ultimoId, tamanhoLote,
+                    duracaoLote.retrato(), iniciadoEm, concluidoEm, erro);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package br.backend.servico;
+
+import br.backend.modelo.TotalRelatorio;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Consumer;
+
+/**
+ * Soma, em paralelo, os totais do relatório entregues em fluxo pelo banco,
+ * juntando os de um mesmo grupo.
+ *
+ * <p>Os totais são reunidos em lotes à medida que chegam, e cada lote é
+ * reduzido a um mapa por grupo em uma tarefa do {@link ForkJoinPool}, sem
+ * atrasar a leitura do resultado. Ao final, os mapas parciais são juntados
+ * dois a dois, também em paralelo. Totais com {@link TotalRelatorio#getIntervalo()
+ * intervalo} são atribuídos ao dia correspondente no fuso informado.</p>
+ *
+ * <p>Deve ser alimentada por uma única thread.</p>
+ */
+class ReducaoTotais implements Consumer<TotalRelatorio> {
+
+    /** Quantidade de totais reduzidos por tarefa. */
+    private static final int TAMANHO_LOTE = 4096;
+
+    /** Ordem da resposta: dia, produto, categoria e movimentação, com os nulos primeiro. */
+    private static final Comparator<TotalRelatorio> ORDEM = Comparator
+            .comparing(TotalRelatorio::getDia, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+            .thenComparing(TotalRelatorio::getProdutoId, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(TotalRelatorio::getCategoriaId, Comparator.nullsFirst(Comparator.<Integer>naturalOrder()))
+            .thenComparing(TotalRelatorio::getMovimentacao, Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+
+    private final ZoneId fuso;
+    private final ForkJoinPool pool;
+    private final List<ForkJoinTask<Map<Chave, TotalRelatorio>>> parciais = new ArrayList<>();
+    private List<TotalRelatorio> lote = new ArrayList<>(TAMANHO_LOTE);
+
+    /**
+     * @param fuso fuso horário usado para separar os dias
+     * @param pool pool onde os lotes são reduzidos
+     */
+    ReducaoTotais(ZoneId fuso, ForkJoinPool pool) {
+        this.fuso = fuso;
+        this.pool = pool;
+    }
+
+    @Override
+    public void accept(TotalRelatorio total) {
+        lote.add(total);
+        if (lote.size() == TAMANHO_LOTE) {
+            parciais.add(pool.submit(new ReduzirLote(lote, fuso)));
+            lote = new ArrayList<>(TAMANHO_LOTE);
+        }
+    }
+
+    /**
+     * Aguarda a redução dos lotes e junta os resultados.
+     *
+     * @return um total por grupo, ordenados por dia, produto, categoria e movimentação
+     */
+    List<TotalRelatorio> concluir() {
+        if (!lote.isEmpty() || parciais.isEmpty()) {
+            parciais.add(pool.submit(new ReduzirLote(lote, fuso)));
+            lote = new ArrayList<>();
+        }
+        Map<Chave, TotalRelatorio> grupos = pool.invoke(new Juntar(parciais, 0, parciais.size()));
+        List<TotalRelatorio> totais = new ArrayList<>(grupos.values());
+        totais.sort(ORDEM);
+        return totais;
+    }
+
+    /**
+     * Reduz um lote a um mapa por grupo, convertendo os intervalos em dias.
+     */
+    private static final class ReduzirLote extends RecursiveTask<Map<Chave, TotalRelatorio>> {
+
+        private final List<TotalRelatorio> lote;
+        private final ZoneId fuso;
+
+        ReduzirLote(List<TotalRelatorio> lote, ZoneId fuso) {
+            this.lote = lote;
+            this.fuso = fuso;
+        }
+
+        @Override
+        protected Map<Chave, TotalRelatorio> compute() {
+            Map<Chave, TotalRelatorio> grupos = new HashMap<>();
+            for (TotalRelatorio total : lote) {
+                if (total.getIntervalo() != null) {
+                    long segundos = total.getIntervalo() * TotalRelatorio.SEGUNDOS_INTERVALO;
+                    total.setDia(Instant.ofEpochSecond(segundos).atZone(fuso).toLocalDate().toString());
+                    total.setIntervalo(null);
+                }
+                grupos.merge(new Chave(total), total, TotalRelatorio::somar);
+            }
+            return grupos;
+        }
+    }
+
+    /**
+     * Junta os mapas parciais de um trecho da lista, dividindo-o ao meio.
+     */
+    private static final class Juntar extends RecursiveTask<Map<Chave, TotalRelatorio>> {
+
+        private final List<ForkJoinTask<Map<Chave, TotalRelatorio>>> parciais;
+        private final int inicio;
+        private final int fim;
+
+        Juntar(List<ForkJoinTask<Map<Chave, TotalRelatorio>>> parciais, int inicio, int fim) {
+            this.parciais = parciais;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected Map<Chave, TotalRelatorio> compute() {
+            if (fim - inicio == 1) {
+                return parciais.get(inicio).join();
+            }
+            int meio = (inicio + fim) >>> 1;
+            Juntar esquerda = new Juntar(parciais, inicio, meio);
+            esquerda.fork();
+            Map<Chave, TotalRelatorio> direita = new Juntar(parciais, meio, fim).compute();
+            Map<Chave, TotalRelatorio> outra = esquerda.join();
+
+            Map<Chave, TotalRelatorio> maior = direita.size() >= outra.size() ? direita : outra;
+            Map<Chave, TotalRelatorio> menor = maior == direita ? outra : direita;
+            menor.forEach((chave, total) -> maior.merge(chave, total, TotalRelatorio::somar));
+            return maior;
+        }
+    }
+
+    /**
+     * Chave de agrupamento: as dimensões de um total, nulas quando não agrupadas.
+     */
+    private static final class Chave {
+
+        private final Integer produtoId;
+        private final Integer categoriaId;
+        private final String dia;
+        private final String movimentacao;
+
+        Chave(TotalRelatorio total) {
+            this.produtoId = total.getProdutoId();
+            this.categoriaId = total.getCategoriaId();
+            this.dia = total.getDia();
+            this.movimentacao = total.getMovimentacao();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Chave c && Objects.equals(produtoId, c.produtoId)
+                    && Objects.equals(categoriaId, c.categoriaId) && Objects.equals(dia, c.dia)
+                    && Objects.equals(movimentacao, c.movimentacao);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(produtoId, categoriaId, dia, movimentacao);
+        }
+    }
+}
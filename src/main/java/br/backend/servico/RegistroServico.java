@@ -1,8 +1,11 @@
 package br.backend.servico;
 
 import br.backend.dao.RegistroDAO;
+import br.backend.dto.Pagina;
 import br.backend.modelo.Registro;
+import br.backend.util.CursorUtil;
 import java.util.List;
+import java.util.function.Consumer;
 
 
 /**
@@ -34,12 +37,24 @@ public class RegistroServico {
     /**
      * Insere um novo registro de movimentação no sistema.
      *
+     * <p>Com a gravação assíncrona ativa, o registro é apenas enfileirado e
+     * gravado em segundo plano, sem ID preenchido.</p>
+     *
      * @param r objeto contendo as informações da movimentação
      */
     public void inserirRegistro(Registro r) {
         registroDAO.inserirRegistro(r);
     }
 
+    /**
+     * Insere vários registros de movimentação de uma só vez.
+     *
+     * @param registros registros a serem persistidos
+     */
+    public void inserirRegistros(List<Registro> registros) {
+        registroDAO.inserirRegistros(registros);
+    }
+
     /**
      * Retorna todos os registros armazenados, ordenados conforme a implementação do DAO.
      *
@@ -48,4 +63,40 @@ public class RegistroServico {
     public List<Registro> listarRegistros() {
         return registroDAO.listarRegistros();
     }
+
+    /**
+     * Lista uma página de registros, do mais recente para o mais antigo.
+     *
+     * @param cursor  cursor retornado pela página anterior, ou {@code null} para a primeira
+     * @param tamanho quantidade máxima de registros da página
+     * @return registros da página e o cursor da próxima, se houver
+     * @throws IllegalArgumentException caso o cursor seja inválido
+     */
+    public Pagina<Registro> listarPagina(String cursor, int tamanho) {
+        Long aposData = null;
+        Integer aposId = null;
+        if (cursor != null) {
+            long[] chave = CursorUtil.decodificar(cursor, 2);
+            aposData = chave[0];
+            aposId = (int) chave[1];
+        }
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<Registro> registros = registroDAO.listarPagina(aposData, aposId, tamanho + 1);
+        if (registros.size() <= tamanho) {
+            return new Pagina<>(registros, null);
+        }
+        registros = registros.subList(0, tamanho);
+        Registro ultimo = registros.get(tamanho - 1);
+        return new Pagina<>(registros, CursorUtil.codificar(ultimo.getData().getTime(), ultimo.getId()));
+    }
+
+    /**
+     * Percorre todos os registros sem carregá-los na memória de uma vez.
+     *
+     * @param consumidor função chamada para cada registro
+     */
+    public void percorrerRegistros(Consumer<Registro> consumidor) {
+        registroDAO.percorrerRegistros(consumidor);
+    }
 }
@@ -1,8 +1,29 @@
 package br.backend.servico;
 
 import br.backend.dao.RelatorioDAO;
+import br.backend.database.GerenciadorTransacao;
+import br.backend.dto.FiltroRelatorio;
+import br.backend.dto.Pagina;
+import br.backend.dto.ResultadoRelatorio;
 import br.backend.modelo.Relatorio;
+import br.backend.modelo.TotalRelatorio;
+import br.backend.modelo.enums.DimensaoRelatorio;
+import br.backend.util.CursorUtil;
+import java.sql.SQLException;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Serviço responsável por fornecer acesso aos dados consolidados utilizados
@@ -12,22 +33,57 @@ import java.util.List;
  * {@link RelatorioDAO}, permitindo centralizar regras de negócio relacionadas
  * à montagem e consulta de relatórios.</p>
  *
- * <p>Atualmente, o serviço atua como um simples delegador, porém sua existência
- * permite evoluções futuras, como aplicação de filtros, ordenações adicionais,
- * validações ou transformação dos dados antes de retorná-los à camada superior.</p>
+ * <p>Além da listagem completa, paginada ou em fluxo, oferece a listagem
+ * filtrada por período, produtos, movimentação e status, resolvida pelo banco,
+ * e os totais por produto, categoria, dia e movimentação.</p>
+ *
+ * <p>Para recuperação, {@link #reconstruir()} refaz o relatório materializado
+ * a partir dos registros, em faixas de IDs processadas em paralelo.</p>
  */
 public class RelatorioServico {
 
+    /** Erro do MySQL quando uma transação é escolhida como vítima de um impasse (deadlock). */
+    private static final int ERRO_IMPASSE = 1213;
+
+    /** Erro do MySQL quando a espera por uma trava passa de <code>innodb_lock_wait_timeout</code>. */
+    private static final int ERRO_ESPERA_TRAVA = 1205;
+
+    /** Tentativas de cada faixa quando a transação é desfeita por conflito de travas. */
+    private static final int TENTATIVAS = 5;
+
+    /** Espera antes de tentar de novo uma faixa, multiplicada pela tentativa. */
+    private static final long ESPERA_TENTATIVA_MS = 50;
+
     private final RelatorioDAO relatorioDAO;
+    private final GerenciadorTransacao transacoes;
+    private final int paralelos;
+    private final int tamanhoFaixa;
+    private final ReentrantLock reconstrucao = new ReentrantLock();
 
 
     /**
-     * Construtor padrão.
+     * Construtor padrão, sem transações, reconstruindo 4 faixas de 10.000 IDs
+     * ao mesmo tempo.
      *
      * @param relatorioDAO DAO responsável pelas consultas de relatório
      */
     public RelatorioServico(RelatorioDAO relatorioDAO) {
+        this(relatorioDAO, GerenciadorTransacao.SEM_TRANSACAO, 4, 10_000);
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param relatorioDAO DAO responsável pelas consultas de relatório
+     * @param transacoes   controle de transações, uma por faixa reconstruída
+     * @param paralelos    faixas reconstruídas ao mesmo tempo, cada uma com sua conexão
+     * @param tamanhoFaixa quantidade de IDs de registro de cada faixa
+     */
+    public RelatorioServico(RelatorioDAO relatorioDAO, GerenciadorTransacao transacoes, int paralelos, int tamanhoFaixa) {
         this.relatorioDAO = relatorioDAO;
+        this.transacoes = transacoes;
+        this.paralelos = Math.max(1, paralelos);
+        this.tamanhoFaixa = Math.max(1, tamanhoFaixa);
     }
 
     /**
@@ -40,4 +96,196 @@ public class RelatorioServico {
     public List<Relatorio> listarRelatorio() {
         return relatorioDAO.listarRelatorio();
     }
+
+    /**
+     * Lista uma página do relatório, do registro mais recente para o mais antigo.
+     *
+     * @param cursor  cursor retornado pela página anterior, ou {@code null} para a primeira
+     * @param tamanho quantidade máxima de itens da página
+     * @return itens da página e o cursor da próxima, se houver
+     * @throws IllegalArgumentException caso o cursor seja inválido
+     */
+    public Pagina<Relatorio> listarPagina(String cursor, int tamanho) {
+        Long aposData = null;
+        Integer aposId = null;
+        if (cursor != null) {
+            long[] chave = CursorUtil.decodificar(cursor, 2);
+            aposData = chave[0];
+            aposId = (int) chave[1];
+        }
+
+        // Busca um item a mais apenas para saber se existe próxima página
+        List<Relatorio> relatorios = relatorioDAO.listarPagina(aposData, aposId, tamanho + 1);
+        if (relatorios.size() <= tamanho) {
+            return new Pagina<>(relatorios, null);
+        }
+        relatorios = relatorios.subList(0, tamanho);
+        Relatorio ultimo = relatorios.get(tamanho - 1);
+        return new Pagina<>(relatorios, CursorUtil.codificar(ultimo.getData().getTime(), ultimo.getId()));
+    }
+
+    /**
+     * Lista uma página do relatório contendo apenas os itens que atendem ao
+     * filtro, do registro mais recente para o mais antigo.
+     *
+     * @param filtro filtros, limite e cursor da página anterior, se houver
+     * @return itens da página, o cursor da próxima e as linhas examinadas pelo banco
+     * @throws IllegalArgumentException caso o cursor seja inválido
+     */
+    public ResultadoRelatorio listarFiltrado(FiltroRelatorio filtro) {
+        Long aposData = null;
+        Integer aposId = null;
+        if (filtro.getCursor() != null) {
+            long[] chave = CursorUtil.decodificar(filtro.getCursor(), 2);
+            aposData = chave[0];
+            aposId = (int) chave[1];
+        }
+
+        int limite = filtro.limiteAplicado();
+        // Busca um item a mais apenas para saber se existe próxima página
+        ResultadoRelatorio resultado = relatorioDAO.listarFiltrado(filtro, aposData, aposId, limite + 1);
+        List<Relatorio> relatorios = resultado.getItens();
+        if (relatorios.size() <= limite) {
+            return resultado;
+        }
+        relatorios = relatorios.subList(0, limite);
+        Relatorio ultimo = relatorios.get(limite - 1);
+        return new ResultadoRelatorio(relatorios, CursorUtil.codificar(ultimo.getData().getTime(), ultimo.getId()),
+                resultado.getLinhasExaminadas());
+    }
+
+    /**
+     * Calcula os totais do relatório filtrado, agrupados pelas dimensões
+     * informadas, sem trazer os registros para a aplicação.
+     *
+     * <p>O banco agrupa e soma os registros; no agrupamento por dia, agrupa
+     * por intervalos de 15 minutos, que são somados aqui, em paralelo, nos
+     * dias do fuso informado.</p>
+     *
+     * @param filtro    datas, produtos, movimentação e status aceitos
+     * @param dimensoes dimensões do agrupamento; vazio resulta em um único total
+     * @param fuso      fuso horário usado para separar os dias
+     * @return um total por grupo, ordenados por dia, produto, categoria e movimentação
+     */
+    public List<TotalRelatorio> agregar(FiltroRelatorio filtro, Set<DimensaoRelatorio> dimensoes, ZoneId fuso) {
+        ReducaoTotais reducao = new ReducaoTotais(fuso, ForkJoinPool.commonPool());
+        relatorioDAO.percorrerTotais(filtro, dimensoes, reducao);
+        return reducao.concluir();
+    }
+
+    /**
+     * Percorre todo o relatório sem carregá-lo na memória de uma vez.
+     *
+     * @param consumidor função chamada para cada item
+     */
+    public void percorrerRelatorio(Consumer<Relatorio> consumidor) {
+        relatorioDAO.percorrerRelatorio(consumidor);
+    }
+
+    /**
+     * Refaz o relatório materializado a partir dos registros.
+     *
+     * <p>Os IDs de 1 até o maior existente são divididos em faixas, distribuídas
+     * entre {@code paralelos} threads; cada faixa é apagada e copiada de novo
+     * em uma transação própria, de modo que as leituras do relatório continuam
+     * durante a reconstrução. Uma faixa desfeita por conflito de travas com as
+     * gravações concorrentes (impasse ou espera esgotada) é tentada de novo
+     * até {@value #TENTATIVAS} vezes. Na primeira falha, as faixas ainda não iniciadas
+     * são abandonadas e o erro é propagado; as já confirmadas permanecem, e a
+     * reconstrução pode simplesmente ser repetida.</p>
+     *
+     * @return faixas, itens gravados e duração da reconstrução
+     * @throws IllegalStateException caso outra reconstrução esteja em andamento
+     * @throws RuntimeException      caso a reconstrução de alguma faixa falhe
+     */
+    public ResultadoReconstrucao reconstruir() {
+        if (!reconstrucao.tryLock()) {
+            throw new IllegalStateException("Reconstrução do relatório já em andamento");
+        }
+        try {
+            long inicio = System.nanoTime();
+            int maiorId = relatorioDAO.buscarMaiorId();
+            int faixas = (int) ((maiorId + (long) tamanhoFaixa - 1) / tamanhoFaixa);
+            int threads = Math.max(1, Math.min(paralelos, faixas));
+            AtomicInteger proxima = new AtomicInteger();
+            LongAdder itens = new LongAdder();
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads,
+                    Thread.ofPlatform().name("relatorio-reconstrucao-", 1).daemon().factory());
+            try {
+                List<Future<?>> tarefas = new ArrayList<>(threads);
+                for (int i = 0; i < threads; i++) {
+                    tarefas.add(executor.submit(() -> {
+                        int faixa;
+                        while ((faixa = proxima.getAndIncrement()) < faixas) {
+                            int deId = faixa * tamanhoFaixa + 1;
+                            int ateId = (int) Math.min(maiorId, (long) deId + tamanhoFaixa - 1);
+                            try {
+                                itens.add(reconstruirFaixa(deId, ateId));
+                            } catch (RuntimeException | InterruptedException e) {
+                                // As demais threads não pegam novas faixas
+                                proxima.set(faixas);
+                                throw e;
+                            }
+                        }
+                        return null;
+                    }));
+                }
+
+                Throwable erro = null;
+                for (Future<?> tarefa : tarefas) {
+                    try {
+                        tarefa.get();
+                    } catch (ExecutionException e) {
+                        if (erro == null) {
+                            erro = e.getCause();
+                        }
+                    }
+                }
+                if (erro != null) {
+                    throw new RuntimeException("Erro ao reconstruir relatório: " + erro.getMessage(), erro);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Reconstrução do relatório interrompida", e);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            long duracaoMs = (System.nanoTime() - inicio) / 1_000_000;
+            return new ResultadoReconstrucao(maiorId, faixas, tamanhoFaixa, threads, itens.sum(), duracaoMs);
+        } finally {
+            reconstrucao.unlock();
+        }
+    }
+
+    /**
+     * Reconstrói uma faixa em uma transação própria, tentando de novo quando
+     * ela é desfeita por conflito de travas.
+     */
+    private int reconstruirFaixa(int deId, int ateId) throws InterruptedException {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transacoes.executar(() -> relatorioDAO.reconstruirFaixa(deId, ateId));
+            } catch (RuntimeException e) {
+                if (!conflitoDeTravas(e) || tentativa == TENTATIVAS) {
+                    throw e;
+                }
+                TimeUnit.MILLISECONDS.sleep(ESPERA_TENTATIVA_MS * tentativa);
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} se a causa do erro é um impasse ou uma espera por trava esgotada
+     */
+    private static boolean conflitoDeTravas(Throwable erro) {
+        for (Throwable causa = erro; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql
+                    && (sql.getErrorCode() == ERRO_IMPASSE || sql.getErrorCode() == ERRO_ESPERA_TRAVA)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
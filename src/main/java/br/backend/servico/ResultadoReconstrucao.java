@@ -0,0 +1,52 @@
+package br.backend.servico;
+
+/**
+ * Resultado de uma reconstrução do relatório materializado, retornado pela
+ * ação <b>reconstruir</b> de relatórios.
+ */
+public class ResultadoReconstrucao {
+
+    private final int maiorId;
+    private final int faixas;
+    private final int tamanhoFaixa;
+    private final int paralelos;
+    private final long itens;
+    private final long duracaoMs;
+
+    /**
+     * Construtor completo.
+     *
+     * @param maiorId      maior ID de registro reconstruído
+     * @param faixas       faixas de IDs reconstruídas, cada uma em sua transação
+     * @param tamanhoFaixa quantidade de IDs de cada faixa
+     * @param paralelos    faixas reconstruídas ao mesmo tempo
+     * @param itens        itens gravados no relatório
+     * @param duracaoMs    duração total da reconstrução
+     */
+    public ResultadoReconstrucao(int maiorId, int faixas, int tamanhoFaixa, int paralelos, long itens, long duracaoMs) {
+        this.maiorId = maiorId;
+        this.faixas = faixas;
+        this.tamanhoFaixa = tamanhoFaixa;
+        this.paralelos = paralelos;
+        this.itens = itens;
+        this.duracaoMs = duracaoMs;
+    }
+
+    /** @return maior ID de registro reconstruído */
+    public int getMaiorId() { return maiorId; }
+
+    /** @return faixas de IDs reconstruídas, cada uma em sua transação */
+    public int getFaixas() { return faixas; }
+
+    /** @return quantidade de IDs de cada faixa */
+    public int getTamanhoFaixa() { return tamanhoFaixa; }
+
+    /** @return faixas reconstruídas ao mesmo tempo */
+    public int getParalelos() { return paralelos; }
+
+    /** @return itens gravados no relatório */
+    public long getItens() { return itens; }
+
+    /** @return duração total da reconstrução, em milissegundos */
+    public long getDuracaoMs() { return duracaoMs; }
+}
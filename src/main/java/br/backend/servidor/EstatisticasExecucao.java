@@ -0,0 +1,59 @@
+package br.backend.servidor;
+
+/**
+ * Retrato instantâneo da execução de requisições no {@link Servidor},
+ * exposto pela entidade <code>estado</code> para auxiliar no dimensionamento
+ * do executor e do limite de requisições simultâneas.
+ */
+public class EstatisticasExecucao {
+
+    private final ModoExecucao modo;
+    private final int tarefasAtivas;
+    private final int tarefasEnfileiradas;
+    private final long tarefasConcluidas;
+    private final int limiteRequisicoes;
+    private final int requisicoesAtivas;
+    private final int requisicoesEmEspera;
+    private final long requisicoesRecusadas;
+
+    /**
+     * Cria o retrato a partir do executor e do limitador atuais.
+     *
+     * @param executor   executor de clientes do servidor
+     * @param limitador  limitador de requisições simultâneas
+     */
+    public EstatisticasExecucao(ExecutorClientes executor, LimitadorRequisicoes limitador) {
+        this.modo = executor.getModo();
+        this.tarefasAtivas = executor.getAtivas();
+        this.tarefasEnfileiradas = executor.getEnfileiradas();
+        this.tarefasConcluidas = executor.getConcluidas();
+        this.limiteRequisicoes = limitador.getMaximo();
+        this.requisicoesAtivas = limitador.getAtivas();
+        this.requisicoesEmEspera = limitador.getEmEspera();
+        this.requisicoesRecusadas = limitador.getRecusadas();
+    }
+
+    /** @return forma de execução configurada */
+    public ModoExecucao getModo() { return modo; }
+
+    /** @return tarefas (clientes ou requisições) em execução */
+    public int getTarefasAtivas() { return tarefasAtivas; }
+
+    /** @return tarefas aguardando uma thread do executor */
+    public int getTarefasEnfileiradas() { return tarefasEnfileiradas; }
+
+    /** @return tarefas concluídas desde a inicialização */
+    public long getTarefasConcluidas() { return tarefasConcluidas; }
+
+    /** @return limite de requisições simultâneas nos controladores */
+    public int getLimiteRequisicoes() { return limiteRequisicoes; }
+
+    /** @return requisições sendo processadas pelos controladores */
+    public int getRequisicoesAtivas() { return requisicoesAtivas; }
+
+    /** @return requisições aguardando vaga no limitador */
+    public int getRequisicoesEmEspera() { return requisicoesEmEspera; }
+
+    /** @return requisições recusadas por espera excessiva */
+    public long getRequisicoesRecusadas() { return requisicoesRecusadas; }
+}
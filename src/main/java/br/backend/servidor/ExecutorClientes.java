@@ -0,0 +1,122 @@
+package br.backend.servidor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor configurável utilizado pelo {@link Servidor} para atender clientes
+ * (modo bloqueante) e processar requisições (modo NIO).
+ *
+ * <p>A estratégia de criação de threads é definida por {@link ModoExecucao}.
+ * Independentemente do modo, o executor contabiliza quantas tarefas estão
+ * em execução e quantas aguardam uma thread, permitindo dimensionar o
+ * servidor sob carga.</p>
+ */
+public class ExecutorClientes implements Executor {
+
+    /** Espera máxima, no encerramento, pelas tarefas em andamento. */
+    private static final long ESPERA_ENCERRAMENTO_SEGUNDOS = 10;
+
+    private final ModoExecucao modo;
+    private final ExecutorService servico;
+
+    private final AtomicInteger ativas = new AtomicInteger();
+    private final AtomicInteger enfileiradas = new AtomicInteger();
+    private final LongAdder concluidas = new LongAdder();
+
+    /**
+     * Construtor principal.
+     *
+     * @param modo            forma de execução das tarefas
+     * @param threads         quantidade de threads do pool (apenas {@link ModoExecucao#POOL})
+     * @param capacidadeFila  tamanho máximo da fila de espera (apenas {@link ModoExecucao#POOL})
+     */
+    public ExecutorClientes(ModoExecucao modo, int threads, int capacidadeFila) {
+        this.modo = modo;
+        this.servico = switch (modo) {
+            case THREAD -> null;
+            case VIRTUAL -> Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cliente-", 0).factory());
+            case POOL -> new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(capacidadeFila), Thread.ofPlatform().name("cliente-", 0).factory());
+        };
+    }
+
+    /**
+     * Submete uma tarefa para execução conforme o modo configurado.
+     *
+     * @param tarefa tarefa a ser executada
+     * @throws RejectedExecutionException caso a fila do pool esteja cheia
+     */
+    @Override
+    public void execute(Runnable tarefa) {
+        enfileiradas.incrementAndGet();
+        Runnable medida = () -> {
+            enfileiradas.decrementAndGet();
+            ativas.incrementAndGet();
+            try {
+                tarefa.run();
+            } finally {
+                ativas.decrementAndGet();
+                concluidas.increment();
+            }
+        };
+
+        try {
+            if (servico == null) {
+                new Thread(medida).start();
+            } else {
+                servico.execute(medida);
+            }
+        } catch (RejectedExecutionException e) {
+            enfileiradas.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Encerra o executor, aguardando a conclusão das tarefas em andamento por
+     * até {@value #ESPERA_ENCERRAMENTO_SEGUNDOS} segundos; as que não
+     * terminarem nesse prazo (ex.: clientes ainda conectados no modelo
+     * bloqueante) continuam em execução. No modo <code>thread</code>, as
+     * tarefas não são acompanhadas e não há espera.
+     */
+    public void encerrar() {
+        if (servico != null) {
+            servico.shutdown();
+            try {
+                if (!servico.awaitTermination(ESPERA_ENCERRAMENTO_SEGUNDOS, TimeUnit.SECONDS)) {
+                    System.err.println("Encerramento sem aguardar " + ativas.get() + " tarefas em andamento");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /** @return forma de execução configurada */
+    public ModoExecucao getModo() {
+        return modo;
+    }
+
+    /** @return quantidade de tarefas em execução no momento */
+    public int getAtivas() {
+        return ativas.get();
+    }
+
+    /** @return quantidade de tarefas aguardando uma thread */
+    public int getEnfileiradas() {
+        return enfileiradas.get();
+    }
+
+    /** @return total de tarefas concluídas desde a inicialização */
+    public long getConcluidas() {
+        return concluidas.sum();
+    }
+}
@@ -0,0 +1,73 @@
+package br.backend.servidor;
+
+import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+
+import java.io.IOException;
+
+/**
+ * Gerador JSON que insere o identificador de correlação da requisição como
+ * primeiro campo do objeto raiz da resposta.
+ *
+ * <p>Funciona tanto para respostas serializadas campo a campo quanto para
+ * JSON já pronto escrito com {@link #writeRawValue(String)}, sem precisar
+ * desserializá-lo novamente.</p>
+ */
+class GeradorComId extends JsonGeneratorDelegate {
+
+    /** Valor do <code>id</code> já serializado, ou {@code null} se a requisição não informou. */
+    private final String valorId;
+
+    /**
+     * @param delegado gerador ligado à saída do cliente
+     * @param id       identificador da requisição (pode ser nulo)
+     */
+    GeradorComId(JsonGenerator delegado, Object id) {
+        // Sem copiar por delegação, writeObject serializa através deste gerador
+        super(delegado, false);
+        this.valorId = id == null ? null : JsonUtil.toJson(id);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        boolean raiz = getOutputContext().inRoot();
+        super.writeStartObject();
+        escreverId(raiz);
+    }
+
+    @Override
+    public void writeStartObject(Object valor) throws IOException {
+        boolean raiz = getOutputContext().inRoot();
+        super.writeStartObject(valor);
+        escreverId(raiz);
+    }
+
+    @Override
+    public void writeStartObject(Object valor, int tamanho) throws IOException {
+        boolean raiz = getOutputContext().inRoot();
+        super.writeStartObject(valor, tamanho);
+        escreverId(raiz);
+    }
+
+    @Override
+    public void writeRawValue(String texto) throws IOException {
+        if (valorId == null || !getOutputContext().inRoot() || texto.length() < 2 || texto.charAt(0) != '{') {
+            super.writeRawValue(texto);
+            return;
+        }
+        writeRaw("{\"id\":");
+        writeRaw(valorId);
+        if (texto.charAt(1) != '}') {
+            writeRaw(',');
+        }
+        super.writeRawValue(texto, 1, texto.length() - 1);
+    }
+
+    private void escreverId(boolean raiz) throws IOException {
+        if (raiz && valorId != null) {
+            writeFieldName("id");
+            super.writeRawValue(valorId);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package br.backend.servidor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita a quantidade de requisições processadas simultaneamente pelos
+ * controladores, protegendo a camada de acesso a dados.
+ *
+ * <p>Mesmo com milhares de clientes conectados, no máximo
+ * <code>maximo</code> requisições chegam aos DAOs ao mesmo tempo; as demais
+ * aguardam (em ordem de chegada) por até <code>esperaMaximaMs</code>
+ * milissegundos antes de serem recusadas.</p>
+ *
+ * <p>Um limite menor ou igual a zero desativa a restrição, mantendo apenas
+ * a contagem de requisições ativas.</p>
+ */
+public class LimitadorRequisicoes {
+
+    private final int maximo;
+    private final long esperaMaximaMs;
+    private final Semaphore permissoes;
+
+    private final AtomicInteger ativas = new AtomicInteger();
+    private final AtomicInteger emEspera = new AtomicInteger();
+    private final LongAdder recusadas = new LongAdder();
+
+    /**
+     * Construtor principal.
+     *
+     * @param maximo         quantidade máxima de requisições simultâneas (&lt;= 0 para ilimitado)
+     * @param esperaMaximaMs tempo máximo de espera por uma vaga, em milissegundos
+     */
+    public LimitadorRequisicoes(int maximo, long esperaMaximaMs) {
+        this.maximo = maximo;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.permissoes = maximo > 0 ? new Semaphore(maximo, true) : null;
+    }
+
+    /**
+     * Obtém uma vaga para processar uma requisição, aguardando se necessário.
+     *
+     * <p>Toda chamada bem-sucedida deve ser seguida de {@link #liberar()}.</p>
+     *
+     * @return {@code true} se a vaga foi obtida; {@code false} se o tempo de espera esgotou
+     */
+    public boolean adquirir() {
+        if (permissoes != null) {
+            emEspera.incrementAndGet();
+            try {
+                if (!permissoes.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                    recusadas.increment();
+                    return false;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recusadas.increment();
+                return false;
+            } finally {
+                emEspera.decrementAndGet();
+            }
+        }
+        ativas.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Libera a vaga obtida por {@link #adquirir()}.
+     */
+    public void liberar() {
+        ativas.decrementAndGet();
+        if (permissoes != null) {
+            permissoes.release();
+        }
+    }
+
+    /** @return limite de requisições simultâneas (&lt;= 0 quando ilimitado) */
+    public int getMaximo() {
+        return maximo;
+    }
+
+    /** @return quantidade de requisições sendo processadas no momento */
+    public int getAtivas() {
+        return ativas.get();
+    }
+
+    /** @return quantidade de requisições aguardando uma vaga */
+    public int getEmEspera() {
+        return emEspera.get();
+    }
+
+    /** @return total de requisições recusadas por tempo de espera esgotado */
+    public long getRecusadas() {
+        return recusadas.sum();
+    }
+}
@@ -0,0 +1,33 @@
+package br.backend.servidor;
+
+/**
+ * Enum que representa as formas de execução disponíveis para o atendimento
+ * dos clientes e o processamento das requisições no {@link Servidor}.
+ *
+ * <p>O modo é escolhido na inicialização através da propriedade
+ * <code>servidor.execucao.modo</code>.</p>
+ */
+public enum ModoExecucao {
+
+    /**
+     * Uma nova thread de plataforma é criada para cada tarefa, sem limite.
+     *
+     * <p>Corresponde ao comportamento original do servidor.</p>
+     */
+    THREAD,
+
+    /**
+     * Uma thread virtual é criada para cada tarefa.
+     *
+     * <p>Indicado para muitas conexões de longa duração que passam a maior
+     * parte do tempo aguardando o cliente ou o banco de dados.</p>
+     */
+    VIRTUAL,
+
+    /**
+     * Conjunto limitado de threads de plataforma com fila de espera.
+     *
+     * <p>As tarefas excedentes aguardam na fila até que uma thread seja liberada.</p>
+     */
+    POOL
+}
@@ -0,0 +1,27 @@
+package br.backend.servidor;
+
+/**
+ * Enum que representa os modelos de I/O disponíveis para o {@link Servidor}.
+ *
+ * <p>O modo é escolhido na inicialização através da propriedade
+ * <code>servidor.modo</code>, permitindo comparar os dois modelos sob carga.</p>
+ */
+public enum ModoServidor {
+
+    /**
+     * Modelo bloqueante tradicional.
+     *
+     * <p>Cada cliente conectado possui uma thread dedicada que permanece
+     * bloqueada na leitura do socket enquanto aguarda novas requisições.</p>
+     */
+    BLOQUEANTE,
+
+    /**
+     * Modelo não bloqueante baseado em {@link java.nio.channels.Selector}.
+     *
+     * <p>Uma única thread de eventos atende todas as conexões, e apenas as
+     * linhas completas são despachadas para processamento. Conexões ociosas
+     * não ocupam threads.</p>
+     */
+    NIO
+}
@@ -0,0 +1,19 @@
+package br.backend.servidor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Função que processa uma linha JSON recebida e escreve a resposta, terminada
+ * em <code>\n</code>, diretamente na saída do cliente.
+ */
+@FunctionalInterface
+interface ProcessadorRequisicao {
+
+    /**
+     * @param linha JSON da requisição
+     * @param saida saída onde a resposta é escrita
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    void processar(String linha, OutputStream saida) throws IOException;
+}
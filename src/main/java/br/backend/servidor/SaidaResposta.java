@@ -0,0 +1,76 @@
+package br.backend.servidor;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Saída de uma única resposta sobre a saída compartilhada de uma conexão.
+ *
+ * <p>A trava da conexão só é adquirida na primeira escrita e é mantida até o
+ * {@link #close()}, impedindo que respostas concorrentes (modo pipeline) se
+ * misturem. Como o gerador JSON acumula a resposta em seu próprio buffer,
+ * respostas pequenas são montadas sem a trava e escritas de uma só vez;
+ * respostas transmitidas em fluxo mantêm a trava até o fim.</p>
+ *
+ * <p>Usa {@link Lock} em vez de <code>synchronized</code> para não fixar
+ * threads virtuais à thread portadora enquanto a escrita bloqueia.</p>
+ */
+class SaidaResposta extends OutputStream {
+
+    private final OutputStream destino;
+    private final Lock trava;
+    private boolean travada;
+
+    /**
+     * @param destino saída compartilhada da conexão
+     * @param trava   trava que serializa as respostas da conexão
+     */
+    SaidaResposta(OutputStream destino, Lock trava) {
+        this.destino = destino;
+        this.trava = trava;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        travar();
+        destino.write(b);
+    }
+
+    @Override
+    public void write(byte[] b, int inicio, int tamanho) throws IOException {
+        travar();
+        destino.write(b, inicio, tamanho);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (travada) {
+            destino.flush();
+        }
+    }
+
+    /**
+     * Descarrega a resposta e libera a conexão para a próxima. A saída
+     * compartilhada não é fechada.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!travada) {
+            return;
+        }
+        try {
+            destino.flush();
+        } finally {
+            travada = false;
+            trava.unlock();
+        }
+    }
+
+    private void travar() {
+        if (!travada) {
+            trava.lock();
+            travada = true;
+        }
+    }
+}
@@ -1,50 +1,97 @@
 package br.backend.servidor;
 
+import br.backend.config.Configuracao;
+import br.backend.controlador.Controlador;
+import br.backend.controlador.Rota;
+import br.backend.controlador.RoteadorRequisicoes;
 import br.backend.controlador.impl.CategoriaControladorImpl;
+import br.backend.controlador.impl.EstadoControladorImpl;
 import br.backend.controlador.impl.ProdutoControladorImpl;
 import br.backend.controlador.impl.RegistroControladorImpl;
 import br.backend.controlador.impl.RelatorioControladorImpl;
 import br.backend.database.Database;
 import br.backend.dto.Requisicao;
 import br.backend.dto.Resposta;
+import br.backend.metricas.eventos.EventoRequisicao;
 import br.backend.util.JsonUtil;
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.BufferedOutputStream;
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 
 /**
  * Servidor responsável por receber requisições JSON via sockets TCP,
  * processá-las e delegar o tratamento aos controladores específicos
- * (Categoria, Produto, Registro e Relatório).
+ * (Categoria, Produto, Registro, Relatório e Lote).
  *
- * <p>Este servidor segue um modelo simples de comunicação síncrona:
- * cada cliente conectado tem sua própria thread dedicada para processar
- * as requisições recebidas.</p>
+ * <p>O servidor suporta dois modelos de I/O, definidos por {@link ModoServidor}:
+ * no modo bloqueante cada cliente conectado tem sua própria tarefa dedicada
+ * para processar as requisições recebidas; no modo NIO um único laço de
+ * eventos ({@link ServidorNio}) atende todas as conexões e apenas as linhas
+ * completas são despachadas para processamento.</p>
+ *
+ * <p>Em ambos os modos as tarefas rodam no {@link ExecutorClientes}
+ * (threads virtuais, pool limitado ou uma thread por tarefa), e o acesso
+ * aos controladores passa por um {@link LimitadorRequisicoes} que restringe
+ * quantas requisições chegam ao banco de dados ao mesmo tempo.</p>
  *
  * <p>O formato esperado de mensagem é um JSON correspondente ao DTO
- * {@link Requisicao}, que o servidor converte e encaminha ao controlador
- * apropriado com base no campo <code>entidade</code>.</p>
+ * {@link Requisicao}, que o servidor converte e encaminha à estratégia
+ * apropriada pelo {@link RoteadorRequisicoes}, com base nos campos
+ * <code>entidade</code> e <code>acao</code>.</p>
+ *
+ * <p>Por padrão as requisições de uma conexão são respondidas na ordem em
+ * que chegam. Com o <b>pipeline</b> ativo, várias requisições da mesma
+ * conexão são processadas ao mesmo tempo e cada resposta é enviada assim que
+ * fica pronta; o cliente deve então informar o campo <code>id</code> para
+ * correlacionar as respostas.</p>
  */
 public class Servidor {
 
+    /** Tamanho máximo padrão, em bytes, de uma linha de requisição no modo NIO. */
+    private static final int TAMANHO_MAXIMO_LINHA_PADRAO = 16 * 1024 * 1024;
+
+    /** Quantidade padrão de requisições em andamento por conexão. */
+    private static final int MAXIMO_EM_VOO_PADRAO = 32;
+
+    /** Tamanho do buffer de saída de cada cliente no modo bloqueante. */
+    private static final int TAMANHO_BUFFER_SAIDA = 8 * 1024;
+
     private final int porta;
 
+    private final ModoServidor modo;
+
+    private final int tamanhoMaximoLinha;
+
+    private final boolean pipeline;
+
+    private final int maximoEmVooPorConexao;
+
+    private final ExecutorClientes executorClientes;
+
+    private final LimitadorRequisicoes limitador;
+
     private Database database;
 
-    private CategoriaControladorImpl categoriaControlador;
-    
-    private ProdutoControladorImpl produtoControlador;
-    
-    private RegistroControladorImpl registroControlador;
-    
-    private RelatorioControladorImpl relatorioControlador;
+    private final RoteadorRequisicoes roteador;
+
+    private final EstadoControladorImpl estadoControlador;
 
     /**
      * Construtor principal do servidor.
      *
+     * <p>Mantém o comportamento original: modo bloqueante, uma thread por
+     * cliente e nenhum limite de requisições simultâneas.</p>
+     *
      * @param porta                porta TCP na qual o servidor irá escutar
      * @param categoriaControlador controlador para operações de categoria
      * @param produtoControlador   controlador para operações de produto
@@ -53,27 +100,118 @@ public class Servidor {
      */
     public Servidor(int porta, CategoriaControladorImpl categoriaControlador, ProdutoControladorImpl produtoControlador, RegistroControladorImpl registroControlador, RelatorioControladorImpl relatorioControlador) {
         this.porta = porta;
+        this.modo = ModoServidor.BLOQUEANTE;
+        this.tamanhoMaximoLinha = TAMANHO_MAXIMO_LINHA_PADRAO;
+        this.pipeline = false;
+        this.maximoEmVooPorConexao = MAXIMO_EM_VOO_PADRAO;
+        this.executorClientes = new ExecutorClientes(ModoExecucao.THREAD, 0, 0);
+        this.limitador = new LimitadorRequisicoes(0, 0);
 
-        this.categoriaControlador = categoriaControlador;
-        this.produtoControlador = produtoControlador;
-        this.registroControlador = registroControlador;
-        this.relatorioControlador = relatorioControlador;
+        this.estadoControlador = new EstadoControladorImpl();
+        this.roteador = new RoteadorRequisicoes();
+        roteador.registrar("categoria", categoriaControlador);
+        roteador.registrar("produto", produtoControlador);
+        roteador.registrar("registro", registroControlador);
+        roteador.registrar("relatorio", relatorioControlador);
+        roteador.registrar("estado", estadoControlador);
+        registrarEstado();
     }
 
     /**
-     * Inicia o servidor e começa a escutar conexões de clientes.
+     * Construtor que lê porta, modelo de I/O e execução a partir da configuração.
      *
-     * <p>A cada cliente conectado, uma nova thread é criada para processamento
-     * independente, permitindo múltiplos clientes simultâneos.</p>
+     * <p>Propriedades utilizadas:</p>
+     * <ul>
+     *     <li><code>servidor.porta</code> (padrão 3001)</li>
+     *     <li><code>servidor.modo</code>: <code>bloqueante</code> ou <code>nio</code></li>
+     *     <li><code>servidor.nio.tamanhoMaximoLinha</code>: limite em bytes de uma requisição</li>
+     *     <li><code>servidor.pipeline.ativo</code>: processa as requisições de uma conexão em paralelo (padrão false)</li>
+     *     <li><code>servidor.pipeline.maximoPorConexao</code>: requisições em andamento por conexão (padrão 32)</li>
+     *     <li><code>servidor.execucao.modo</code>: <code>virtual</code>, <code>pool</code> ou <code>thread</code></li>
+     *     <li><code>servidor.execucao.threads</code> e <code>servidor.execucao.fila</code>: tamanho do pool e da fila</li>
+     *     <li><code>servidor.limite.requisicoes</code>: requisições simultâneas nos controladores (0 = ilimitado)</li>
+     *     <li><code>servidor.limite.esperaMaximaMs</code>: espera máxima por uma vaga</li>
+     * </ul>
+     *
+     * @param configuracao      configurações da aplicação
+     * @param roteador          tabela de despacho com os controladores já registrados
+     * @param estadoControlador controlador que expõe o estado interno do servidor
+     */
+    public Servidor(Configuracao configuracao, RoteadorRequisicoes roteador, EstadoControladorImpl estadoControlador) {
+        this.porta = configuracao.getInteiro("servidor.porta", 3001);
+        this.modo = configuracao.getEnum("servidor.modo", ModoServidor.class, ModoServidor.BLOQUEANTE);
+        this.tamanhoMaximoLinha = configuracao.getInteiro("servidor.nio.tamanhoMaximoLinha", TAMANHO_MAXIMO_LINHA_PADRAO);
+        this.pipeline = configuracao.getBooleano("servidor.pipeline.ativo", false);
+        this.maximoEmVooPorConexao = Math.max(1, configuracao.getInteiro("servidor.pipeline.maximoPorConexao", MAXIMO_EM_VOO_PADRAO));
+        this.executorClientes = new ExecutorClientes(
+                configuracao.getEnum("servidor.execucao.modo", ModoExecucao.class, ModoExecucao.VIRTUAL),
+                configuracao.getInteiro("servidor.execucao.threads", 200),
+                configuracao.getInteiro("servidor.execucao.fila", 10_000));
+        this.limitador = new LimitadorRequisicoes(
+                configuracao.getInteiro("servidor.limite.requisicoes", 0),
+                configuracao.getLongo("servidor.limite.esperaMaximaMs", 30_000));
+
+        this.roteador = roteador;
+        this.estadoControlador = estadoControlador;
+        registrarEstado();
+    }
+
+    /**
+     * Registra a seção <code>execucao</code> no controlador de estado.
+     */
+    private void registrarEstado() {
+        estadoControlador.registrarSecao("execucao", () -> new EstatisticasExecucao(executorClientes, limitador));
+    }
+
+    /**
+     * Inicia o servidor no modelo de I/O configurado e começa a escutar
+     * conexões de clientes.
      */
     public void iniciar() {
+        try {
+            switch (modo) {
+                case NIO -> iniciarNio();
+                case BLOQUEANTE -> iniciarBloqueante();
+            }
+        } finally {
+            executorClientes.encerrar();
+        }
+    }
+
+    /**
+     * Inicia o laço de eventos não bloqueante.
+     *
+     * <p>As requisições completas são processadas no {@link ExecutorClientes},
+     * independente do número de clientes conectados.</p>
+     */
+    private void iniciarNio() {
+        try {
+            new ServidorNio(porta, tamanhoMaximoLinha, pipeline, maximoEmVooPorConexao, this::processarRequisicao, executorClientes).iniciar();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Inicia o servidor bloqueante.
+     *
+     * <p>A cada cliente conectado, uma nova tarefa é submetida ao
+     * {@link ExecutorClientes} para processamento independente, permitindo
+     * múltiplos clientes simultâneos.</p>
+     */
+    private void iniciarBloqueante() {
         try (ServerSocket serverSocket = new ServerSocket(porta)) {
             System.out.println("Servidor iniciado na porta " + porta);
 
             while (true) {
                 Socket cliente = serverSocket.accept();
                 System.out.println("Cliente conectado: " + cliente.getInetAddress());
-                new Thread(() -> processarCliente(cliente)).start();
+                try {
+                    executorClientes.execute(() -> processarCliente(cliente));
+                } catch (RejectedExecutionException e) {
+                    System.err.println("Cliente recusado, fila de atendimento cheia: " + cliente.getInetAddress());
+                    cliente.close();
+                }
             }
 
         } catch (Exception e) {
@@ -84,57 +222,226 @@ public class Servidor {
     /**
      * Processa as requisições de um cliente conectado.
      *
-     * <p>Lê mensagens JSON linha a linha, processa a requisição e devolve
-     * a resposta para o cliente.</p>
+     * <p>Lê mensagens JSON linha a linha, processa a requisição e escreve
+     * a resposta diretamente na saída do cliente.</p>
      *
      * @param cliente conexão socket do cliente
      */
     private void processarCliente(Socket cliente) {
-        try (BufferedReader in = new BufferedReader(new InputStreamReader(cliente.getInputStream())); PrintWriter out = new PrintWriter(cliente.getOutputStream(), true)) {
+        if (pipeline) {
+            processarClientePipeline(cliente);
+            return;
+        }
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(cliente.getInputStream()));
+             OutputStream out = new BufferedOutputStream(cliente.getOutputStream(), TAMANHO_BUFFER_SAIDA)) {
 
             String jsonRequisicao;
             while ((jsonRequisicao = in.readLine()) != null) {
-                String resposta = processarRequisicao(jsonRequisicao);
-                out.println(resposta);
+                processarRequisicao(jsonRequisicao, out);
+                out.flush();
             }
 
         } catch (Exception e) {
             System.err.println("Erro ao processar cliente " + cliente.getInetAddress() + ": " + e.getMessage());
             e.printStackTrace();
         } finally {
-            try {
-                cliente.close();
-                System.out.println("Cliente desconectado: " + cliente.getInetAddress());
-            } catch (Exception ignored) {
-            }
+            fecharCliente(cliente);
         }
     }
 
     /**
-     * Converte o JSON recebido para uma {@link Requisicao} e delega o tratamento
-     * ao controlador apropriado, baseado no campo <code>entidade</code>.
+     * Processa as requisições de um cliente no modo pipeline.
+     *
+     * <p>Cada linha lida é submetida ao {@link ExecutorClientes} e a resposta
+     * é escrita assim que fica pronta. Quando a conexão já possui o máximo de
+     * requisições em andamento, a linha é processada pela própria tarefa de
+     * leitura, o que interrompe a leitura do socket até haver vaga. O socket
+     * é fechado pela última tarefa a terminar após o fim da entrada.</p>
      *
-     * @param json JSON contendo a requisição
-     * @return JSON contendo a resposta formatada pelo controlador
+     * @param cliente conexão socket do cliente
      */
-    private String processarRequisicao(String json) {
+    private void processarClientePipeline(Socket cliente) {
+        // Conta a própria leitura, para que o socket só feche após o fim da entrada
+        AtomicInteger pendentes = new AtomicInteger(1);
         try {
-            // Converte o JSON para Requisicao genérica
-            Requisicao<?> req = JsonUtil.fromJson(json, Requisicao.class);
-            String entidade = req.getEntidade().toLowerCase();
-
-            return switch (entidade) {
-                case "categoria" -> categoriaControlador.processarRequisicao(req);
-                case "produto" -> produtoControlador.processarRequisicao(req);
-                case "registro" -> registroControlador.processarRequisicao(req);
-                case "relatorio" -> relatorioControlador.processarRequisicao(req);
-                default -> JsonUtil.toJson(new Resposta("erro", "Entidade '" + entidade + "' não reconhecida", null));
-            };
+            BufferedReader in = new BufferedReader(new InputStreamReader(cliente.getInputStream()));
+            OutputStream out = new BufferedOutputStream(cliente.getOutputStream(), TAMANHO_BUFFER_SAIDA);
+            Lock trava = new ReentrantLock();
+
+            String jsonRequisicao;
+            while ((jsonRequisicao = in.readLine()) != null) {
+                String linha = jsonRequisicao;
+                if (pendentes.get() > maximoEmVooPorConexao) {
+                    responder(cliente, out, trava, linha);
+                    continue;
+                }
+
+                pendentes.incrementAndGet();
+                try {
+                    executorClientes.execute(() -> {
+                        try {
+                            responder(cliente, out, trava, linha);
+                        } finally {
+                            concluirPipeline(cliente, pendentes);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    pendentes.decrementAndGet();
+                    responder(cliente, out, trava, linha);
+                }
+            }
 
         } catch (Exception e) {
+            System.err.println("Erro ao processar cliente " + cliente.getInetAddress() + ": " + e.getMessage());
             e.printStackTrace();
-            return JsonUtil.toJson(new Resposta("erro", "Erro interno", null));
+        } finally {
+            concluirPipeline(cliente, pendentes);
+        }
+    }
+
+    /**
+     * Processa uma requisição do modo pipeline e escreve sua resposta,
+     * serializando as escritas concorrentes da conexão. Se a escrita falhar,
+     * o socket é fechado, encerrando também a leitura.
+     *
+     * @param cliente conexão socket do cliente
+     * @param out     saída compartilhada do cliente
+     * @param trava   trava que serializa as respostas da conexão
+     * @param linha   JSON da requisição
+     */
+    private void responder(Socket cliente, OutputStream out, Lock trava, String linha) {
+        try (SaidaResposta saida = new SaidaResposta(out, trava)) {
+            processarRequisicao(linha, saida);
+        } catch (IOException e) {
+            System.err.println("Erro ao responder cliente " + cliente.getInetAddress() + ": " + e.getMessage());
+            fecharCliente(cliente);
+        }
+    }
+
+    /**
+     * Registra o término de uma tarefa da conexão em pipeline e fecha o socket
+     * quando não restar nenhuma.
+     *
+     * @param cliente   conexão socket do cliente
+     * @param pendentes tarefas ainda em andamento na conexão
+     */
+    private static void concluirPipeline(Socket cliente, AtomicInteger pendentes) {
+        if (pendentes.decrementAndGet() == 0) {
+            fecharCliente(cliente);
+        }
+    }
+
+    /**
+     * Fecha o socket do cliente.
+     *
+     * @param cliente conexão socket do cliente
+     */
+    private static void fecharCliente(Socket cliente) {
+        if (cliente.isClosed()) {
+            return;
+        }
+        try {
+            cliente.close();
+            System.out.println("Cliente desconectado: " + cliente.getInetAddress());
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Converte o JSON recebido para uma {@link Requisicao}, delega o tratamento
+     * à estratégia registrada para a entidade e ação (ou, na falta dela, ao
+     * controlador da entidade) e escreve a resposta seguida de <code>\n</code>
+     * na saída informada.
+     *
+     * <p>A resposta é produzida por um {@link JsonGenerator} ligado à saída,
+     * de modo que listagens em fluxo são enviadas ao cliente à medida que são
+     * lidas do banco. Nesse caso a vaga do {@link LimitadorRequisicoes} e a
+     * conexão com o banco ficam ocupadas até o fim da transmissão.</p>
+     *
+     * <p>As entidades de diagnóstico (<code>estado</code> e <code>metricas</code>,
+     * ver {@link Controlador#dispensaLimitador()}) são atendidas sem passar
+     * pelo limitador, para que o servidor possa ser inspecionado mesmo quando
+     * saturado.</p>
+     *
+     * <p>Cada requisição é medida na métrica da sua rota (ver
+     * {@link RoteadorRequisicoes#getMetricas()}) e, com uma gravação JFR em
+     * andamento, emite um {@link EventoRequisicao}.</p>
+     *
+     * <p>Se a requisição informar um <code>id</code>, ele é incluído como
+     * primeiro campo da resposta.</p>
+     *
+     * <p>É o mesmo caminho usado pelos dois modelos de I/O, exposto para que
+     * possa ser exercitado sem sockets (por exemplo, nos benchmarks).</p>
+     *
+     * @param json  JSON contendo a requisição
+     * @param saida saída do cliente; não é descarregada nem fechada
+     * @throws IOException caso ocorra erro ao escrever a resposta
+     */
+    public void processarRequisicao(String json, OutputStream saida) throws IOException {
+        EventoRequisicao evento = new EventoRequisicao();
+        evento.begin();
+        Requisicao<?> req = null;
+        boolean sucesso = false;
+        try {
+            Object id = null;
+            Resposta<?> erro;
+            try {
+                // Converte o JSON para Requisicao, com os dados já no tipo esperado pela ação
+                req = roteador.ler(json);
+                id = req.getId();
+
+                Rota rota = roteador.buscar(req.getEntidade(), req.getAcao());
+
+                if (rota == null) {
+                    erro = new Resposta<>(id, "erro", "Entidade '" + req.getEntidade() + "' não reconhecida", null);
+                } else if (rota.getControlador().dispensaLimitador()) {
+                    sucesso = escrever(saida, id, rota, req);
+                    return;
+                } else if (!limitador.adquirir()) {
+                    erro = new Resposta<>(id, "erro", "Servidor ocupado, tente novamente", null);
+                } else {
+                    try {
+                        sucesso = escrever(saida, id, rota, req);
+                        return;
+                    } finally {
+                        limitador.liberar();
+                    }
+                }
+
+            } catch (IOException e) {
+                throw e;
+            } catch (Exception e) {
+                e.printStackTrace();
+                erro = new Resposta<>(id, "erro", "Erro interno", null);
+            }
+
+            try (JsonGenerator gerador = JsonUtil.criarGerador(saida)) {
+                gerador.writeObject(erro);
+            }
+            saida.write('\n');
+
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(req == null ? null : req.getEntidade(), req == null ? null : req.getAcao(), sucesso);
+                evento.commit();
+            }
+        }
+    }
+
+    /**
+     * Escreve a resposta da rota, com o <code>id</code> de correlação, seguida
+     * de <code>\n</code>.
+     *
+     * @return {@code false} se a resposta teve status <code>erro</code>
+     */
+    private static boolean escrever(OutputStream saida, Object id, Rota rota, Requisicao<?> req) throws IOException {
+        boolean sucesso;
+        try (JsonGenerator gerador = new GeradorComId(JsonUtil.criarGerador(saida), id)) {
+            sucesso = rota.escrever(req, gerador);
         }
+        saida.write('\n');
+        return sucesso;
     }
 
 }
@@ -0,0 +1,526 @@
+package br.backend.servidor;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Laço de eventos não bloqueante utilizado pelo {@link Servidor} no modo
+ * {@link ModoServidor#NIO}.
+ *
+ * <p>Uma única thread atende todas as conexões por meio de um {@link Selector}.
+ * Os bytes recebidos são enquadrados pelo protocolo de linhas (um JSON por
+ * linha, terminado em <code>\n</code>) e somente as linhas completas são
+ * despachadas para processamento em um {@link Executor}, de modo que o acesso
+ * ao banco nunca bloqueia o laço de eventos.</p>
+ *
+ * <p>Cada conexão mantém apenas um pequeno buffer para a linha em formação e
+ * uma fila de respostas pendentes. Por padrão as linhas de uma mesma conexão
+ * são processadas em ordem, preservando a semântica do modo bloqueante; no
+ * modo pipeline são processadas em paralelo e cada resposta é enfileirada
+ * assim que fica pronta.</p>
+ *
+ * <p>Em ambos os casos, quando uma conexão atinge o máximo de requisições em
+ * andamento a leitura do seu canal é suspensa até que alguma termine.</p>
+ *
+ * <p>As respostas são escritas pelas tarefas em blocos na fila de escrita da
+ * conexão. Quando a fila acumula mais que {@link #LIMITE_BYTES_PENDENTES}
+ * (cliente lento ou resposta transmitida em fluxo), a tarefa aguarda o envio
+ * antes de produzir mais, mantendo a memória por conexão limitada.</p>
+ */
+class ServidorNio {
+
+    /** Tamanho do buffer de leitura compartilhado pela thread de eventos. */
+    private static final int TAMANHO_BUFFER_LEITURA = 8 * 1024;
+
+    /** Capacidade inicial do buffer de linha de cada conexão. */
+    private static final int TAMANHO_INICIAL_LINHA = 256;
+
+    /** Tamanho dos blocos de resposta enfileirados para envio. */
+    private static final int TAMANHO_BLOCO_ESCRITA = 8 * 1024;
+
+    /** Bytes de resposta aguardando envio a partir dos quais as tarefas da conexão aguardam. */
+    private static final int LIMITE_BYTES_PENDENTES = 1024 * 1024;
+
+    private final int porta;
+    private final int tamanhoMaximoLinha;
+    private final boolean pipeline;
+    private final int maximoEmVoo;
+    private final ProcessadorRequisicao processador;
+    private final Executor executor;
+
+    /** Buffer de leitura reutilizado; acessado apenas pela thread de eventos. */
+    private final ByteBuffer bufferLeitura = ByteBuffer.allocate(TAMANHO_BUFFER_LEITURA);
+
+    /** Conexões com respostas prontas ou encerramento pendente. */
+    private final Queue<Conexao> pendentes = new ConcurrentLinkedQueue<>();
+
+    private Selector seletor;
+
+    /**
+     * Construtor do laço de eventos.
+     *
+     * @param porta              porta TCP na qual o servidor irá escutar
+     * @param tamanhoMaximoLinha tamanho máximo, em bytes, aceito para uma linha
+     * @param pipeline           processa as linhas de uma conexão em paralelo, fora de ordem
+     * @param maximoEmVoo        requisições em andamento por conexão antes de suspender a leitura
+     * @param processador        função que processa a linha JSON recebida e escreve a resposta
+     * @param executor           executor onde as requisições são processadas
+     */
+    ServidorNio(int porta, int tamanhoMaximoLinha, boolean pipeline, int maximoEmVoo,
+                ProcessadorRequisicao processador, Executor executor) {
+        this.porta = porta;
+        this.tamanhoMaximoLinha = tamanhoMaximoLinha;
+        this.pipeline = pipeline;
+        this.maximoEmVoo = maximoEmVoo;
+        this.processador = processador;
+        this.executor = executor;
+    }
+
+    /**
+     * Abre o canal do servidor e executa o laço de eventos indefinidamente.
+     *
+     * @throws IOException caso não seja possível abrir o seletor ou a porta
+     */
+    void iniciar() throws IOException {
+        try (Selector sel = Selector.open(); ServerSocketChannel servidor = ServerSocketChannel.open()) {
+            this.seletor = sel;
+            servidor.bind(new InetSocketAddress(porta));
+            servidor.configureBlocking(false);
+            servidor.register(sel, SelectionKey.OP_ACCEPT);
+            System.out.println("Servidor NIO iniciado na porta " + porta);
+
+            while (true) {
+                sel.select();
+                atualizarInteresses();
+
+                Iterator<SelectionKey> chaves = sel.selectedKeys().iterator();
+                while (chaves.hasNext()) {
+                    SelectionKey chave = chaves.next();
+                    chaves.remove();
+                    tratarEvento(servidor, chave);
+                }
+            }
+        }
+    }
+
+    /**
+     * Trata um evento de prontidão do seletor.
+     *
+     * @param servidor canal do servidor
+     * @param chave    chave selecionada
+     */
+    private void tratarEvento(ServerSocketChannel servidor, SelectionKey chave) {
+        if (!chave.isValid()) {
+            return;
+        }
+        if (chave.isAcceptable()) {
+            aceitar(servidor);
+            return;
+        }
+
+        Conexao conexao = (Conexao) chave.attachment();
+        try {
+            if (chave.isReadable()) {
+                ler(conexao);
+            }
+            if (chave.isValid() && chave.isWritable()) {
+                escrever(conexao);
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao processar cliente " + conexao.endereco + ": " + e.getMessage());
+            fechar(conexao);
+        }
+    }
+
+    /**
+     * Aceita uma nova conexão e a registra para leitura.
+     *
+     * @param servidor canal do servidor
+     */
+    private void aceitar(ServerSocketChannel servidor) {
+        try {
+            SocketChannel canal = servidor.accept();
+            if (canal == null) {
+                return;
+            }
+            canal.configureBlocking(false);
+            canal.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+            Conexao conexao = new Conexao(canal, canal.getRemoteAddress());
+            conexao.chave = canal.register(seletor, SelectionKey.OP_READ, conexao);
+            System.out.println("Cliente conectado: " + conexao.endereco);
+        } catch (IOException e) {
+            System.err.println("Erro ao aceitar cliente: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Lê os bytes disponíveis, separa as linhas completas e as despacha.
+     *
+     * @param conexao conexão pronta para leitura
+     * @throws IOException em caso de erro de leitura ou linha acima do limite
+     */
+    private void ler(Conexao conexao) throws IOException {
+        bufferLeitura.clear();
+        int lidos = conexao.canal.read(bufferLeitura);
+        if (lidos < 0) {
+            encerrarEntrada(conexao);
+            return;
+        }
+
+        byte[] dados = bufferLeitura.array();
+        int inicio = 0;
+        for (int i = 0; i < lidos; i++) {
+            if (dados[i] == '\n') {
+                conexao.acumular(dados, inicio, i - inicio, tamanhoMaximoLinha);
+                despachar(conexao, conexao.extrairLinha());
+                inicio = i + 1;
+            }
+        }
+        conexao.acumular(dados, inicio, lidos - inicio, tamanhoMaximoLinha);
+
+        if (conexao.emVoo.get() >= maximoEmVoo) {
+            conexao.leituraSuspensa = true;
+            conexao.chave.interestOps(conexao.chave.interestOps() & ~SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Submete o processamento da linha ao executor.
+     *
+     * <p>No modo ordenado a linha é encadeada após as anteriores da mesma
+     * conexão, garantindo que as respostas sejam enviadas na ordem das
+     * requisições; no modo pipeline é processada de forma independente.</p>
+     *
+     * @param conexao conexão de origem
+     * @param linha   JSON da requisição
+     */
+    private void despachar(Conexao conexao, String linha) {
+        conexao.emVoo.incrementAndGet();
+        Runnable tarefa = () -> responder(conexao, linha);
+        CompletableFuture<Void> execucao;
+        try {
+            execucao = pipeline
+                    ? CompletableFuture.runAsync(tarefa, executor)
+                    : conexao.cadeia.thenRunAsync(tarefa, executor);
+        } catch (RejectedExecutionException e) {
+            // Recusa imediata (fila do pool cheia): não pode derrubar a thread de eventos
+            recusar(conexao, e);
+            conexao.emVoo.decrementAndGet();
+            return;
+        }
+
+        CompletableFuture<Void> concluida = execucao
+                .exceptionally(erro -> {
+                    recusar(conexao, erro);
+                    return null;
+                })
+                .whenComplete((r, e) -> concluir(conexao));
+        if (!pipeline) {
+            conexao.cadeia = concluida;
+        }
+    }
+
+    /**
+     * Encerra a conexão cuja requisição foi recusada pelo executor, em vez de
+     * deixá-la sem resposta, após enviar o que já foi enfileirado.
+     *
+     * @param conexao conexão de origem
+     * @param erro    motivo da recusa
+     */
+    private void recusar(Conexao conexao, Throwable erro) {
+        System.err.println("Requisição recusada para " + conexao.endereco + ": " + erro.getMessage());
+        conexao.fecharAposEscrita = true;
+        sinalizar(conexao);
+    }
+
+    /**
+     * Registra o término de uma requisição da conexão, retomando a leitura
+     * suspensa ou encerrando a conexão quando a entrada já terminou.
+     *
+     * @param conexao conexão de origem
+     */
+    private void concluir(Conexao conexao) {
+        int restantes = conexao.emVoo.decrementAndGet();
+        if (restantes == 0 && conexao.entradaEncerrada) {
+            conexao.fecharAposEscrita = true;
+            sinalizar(conexao);
+        } else if (restantes == maximoEmVoo - 1) {
+            // Voltou a haver vaga: a thread de eventos retoma a leitura, se suspensa
+            sinalizar(conexao);
+        }
+    }
+
+    /**
+     * Processa a linha escrevendo a resposta na fila de escrita da conexão.
+     * Se a escrita falhar, a conexão é encerrada após enviar o que já foi
+     * enfileirado.
+     *
+     * @param conexao conexão de destino
+     * @param linha   JSON da requisição
+     */
+    private void responder(Conexao conexao, String linha) {
+        try (SaidaResposta saida = new SaidaResposta(conexao.saida, conexao.travaSaida)) {
+            processador.processar(linha, saida);
+        } catch (IOException e) {
+            System.err.println("Erro ao responder cliente " + conexao.endereco + ": " + e.getMessage());
+            conexao.fecharAposEscrita = true;
+            sinalizar(conexao);
+        }
+    }
+
+    /**
+     * Trata o fim da entrada do cliente: para de ler e fecha a conexão assim
+     * que as requisições já recebidas forem respondidas.
+     *
+     * @param conexao conexão cujo cliente encerrou o envio
+     */
+    private void encerrarEntrada(Conexao conexao) {
+        conexao.chave.interestOps(conexao.chave.interestOps() & ~SelectionKey.OP_READ);
+        conexao.entradaEncerrada = true;
+        if (conexao.emVoo.get() == 0) {
+            conexao.fecharAposEscrita = true;
+            sinalizar(conexao);
+        }
+    }
+
+    /**
+     * Marca a conexão como pendente e acorda a thread de eventos.
+     *
+     * @param conexao conexão com trabalho pendente
+     */
+    private void sinalizar(Conexao conexao) {
+        pendentes.add(conexao);
+        seletor.wakeup();
+    }
+
+    /**
+     * Atualiza os interesses de leitura e escrita das conexões sinalizadas
+     * pelas threads de processamento. Executado apenas pela thread de eventos.
+     */
+    private void atualizarInteresses() {
+        Conexao conexao;
+        while ((conexao = pendentes.poll()) != null) {
+            if (!conexao.chave.isValid()) {
+                continue;
+            }
+            if (conexao.leituraSuspensa && !conexao.entradaEncerrada && conexao.emVoo.get() < maximoEmVoo) {
+                conexao.leituraSuspensa = false;
+                conexao.chave.interestOps(conexao.chave.interestOps() | SelectionKey.OP_READ);
+            }
+            if (!conexao.filaEscrita.isEmpty()) {
+                conexao.chave.interestOps(conexao.chave.interestOps() | SelectionKey.OP_WRITE);
+            } else if (conexao.fecharAposEscrita) {
+                fechar(conexao);
+            }
+        }
+    }
+
+    /**
+     * Envia as respostas pendentes até esvaziar a fila ou encher o buffer do socket.
+     *
+     * @param conexao conexão pronta para escrita
+     * @throws IOException em caso de erro de escrita
+     */
+    private void escrever(Conexao conexao) throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = conexao.filaEscrita.peek()) != null) {
+            conexao.canal.write(buffer);
+            if (buffer.hasRemaining()) {
+                return;
+            }
+            conexao.filaEscrita.poll();
+            conexao.creditoEscrita.release(buffer.capacity());
+        }
+
+        conexao.chave.interestOps(conexao.chave.interestOps() & ~SelectionKey.OP_WRITE);
+        if (conexao.fecharAposEscrita) {
+            fechar(conexao);
+        }
+    }
+
+    /**
+     * Fecha a conexão e libera seus recursos.
+     *
+     * @param conexao conexão a ser encerrada
+     */
+    private void fechar(Conexao conexao) {
+        // Acorda as tarefas que aguardam envio; elas verão a conexão fechada
+        conexao.fechada = true;
+        conexao.creditoEscrita.release(LIMITE_BYTES_PENDENTES);
+        conexao.chave.cancel();
+        try {
+            conexao.canal.close();
+        } catch (IOException ignored) {
+        }
+        System.out.println("Cliente desconectado: " + conexao.endereco);
+    }
+
+    /**
+     * Estado mantido para cada cliente conectado.
+     */
+    private final class Conexao {
+
+        final SocketChannel canal;
+        final SocketAddress endereco;
+        final Queue<ByteBuffer> filaEscrita = new ConcurrentLinkedQueue<>();
+        SelectionKey chave;
+
+        /** Bytes que ainda podem ser enfileirados antes que as tarefas aguardem o envio. */
+        final Semaphore creditoEscrita = new Semaphore(LIMITE_BYTES_PENDENTES);
+
+        /** Serializa as respostas das tarefas desta conexão. */
+        final ReentrantLock travaSaida = new ReentrantLock();
+
+        /** Saída compartilhada pelas respostas; usada apenas com {@link #travaSaida}. */
+        final SaidaCanal saida = new SaidaCanal(this);
+
+        volatile boolean fechada;
+
+        /** Bytes da linha ainda não terminada. */
+        byte[] linha = new byte[TAMANHO_INICIAL_LINHA];
+        int tamanhoLinha;
+
+        /** Encadeamento que serializa o processamento das linhas desta conexão (modo ordenado). */
+        CompletableFuture<Void> cadeia = CompletableFuture.completedFuture(null);
+
+        /** Requisições recebidas e ainda não respondidas. */
+        final AtomicInteger emVoo = new AtomicInteger();
+
+        /** Leitura suspensa por excesso de requisições em andamento; acessado apenas pela thread de eventos. */
+        boolean leituraSuspensa;
+
+        volatile boolean entradaEncerrada;
+
+        volatile boolean fecharAposEscrita;
+
+        Conexao(SocketChannel canal, SocketAddress endereco) {
+            this.canal = canal;
+            this.endereco = endereco;
+        }
+
+        /**
+         * Acrescenta bytes à linha em formação.
+         *
+         * @throws IOException caso a linha ultrapasse o tamanho máximo permitido
+         */
+        void acumular(byte[] origem, int inicio, int tamanho, int tamanhoMaximo) throws IOException {
+            if (tamanho == 0) {
+                return;
+            }
+            int necessario = tamanhoLinha + tamanho;
+            if (necessario > tamanhoMaximo) {
+                throw new IOException("Linha excede o tamanho máximo de " + tamanhoMaximo + " bytes");
+            }
+            if (necessario > linha.length) {
+                linha = Arrays.copyOf(linha, Math.min(tamanhoMaximo, Math.max(necessario, linha.length * 2)));
+            }
+            System.arraycopy(origem, inicio, linha, tamanhoLinha, tamanho);
+            tamanhoLinha = necessario;
+        }
+
+        /**
+         * Decodifica a linha acumulada e reinicia o buffer. Linhas muito grandes
+         * não mantêm o buffer expandido após o uso.
+         */
+        String extrairLinha() {
+            int fim = tamanhoLinha;
+            if (fim > 0 && linha[fim - 1] == '\r') {
+                fim--;
+            }
+            String texto = new String(linha, 0, fim, StandardCharsets.UTF_8);
+            tamanhoLinha = 0;
+            if (linha.length > TAMANHO_BUFFER_LEITURA) {
+                linha = new byte[TAMANHO_INICIAL_LINHA];
+            }
+            return texto;
+        }
+    }
+
+    /**
+     * Saída que agrupa os bytes das respostas em blocos e os entrega à fila de
+     * escrita da conexão, aguardando quando a fila excede o limite de bytes
+     * pendentes. Não é segura para uso concorrente; as tarefas a utilizam por
+     * meio de {@link SaidaResposta}.
+     */
+    private final class SaidaCanal extends OutputStream {
+
+        private final Conexao conexao;
+        private final byte[] bloco = new byte[TAMANHO_BLOCO_ESCRITA];
+        private int usados;
+
+        SaidaCanal(Conexao conexao) {
+            this.conexao = conexao;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (usados == bloco.length) {
+                flush();
+            }
+            bloco[usados++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int inicio, int tamanho) throws IOException {
+            while (tamanho > 0) {
+                if (usados == bloco.length) {
+                    flush();
+                }
+                int copiados = Math.min(tamanho, bloco.length - usados);
+                System.arraycopy(b, inicio, bloco, usados, copiados);
+                usados += copiados;
+                inicio += copiados;
+                tamanho -= copiados;
+            }
+        }
+
+        /**
+         * Enfileira o bloco atual para envio pela thread de eventos.
+         *
+         * @throws IOException caso a conexão tenha sido fechada
+         */
+        @Override
+        public void flush() throws IOException {
+            if (usados == 0) {
+                return;
+            }
+            int tamanho = usados;
+            usados = 0;
+            if (conexao.fechada) {
+                throw new IOException("Conexão encerrada");
+            }
+            try {
+                conexao.creditoEscrita.acquire(tamanho);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrompido aguardando envio");
+            }
+            if (conexao.fechada) {
+                throw new IOException("Conexão encerrada");
+            }
+            conexao.filaEscrita.add(ByteBuffer.wrap(Arrays.copyOf(bloco, tamanho)));
+            sinalizar(conexao);
+        }
+    }
+}
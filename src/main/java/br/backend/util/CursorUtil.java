@@ -0,0 +1,57 @@
+package br.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Classe utilitária para codificar os cursores das listagens paginadas.
+ *
+ * <p>O cursor guarda os valores da chave de ordenação do último item
+ * retornado (ex.: data e ID), permitindo que a próxima página seja buscada
+ * com <code>WHERE</code> sobre o índice, sem <code>OFFSET</code>. Para o
+ * cliente o cursor é um texto opaco.</p>
+ */
+public class CursorUtil {
+
+    /**
+     * Codifica os valores da chave em um cursor opaco.
+     *
+     * @param partes valores da chave de ordenação
+     * @return cursor em Base64 seguro para URL
+     */
+    public static String codificar(long... partes) {
+        StringBuilder texto = new StringBuilder();
+        for (long parte : partes) {
+            if (!texto.isEmpty()) {
+                texto.append(':');
+            }
+            texto.append(parte);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodifica um cursor produzido por {@link #codificar(long...)}.
+     *
+     * @param cursor      cursor recebido do cliente
+     * @param quantidade  quantidade de valores esperada
+     * @return valores da chave de ordenação
+     * @throws IllegalArgumentException caso o cursor seja inválido
+     */
+    public static long[] decodificar(String cursor, int quantidade) {
+        try {
+            String texto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            String[] partes = texto.split(":");
+            if (partes.length != quantidade) {
+                throw new IllegalArgumentException("quantidade de partes inesperada");
+            }
+            long[] valores = new long[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                valores[i] = Long.parseLong(partes[i]);
+            }
+            return valores;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor, e);
+        }
+    }
+}
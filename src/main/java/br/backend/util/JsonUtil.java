@@ -1,6 +1,15 @@
 package br.backend.util;
 
+import br.backend.metricas.eventos.EventoJson;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
 
 /**
  * Classe utilitária responsável por conversão entre objetos Java e JSON,
@@ -12,6 +21,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
  *
  * <p>Caso ocorra algum erro durante o processo de conversão,
  * uma {@link RuntimeException} é lançada contendo a causa original.</p>
+ *
+ * <p>As conversões de {@link #fromJson(String, Class)} e {@link #toJson(Object)}
+ * emitem um {@link EventoJson} quando há uma gravação JFR em andamento.</p>
  */
 public class JsonUtil {
 
@@ -19,8 +31,13 @@ public class JsonUtil {
     /**
      * Instância única e thread-safe do ObjectMapper utilizada
      * em todas as operações de conversão.
+     *
+     * <p>Os buffers internos de leitura e escrita vêm de um pool compartilhado:
+     * o pool padrão guarda um buffer por thread, que seria descartado a cada
+     * requisição quando o servidor usa threads virtuais.</p>
      */
-    private static final ObjectMapper mapper = new ObjectMapper();
+    private static final ObjectMapper mapper = new ObjectMapper(
+            JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedBoundedPool()).build());
 
 
     /**
@@ -33,13 +50,35 @@ public class JsonUtil {
      * @throws RuntimeException se houver falha na desserialização
      */
     public static <T> T fromJson(String json, Class<T> clazz) {
+        EventoJson evento = new EventoJson();
+        evento.begin();
         try {
             return mapper.readValue(json, clazz);
         } catch (Exception e) {
             throw new RuntimeException("Erro ao converter JSON para objeto", e);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(EventoJson.FROM_JSON, clazz, json.length());
+                evento.commit();
+            }
         }
     }
 
+    /**
+     * Cria um leitor para o tipo informado, com a mesma configuração de
+     * {@link #fromJson(String, Class)}.
+     *
+     * <p>O leitor é imutável e thread-safe; deve ser criado uma única vez e
+     * reutilizado, evitando a busca pelo desserializador a cada leitura.</p>
+     *
+     * @param clazz classe do tipo a ser lido
+     * @return leitor do tipo informado
+     */
+    public static ObjectReader leitor(Class<?> clazz) {
+        return mapper.readerFor(clazz);
+    }
+
     /**
      * Converte um objeto Java em sua representação JSON.
      *
@@ -48,10 +87,43 @@ public class JsonUtil {
      * @throws RuntimeException se houver falha na serialização
      */
     public static String toJson(Object obj) {
+        EventoJson evento = new EventoJson();
+        evento.begin();
+        String json = null;
         try {
-            return mapper.writeValueAsString(obj);
+            json = mapper.writeValueAsString(obj);
+            return json;
         } catch (Exception e) {
             throw new RuntimeException("Erro ao converter objeto para JSON", e);
+        } finally {
+            evento.end();
+            if (evento.shouldCommit()) {
+                evento.preencher(EventoJson.TO_JSON, obj == null ? null : obj.getClass(), json == null ? -1 : json.length());
+                evento.commit();
+            }
         }
     }
+
+    /**
+     * Cria um gerador JSON em UTF-8 que escreve diretamente na saída informada,
+     * permitindo serializar respostas sem montá-las em uma {@link String}.
+     *
+     * <p>Objetos passados a {@link JsonGenerator#writeObject(Object)} são
+     * serializados com a mesma configuração de {@link #toJson(Object)}. Fechar o
+     * gerador descarrega o seu buffer na saída, mas não a fecha nem chama o seu
+     * {@code flush()}: cabe a quem escreve a resposta descarregá-la uma única vez
+     * ao final, depois do <code>\n</code>. Descarregar o JSON e o <code>\n</code>
+     * separadamente gera dois segmentos TCP, e o segundo fica retido pelo
+     * algoritmo de Nagle até o ACK atrasado do cliente (cerca de 40 ms).</p>
+     *
+     * @param saida fluxo de destino
+     * @return gerador ligado à saída
+     * @throws IOException caso não seja possível criar o gerador
+     */
+    public static JsonGenerator criarGerador(OutputStream saida) throws IOException {
+        return mapper.getFactory()
+                .createGenerator(saida, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    }
 }
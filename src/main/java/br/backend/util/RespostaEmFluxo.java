@@ -0,0 +1,79 @@
+package br.backend.util;
+
+import br.backend.dto.Resposta;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Classe utilitária para escrever uma {@link Resposta} cuja lista de dados é
+ * transmitida item a item, à medida que é lida do banco.
+ *
+ * <p>O formato é o mesmo de uma resposta comum:</p>
+ *
+ * <pre>
+ * {"status":"sucesso","mensagem":"...","dados":[ item, item, ... ]}
+ * </pre>
+ *
+ * <p>Como os itens não são acumulados em uma lista, o consumo de memória não
+ * depende da quantidade de itens. O cabeçalho só é escrito quando o primeiro
+ * item chega: se a leitura falhar antes disso, uma resposta de erro comum é
+ * escrita no lugar. Depois que a transmissão começou não é mais possível
+ * informar o erro ao cliente, e a falha é propagada como {@link IOException}
+ * para que a conexão seja encerrada.</p>
+ */
+public class RespostaEmFluxo {
+
+    /**
+     * Escreve a resposta transmitindo os itens fornecidos pela função de percurso.
+     *
+     * @param gerador   gerador JSON ligado à saída do cliente
+     * @param mensagem  mensagem da resposta de sucesso
+     * @param percorrer função que entrega cada item ao consumidor recebido
+     * @param <T>       tipo dos itens
+     * @throws IOException caso ocorra erro de escrita ou a leitura falhe após o início da transmissão
+     */
+    public static <T> void escrever(JsonGenerator gerador, String mensagem, Consumer<Consumer<T>> percorrer) throws IOException {
+        boolean[] iniciado = {false};
+        try {
+            percorrer.accept(item -> {
+                try {
+                    if (!iniciado[0]) {
+                        iniciar(gerador, mensagem);
+                        iniciado[0] = true;
+                    }
+                    gerador.writeObject(item);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            if (iniciado[0]) {
+                throw new IOException("Transmissão interrompida: " + e.getMessage(), e);
+            }
+            e.printStackTrace();
+            gerador.writeObject(new Resposta<>("erro", "Erro ao processar requisição: " + e.getMessage(), null));
+            return;
+        }
+
+        if (!iniciado[0]) {
+            iniciar(gerador, mensagem);
+        }
+        gerador.writeEndArray();
+        gerador.writeEndObject();
+    }
+
+    /**
+     * Escreve o início da resposta até a abertura da lista de dados.
+     */
+    private static void iniciar(JsonGenerator gerador, String mensagem) throws IOException {
+        gerador.writeStartObject();
+        gerador.writeStringField("status", "sucesso");
+        gerador.writeStringField("mensagem", mensagem);
+        gerador.writeArrayFieldStart("dados");
+    }
+}
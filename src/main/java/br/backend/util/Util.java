@@ -31,7 +31,9 @@ public class Util {
      * a funcionalidade de mapeamento interno do Jackson.
      *
      * <p>Suporta conversões entre mapas, listas e objetos simples, desde
-     * que os campos sejam compatíveis com o tipo alvo.</p>
+     * que os campos sejam compatíveis com o tipo alvo. Objetos que já são do
+     * tipo alvo (por exemplo, dados convertidos na leitura da requisição) são
+     * retornados sem cópia.</p>
      *
      * @param obj   objeto de origem a ser convertido
      * @param clazz tipo de destino desejado
@@ -40,6 +42,9 @@ public class Util {
      * @throws RuntimeException caso ocorra erro durante a conversão
      */
     public static <T> T fromObject(Object obj, Class<T> clazz) {
+        if (clazz.isInstance(obj)) {
+            return clazz.cast(obj);
+        }
         try {
             return mapper.convertValue(obj, clazz);
         } catch (Exception e) {